@@ -0,0 +1,776 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.Field;
+import org.apache.commons.math3.FieldElement;
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+
+/**
+ * Tape recording a computation for reverse mode automatic differentiation.
+ * <p>
+ * This class plays a similar role to {@link DerivativeStructure} and
+ * {@link SparseGradient}, with a focus on computing the first derivatives
+ * of the same function at many different points, when the number of
+ * free parameters is large with respect to the number of outputs (typically
+ * the residuals of a least squares model depending on hundreds of
+ * parameters). The function is recorded once, by evaluating it on
+ * {@link TapeVariable} instances as for any other {@link
+ * org.apache.commons.math3.RealFieldElement RealFieldElement}. Each elementary
+ * operation appends one node to the tape. The tape can then be replayed
+ * at any point using {@link #evaluate(double[], double[])} and
+ * differentiated using {@link #gradient(int, double[])}, which both work
+ * on preallocated primitive arrays and do not allocate any object.
+ * </p>
+ * <p>
+ * The cost of a gradient computation is a small multiple of the cost of
+ * one function evaluation, regardless of the number of free parameters,
+ * whereas both {@link DerivativeStructure} and {@link SparseGradient} carry
+ * all partial derivatives through each operation.
+ * </p>
+ * <p>
+ * As the tape records one specific sequence of operations, the control
+ * flow of the recorded function (tests, loops bounds, calls to {@link
+ * TapeVariable#getReal()} used to take decisions) must not depend on the
+ * values of the free parameters. If it does, the tape must be recorded
+ * again when the branch taken changes. Branch-free operations like
+ * {@link TapeVariable#abs()} or {@link TapeVariable#copySign(double)} are
+ * replayed correctly.
+ * </p>
+ * <p>
+ * Instances of this class are not thread-safe.
+ * </p>
+ * @see TapeVariable
+ * @since 3.7
+ */
+public final class GradientTape {
+
+    /** Operation code for free parameters. */
+    static final int VARIABLE    =  0;
+
+    /** Operation code for constants. */
+    static final int CONSTANT    =  1;
+
+    /** Operation code for addition. */
+    static final int ADD         =  2;
+
+    /** Operation code for subtraction. */
+    static final int SUBTRACT    =  3;
+
+    /** Operation code for multiplication. */
+    static final int MULTIPLY    =  4;
+
+    /** Operation code for division. */
+    static final int DIVIDE      =  5;
+
+    /** Operation code for IEEE remainder. */
+    static final int REMAINDER   =  6;
+
+    /** Operation code for power. */
+    static final int POW         =  7;
+
+    /** Operation code for two arguments arc tangent. */
+    static final int ATAN2       =  8;
+
+    /** Operation code for hypotenuse. */
+    static final int HYPOT       =  9;
+
+    /** Operation code for sign copy. */
+    static final int COPY_SIGN   = 10;
+
+    /** Operation code for addition of a constant. */
+    static final int ADD_C       = 11;
+
+    /** Operation code for multiplication by a constant. */
+    static final int MULTIPLY_C  = 12;
+
+    /** Operation code for division by a constant. */
+    static final int DIVIDE_C    = 13;
+
+    /** Operation code for IEEE remainder with respect to a constant. */
+    static final int REMAINDER_C = 14;
+
+    /** Operation code for power with a constant real exponent. */
+    static final int POW_C       = 15;
+
+    /** Operation code for power with a constant integer exponent. */
+    static final int POW_I       = 16;
+
+    /** Operation code for n<sup>th</sup> root. */
+    static final int ROOT_N      = 17;
+
+    /** Operation code for multiplication by a power of 2. */
+    static final int SCALB       = 18;
+
+    /** Operation code for sign copy from a constant. */
+    static final int COPY_SIGN_C = 19;
+
+    /** Operation code for negation. */
+    static final int NEGATE      = 20;
+
+    /** Operation code for reciprocal. */
+    static final int RECIPROCAL  = 21;
+
+    /** Operation code for absolute value. */
+    static final int ABS         = 22;
+
+    /** Operation code for ceil. */
+    static final int CEIL        = 23;
+
+    /** Operation code for floor. */
+    static final int FLOOR       = 24;
+
+    /** Operation code for rint. */
+    static final int RINT        = 25;
+
+    /** Operation code for signum. */
+    static final int SIGNUM      = 26;
+
+    /** Operation code for square root. */
+    static final int SQRT        = 27;
+
+    /** Operation code for cubic root. */
+    static final int CBRT        = 28;
+
+    /** Operation code for exponential. */
+    static final int EXP         = 29;
+
+    /** Operation code for exponential minus 1. */
+    static final int EXPM1       = 30;
+
+    /** Operation code for natural logarithm. */
+    static final int LOG         = 31;
+
+    /** Operation code for shifted natural logarithm. */
+    static final int LOG1P       = 32;
+
+    /** Operation code for base 10 logarithm. */
+    static final int LOG10       = 33;
+
+    /** Operation code for cosine. */
+    static final int COS         = 34;
+
+    /** Operation code for sine. */
+    static final int SIN         = 35;
+
+    /** Operation code for tangent. */
+    static final int TAN         = 36;
+
+    /** Operation code for arc cosine. */
+    static final int ACOS        = 37;
+
+    /** Operation code for arc sine. */
+    static final int ASIN        = 38;
+
+    /** Operation code for arc tangent. */
+    static final int ATAN        = 39;
+
+    /** Operation code for hyperbolic cosine. */
+    static final int COSH        = 40;
+
+    /** Operation code for hyperbolic sine. */
+    static final int SINH        = 41;
+
+    /** Operation code for hyperbolic tangent. */
+    static final int TANH        = 42;
+
+    /** Operation code for inverse hyperbolic cosine. */
+    static final int ACOSH       = 43;
+
+    /** Operation code for inverse hyperbolic sine. */
+    static final int ASINH       = 44;
+
+    /** Operation code for inverse hyperbolic tangent. */
+    static final int ATANH       = 45;
+
+    /** Operation code for conversion to degrees. */
+    static final int TO_DEGREES  = 46;
+
+    /** Operation code for conversion to radians. */
+    static final int TO_RADIANS  = 47;
+
+    /** Initial capacity of the tape. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Natural logarithm of 10. */
+    private static final double LN_10 = FastMath.log(10.0);
+
+    /** Number of free parameters. */
+    private final int parameters;
+
+    /** Number of recorded nodes. */
+    private int size;
+
+    /** Operation codes. */
+    private int[] operations;
+
+    /** Index of the first argument of each operation. */
+    private int[] arguments1;
+
+    /** Index of the second argument of each operation. */
+    private int[] arguments2;
+
+    /** Constant parameter of each operation. */
+    private double[] constants;
+
+    /** Values of all nodes at the current point. */
+    private double[] values;
+
+    /** Partial derivatives of each node with respect to its first argument. */
+    private double[] partials1;
+
+    /** Partial derivatives of each node with respect to its second argument. */
+    private double[] partials2;
+
+    /** Adjoints used in reverse sweeps. */
+    private double[] adjoints;
+
+    /** Indices of the output nodes. */
+    private int[] outputs;
+
+    /** Number of outputs. */
+    private int nbOutputs;
+
+    /** Free parameters. */
+    private final TapeVariable[] variables;
+
+    /** Field to which the variables recorded on this tape belong. */
+    private final Field<TapeVariable> field;
+
+    /** Build a tape for a function of several free parameters.
+     * <p>
+     * The free parameters are set to the given point while recording,
+     * so {@link TapeVariable#getReal()} returns meaningful values.
+     * </p>
+     * @param point values of the free parameters at recording time
+     */
+    public GradientTape(final double ... point) {
+        this.parameters = point.length;
+        final int capacity = FastMath.max(INITIAL_CAPACITY, 2 * parameters);
+        this.operations = new int[capacity];
+        this.arguments1 = new int[capacity];
+        this.arguments2 = new int[capacity];
+        this.constants  = new double[capacity];
+        this.values     = new double[capacity];
+        this.partials1  = new double[capacity];
+        this.partials2  = new double[capacity];
+        this.outputs    = new int[4];
+        this.nbOutputs  = 0;
+        this.variables  = new TapeVariable[parameters];
+        for (int i = 0; i < parameters; ++i) {
+            variables[i] = append(VARIABLE, -1, -1, point[i]);
+        }
+        this.field = new Field<TapeVariable>() {
+
+            /** {@inheritDoc} */
+            public TapeVariable getZero() {
+                return constant(0.0);
+            }
+
+            /** {@inheritDoc} */
+            public TapeVariable getOne() {
+                return constant(1.0);
+            }
+
+            /** {@inheritDoc} */
+            public Class<? extends FieldElement<TapeVariable>> getRuntimeClass() {
+                return TapeVariable.class;
+            }
+
+        };
+    }
+
+    /** Get the number of free parameters.
+     * @return number of free parameters
+     */
+    public int getFreeParameters() {
+        return parameters;
+    }
+
+    /** Get the number of recorded nodes, including free parameters and constants.
+     * @return number of recorded nodes
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /** Get the number of outputs.
+     * @return number of outputs
+     */
+    public int getOutputs() {
+        return nbOutputs;
+    }
+
+    /** Get the field to which the variables recorded on this tape belong.
+     * @return field to which the variables recorded on this tape belong
+     */
+    public Field<TapeVariable> getField() {
+        return field;
+    }
+
+    /** Get one free parameter.
+     * @param index index of the free parameter
+     * @return free parameter
+     * @exception OutOfRangeException if index is not between 0 and
+     * {@link #getFreeParameters()} - 1
+     */
+    public TapeVariable getVariable(final int index) throws OutOfRangeException {
+        if (index < 0 || index >= parameters) {
+            throw new OutOfRangeException(index, 0, parameters - 1);
+        }
+        return variables[index];
+    }
+
+    /** Record a constant.
+     * @param value value of the constant
+     * @return variable representing the constant
+     */
+    public TapeVariable constant(final double value) {
+        return append(CONSTANT, -1, -1, value);
+    }
+
+    /** Register a recorded variable as an output of the tape.
+     * @param output variable to register
+     * @return index of the output
+     * @exception MathIllegalArgumentException if the variable was not
+     * recorded on this tape
+     */
+    public int addOutput(final TapeVariable output) throws MathIllegalArgumentException {
+        check(output);
+        if (nbOutputs == outputs.length) {
+            outputs = MathArrays.copyOf(outputs, 2 * nbOutputs);
+        }
+        outputs[nbOutputs] = output.getIndex();
+        return nbOutputs++;
+    }
+
+    /** Replay the tape at a new point.
+     * <p>
+     * This method updates the values of all recorded nodes, it must be called
+     * before {@link #gradient(int, double[])} is used for the new point.
+     * </p>
+     * @param point values of the free parameters
+     * @param outputValues placeholder where to put the values of the outputs
+     * (may be null if only the gradients are desired)
+     * @exception DimensionMismatchException if arrays dimensions do not match
+     * the number of free parameters or the number of outputs
+     */
+    public void evaluate(final double[] point, final double[] outputValues)
+        throws DimensionMismatchException {
+        if (point.length != parameters) {
+            throw new DimensionMismatchException(point.length, parameters);
+        }
+        if (outputValues != null && outputValues.length != nbOutputs) {
+            throw new DimensionMismatchException(outputValues.length, nbOutputs);
+        }
+        System.arraycopy(point, 0, values, 0, parameters);
+        for (int i = parameters; i < size; ++i) {
+            compute(i);
+        }
+        if (outputValues != null) {
+            for (int k = 0; k < nbOutputs; ++k) {
+                outputValues[k] = values[outputs[k]];
+            }
+        }
+    }
+
+    /** Compute the gradient of one output at the last evaluated point.
+     * <p>
+     * The last evaluated point is either the point given at construction or
+     * the last point given to {@link #evaluate(double[], double[])}.
+     * </p>
+     * @param output index of the output, as returned by {@link #addOutput(TapeVariable)}
+     * @param gradient placeholder where to put the partial derivatives of the
+     * output with respect to all free parameters
+     * @exception OutOfRangeException if output is not a registered output index
+     * @exception DimensionMismatchException if gradient dimension does not match
+     * the number of free parameters
+     */
+    public void gradient(final int output, final double[] gradient)
+        throws OutOfRangeException, DimensionMismatchException {
+        if (output < 0 || output >= nbOutputs) {
+            throw new OutOfRangeException(output, 0, nbOutputs - 1);
+        }
+        if (gradient.length != parameters) {
+            throw new DimensionMismatchException(gradient.length, parameters);
+        }
+
+        final int last = outputs[output];
+        if (adjoints == null || adjoints.length < values.length) {
+            adjoints = new double[values.length];
+        }
+        Arrays.fill(adjoints, 0, last + 1, 0.0);
+        adjoints[last] = 1.0;
+
+        // reverse sweep, propagating adjoints from the output back to the parameters
+        for (int i = last; i >= parameters; --i) {
+            final double adjoint = adjoints[i];
+            if (adjoint != 0.0) {
+                final int a1 = arguments1[i];
+                if (a1 >= 0) {
+                    adjoints[a1] += adjoint * partials1[i];
+                    final int a2 = arguments2[i];
+                    if (a2 >= 0) {
+                        adjoints[a2] += adjoint * partials2[i];
+                    }
+                }
+            }
+        }
+
+        System.arraycopy(adjoints, 0, gradient, 0, parameters);
+
+    }
+
+    /** Evaluate all outputs and their Jacobian at a new point.
+     * @param point values of the free parameters
+     * @param outputValues placeholder where to put the values of the outputs
+     * (may be null if only the Jacobian is desired)
+     * @param jacobian placeholder where to put the Jacobian, with one row per
+     * output and one column per free parameter
+     * @exception DimensionMismatchException if arrays dimensions do not match
+     * the number of free parameters or the number of outputs
+     */
+    public void jacobian(final double[] point, final double[] outputValues, final double[][] jacobian)
+        throws DimensionMismatchException {
+        if (jacobian.length != nbOutputs) {
+            throw new DimensionMismatchException(jacobian.length, nbOutputs);
+        }
+        evaluate(point, outputValues);
+        for (int k = 0; k < nbOutputs; ++k) {
+            gradient(k, jacobian[k]);
+        }
+    }
+
+    /** Get the current value of a node.
+     * @param index index of the node
+     * @return current value of the node
+     */
+    double getValue(final int index) {
+        return values[index];
+    }
+
+    /** Check a variable belongs to this tape.
+     * @param variable variable to check
+     * @exception MathIllegalArgumentException if the variable was not
+     * recorded on this tape
+     */
+    void check(final TapeVariable variable) throws MathIllegalArgumentException {
+        if (variable.getTape() != this) {
+            throw new MathIllegalArgumentException(LocalizedFormats.VARIABLE_RECORDED_ON_ANOTHER_TAPE);
+        }
+    }
+
+    /** Record an operation with one argument.
+     * @param operation operation code
+     * @param a argument
+     * @param c constant parameter of the operation (ignored if the operation does not use it)
+     * @return variable representing the result of the operation
+     */
+    TapeVariable record(final int operation, final TapeVariable a, final double c) {
+        check(a);
+        return append(operation, a.getIndex(), -1, c);
+    }
+
+    /** Record an operation with two arguments.
+     * @param operation operation code
+     * @param a first argument
+     * @param b second argument
+     * @return variable representing the result of the operation
+     */
+    TapeVariable record(final int operation, final TapeVariable a, final TapeVariable b) {
+        check(a);
+        check(b);
+        return append(operation, a.getIndex(), b.getIndex(), Double.NaN);
+    }
+
+    /** Append a node to the tape and compute it.
+     * @param operation operation code
+     * @param a1 index of the first argument (-1 if none)
+     * @param a2 index of the second argument (-1 if none)
+     * @param c constant parameter of the operation, or value for
+     * free parameters and constants
+     * @return variable representing the new node
+     */
+    private TapeVariable append(final int operation, final int a1, final int a2, final double c) {
+        if (size == operations.length) {
+            final int capacity = 2 * size;
+            operations = MathArrays.copyOf(operations, capacity);
+            arguments1 = MathArrays.copyOf(arguments1, capacity);
+            arguments2 = MathArrays.copyOf(arguments2, capacity);
+            constants  = MathArrays.copyOf(constants,  capacity);
+            values     = MathArrays.copyOf(values,     capacity);
+            partials1  = MathArrays.copyOf(partials1,  capacity);
+            partials2  = MathArrays.copyOf(partials2,  capacity);
+        }
+        operations[size] = operation;
+        arguments1[size] = a1;
+        arguments2[size] = a2;
+        constants[size]  = c;
+        if (operation == VARIABLE) {
+            values[size] = c;
+        } else {
+            compute(size);
+        }
+        return new TapeVariable(this, size++);
+    }
+
+    /** Compute the value and local partial derivatives of one node.
+     * @param i index of the node
+     */
+    private void compute(final int i) {
+
+        final double c = constants[i];
+        final double a = arguments1[i] < 0 ? Double.NaN : values[arguments1[i]];
+        final double b = arguments2[i] < 0 ? Double.NaN : values[arguments2[i]];
+        double v;
+        double d1 = 0.0;
+        double d2 = 0.0;
+
+        switch (operations[i]) {
+            case CONSTANT :
+                v = c;
+                break;
+            case ADD :
+                v  = a + b;
+                d1 = 1.0;
+                d2 = 1.0;
+                break;
+            case SUBTRACT :
+                v  = a - b;
+                d1 = 1.0;
+                d2 = -1.0;
+                break;
+            case MULTIPLY :
+                v  = a * b;
+                d1 = b;
+                d2 = a;
+                break;
+            case DIVIDE :
+                v  = a / b;
+                d1 = 1.0 / b;
+                d2 = -v / b;
+                break;
+            case REMAINDER :
+                v  = FastMath.IEEEremainder(a, b);
+                d1 = 1.0;
+                d2 = -FastMath.rint((a - v) / b);
+                break;
+            case POW :
+                v  = FastMath.pow(a, b);
+                d1 = b * FastMath.pow(a, b - 1);
+                d2 = (v == 0.0) ? 0.0 : v * FastMath.log(a);
+                break;
+            case ATAN2 : {
+                v  = FastMath.atan2(a, b);
+                final double r2 = a * a + b * b;
+                d1 = b / r2;
+                d2 = -a / r2;
+                break;
+            }
+            case HYPOT :
+                v  = FastMath.hypot(a, b);
+                d1 = (v == 0.0) ? 0.0 : a / v;
+                d2 = (v == 0.0) ? 0.0 : b / v;
+                break;
+            case COPY_SIGN :
+                d1 = sameSign(a, b) ? 1.0 : -1.0;
+                v  = d1 * a;
+                break;
+            case ADD_C :
+                v  = a + c;
+                d1 = 1.0;
+                break;
+            case MULTIPLY_C :
+                v  = a * c;
+                d1 = c;
+                break;
+            case DIVIDE_C :
+                v  = a / c;
+                d1 = 1.0 / c;
+                break;
+            case REMAINDER_C :
+                v  = FastMath.IEEEremainder(a, c);
+                d1 = 1.0;
+                break;
+            case POW_C :
+                v  = FastMath.pow(a, c);
+                d1 = c * FastMath.pow(a, c - 1);
+                break;
+            case POW_I : {
+                final int n = (int) c;
+                v  = FastMath.pow(a, n);
+                d1 = n * FastMath.pow(a, n - 1);
+                break;
+            }
+            case ROOT_N : {
+                final int n = (int) c;
+                if (n == 2) {
+                    v = FastMath.sqrt(a);
+                } else if (n == 3) {
+                    v = FastMath.cbrt(a);
+                } else {
+                    v = FastMath.pow(a, 1.0 / n);
+                }
+                d1 = v / (n * a);
+                break;
+            }
+            case SCALB :
+                v  = FastMath.scalb(a, (int) c);
+                d1 = FastMath.scalb(1.0, (int) c);
+                break;
+            case COPY_SIGN_C :
+                d1 = sameSign(a, c) ? 1.0 : -1.0;
+                v  = d1 * a;
+                break;
+            case NEGATE :
+                v  = -a;
+                d1 = -1.0;
+                break;
+            case RECIPROCAL :
+                v  = 1.0 / a;
+                d1 = -v * v;
+                break;
+            case ABS :
+                d1 = (Double.doubleToLongBits(a) < 0) ? -1.0 : 1.0;
+                v  = d1 * a;
+                break;
+            case CEIL :
+                v = FastMath.ceil(a);
+                break;
+            case FLOOR :
+                v = FastMath.floor(a);
+                break;
+            case RINT :
+                v = FastMath.rint(a);
+                break;
+            case SIGNUM :
+                v = FastMath.signum(a);
+                break;
+            case SQRT :
+                v  = FastMath.sqrt(a);
+                d1 = 0.5 / v;
+                break;
+            case CBRT :
+                v  = FastMath.cbrt(a);
+                d1 = 1.0 / (3 * v * v);
+                break;
+            case EXP :
+                v  = FastMath.exp(a);
+                d1 = v;
+                break;
+            case EXPM1 :
+                v  = FastMath.expm1(a);
+                d1 = FastMath.exp(a);
+                break;
+            case LOG :
+                v  = FastMath.log(a);
+                d1 = 1.0 / a;
+                break;
+            case LOG1P :
+                v  = FastMath.log1p(a);
+                d1 = 1.0 / (1.0 + a);
+                break;
+            case LOG10 :
+                v  = FastMath.log10(a);
+                d1 = 1.0 / (a * LN_10);
+                break;
+            case COS :
+                v  = FastMath.cos(a);
+                d1 = -FastMath.sin(a);
+                break;
+            case SIN :
+                v  = FastMath.sin(a);
+                d1 = FastMath.cos(a);
+                break;
+            case TAN :
+                v  = FastMath.tan(a);
+                d1 = 1.0 + v * v;
+                break;
+            case ACOS :
+                v  = FastMath.acos(a);
+                d1 = -1.0 / FastMath.sqrt(1.0 - a * a);
+                break;
+            case ASIN :
+                v  = FastMath.asin(a);
+                d1 = 1.0 / FastMath.sqrt(1.0 - a * a);
+                break;
+            case ATAN :
+                v  = FastMath.atan(a);
+                d1 = 1.0 / (1.0 + a * a);
+                break;
+            case COSH :
+                v  = FastMath.cosh(a);
+                d1 = FastMath.sinh(a);
+                break;
+            case SINH :
+                v  = FastMath.sinh(a);
+                d1 = FastMath.cosh(a);
+                break;
+            case TANH :
+                v  = FastMath.tanh(a);
+                d1 = 1.0 - v * v;
+                break;
+            case ACOSH :
+                v  = FastMath.acosh(a);
+                d1 = 1.0 / FastMath.sqrt(a * a - 1.0);
+                break;
+            case ASINH :
+                v  = FastMath.asinh(a);
+                d1 = 1.0 / FastMath.sqrt(a * a + 1.0);
+                break;
+            case ATANH :
+                v  = FastMath.atanh(a);
+                d1 = 1.0 / (1.0 - a * a);
+                break;
+            case TO_DEGREES :
+                v  = FastMath.toDegrees(a);
+                d1 = FastMath.toDegrees(1.0);
+                break;
+            case TO_RADIANS :
+                v  = FastMath.toRadians(a);
+                d1 = FastMath.toRadians(1.0);
+                break;
+            default :
+                // free parameters are never recomputed
+                v = values[i];
+        }
+
+        values[i]    = v;
+        partials1[i] = d1;
+        partials2[i] = d2;
+
+    }
+
+    /** Check if two numbers have the same sign, including signed zeros.
+     * @param m first number
+     * @param s second number
+     * @return true if m and s have the same sign
+     */
+    private static boolean sameSign(final double m, final double s) {
+        final long mBits = Double.doubleToLongBits(m);
+        final long sBits = Double.doubleToLongBits(s);
+        return (mBits >= 0 && sBits >= 0) || (mBits < 0 && sBits < 0);
+    }
+
+}
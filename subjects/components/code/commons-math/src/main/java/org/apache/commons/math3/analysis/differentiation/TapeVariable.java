@@ -0,0 +1,426 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import org.apache.commons.math3.Field;
+import org.apache.commons.math3.RealFieldElement;
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Variable recorded on a {@link GradientTape}.
+ * <p>
+ * Instances of this class are only handles to nodes of a tape, they are
+ * created while recording a function and are not needed afterwards: replaying
+ * the tape and computing gradients is done directly on the tape. Each
+ * operation appends a new node to the tape, so all arguments of an
+ * operation must have been recorded on the same tape.
+ * </p>
+ * @see GradientTape
+ * @since 3.7
+ */
+public final class TapeVariable implements RealFieldElement<TapeVariable> {
+
+    /** Tape on which the variable is recorded. */
+    private final GradientTape tape;
+
+    /** Index of the variable node in the tape. */
+    private final int index;
+
+    /** Simple constructor.
+     * @param tape tape on which the variable is recorded
+     * @param index index of the variable node in the tape
+     */
+    TapeVariable(final GradientTape tape, final int index) {
+        this.tape  = tape;
+        this.index = index;
+    }
+
+    /** Get the tape on which the variable is recorded.
+     * @return tape on which the variable is recorded
+     */
+    public GradientTape getTape() {
+        return tape;
+    }
+
+    /** Get the index of the variable node in the tape.
+     * @return index of the variable node in the tape
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /** Get the value of the variable at the last evaluated point.
+     * @return value of the variable at the last evaluated point
+     */
+    public double getValue() {
+        return tape.getValue(index);
+    }
+
+    /** {@inheritDoc} */
+    public double getReal() {
+        return tape.getValue(index);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable add(final double a) {
+        return tape.record(GradientTape.ADD_C, this, a);
+    }
+
+    /** {@inheritDoc}
+     * @exception MathIllegalArgumentException if a was recorded on another tape
+     */
+    public TapeVariable add(final TapeVariable a) throws MathIllegalArgumentException {
+        return tape.record(GradientTape.ADD, this, a);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable subtract(final double a) {
+        return tape.record(GradientTape.ADD_C, this, -a);
+    }
+
+    /** {@inheritDoc}
+     * @exception MathIllegalArgumentException if a was recorded on another tape
+     */
+    public TapeVariable subtract(final TapeVariable a) throws MathIllegalArgumentException {
+        return tape.record(GradientTape.SUBTRACT, this, a);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable multiply(final int n) {
+        return tape.record(GradientTape.MULTIPLY_C, this, n);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable multiply(final double a) {
+        return tape.record(GradientTape.MULTIPLY_C, this, a);
+    }
+
+    /** {@inheritDoc}
+     * @exception MathIllegalArgumentException if a was recorded on another tape
+     */
+    public TapeVariable multiply(final TapeVariable a) throws MathIllegalArgumentException {
+        return tape.record(GradientTape.MULTIPLY, this, a);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable divide(final double a) {
+        return tape.record(GradientTape.DIVIDE_C, this, a);
+    }
+
+    /** {@inheritDoc}
+     * @exception MathIllegalArgumentException if a was recorded on another tape
+     */
+    public TapeVariable divide(final TapeVariable a) throws MathIllegalArgumentException {
+        return tape.record(GradientTape.DIVIDE, this, a);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable remainder(final double a) {
+        return tape.record(GradientTape.REMAINDER_C, this, a);
+    }
+
+    /** {@inheritDoc}
+     * @exception MathIllegalArgumentException if a was recorded on another tape
+     */
+    public TapeVariable remainder(final TapeVariable a) throws MathIllegalArgumentException {
+        return tape.record(GradientTape.REMAINDER, this, a);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable negate() {
+        return tape.record(GradientTape.NEGATE, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public Field<TapeVariable> getField() {
+        return tape.getField();
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable abs() {
+        return tape.record(GradientTape.ABS, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable ceil() {
+        return tape.record(GradientTape.CEIL, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable floor() {
+        return tape.record(GradientTape.FLOOR, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable rint() {
+        return tape.record(GradientTape.RINT, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public long round() {
+        return FastMath.round(getReal());
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable signum() {
+        return tape.record(GradientTape.SIGNUM, this, Double.NaN);
+    }
+
+    /** {@inheritDoc}
+     * @exception MathIllegalArgumentException if sign was recorded on another tape
+     */
+    public TapeVariable copySign(final TapeVariable sign) throws MathIllegalArgumentException {
+        return tape.record(GradientTape.COPY_SIGN, this, sign);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable copySign(final double sign) {
+        return tape.record(GradientTape.COPY_SIGN_C, this, sign);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable scalb(final int n) {
+        return tape.record(GradientTape.SCALB, this, n);
+    }
+
+    /** {@inheritDoc}
+     * @exception MathIllegalArgumentException if y was recorded on another tape
+     */
+    public TapeVariable hypot(final TapeVariable y) throws MathIllegalArgumentException {
+        return tape.record(GradientTape.HYPOT, this, y);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable reciprocal() {
+        return tape.record(GradientTape.RECIPROCAL, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable sqrt() {
+        return tape.record(GradientTape.SQRT, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable cbrt() {
+        return tape.record(GradientTape.CBRT, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable rootN(final int n) {
+        return tape.record(GradientTape.ROOT_N, this, n);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable pow(final double p) {
+        return tape.record(GradientTape.POW_C, this, p);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable pow(final int n) {
+        return tape.record(GradientTape.POW_I, this, n);
+    }
+
+    /** {@inheritDoc}
+     * @exception MathIllegalArgumentException if e was recorded on another tape
+     */
+    public TapeVariable pow(final TapeVariable e) throws MathIllegalArgumentException {
+        return tape.record(GradientTape.POW, this, e);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable exp() {
+        return tape.record(GradientTape.EXP, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable expm1() {
+        return tape.record(GradientTape.EXPM1, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable log() {
+        return tape.record(GradientTape.LOG, this, Double.NaN);
+    }
+
+    /** Base 10 logarithm.
+     * @return base 10 logarithm of the instance
+     */
+    public TapeVariable log10() {
+        return tape.record(GradientTape.LOG10, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable log1p() {
+        return tape.record(GradientTape.LOG1P, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable cos() {
+        return tape.record(GradientTape.COS, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable sin() {
+        return tape.record(GradientTape.SIN, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable tan() {
+        return tape.record(GradientTape.TAN, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable acos() {
+        return tape.record(GradientTape.ACOS, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable asin() {
+        return tape.record(GradientTape.ASIN, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable atan() {
+        return tape.record(GradientTape.ATAN, this, Double.NaN);
+    }
+
+    /** {@inheritDoc}
+     * @exception MathIllegalArgumentException if x was recorded on another tape
+     */
+    public TapeVariable atan2(final TapeVariable x) throws MathIllegalArgumentException {
+        return tape.record(GradientTape.ATAN2, this, x);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable cosh() {
+        return tape.record(GradientTape.COSH, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable sinh() {
+        return tape.record(GradientTape.SINH, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable tanh() {
+        return tape.record(GradientTape.TANH, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable acosh() {
+        return tape.record(GradientTape.ACOSH, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable asinh() {
+        return tape.record(GradientTape.ASINH, this, Double.NaN);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable atanh() {
+        return tape.record(GradientTape.ATANH, this, Double.NaN);
+    }
+
+    /** Convert radians to degrees, with error of less than 0.5 ULP.
+     * @return instance converted into degrees
+     */
+    public TapeVariable toDegrees() {
+        return tape.record(GradientTape.TO_DEGREES, this, Double.NaN);
+    }
+
+    /** Convert degrees to radians, with error of less than 0.5 ULP.
+     * @return instance converted into radians
+     */
+    public TapeVariable toRadians() {
+        return tape.record(GradientTape.TO_RADIANS, this, Double.NaN);
+    }
+
+    /** {@inheritDoc}
+     * @exception DimensionMismatchException if arrays dimensions do not match
+     */
+    public TapeVariable linearCombination(final TapeVariable[] a, final TapeVariable[] b)
+        throws DimensionMismatchException {
+        if (a.length != b.length) {
+            throw new DimensionMismatchException(a.length, b.length);
+        }
+        TapeVariable out = a[0].multiply(b[0]);
+        for (int i = 1; i < a.length; ++i) {
+            out = out.add(a[i].multiply(b[i]));
+        }
+        return out;
+    }
+
+    /** {@inheritDoc}
+     * @exception DimensionMismatchException if arrays dimensions do not match
+     */
+    public TapeVariable linearCombination(final double[] a, final TapeVariable[] b)
+        throws DimensionMismatchException {
+        if (a.length != b.length) {
+            throw new DimensionMismatchException(a.length, b.length);
+        }
+        TapeVariable out = b[0].multiply(a[0]);
+        for (int i = 1; i < a.length; ++i) {
+            out = out.add(b[i].multiply(a[i]));
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable linearCombination(final TapeVariable a1, final TapeVariable b1,
+                                          final TapeVariable a2, final TapeVariable b2) {
+        return a1.multiply(b1).add(a2.multiply(b2));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable linearCombination(final double a1, final TapeVariable b1,
+                                          final double a2, final TapeVariable b2) {
+        return b1.multiply(a1).add(b2.multiply(a2));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable linearCombination(final TapeVariable a1, final TapeVariable b1,
+                                          final TapeVariable a2, final TapeVariable b2,
+                                          final TapeVariable a3, final TapeVariable b3) {
+        return a1.multiply(b1).add(a2.multiply(b2)).add(a3.multiply(b3));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable linearCombination(final double a1, final TapeVariable b1,
+                                          final double a2, final TapeVariable b2,
+                                          final double a3, final TapeVariable b3) {
+        return b1.multiply(a1).add(b2.multiply(a2)).add(b3.multiply(a3));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable linearCombination(final TapeVariable a1, final TapeVariable b1,
+                                          final TapeVariable a2, final TapeVariable b2,
+                                          final TapeVariable a3, final TapeVariable b3,
+                                          final TapeVariable a4, final TapeVariable b4) {
+        return a1.multiply(b1).add(a2.multiply(b2)).add(a3.multiply(b3)).add(a4.multiply(b4));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable linearCombination(final double a1, final TapeVariable b1,
+                                          final double a2, final TapeVariable b2,
+                                          final double a3, final TapeVariable b3,
+                                          final double a4, final TapeVariable b4) {
+        return b1.multiply(a1).add(b2.multiply(a2)).add(b3.multiply(a3)).add(b4.multiply(a4));
+    }
+
+}
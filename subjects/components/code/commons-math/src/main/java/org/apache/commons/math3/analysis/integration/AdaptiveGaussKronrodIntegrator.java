@@ -0,0 +1,367 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.integration;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.exception.TooManyEvaluationsException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.ParallelTasks;
+
+/**
+ * Globally adaptive integrator based on the 7 points Gauss and
+ * 15 points <a href="http://mathworld.wolfram.com/Gauss-KronrodQuadrature.html">
+ * Gauss-Kronrod</a> pair.
+ * <p>
+ * The integration interval is recursively bisected. Each subinterval is
+ * integrated with the 15 points Kronrod rule, and the difference with the
+ * embedded 7 points Gauss rule provides an estimate of its error. The
+ * subintervals are kept in a priority queue sorted by decreasing error,
+ * and at each iteration the subintervals with the largest errors are
+ * bisected, until the sum of all errors meets the accuracy settings. In
+ * contrast with {@link IterativeLegendreGaussIntegrator} and {@link
+ * RombergIntegrator} which refine the whole interval uniformly, function
+ * evaluations are therefore concentrated where the integrand is difficult.
+ * </p>
+ * <p>
+ * This integrator is intended for expensive integrands: at each iteration,
+ * several subintervals are bisected at once and the nodes of the new
+ * subintervals (15 per subinterval) are evaluated concurrently, one task
+ * per subinterval, by a user-provided {@link ExecutorService executor}.
+ * The integrand must therefore be thread-safe when an executor is used.
+ * The executor is not shut down by the integrator, so it can be shared by
+ * several integrations and other computations. The sequence of subintervals
+ * bisected does not depend on the executor, so the result is reproducible.
+ * </p>
+ * <p>
+ * Subintervals that become too small to be bisected in double precision are
+ * frozen: their contribution is kept but they are not refined anymore. If all
+ * remaining subintervals are frozen, the current estimate is returned even if
+ * it does not meet the accuracy settings.
+ * </p>
+ * @since 3.7
+ */
+public class AdaptiveGaussKronrodIntegrator extends BaseAbstractUnivariateIntegrator {
+
+    /** Kronrod abscissas (positive half, Gauss abscissas at odd indices). */
+    private static final double[] XGK = {
+        0.991455371120812639206854697526329,
+        0.949107912342758524526189684047851,
+        0.864864423359769072789712788640926,
+        0.741531185599394439863864773280788,
+        0.586087235467691130294144845693013,
+        0.405845151377397166906606412076961,
+        0.207784955007898467600689403773245
+    };
+
+    /** Kronrod weights (the last one is the weight of the center). */
+    private static final double[] WGK = {
+        0.022935322010529224963732008058970,
+        0.063092092629978553290700663189204,
+        0.104790010322250183839876322541518,
+        0.140653259715525918745189590510238,
+        0.169004726639267902826583426598550,
+        0.190350578064785409913256402421014,
+        0.204432940075298892414161999234649,
+        0.209482141084727828012999174891714
+    };
+
+    /** Gauss weights (the last one is the weight of the center). */
+    private static final double[] WG = {
+        0.129484966168869693270611432679082,
+        0.279705391489276667901467771423780,
+        0.381830050505118944950369775488975,
+        0.417959183673469387755102040816327
+    };
+
+    /** Number of nodes per subinterval. */
+    private static final int NODES = 15;
+
+    /** Executor for the integrand evaluations (null for the calling thread). */
+    private final ExecutorService executor;
+
+    /** Maximal number of subintervals bisected at each iteration. */
+    private final int batchSize;
+
+    /** Function to integrate. */
+    private UnivariateFunction integrand;
+
+    /** Maximal number of function evaluations. */
+    private int maxEvaluations;
+
+    /** Number of function evaluations. */
+    private int evaluations;
+
+    /**
+     * Builds an integrator with given accuracies and iterations counts.
+     *
+     * @param relativeAccuracy Relative accuracy of the result.
+     * @param absoluteAccuracy Absolute accuracy of the result.
+     * @param minimalIterationCount Minimum number of iterations.
+     * @param maximalIterationCount Maximum number of iterations.
+     * @param executor Executor for the integrand evaluations
+     * (null to evaluate it in the calling thread).
+     * @param batchSize Maximal number of subintervals bisected at each iteration.
+     * @throws NotStrictlyPositiveException if minimal number of iterations
+     * or batch size are not strictly positive.
+     * @throws NumberIsTooSmallException if maximal number of iterations
+     * is smaller than or equal to the minimal number of iterations.
+     */
+    public AdaptiveGaussKronrodIntegrator(final double relativeAccuracy,
+                                          final double absoluteAccuracy,
+                                          final int minimalIterationCount,
+                                          final int maximalIterationCount,
+                                          final ExecutorService executor,
+                                          final int batchSize)
+        throws NotStrictlyPositiveException, NumberIsTooSmallException {
+        super(relativeAccuracy, absoluteAccuracy, minimalIterationCount, maximalIterationCount);
+        if (batchSize <= 0) {
+            throw new NotStrictlyPositiveException(LocalizedFormats.NUMBER_OF_ELEMENTS_SHOULD_BE_POSITIVE,
+                                                   batchSize);
+        }
+        this.executor  = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Builds an integrator with given accuracies and default iterations counts.
+     *
+     * @param relativeAccuracy Relative accuracy of the result.
+     * @param absoluteAccuracy Absolute accuracy of the result.
+     * @param executor Executor for the integrand evaluations
+     * (null to evaluate it in the calling thread).
+     * @param batchSize Maximal number of subintervals bisected at each iteration.
+     * @throws NotStrictlyPositiveException if batch size is not strictly positive.
+     */
+    public AdaptiveGaussKronrodIntegrator(final double relativeAccuracy,
+                                          final double absoluteAccuracy,
+                                          final ExecutorService executor,
+                                          final int batchSize)
+        throws NotStrictlyPositiveException {
+        this(relativeAccuracy, absoluteAccuracy,
+             DEFAULT_MIN_ITERATIONS_COUNT, DEFAULT_MAX_ITERATIONS_COUNT,
+             executor, batchSize);
+    }
+
+    /**
+     * Builds a single-threaded integrator with default accuracies,
+     * bisecting one subinterval at each iteration.
+     */
+    public AdaptiveGaussKronrodIntegrator() {
+        this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_ABSOLUTE_ACCURACY,
+             DEFAULT_MIN_ITERATIONS_COUNT, DEFAULT_MAX_ITERATIONS_COUNT, null, 1);
+    }
+
+    /** Get the maximal number of subintervals bisected at each iteration.
+     * @return maximal number of subintervals bisected at each iteration
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void setup(final int maxEval,
+                         final UnivariateFunction f,
+                         final double lower, final double upper)
+        throws NullArgumentException, MathIllegalArgumentException {
+        super.setup(maxEval, f, lower, upper);
+        integrand      = f;
+        maxEvaluations = maxEval;
+        evaluations    = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected double doIntegrate()
+        throws TooManyEvaluationsException, MaxCountExceededException {
+
+        final PriorityQueue<Subinterval> queue =
+            new PriorityQueue<Subinterval>(16, new Comparator<Subinterval>() {
+                /** {@inheritDoc} */
+                public int compare(final Subinterval s1, final Subinterval s2) {
+                    return Double.compare(s2.error, s1.error);
+                }
+            });
+        final List<Subinterval> frozen = new ArrayList<Subinterval>();
+
+        // initial estimate on the whole interval
+        final Subinterval[] batch = new Subinterval[2 * batchSize];
+        batch[0] = new Subinterval(getMin(), getMax());
+        evaluate(batch, 1);
+        queue.add(batch[0]);
+        double integral = batch[0].integral;
+        double error    = batch[0].error;
+
+        while (true) {
+
+            // check convergence
+            final double limit = FastMath.max(getAbsoluteAccuracy(),
+                                              getRelativeAccuracy() * FastMath.abs(integral));
+            if ((getIterations() + 1 >= getMinimalIterationCount() && error <= limit) ||
+                queue.isEmpty()) {
+                return sum(queue, frozen);
+            }
+
+            // bisect the subintervals with largest errors
+            int n = 0;
+            while (n < batch.length && !queue.isEmpty()) {
+                final Subinterval worst = queue.poll();
+                final double middle = 0.5 * (worst.lower + worst.upper);
+                if (middle <= worst.lower || middle >= worst.upper) {
+                    // the subinterval is too small to be bisected
+                    frozen.add(worst);
+                    continue;
+                }
+                integral -= worst.integral;
+                error    -= worst.error;
+                batch[n++] = new Subinterval(worst.lower, middle);
+                batch[n++] = new Subinterval(middle, worst.upper);
+            }
+            if (n == 0) {
+                continue;
+            }
+
+            evaluate(batch, n);
+            for (int i = 0; i < n; ++i) {
+                integral += batch[i].integral;
+                error    += batch[i].error;
+                queue.add(batch[i]);
+            }
+
+            incrementCount();
+
+        }
+
+    }
+
+    /** Compute the sum of the integrals over all subintervals.
+     * <p>
+     * The sum is recomputed from scratch to avoid the cancellation
+     * errors accumulated by the incremental updates.
+     * </p>
+     * @param queue subintervals that can still be bisected
+     * @param frozen subintervals too small to be bisected
+     * @return integral over the whole interval
+     */
+    private double sum(final PriorityQueue<Subinterval> queue, final List<Subinterval> frozen) {
+        double sum = 0;
+        for (final Subinterval s : queue) {
+            sum += s.integral;
+        }
+        for (final Subinterval s : frozen) {
+            sum += s.integral;
+        }
+        return sum;
+    }
+
+    /** Evaluate the integrand at all nodes of a batch of subintervals.
+     * @param batch subintervals to evaluate
+     * @param n number of subintervals to evaluate in the batch
+     * @throws TooManyEvaluationsException if the maximal number of evaluations
+     * is exceeded.
+     */
+    private void evaluate(final Subinterval[] batch, final int n)
+        throws TooManyEvaluationsException {
+
+        final int nbNodes = n * NODES;
+        if (evaluations + nbNodes > maxEvaluations) {
+            throw new TooManyEvaluationsException(maxEvaluations);
+        }
+        evaluations += nbNodes;
+
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(n);
+        for (int i = 0; i < n; ++i) {
+            final Subinterval subinterval = batch[i];
+            tasks.add(new Callable<Void>() {
+                /** {@inheritDoc} */
+                public Void call() {
+                    subinterval.evaluate(integrand);
+                    return null;
+                }
+            });
+        }
+        ParallelTasks.invokeAll(executor, tasks);
+
+    }
+
+    /** Subinterval with its Gauss-Kronrod estimates. */
+    private static class Subinterval {
+
+        /** Lower bound. */
+        private final double lower;
+
+        /** Upper bound. */
+        private final double upper;
+
+        /** Kronrod estimate of the integral. */
+        private double integral;
+
+        /** Error estimate. */
+        private double error;
+
+        /** Simple constructor.
+         * @param lower lower bound
+         * @param upper upper bound
+         */
+        Subinterval(final double lower, final double upper) {
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+        /** Compute the integral and error estimates.
+         * @param f function to integrate
+         */
+        void evaluate(final UnivariateFunction f) {
+            final double center = 0.5 * (lower + upper);
+            final double half   = 0.5 * (upper - lower);
+            final double fc     = f.value(center);
+            double kronrod = WGK[XGK.length] * fc;
+            double gauss   = WG[WG.length - 1] * fc;
+            for (int j = 0; j < XGK.length; ++j) {
+                final double dx   = half * XGK[j];
+                final double pair = f.value(center - dx) + f.value(center + dx);
+                kronrod += WGK[j] * pair;
+                if ((j & 0x1) == 1) {
+                    gauss += WG[j / 2] * pair;
+                }
+            }
+            integral = half * kronrod;
+            error    = FastMath.abs(half * (kronrod - gauss));
+        }
+
+    }
+
+}
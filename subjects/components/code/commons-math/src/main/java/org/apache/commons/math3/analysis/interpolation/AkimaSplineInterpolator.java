@@ -16,7 +16,6 @@
  */
 package org.apache.commons.math3.analysis.interpolation;
 
-import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
 import org.apache.commons.math3.analysis.polynomials.PolynomialSplineFunction;
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NonMonotonicSequenceException;
@@ -189,10 +188,9 @@ public class AkimaSplineInterpolator
         }
 
         final int size = xvals.length - 1;
-        final PolynomialFunction[] polynomials = new PolynomialFunction[size];
-        final double[] coefficients = new double[4];
+        final double[][] coefficients = new double[size][];
 
-        for (int i = 0; i < polynomials.length; i++) {
+        for (int i = 0; i < coefficients.length; i++) {
             final double w = xvals[i + 1] - xvals[i];
             final double w2 = w * w;
 
@@ -202,14 +200,15 @@ public class AkimaSplineInterpolator
             final double fd = firstDerivatives[i];
             final double fdP = firstDerivatives[i + 1];
 
-            coefficients[0] = yv;
-            coefficients[1] = firstDerivatives[i];
-            coefficients[2] = (3 * (yvP - yv) / w - 2 * fd - fdP) / w;
-            coefficients[3] = (2 * (yv - yvP) / w + fd + fdP) / w2;
-            polynomials[i] = new PolynomialFunction(coefficients);
+            coefficients[i] = new double[] {
+                yv,
+                firstDerivatives[i],
+                (3 * (yvP - yv) / w - 2 * fd - fdP) / w,
+                (2 * (yv - yvP) / w + fd + fdP) / w2
+            };
         }
 
-        return new PolynomialSplineFunction(xvals, polynomials);
+        return new PolynomialSplineFunction(xvals, coefficients);
 
     }
 }
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.interpolation;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Locator for sample points along one axis of an interpolation grid.
+ * <p>
+ * When the samples are (almost) evenly spaced, the index is guessed in
+ * constant time from the grid step and then corrected by comparison with
+ * the neighboring samples, so the result is always the same as the one
+ * of a binary search. Otherwise, a binary search is used.
+ * </p>
+ * @since 3.7
+ */
+final class GridLocator {
+
+    /** Maximal deviation of samples with respect to a uniform grid, as a fraction of the step. */
+    private static final double UNIFORMITY_THRESHOLD = 0.01;
+
+    /** Samples, in strictly increasing order. */
+    private final double[] val;
+
+    /** Inverse of the grid step (0 if the grid is not uniform). */
+    private final double inverseStep;
+
+    /** Simple constructor.
+     * @param val samples, in strictly increasing order (not copied)
+     */
+    GridLocator(final double[] val) {
+        this.val = val;
+        final int last = val.length - 1;
+        boolean uniform = last > 0;
+        final double step = uniform ? (val[last] - val[0]) / last : 0;
+        for (int i = 1; uniform && i < last; ++i) {
+            uniform = FastMath.abs(val[i] - (val[0] + i * step)) <= UNIFORMITY_THRESHOLD * step;
+        }
+        this.inverseStep = uniform ? 1.0 / step : 0.0;
+    }
+
+    /** Check if the samples are evenly spaced.
+     * @return true if the samples are evenly spaced
+     */
+    boolean isUniform() {
+        return inverseStep != 0.0;
+    }
+
+    /** Check if a coordinate is within the sampled range.
+     * @param c coordinate
+     * @return true if {@code c} is within the sampled range
+     */
+    boolean contains(final double c) {
+        return c >= val[0] && c <= val[val.length - 1];
+    }
+
+    /** Find the index of the largest sample smaller than or equal to a coordinate.
+     * @param c coordinate, which must be within the sampled range
+     * @return index of the largest sample smaller than or equal to {@code c}
+     */
+    int floorIndex(final double c) {
+        if (inverseStep == 0.0) {
+            final int r = Arrays.binarySearch(val, c);
+            return (r < 0) ? -r - 2 : r;
+        }
+        final int last = val.length - 1;
+        int i = FastMath.max(0, FastMath.min(last, (int) ((c - val[0]) * inverseStep)));
+        while (i > 0 && val[i] > c) {
+            --i;
+        }
+        while (i < last && val[i + 1] <= c) {
+            ++i;
+        }
+        return i;
+    }
+
+}
@@ -16,7 +16,6 @@
  */
 package org.apache.commons.math3.analysis.interpolation;
 
-import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
 import org.apache.commons.math3.analysis.polynomials.PolynomialSplineFunction;
 import org.apache.commons.math3.util.MathArrays;
 import org.apache.commons.math3.exception.DimensionMismatchException;
@@ -66,14 +65,11 @@ public class LinearInterpolator implements UnivariateInterpolator {
             m[i] = (y[i + 1] - y[i]) / (x[i + 1] - x[i]);
         }
 
-        final PolynomialFunction polynomials[] = new PolynomialFunction[n];
-        final double coefficients[] = new double[2];
+        final double coefficients[][] = new double[n][];
         for (int i = 0; i < n; i++) {
-            coefficients[0] = y[i];
-            coefficients[1] = m[i];
-            polynomials[i] = new PolynomialFunction(coefficients);
+            coefficients[i] = new double[] { y[i], m[i] };
         }
 
-        return new PolynomialSplineFunction(x, polynomials);
+        return new PolynomialSplineFunction(x, coefficients);
     }
 }
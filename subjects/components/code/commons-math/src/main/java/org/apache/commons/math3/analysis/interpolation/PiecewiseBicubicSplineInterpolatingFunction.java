@@ -16,16 +16,16 @@
  */
 package org.apache.commons.math3.analysis.interpolation;
 
-import java.util.Arrays;
 import org.apache.commons.math3.analysis.BivariateFunction;
-import org.apache.commons.math3.analysis.polynomials.PolynomialSplineFunction;
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.InsufficientDataException;
 import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.NonMonotonicSequenceException;
+import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.Precision;
 
 /**
  * Function that implements the
@@ -35,6 +35,13 @@ import org.apache.commons.math3.util.MathArrays;
  * underlying one-dimensional interpolator, which requires 5 sample points;
  * insufficient data will raise an exception when the
  * {@link #value(double,double) value} method is called.
+ * <p>
+ * The one-dimensional Akima splines are evaluated directly on the 5 by 5
+ * samples window surrounding each point, without building intermediate
+ * spline objects. The window is located in constant time when the samples
+ * are evenly spaced. Several points can be evaluated at once using
+ * {@link #value(double[], double[], double[])}.
+ * </p>
  *
  * @since 3.4
  */
@@ -48,6 +55,10 @@ public class PiecewiseBicubicSplineInterpolatingFunction
     private final double[] yval;
     /** Set of cubic splines patching the whole data grid */
     private final double[][] fval;
+    /** Locator for x-coordinates. */
+    private final GridLocator xLocator;
+    /** Locator for y-coordinates. */
+    private final GridLocator yLocator;
 
     /**
      * @param x Sample values of the x-coordinate, in increasing order.
@@ -106,6 +117,8 @@ public class PiecewiseBicubicSplineInterpolatingFunction
         xval = x.clone();
         yval = y.clone();
         fval = f.clone();
+        xLocator = new GridLocator(xval);
+        yLocator = new GridLocator(yval);
     }
 
     /**
@@ -114,35 +127,60 @@ public class PiecewiseBicubicSplineInterpolatingFunction
     public double value(double x,
                         double y)
         throws OutOfRangeException {
-        final AkimaSplineInterpolator interpolator = new AkimaSplineInterpolator();
-        final int offset = 2;
-        final int count = offset + 3;
-        final int i = searchIndex(x, xval, offset, count);
-        final int j = searchIndex(y, yval, offset, count);
-
-        final double xArray[] = new double[count];
-        final double yArray[] = new double[count];
-        final double zArray[] = new double[count];
-        final double interpArray[] = new double[count];
+        return value(x, y, new double[MIN_NUM_POINTS], new double[MIN_NUM_POINTS]);
+    }
 
-        for (int index = 0; index < count; index++) {
-            xArray[index] = xval[i + index];
-            yArray[index] = yval[j + index];
+    /**
+     * Compute the values of the function at several points.
+     *
+     * @param x x-coordinates of the points.
+     * @param y y-coordinates of the points.
+     * @param out Placeholder where to put the values (may be one of the coordinates arrays).
+     * @throws DimensionMismatchException if arrays lengths do not match.
+     * @throws OutOfRangeException if any of the points is outside the interpolation range.
+     * @since 3.7
+     */
+    public void value(final double[] x, final double[] y, final double[] out)
+        throws DimensionMismatchException, OutOfRangeException {
+        if (y.length != x.length) {
+            throw new DimensionMismatchException(y.length, x.length);
         }
+        if (out.length != x.length) {
+            throw new DimensionMismatchException(out.length, x.length);
+        }
+        final double[] zArray      = new double[MIN_NUM_POINTS];
+        final double[] interpArray = new double[MIN_NUM_POINTS];
+        for (int n = 0; n < x.length; ++n) {
+            out[n] = value(x[n], y[n], zArray, interpArray);
+        }
+    }
+
+    /**
+     * Compute the value of the function at one point.
+     *
+     * @param x First coordinate.
+     * @param y Second coordinate.
+     * @param zArray Work array for function values along x.
+     * @param interpArray Work array for interpolated values along y.
+     * @return the interpolated value.
+     * @throws OutOfRangeException if the point is outside the interpolation range.
+     */
+    private double value(final double x, final double y,
+                         final double[] zArray, final double[] interpArray)
+        throws OutOfRangeException {
+        final int offset = 2;
+        final int count = offset + 3;
+        final int i = searchIndex(x, xval, xLocator, offset, count);
+        final int j = searchIndex(y, yval, yLocator, offset, count);
 
         for (int zIndex = 0; zIndex < count; zIndex++) {
             for (int index = 0; index < count; index++) {
                 zArray[index] = fval[i + index][j + zIndex];
             }
-            final PolynomialSplineFunction spline = interpolator.interpolate(xArray, zArray);
-            interpArray[zIndex] = spline.value(x);
+            interpArray[zIndex] = akima(xval, i, zArray, x);
         }
 
-        final PolynomialSplineFunction spline = interpolator.interpolate(yArray, interpArray);
-
-        double returnValue = spline.value(y);
-
-        return returnValue;
+        return akima(yval, j, interpArray, y);
     }
 
     /**
@@ -168,6 +206,7 @@ public class PiecewiseBicubicSplineInterpolatingFunction
     /**
      * @param c Coordinate.
      * @param val Coordinate samples.
+     * @param locator Locator for the coordinate samples.
      * @param offset how far back from found value to offset for querying
      * @param count total number of elements forward from beginning that will be
      *        queried
@@ -178,19 +217,18 @@ public class PiecewiseBicubicSplineInterpolatingFunction
      */
     private int searchIndex(double c,
                             double[] val,
+                            GridLocator locator,
                             int offset,
                             int count) {
-        int r = Arrays.binarySearch(val, c);
-
-        if (r == -1 || r == -val.length - 1) {
+        if (!locator.contains(c)) {
             throw new OutOfRangeException(c, val[0], val[val.length - 1]);
         }
 
-        if (r < 0) {
-            // "c" in within an interpolation sub-interval, which returns
-            // negative
-            // need to remove the negative sign for consistency
-            r = -r - offset - 1;
+        int r = locator.floorIndex(c);
+        if (val[r] != c) {
+            // "c" in within an interpolation sub-interval,
+            // the window is shifted by one sample
+            r = r + 1 - offset;
         } else {
             r -= offset;
         }
@@ -207,4 +245,123 @@ public class PiecewiseBicubicSplineInterpolatingFunction
 
         return r;
     }
+
+    /**
+     * Evaluate the Akima spline through 5 consecutive samples.
+     * <p>
+     * This method performs the same computation as building the spline with
+     * {@link AkimaSplineInterpolator} and evaluating it, without any allocation.
+     * </p>
+     *
+     * @param xs Samples coordinates.
+     * @param start Index of the first of the 5 samples in {@code xs}.
+     * @param ys Function values at the 5 samples.
+     * @param t Point at which the spline must be evaluated.
+     * @return the value of the spline at {@code t}.
+     */
+    private static double akima(final double[] xs, final int start, final double[] ys, final double t) {
+
+        final double x0 = xs[start];
+        final double x1 = xs[start + 1];
+        final double x2 = xs[start + 2];
+        final double x3 = xs[start + 3];
+        final double x4 = xs[start + 4];
+
+        final double d0 = (ys[1] - ys[0]) / (x1 - x0);
+        final double d1 = (ys[2] - ys[1]) / (x2 - x1);
+        final double d2 = (ys[3] - ys[2]) / (x3 - x2);
+        final double d3 = (ys[4] - ys[3]) / (x4 - x3);
+
+        // find the segment containing t
+        int s = 0;
+        while (s < 3 && xs[start + s + 1] <= t) {
+            ++s;
+        }
+
+        // first derivatives at both ends of the segment
+        final double fd;
+        final double fdP;
+        switch (s) {
+            case 0 :
+                fd  = differentiateThreePoint(x0, x0, x1, x2, ys[0], ys[1], ys[2]);
+                fdP = differentiateThreePoint(x1, x0, x1, x2, ys[0], ys[1], ys[2]);
+                break;
+            case 1 :
+                fd  = differentiateThreePoint(x1, x0, x1, x2, ys[0], ys[1], ys[2]);
+                fdP = akimaDerivative(x1, x2, x3, d0, d1, d2, d3);
+                break;
+            case 2 :
+                fd  = akimaDerivative(x1, x2, x3, d0, d1, d2, d3);
+                fdP = differentiateThreePoint(x3, x2, x3, x4, ys[2], ys[3], ys[4]);
+                break;
+            default :
+                fd  = differentiateThreePoint(x3, x2, x3, x4, ys[2], ys[3], ys[4]);
+                fdP = differentiateThreePoint(x4, x2, x3, x4, ys[2], ys[3], ys[4]);
+                break;
+        }
+
+        // Hermite cubic on the segment
+        final double xv  = xs[start + s];
+        final double w   = xs[start + s + 1] - xv;
+        final double w2  = w * w;
+        final double yv  = ys[s];
+        final double yvP = ys[s + 1];
+        final double c2  = (3 * (yvP - yv) / w - 2 * fd - fdP) / w;
+        final double c3  = (2 * (yv - yvP) / w + fd + fdP) / w2;
+
+        final double dt = t - xv;
+        return ((c3 * dt + c2) * dt + fd) * dt + yv;
+
+    }
+
+    /**
+     * Akima first derivative at the central sample.
+     *
+     * @param xM Coordinate of the sample before the central one.
+     * @param xv Coordinate of the central sample.
+     * @param xP Coordinate of the sample after the central one.
+     * @param d0 First divided difference.
+     * @param d1 Second divided difference.
+     * @param d2 Third divided difference.
+     * @param d3 Fourth divided difference.
+     * @return the first derivative at the central sample.
+     */
+    private static double akimaDerivative(final double xM, final double xv, final double xP,
+                                          final double d0, final double d1,
+                                          final double d2, final double d3) {
+        final double wP = FastMath.abs(d3 - d2);
+        final double wM = FastMath.abs(d1 - d0);
+        if (Precision.equals(wP, 0.0) &&
+            Precision.equals(wM, 0.0)) {
+            return (((xP - xv) * d1) + ((xv - xM) * d2)) / (xP - xM);
+        } else {
+            return ((wP * d1) + (wM * d2)) / (wP + wM);
+        }
+    }
+
+    /**
+     * Three point differentiation, as used by {@link AkimaSplineInterpolator}
+     * near the ends of the samples range.
+     *
+     * @param x Coordinate at which the derivative is computed.
+     * @param xA Coordinate of the first sample.
+     * @param xB Coordinate of the second sample.
+     * @param xC Coordinate of the third sample.
+     * @param yA Function value at the first sample.
+     * @param yB Function value at the second sample.
+     * @param yC Function value at the third sample.
+     * @return the derivative.
+     */
+    private static double differentiateThreePoint(final double x,
+                                                  final double xA, final double xB, final double xC,
+                                                  final double yA, final double yB, final double yC) {
+        final double t = x - xA;
+        final double t1 = xB - xA;
+        final double t2 = xC - xA;
+
+        final double a = (yC - yA - (t2 / t1 * (yB - yA))) / (t2 * t2 - t1 * t2);
+        final double b = (yB - yA - a * t1 * t1) / t1;
+
+        return (2 * a * t) + b;
+    }
 }
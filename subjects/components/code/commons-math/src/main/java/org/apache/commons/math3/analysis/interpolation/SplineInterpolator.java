@@ -16,7 +16,6 @@
  */
 package org.apache.commons.math3.analysis.interpolation;
 
-import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
 import org.apache.commons.math3.analysis.polynomials.PolynomialSplineFunction;
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NonMonotonicSequenceException;
@@ -112,16 +111,11 @@ public class SplineInterpolator implements UnivariateInterpolator {
             d[j] = (c[j + 1] - c[j]) / (3d * h[j]);
         }
 
-        final PolynomialFunction polynomials[] = new PolynomialFunction[n];
-        final double coefficients[] = new double[4];
+        final double coefficients[][] = new double[n][];
         for (int i = 0; i < n; i++) {
-            coefficients[0] = y[i];
-            coefficients[1] = b[i];
-            coefficients[2] = c[i];
-            coefficients[3] = d[i];
-            polynomials[i] = new PolynomialFunction(coefficients);
+            coefficients[i] = new double[] { y[i], b[i], c[i], d[i] };
         }
 
-        return new PolynomialSplineFunction(x, polynomials);
+        return new PolynomialSplineFunction(x, coefficients);
     }
 }
@@ -16,12 +16,19 @@
  */
 package org.apache.commons.math3.analysis.interpolation;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math3.analysis.TrivariateFunction;
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.NonMonotonicSequenceException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.ParallelTasks;
 
 /**
  * Function that implements the
@@ -108,14 +115,28 @@ public class TricubicInterpolatingFunction
         { 8,-8,-8,8,-8,8,8,-8,4,4,-4,-4,-4,-4,4,4,4,-4,4,-4,-4,4,-4,4,4,-4,-4,4,4,-4,-4,4,2,2,2,2,-2,-2,-2,-2,2,2,-2,-2,2,2,-2,-2,2,-2,2,-2,2,-2,2,-2,1,1,1,1,1,1,1,1 }
     };
 
+    /** Number of coefficients per cell. */
+    private static final int NUM_COEFF = 64;
     /** Samples x-coordinates */
     private final double[] xval;
     /** Samples y-coordinates */
     private final double[] yval;
     /** Samples z-coordinates */
     private final double[] zval;
-    /** Set of cubic splines patching the whole data grid */
-    private final TricubicFunction[][][] splines;
+    /** Locator for x-coordinates. */
+    private final GridLocator xLocator;
+    /** Locator for y-coordinates. */
+    private final GridLocator yLocator;
+    /** Locator for z-coordinates. */
+    private final GridLocator zLocator;
+    /**
+     * Coefficients of the cubic splines patching the whole data grid, stored
+     * as one flat slab per x index, with {@link #NUM_COEFF} coefficients per
+     * cell. The coefficients of cell (i, j, k) start at index
+     * {@code (j * (zval.length - 1) + k) * NUM_COEFF} of slab i. Splitting
+     * the storage by x index keeps large grids within the array size limit.
+     */
+    private final double[][] coefficients;
 
     /**
      * @param x Sample values of the x-coordinate, in increasing order.
@@ -147,6 +168,54 @@ public class TricubicInterpolatingFunction
         throws NoDataException,
                DimensionMismatchException,
                NonMonotonicSequenceException {
+        this(x, y, z, f, dFdX, dFdY, dFdZ, d2FdXdY, d2FdXdZ, d2FdYdZ, d3FdXdYdZ, null);
+    }
+
+    /**
+     * Build an interpolating function, computing the cells coefficients in parallel.
+     * <p>
+     * The coefficients of each slab of cells of constant x index are computed
+     * by a separate task run by the executor, which is not shut down.
+     * The result does not depend on the executor.
+     * </p>
+     *
+     * @param x Sample values of the x-coordinate, in increasing order.
+     * @param y Sample values of the y-coordinate, in increasing order.
+     * @param z Sample values of the y-coordinate, in increasing order.
+     * @param f Values of the function on every grid point.
+     * @param dFdX Values of the partial derivative of function with respect to x on every grid point.
+     * @param dFdY Values of the partial derivative of function with respect to y on every grid point.
+     * @param dFdZ Values of the partial derivative of function with respect to z on every grid point.
+     * @param d2FdXdY Values of the cross partial derivative of function on every grid point.
+     * @param d2FdXdZ Values of the cross partial derivative of function on every grid point.
+     * @param d2FdYdZ Values of the cross partial derivative of function on every grid point.
+     * @param d3FdXdYdZ Values of the cross partial derivative of function on every grid point.
+     * @param executor Executor used to compute the cells coefficients
+     * (null to compute them in the calling thread).
+     * @throws NoDataException if any of the arrays has zero length.
+     * @throws DimensionMismatchException if the various arrays do not contain the expected number of elements.
+     * @throws NonMonotonicSequenceException if {@code x}, {@code y} or {@code z} are not strictly increasing.
+     * @throws NumberIsTooLargeException if the coefficients of the cells sharing
+     * one x index do not fit in a single array.
+     * @since 3.7
+     */
+    public TricubicInterpolatingFunction(final double[] x,
+                                         final double[] y,
+                                         final double[] z,
+                                         final double[][][] f,
+                                         final double[][][] dFdX,
+                                         final double[][][] dFdY,
+                                         final double[][][] dFdZ,
+                                         final double[][][] d2FdXdY,
+                                         final double[][][] d2FdXdZ,
+                                         final double[][][] d2FdYdZ,
+                                         final double[][][] d3FdXdYdZ,
+                                         final ExecutorService executor)
+        throws NoDataException,
+               DimensionMismatchException,
+               NonMonotonicSequenceException,
+               NumberIsTooLargeException {
+
         final int xLen = x.length;
         final int yLen = y.length;
         final int zLen = z.length;
@@ -187,10 +256,18 @@ public class TricubicInterpolatingFunction
         yval = y.clone();
         zval = z.clone();
 
+        xLocator = new GridLocator(xval);
+        yLocator = new GridLocator(yval);
+        zLocator = new GridLocator(zval);
+
         final int lastI = xLen - 1;
         final int lastJ = yLen - 1;
         final int lastK = zLen - 1;
-        splines = new TricubicFunction[lastI][lastJ][lastK];
+        final long slabSize = ((long) lastJ) * lastK * NUM_COEFF;
+        if (slabSize > Integer.MAX_VALUE) {
+            throw new NumberIsTooLargeException(slabSize, Integer.MAX_VALUE, true);
+        }
+        coefficients = new double[lastI][(int) slabSize];
 
         for (int i = 0; i < lastI; i++) {
             if (f[i].length != yLen) {
@@ -218,8 +295,6 @@ public class TricubicInterpolatingFunction
                 throw new DimensionMismatchException(d3FdXdYdZ[i].length, yLen);
             }
 
-            final int ip1 = i + 1;
-            final double xR = xval[ip1] - xval[i];
             for (int j = 0; j < lastJ; j++) {
                 if (f[i][j].length != zLen) {
                     throw new DimensionMismatchException(f[i][j].length, zLen);
@@ -245,7 +320,57 @@ public class TricubicInterpolatingFunction
                 if (d3FdXdYdZ[i][j].length != zLen) {
                     throw new DimensionMismatchException(d3FdXdYdZ[i][j].length, zLen);
                 }
+            }
+        }
+
+        if (executor == null) {
+            computeSlabs(0, lastI, f, dFdX, dFdY, dFdZ, d2FdXdY, d2FdXdZ, d2FdYdZ, d3FdXdYdZ);
+            return;
+        }
+
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(lastI);
+        for (int i = 0; i < lastI; i++) {
+            final int slab = i;
+            tasks.add(new Callable<Void>() {
+                /** {@inheritDoc} */
+                public Void call() {
+                    computeSlabs(slab, slab + 1, f, dFdX, dFdY, dFdZ, d2FdXdY, d2FdXdZ, d2FdYdZ, d3FdXdYdZ);
+                    return null;
+                }
+            });
+        }
+        ParallelTasks.invokeAll(executor, tasks);
+    }
 
+    /**
+     * Compute the coefficients of all cells in a range of x indices.
+     *
+     * @param startI First x index (included).
+     * @param endI Last x index (excluded).
+     * @param f Values of the function on every grid point.
+     * @param dFdX Values of the partial derivative of function with respect to x on every grid point.
+     * @param dFdY Values of the partial derivative of function with respect to y on every grid point.
+     * @param dFdZ Values of the partial derivative of function with respect to z on every grid point.
+     * @param d2FdXdY Values of the cross partial derivative of function on every grid point.
+     * @param d2FdXdZ Values of the cross partial derivative of function on every grid point.
+     * @param d2FdYdZ Values of the cross partial derivative of function on every grid point.
+     * @param d3FdXdYdZ Values of the cross partial derivative of function on every grid point.
+     */
+    private void computeSlabs(final int startI, final int endI,
+                              final double[][][] f,
+                              final double[][][] dFdX,
+                              final double[][][] dFdY,
+                              final double[][][] dFdZ,
+                              final double[][][] d2FdXdY,
+                              final double[][][] d2FdXdZ,
+                              final double[][][] d2FdYdZ,
+                              final double[][][] d3FdXdYdZ) {
+        final int lastJ = yval.length - 1;
+        final int lastK = zval.length - 1;
+        for (int i = startI; i < endI; i++) {
+            final int ip1 = i + 1;
+            final double xR = xval[ip1] - xval[i];
+            for (int j = 0; j < lastJ; j++) {
                 final int jp1 = j + 1;
                 final double yR = yval[jp1] - yval[j];
                 final double xRyR = xR * yR;
@@ -298,7 +423,7 @@ public class TricubicInterpolatingFunction
                         d3FdXdYdZ[i][jp1][kp1] * xRyRzR, d3FdXdYdZ[ip1][jp1][kp1] * xRyRzR,
                     };
 
-                    splines[i][j][k] = new TricubicFunction(computeCoefficients(beta));
+                    computeCoefficients(beta, coefficients[i], (j * lastK + k) * NUM_COEFF);
                 }
             }
         }
@@ -311,24 +436,42 @@ public class TricubicInterpolatingFunction
      */
     public double value(double x, double y, double z)
         throws OutOfRangeException {
-        final int i = searchIndex(x, xval);
-        if (i == -1) {
-            throw new OutOfRangeException(x, xval[0], xval[xval.length - 1]);
-        }
-        final int j = searchIndex(y, yval);
-        if (j == -1) {
-            throw new OutOfRangeException(y, yval[0], yval[yval.length - 1]);
-        }
-        final int k = searchIndex(z, zval);
-        if (k == -1) {
-            throw new OutOfRangeException(z, zval[0], zval[zval.length - 1]);
-        }
+        final int i = searchIndex(x, xval, xLocator);
+        final int j = searchIndex(y, yval, yLocator);
+        final int k = searchIndex(z, zval, zLocator);
 
         final double xN = (x - xval[i]) / (xval[i + 1] - xval[i]);
         final double yN = (y - yval[j]) / (yval[j + 1] - yval[j]);
         final double zN = (z - zval[k]) / (zval[k + 1] - zval[k]);
 
-        return splines[i][j][k].value(xN, yN, zN);
+        return evaluate(coefficients[i], (j * (zval.length - 1) + k) * NUM_COEFF, xN, yN, zN);
+    }
+
+    /**
+     * Compute the values of the function at several points.
+     *
+     * @param x x-coordinates of the points.
+     * @param y y-coordinates of the points.
+     * @param z z-coordinates of the points.
+     * @param out Placeholder where to put the values (may be one of the coordinates arrays).
+     * @throws DimensionMismatchException if arrays lengths do not match.
+     * @throws OutOfRangeException if any of the points is outside the interpolation range.
+     * @since 3.7
+     */
+    public void value(final double[] x, final double[] y, final double[] z, final double[] out)
+        throws DimensionMismatchException, OutOfRangeException {
+        if (y.length != x.length) {
+            throw new DimensionMismatchException(y.length, x.length);
+        }
+        if (z.length != x.length) {
+            throw new DimensionMismatchException(z.length, x.length);
+        }
+        if (out.length != x.length) {
+            throw new DimensionMismatchException(out.length, x.length);
+        }
+        for (int n = 0; n < x.length; ++n) {
+            out[n] = value(x[n], y[n], z[n]);
+        }
     }
 
     /**
@@ -355,22 +498,18 @@ public class TricubicInterpolatingFunction
     /**
      * @param c Coordinate.
      * @param val Coordinate samples.
-     * @return the index in {@code val} corresponding to the interval containing {@code c}, or {@code -1}
-     *   if {@code c} is out of the range defined by the end values of {@code val}.
+     * @param locator Locator for the coordinate samples.
+     * @return the index in {@code val} corresponding to the interval containing {@code c}.
+     * @throws OutOfRangeException if {@code c} is out of the range defined by the end values of {@code val}.
      */
-    private int searchIndex(double c, double[] val) {
-        if (c < val[0]) {
-            return -1;
-        }
-
-        final int max = val.length;
-        for (int i = 1; i < max; i++) {
-            if (c <= val[i]) {
-                return i - 1;
-            }
+    private int searchIndex(double c, double[] val, GridLocator locator) {
+        if (!locator.contains(c)) {
+            throw new OutOfRangeException(c, val[0], val[val.length - 1]);
         }
 
-        return -1;
+        // points on interior samples belong to the sub-interval on their left
+        final int r = locator.floorIndex(c);
+        return (r > 0 && val[r] == c) ? r - 1 : r;
     }
 
     /**
@@ -419,69 +558,31 @@ public class TricubicInterpolatingFunction
      * the corresponding variable(s).
      *
      * @param beta List of function values and function partial derivatives values.
-     * @return the spline coefficients.
+     * @param a Placeholder where to put the spline coefficients.
+     * @param offset Index of the first spline coefficient in {@code a}.
      */
-    private double[] computeCoefficients(double[] beta) {
-        final int sz = 64;
-        final double[] a = new double[sz];
-
-        for (int i = 0; i < sz; i++) {
+    private void computeCoefficients(double[] beta, double[] a, int offset) {
+        for (int i = 0; i < NUM_COEFF; i++) {
             double result = 0;
             final double[] row = AINV[i];
-            for (int j = 0; j < sz; j++) {
+            for (int j = 0; j < NUM_COEFF; j++) {
                 result += row[j] * beta[j];
             }
-            a[i] = result;
-        }
-
-        return a;
-    }
-}
-
-/**
- * 3D-spline function.
- *
- */
-class TricubicFunction
-    implements TrivariateFunction {
-    /** Number of points. */
-    private static final short N = 4;
-    /** Coefficients */
-    private final double[][][] a = new double[N][N][N];
-
-    /**
-     * @param aV List of spline coefficients.
-     */
-    TricubicFunction(double[] aV) {
-        for (int i = 0; i < N; i++) {
-            for (int j = 0; j < N; j++) {
-                for (int k = 0; k < N; k++) {
-                    a[i][j][k] = aV[i + N * (j + N * k)];
-                }
-            }
+            a[offset + i] = result;
         }
     }
 
     /**
-     * @param x x-coordinate of the interpolation point.
-     * @param y y-coordinate of the interpolation point.
-     * @param z z-coordinate of the interpolation point.
+     * Evaluate the spline of one cell.
+     *
+     * @param a Slab containing the spline coefficients of the cell.
+     * @param offset Index of the first spline coefficient of the cell.
+     * @param x Normalized x-coordinate of the interpolation point within the cell.
+     * @param y Normalized y-coordinate of the interpolation point within the cell.
+     * @param z Normalized z-coordinate of the interpolation point within the cell.
      * @return the interpolated value.
-     * @throws OutOfRangeException if {@code x}, {@code y} or
-     * {@code z} are not in the interval {@code [0, 1]}.
      */
-    public double value(double x, double y, double z)
-        throws OutOfRangeException {
-        if (x < 0 || x > 1) {
-            throw new OutOfRangeException(x, 0, 1);
-        }
-        if (y < 0 || y > 1) {
-            throw new OutOfRangeException(y, 0, 1);
-        }
-        if (z < 0 || z > 1) {
-            throw new OutOfRangeException(z, 0, 1);
-        }
-
+    private double evaluate(double[] a, int offset, double x, double y, double z) {
         final double x2 = x * x;
         final double x3 = x2 * x;
         final double[] pX = { 1, x, x2, x3 };
@@ -495,10 +596,10 @@ class TricubicFunction
         final double[] pZ = { 1, z, z2, z3 };
 
         double result = 0;
-        for (int i = 0; i < N; i++) {
-            for (int j = 0; j < N; j++) {
-                for (int k = 0; k < N; k++) {
-                    result += a[i][j][k] * pX[i] * pY[j] * pZ[k];
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                for (int k = 0; k < 4; k++) {
+                    result += a[offset + i + 4 * (j + 4 * k)] * pX[i] * pY[j] * pZ[k];
                 }
             }
         }
@@ -23,12 +23,15 @@ import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.differentiation.DerivativeStructure;
 import org.apache.commons.math3.analysis.differentiation.UnivariateDifferentiableFunction;
 import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.NonMonotonicSequenceException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.MathUtils;
 
 /**
  * Represents a polynomial spline function.
@@ -42,7 +45,7 @@ import org.apache.commons.math3.util.MathArrays;
  * <code>PolynomialSplineFunction</code> itself, but are assumed to hold among
  * the polynomials and knot points passed to the constructor.</p>
  * <p>
- * N.B.:  The polynomials in the <code>polynomials</code> property must be
+ * N.B.:  The polynomials passed to the constructor must be
  * centered on the knot points to compute the spline function values.
  * See below.</p>
  * <p>
@@ -61,6 +64,13 @@ import org.apache.commons.math3.util.MathArrays;
  * <li> Let <code>j</code> be the index of the largest knot point that is less
  * than or equal to <code>x</code>.  The value returned is
  * {@code polynomials[j](x - knot[j])}</li></ol>
+ * <p>
+ * The coefficients of all polynomials are stored in one flat array, and the
+ * {@link #value(double[], double[])} method evaluates the spline at many points
+ * at once. When these points are sorted in increasing order, the segment
+ * containing each point is found by walking the knots linearly from the
+ * segment of the previous point rather than by a binary search.
+ * </p>
  *
  */
 public class PolynomialSplineFunction implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction {
@@ -70,13 +80,19 @@ public class PolynomialSplineFunction implements UnivariateDifferentiableFunctio
      */
     private final double knots[];
     /**
-     * The polynomial functions that make up the spline.  The first element
-     * determines the value of the spline over the first subinterval, the
-     * second over the second, etc.   Spline function values are determined by
-     * evaluating these functions at {@code (x - knot[i])} where i is the
-     * knot segment to which x belongs.
+     * The coefficients of the polynomial functions that make up the spline,
+     * in increasing degree order. The coefficients of the polynomial for
+     * segment i are stored from index {@code i * stride} to index
+     * {@code (i + 1) * stride - 1}, padded with zeros for polynomials of
+     * lower degree. Spline function values are determined by evaluating
+     * these polynomials at {@code (x - knot[i])} where i is the knot segment
+     * to which x belongs.
      */
-    private final PolynomialFunction polynomials[];
+    private final double coefficients[];
+    /**
+     * Number of coefficients stored for each polynomial, i.e. maximal degree + 1.
+     */
+    private final int stride;
     /**
      * Number of spline segments. It is equal to the number of polynomials and
      * to the number of partition points - 1.
@@ -87,8 +103,8 @@ public class PolynomialSplineFunction implements UnivariateDifferentiableFunctio
     /**
      * Construct a polynomial spline function with the given segment delimiters
      * and interpolating polynomials.
-     * The constructor copies both arrays and assigns the copies to the knots
-     * and polynomials properties, respectively.
+     * The constructor copies the knots array and the coefficients of all
+     * polynomials, which are not referenced afterwards.
      *
      * @param knots Spline segment interval delimiters.
      * @param polynomials Polynomial functions that make up the spline.
@@ -117,8 +133,86 @@ public class PolynomialSplineFunction implements UnivariateDifferentiableFunctio
         this.n = knots.length -1;
         this.knots = new double[n + 1];
         System.arraycopy(knots, 0, this.knots, 0, n + 1);
-        this.polynomials = new PolynomialFunction[n];
-        System.arraycopy(polynomials, 0, this.polynomials, 0, n);
+
+        int maxLength = 1;
+        for (final PolynomialFunction p : polynomials) {
+            maxLength = FastMath.max(maxLength, p.getCoefficients().length);
+        }
+        this.stride       = maxLength;
+        this.coefficients = new double[n * stride];
+        for (int i = 0; i < n; i++) {
+            final double[] c = polynomials[i].getCoefficients();
+            System.arraycopy(c, 0, coefficients, i * stride, c.length);
+        }
+    }
+
+    /**
+     * Construct a polynomial spline function with the given segment delimiters
+     * and polynomials coefficients.
+     * <p>
+     * This constructor avoids building one {@link PolynomialFunction} instance
+     * per segment. The coefficients of each polynomial are given in increasing
+     * degree order, as in the {@link PolynomialFunction#PolynomialFunction(double[])
+     * PolynomialFunction} constructor. All arrays are copied.
+     * </p>
+     *
+     * @param knots Spline segment interval delimiters.
+     * @param coefficients Coefficients of the polynomial functions that make up the
+     * spline, one row per segment.
+     * @throws NullArgumentException if either of the input arrays is {@code null}.
+     * @throws NumberIsTooSmallException if knots has length less than 2.
+     * @throws DimensionMismatchException if {@code coefficients.length != knots.length - 1}.
+     * @throws NonMonotonicSequenceException if the {@code knots} array is not strictly increasing.
+     * @throws NoDataException if one of the coefficients rows is empty.
+     * @since 3.7
+     */
+    public PolynomialSplineFunction(double knots[], double coefficients[][])
+        throws NullArgumentException, NumberIsTooSmallException,
+               DimensionMismatchException, NonMonotonicSequenceException, NoDataException {
+        if (knots == null ||
+            coefficients == null) {
+            throw new NullArgumentException();
+        }
+        if (knots.length < 2) {
+            throw new NumberIsTooSmallException(LocalizedFormats.NOT_ENOUGH_POINTS_IN_SPLINE_PARTITION,
+                                                2, knots.length, false);
+        }
+        if (knots.length - 1 != coefficients.length) {
+            throw new DimensionMismatchException(coefficients.length, knots.length);
+        }
+        MathArrays.checkOrder(knots);
+
+        this.n = knots.length -1;
+        this.knots = new double[n + 1];
+        System.arraycopy(knots, 0, this.knots, 0, n + 1);
+
+        int maxLength = 1;
+        for (final double[] c : coefficients) {
+            MathUtils.checkNotNull(c);
+            if (c.length == 0) {
+                throw new NoDataException(LocalizedFormats.EMPTY_POLYNOMIALS_COEFFICIENTS_ARRAY);
+            }
+            maxLength = FastMath.max(maxLength, c.length);
+        }
+        this.stride       = maxLength;
+        this.coefficients = new double[n * stride];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(coefficients[i], 0, this.coefficients, i * stride, coefficients[i].length);
+        }
+    }
+
+    /**
+     * Private constructor used for derivatives, the arrays are not copied.
+     *
+     * @param knots Spline segment interval delimiters.
+     * @param stride Number of coefficients stored for each polynomial.
+     * @param coefficients Flat array of polynomials coefficients.
+     */
+    private PolynomialSplineFunction(final double knots[], final int stride, final double coefficients[]) {
+        this.n            = knots.length - 1;
+        this.knots        = knots;
+        this.stride       = stride;
+        this.coefficients = coefficients;
     }
 
     /**
@@ -133,6 +227,61 @@ public class PolynomialSplineFunction implements UnivariateDifferentiableFunctio
      * largest knot point).
      */
     public double value(double v) {
+        final int i = findSegment(v);
+        return evaluate(i, v - knots[i]);
+    }
+
+    /**
+     * Compute the value for the function at several points.
+     * <p>
+     * The points may be given in any order, but the evaluation is faster
+     * when they are sorted in increasing order, as the segment containing
+     * each point is then searched starting from the segment of the previous
+     * point. The result is the same as calling {@link #value(double)} for
+     * each point.
+     * </p>
+     *
+     * @param xs Points for which the function value should be computed.
+     * @param out Placeholder where to put the values (may be the same array as {@code xs}).
+     * @throws DimensionMismatchException if arrays lengths do not match.
+     * @throws OutOfRangeException if one of the points is outside of the domain
+     * of the spline function (smaller than the smallest knot point or larger than
+     * the largest knot point).
+     * @since 3.7
+     */
+    public void value(final double[] xs, final double[] out)
+        throws DimensionMismatchException, OutOfRangeException {
+        if (out.length != xs.length) {
+            throw new DimensionMismatchException(out.length, xs.length);
+        }
+        int i = 0;
+        for (int k = 0; k < xs.length; ++k) {
+            final double v = xs[k];
+            if (v < knots[0] || v > knots[n]) {
+                throw new OutOfRangeException(v, knots[0], knots[n]);
+            }
+            if (v < knots[i]) {
+                // unsorted input, go back to a binary search
+                i = findSegment(v);
+            } else {
+                // walk forward from the previous segment
+                while (i < n - 1 && v >= knots[i + 1]) {
+                    ++i;
+                }
+            }
+            out[k] = evaluate(i, v - knots[i]);
+        }
+    }
+
+    /**
+     * Find the segment containing a point.
+     *
+     * @param v Point to locate.
+     * @return index of the segment containing the point.
+     * @throws OutOfRangeException if {@code v} is outside of the domain of the
+     * spline function.
+     */
+    private int findSegment(final double v) throws OutOfRangeException {
         if (v < knots[0] || v > knots[n]) {
             throw new OutOfRangeException(v, knots[0], knots[n]);
         }
@@ -143,10 +292,26 @@ public class PolynomialSplineFunction implements UnivariateDifferentiableFunctio
         // This will handle the case where v is the last knot value
         // There are only n-1 polynomials, so if v is the last knot
         // then we will use the last polynomial to calculate the value.
-        if ( i >= polynomials.length ) {
+        if ( i >= n ) {
             i--;
         }
-        return polynomials[i].value(v - knots[i]);
+        return i;
+    }
+
+    /**
+     * Evaluate the polynomial of one segment using Horner's method.
+     *
+     * @param i Index of the segment.
+     * @param t Offset of the point with respect to the segment start knot.
+     * @return value of the polynomial of segment {@code i} at {@code t}.
+     */
+    private double evaluate(final int i, final double t) {
+        final int start = i * stride;
+        double result = coefficients[start + stride - 1];
+        for (int j = start + stride - 2; j >= start; j--) {
+            result = t * result + coefficients[j];
+        }
+        return result;
     }
 
     /**
@@ -164,11 +329,17 @@ public class PolynomialSplineFunction implements UnivariateDifferentiableFunctio
      * @return the derivative function.
      */
     public PolynomialSplineFunction polynomialSplineDerivative() {
-        PolynomialFunction derivativePolynomials[] = new PolynomialFunction[n];
+        if (stride == 1) {
+            return new PolynomialSplineFunction(knots.clone(), 1, new double[n]);
+        }
+        final int derivativeStride = stride - 1;
+        final double derivativeCoefficients[] = new double[n * derivativeStride];
         for (int i = 0; i < n; i++) {
-            derivativePolynomials[i] = polynomials[i].polynomialDerivative();
+            for (int k = 1; k < stride; k++) {
+                derivativeCoefficients[i * derivativeStride + k - 1] = k * coefficients[i * stride + k];
+            }
         }
-        return new PolynomialSplineFunction(knots, derivativePolynomials);
+        return new PolynomialSplineFunction(knots.clone(), derivativeStride, derivativeCoefficients);
     }
 
 
@@ -176,21 +347,15 @@ public class PolynomialSplineFunction implements UnivariateDifferentiableFunctio
      * @since 3.1
      */
     public DerivativeStructure value(final DerivativeStructure t) {
-        final double t0 = t.getValue();
-        if (t0 < knots[0] || t0 > knots[n]) {
-            throw new OutOfRangeException(t0, knots[0], knots[n]);
+        final int i = findSegment(t.getValue());
+        final DerivativeStructure dt = t.subtract(knots[i]);
+        final int start = i * stride;
+        DerivativeStructure result =
+                new DerivativeStructure(t.getFreeParameters(), t.getOrder(), coefficients[start + stride - 1]);
+        for (int j = start + stride - 2; j >= start; j--) {
+            result = result.multiply(dt).add(coefficients[j]);
         }
-        int i = Arrays.binarySearch(knots, t0);
-        if (i < 0) {
-            i = -i - 2;
-        }
-        // This will handle the case where t is the last knot value
-        // There are only n-1 polynomials, so if t is the last knot
-        // then we will use the last polynomial to calculate the value.
-        if ( i >= polynomials.length ) {
-            i--;
-        }
-        return polynomials[i].value(t.subtract(knots[i]));
+        return result;
     }
 
     /**
@@ -205,14 +370,16 @@ public class PolynomialSplineFunction implements UnivariateDifferentiableFunctio
 
     /**
      * Get a copy of the interpolating polynomials array.
-     * It returns a fresh copy of the array. Changes made to the copy will
-     * not affect the polynomials property.
+     * The polynomials are rebuilt from the stored coefficients, so changes
+     * made to the returned array will not affect the spline function.
      *
      * @return the interpolating polynomials.
      */
     public PolynomialFunction[] getPolynomials() {
         PolynomialFunction p[] = new PolynomialFunction[n];
-        System.arraycopy(polynomials, 0, p, 0, n);
+        for (int i = 0; i < n; i++) {
+            p[i] = new PolynomialFunction(MathArrays.copyOfRange(coefficients, i * stride, (i + 1) * stride));
+        }
         return p;
     }
 
@@ -0,0 +1,471 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.complex;
+
+import java.io.Serializable;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Mutable array of complex numbers, stored as separate arrays of real
+ * and imaginary parts.
+ * <p>
+ * Contrary to arrays of immutable {@link Complex} instances, the bulk
+ * operations of this class work in place and do not allocate any
+ * object. They are intended for signal processing code where the same
+ * buffers are reused over and over, for example between calls to
+ * {@link org.apache.commons.math3.transform.FastFourierTransformer#transformInPlace(ComplexArray,
+ * org.apache.commons.math3.transform.DftNormalization, org.apache.commons.math3.transform.TransformType)
+ * FastFourierTransformer.transformInPlace}.
+ * </p>
+ * <p>
+ * The bulk operations use the definitional formulas, as for example
+ * {@code (a + bi)(c + di) = (ac - bd) + (ad + bc)i}. Contrary to
+ * {@link Complex}, they do not check for NaN or infinite parts, so
+ * the results follow the plain rules of double arithmetic.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @since 3.7
+ */
+public class ComplexArray implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20160601L;
+
+    /** Real parts. */
+    private final double[] real;
+
+    /** Imaginary parts. */
+    private final double[] imaginary;
+
+    /**
+     * Build an array of complex zeros.
+     *
+     * @param size number of elements
+     * @throws NotPositiveException if {@code size} is negative
+     */
+    public ComplexArray(final int size) throws NotPositiveException {
+        if (size < 0) {
+            throw new NotPositiveException(size);
+        }
+        this.real      = new double[size];
+        this.imaginary = new double[size];
+    }
+
+    /**
+     * Build an array from its real and imaginary parts, copying them.
+     *
+     * @param real real parts
+     * @param imaginary imaginary parts
+     * @throws NullArgumentException if one of the arrays is {@code null}
+     * @throws DimensionMismatchException if the arrays do not have the same length
+     */
+    public ComplexArray(final double[] real, final double[] imaginary)
+        throws NullArgumentException, DimensionMismatchException {
+        this(real, imaginary, true);
+    }
+
+    /**
+     * Build an array from its real and imaginary parts.
+     * <p>
+     * If the arrays are referenced rather than copied, they are modified
+     * by the in-place operations.
+     * </p>
+     *
+     * @param real real parts
+     * @param imaginary imaginary parts
+     * @param copyArrays if {@code true}, the input arrays will be copied,
+     * otherwise they will be referenced
+     * @throws NullArgumentException if one of the arrays is {@code null}
+     * @throws DimensionMismatchException if the arrays do not have the same length
+     */
+    public ComplexArray(final double[] real, final double[] imaginary, final boolean copyArrays)
+        throws NullArgumentException, DimensionMismatchException {
+        MathUtils.checkNotNull(real);
+        MathUtils.checkNotNull(imaginary);
+        if (real.length != imaginary.length) {
+            throw new DimensionMismatchException(imaginary.length, real.length);
+        }
+        this.real      = copyArrays ? real.clone()      : real;
+        this.imaginary = copyArrays ? imaginary.clone() : imaginary;
+    }
+
+    /**
+     * Build an array from complex numbers.
+     *
+     * @param values complex numbers
+     * @throws NullArgumentException if {@code values} is {@code null}
+     */
+    public ComplexArray(final Complex[] values) throws NullArgumentException {
+        MathUtils.checkNotNull(values);
+        this.real      = new double[values.length];
+        this.imaginary = new double[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            real[i]      = values[i].getReal();
+            imaginary[i] = values[i].getImaginary();
+        }
+    }
+
+    /**
+     * Get the number of elements.
+     *
+     * @return number of elements
+     */
+    public int size() {
+        return real.length;
+    }
+
+    /**
+     * Get the real part of an element.
+     *
+     * @param i index of the element
+     * @return real part of the element
+     */
+    public double getReal(final int i) {
+        return real[i];
+    }
+
+    /**
+     * Get the imaginary part of an element.
+     *
+     * @param i index of the element
+     * @return imaginary part of the element
+     */
+    public double getImaginary(final int i) {
+        return imaginary[i];
+    }
+
+    /**
+     * Get an element.
+     *
+     * @param i index of the element
+     * @return a new complex number holding the element
+     */
+    public Complex get(final int i) {
+        return new Complex(real[i], imaginary[i]);
+    }
+
+    /**
+     * Set an element.
+     *
+     * @param i index of the element
+     * @param re real part
+     * @param im imaginary part
+     */
+    public void set(final int i, final double re, final double im) {
+        real[i]      = re;
+        imaginary[i] = im;
+    }
+
+    /**
+     * Set an element.
+     *
+     * @param i index of the element
+     * @param value complex value
+     */
+    public void set(final int i, final Complex value) {
+        real[i]      = value.getReal();
+        imaginary[i] = value.getImaginary();
+    }
+
+    /**
+     * Get a reference to the real parts.
+     * <p>
+     * The returned array is the internal storage, changing it changes the instance.
+     * </p>
+     *
+     * @return real parts
+     */
+    public double[] getRealParts() {
+        return real;
+    }
+
+    /**
+     * Get a reference to the imaginary parts.
+     * <p>
+     * The returned array is the internal storage, changing it changes the instance.
+     * </p>
+     *
+     * @return imaginary parts
+     */
+    public double[] getImaginaryParts() {
+        return imaginary;
+    }
+
+    /**
+     * Get the real and imaginary parts as a two rows array.
+     * <p>
+     * The rows of the returned array are the internal storage arrays, in
+     * the layout used by {@link
+     * org.apache.commons.math3.transform.FastFourierTransformer#transformInPlace(double[][],
+     * org.apache.commons.math3.transform.DftNormalization, org.apache.commons.math3.transform.TransformType)
+     * FastFourierTransformer.transformInPlace}: {@code dataRI[0]} holds the real
+     * parts and {@code dataRI[1]} holds the imaginary parts.
+     * </p>
+     *
+     * @return two rows array referencing the real and imaginary parts
+     */
+    public double[][] getDataRI() {
+        return new double[][] { real, imaginary };
+    }
+
+    /**
+     * Convert the instance to an array of complex numbers.
+     *
+     * @return a new array of complex numbers
+     */
+    public Complex[] toComplexArray() {
+        final Complex[] values = new Complex[real.length];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = new Complex(real[i], imaginary[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Create a deep copy of the instance.
+     *
+     * @return a copy of the instance
+     */
+    public ComplexArray copy() {
+        return new ComplexArray(real, imaginary, true);
+    }
+
+    /**
+     * Add another array in place.
+     *
+     * @param other array to add
+     * @return this (updated)
+     * @throws DimensionMismatchException if the arrays do not have the same size
+     */
+    public ComplexArray add(final ComplexArray other) throws DimensionMismatchException {
+        checkSize(other);
+        for (int i = 0; i < real.length; ++i) {
+            real[i]      += other.real[i];
+            imaginary[i] += other.imaginary[i];
+        }
+        return this;
+    }
+
+    /**
+     * Subtract another array in place.
+     *
+     * @param other array to subtract
+     * @return this (updated)
+     * @throws DimensionMismatchException if the arrays do not have the same size
+     */
+    public ComplexArray subtract(final ComplexArray other) throws DimensionMismatchException {
+        checkSize(other);
+        for (int i = 0; i < real.length; ++i) {
+            real[i]      -= other.real[i];
+            imaginary[i] -= other.imaginary[i];
+        }
+        return this;
+    }
+
+    /**
+     * Multiply element by element by another array in place.
+     *
+     * @param other array to multiply by
+     * @return this (updated)
+     * @throws DimensionMismatchException if the arrays do not have the same size
+     */
+    public ComplexArray multiply(final ComplexArray other) throws DimensionMismatchException {
+        checkSize(other);
+        for (int i = 0; i < real.length; ++i) {
+            final double a = real[i];
+            final double b = imaginary[i];
+            final double c = other.real[i];
+            final double d = other.imaginary[i];
+            real[i]      = a * c - b * d;
+            imaginary[i] = a * d + b * c;
+        }
+        return this;
+    }
+
+    /**
+     * Multiply element by element by the conjugate of another array in place.
+     * <p>
+     * This is the building block of cross-correlation and matched filtering
+     * in the frequency domain.
+     * </p>
+     *
+     * @param other array whose conjugate should be multiplied
+     * @return this (updated)
+     * @throws DimensionMismatchException if the arrays do not have the same size
+     */
+    public ComplexArray multiplyConjugate(final ComplexArray other) throws DimensionMismatchException {
+        checkSize(other);
+        for (int i = 0; i < real.length; ++i) {
+            final double a = real[i];
+            final double b = imaginary[i];
+            final double c = other.real[i];
+            final double d = other.imaginary[i];
+            real[i]      = a * c + b * d;
+            imaginary[i] = b * c - a * d;
+        }
+        return this;
+    }
+
+    /**
+     * Multiply all elements by a complex number in place.
+     *
+     * @param re real part of the factor
+     * @param im imaginary part of the factor
+     * @return this (updated)
+     */
+    public ComplexArray multiply(final double re, final double im) {
+        for (int i = 0; i < real.length; ++i) {
+            final double a = real[i];
+            final double b = imaginary[i];
+            real[i]      = a * re - b * im;
+            imaginary[i] = a * im + b * re;
+        }
+        return this;
+    }
+
+    /**
+     * Multiply all elements by a real number in place.
+     *
+     * @param factor scale factor
+     * @return this (updated)
+     */
+    public ComplexArray scale(final double factor) {
+        for (int i = 0; i < real.length; ++i) {
+            real[i]      *= factor;
+            imaginary[i] *= factor;
+        }
+        return this;
+    }
+
+    /**
+     * Multiply element by element by real numbers in place.
+     * <p>
+     * This is typically used to apply a window to a signal.
+     * </p>
+     *
+     * @param factors scale factors
+     * @return this (updated)
+     * @throws DimensionMismatchException if the array does not have the same size as the instance
+     */
+    public ComplexArray scale(final double[] factors) throws DimensionMismatchException {
+        if (factors.length != real.length) {
+            throw new DimensionMismatchException(factors.length, real.length);
+        }
+        for (int i = 0; i < real.length; ++i) {
+            real[i]      *= factors[i];
+            imaginary[i] *= factors[i];
+        }
+        return this;
+    }
+
+    /**
+     * Replace all elements by their conjugate in place.
+     *
+     * @return this (updated)
+     */
+    public ComplexArray conjugate() {
+        for (int i = 0; i < imaginary.length; ++i) {
+            imaginary[i] = -imaginary[i];
+        }
+        return this;
+    }
+
+    /**
+     * Replace all elements by their exponential in place.
+     * <p>
+     * The exponential is computed as {@link Complex#exp()} does:
+     * e<sup>a + bi</sup> = e<sup>a</sup> cos(b) + e<sup>a</sup> sin(b) i.
+     * </p>
+     *
+     * @return this (updated)
+     */
+    public ComplexArray exp() {
+        for (int i = 0; i < real.length; ++i) {
+            final double expReal = FastMath.exp(real[i]);
+            final double im      = imaginary[i];
+            real[i]      = expReal * FastMath.cos(im);
+            imaginary[i] = expReal * FastMath.sin(im);
+        }
+        return this;
+    }
+
+    /**
+     * Compute the absolute values of all elements.
+     *
+     * @return a new array containing the absolute values
+     * @see #abs(double[])
+     */
+    public double[] abs() {
+        final double[] result = new double[real.length];
+        abs(result);
+        return result;
+    }
+
+    /**
+     * Compute the absolute values of all elements, without allocating.
+     * <p>
+     * The absolute values are computed as {@link Complex#abs()} does,
+     * avoiding overflow and underflow for large or small parts.
+     * </p>
+     *
+     * @param result array where to store the absolute values
+     * @throws DimensionMismatchException if the array does not have the same size as the instance
+     */
+    public void abs(final double[] result) throws DimensionMismatchException {
+        if (result.length != real.length) {
+            throw new DimensionMismatchException(result.length, real.length);
+        }
+        for (int i = 0; i < real.length; ++i) {
+            final double re = real[i];
+            final double im = imaginary[i];
+            if (Double.isNaN(re) || Double.isNaN(im)) {
+                result[i] = Double.NaN;
+            } else if (Double.isInfinite(re) || Double.isInfinite(im)) {
+                result[i] = Double.POSITIVE_INFINITY;
+            } else if (FastMath.abs(re) < FastMath.abs(im)) {
+                final double q = re / im;
+                result[i] = FastMath.abs(im) * FastMath.sqrt(1 + q * q);
+            } else if (re == 0.0) {
+                result[i] = FastMath.abs(im);
+            } else {
+                final double q = im / re;
+                result[i] = FastMath.abs(re) * FastMath.sqrt(1 + q * q);
+            }
+        }
+    }
+
+    /**
+     * Check the size of another array.
+     *
+     * @param other array to check
+     * @throws DimensionMismatchException if the arrays do not have the same size
+     */
+    private void checkSize(final ComplexArray other) throws DimensionMismatchException {
+        if (other.real.length != real.length) {
+            throw new DimensionMismatchException(other.real.length, real.length);
+        }
+    }
+
+}
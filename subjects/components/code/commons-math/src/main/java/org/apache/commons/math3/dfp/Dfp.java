@@ -161,6 +161,17 @@ public class Dfp implements RealFieldElement<Dfp> {
     /** Name for traps triggered by newInstance. */
     private static final String NEW_INSTANCE_TRAP = "newInstance";
 
+    /** Minimal number of radix digits for using Karatsuba multiplication. */
+    private static final int KARATSUBA_THRESHOLD = 48;
+
+    /** Maximal number of radix digits for using Karatsuba multiplication.
+     * <p>
+     * The intermediate coefficients are accumulated in {@code long} without
+     * carry propagation, and they grow with the number of digits.
+     * </p>
+     */
+    private static final int KARATSUBA_MAX_DIGITS = 1 << 20;
+
     /** Mantissa. */
     protected int[] mant;
 
@@ -317,6 +328,20 @@ public class Dfp implements RealFieldElement<Dfp> {
 
     }
 
+    /** Create an instance by copying an existing one into another field.
+     * @param field field to which this instance belongs, must have the same
+     * number of radix digits as the field of {@code d}
+     * @param d instance to copy
+     * @since 3.7
+     */
+    protected Dfp(final DfpField field, final Dfp d) {
+        mant       = d.mant.clone();
+        sign       = d.sign;
+        exp        = d.exp;
+        nans       = d.nans;
+        this.field = field;
+    }
+
     /** Copy constructor.
      * @param d instance to copy
      */
@@ -1296,12 +1321,25 @@ public class Dfp implements RealFieldElement<Dfp> {
             }
         }
 
-        /* copy this and the arg */
-        Dfp a = newInstance(this);
-        Dfp b = newInstance(x);
+        /* copy this and the arg, and initialize the result object */
+        return addFinite(x, newInstance(this), newInstance(x), newInstance(getZero()));
 
-        /* initialize the result object */
-        Dfp result = newInstance(getZero());
+    }
+
+    /** Add a finite number with the same precision to this, using provided working instances.
+     * <p>
+     * This method is used by {@link #add(Dfp)} with fresh instances and by
+     * {@link DfpAccumulator} with reused instances, to avoid allocations.
+     * </p>
+     * @param x finite number to add
+     * @param a working instance, which must contain a copy of this on entry (overwritten)
+     * @param b working instance, which must contain a copy of x on entry (overwritten)
+     * @param result instance where the sum should be stored, may be this but neither a nor b
+     * @return sum of this and x (normally result, unless a trap handler returned another instance)
+     */
+    Dfp addFinite(final Dfp x, final Dfp a, final Dfp b, Dfp result) {
+
+        result.nans = FINITE;
 
         /* Make all numbers positive, but remember their sign */
         final byte asign = a.sign;
@@ -1550,18 +1588,37 @@ public class Dfp implements RealFieldElement<Dfp> {
             }
         }
 
-        int[] product = new int[mant.length*2];  // Big enough to hold even the largest result
+        return multiplyFinite(x, new int[mant.length * 2], result);
 
-        for (int i = 0; i < mant.length; i++) {
-            int rh = 0;  // acts as a carry
-            for (int j=0; j<mant.length; j++) {
-                int r = mant[i] * x.mant[j];    // multiply the 2 digits
-                r += product[i+j] + rh;  // add to the product digit with carry in
+    }
 
-                rh = r / RADIX;
-                product[i+j] = r - rh * RADIX;
+    /** Multiply this by a finite number with the same precision, using provided working arrays.
+     * <p>
+     * This method is used by {@link #multiply(Dfp)} with fresh instances and by
+     * {@link DfpAccumulator} with reused instances, to avoid allocations.
+     * </p>
+     * @param x finite multiplicand
+     * @param product working array, twice as long as the mantissa (overwritten)
+     * @param result instance where the product should be stored, may be this or x
+     * @return product of this and x (normally result, unless a trap handler returned another instance)
+     */
+    Dfp multiplyFinite(final Dfp x, final int[] product, Dfp result) {
+
+        if (mant.length >= KARATSUBA_THRESHOLD && mant.length <= KARATSUBA_MAX_DIGITS) {
+            karatsuba(mant, x.mant, product);
+        } else {
+            Arrays.fill(product, 0);
+            for (int i = 0; i < mant.length; i++) {
+                int rh = 0;  // acts as a carry
+                for (int j=0; j<mant.length; j++) {
+                    int r = mant[i] * x.mant[j];    // multiply the 2 digits
+                    r += product[i+j] + rh;  // add to the product digit with carry in
+
+                    rh = r / RADIX;
+                    product[i+j] = r - rh * RADIX;
+                }
+                product[i+mant.length] = rh;
             }
-            product[i+mant.length] = rh;
         }
 
         // Find the most sig digit
@@ -1579,6 +1636,7 @@ public class Dfp implements RealFieldElement<Dfp> {
         }
 
         // Fixup the exponent.
+        result.nans = FINITE;
         result.exp = exp + x.exp + md - 2 * mant.length + 1;
         result.sign = (byte)((sign == x.sign)?1:-1);
 
@@ -1602,6 +1660,92 @@ public class Dfp implements RealFieldElement<Dfp> {
 
     }
 
+    /** Multiply two mantissas using Karatsuba algorithm.
+     * @param a first mantissa (least significant digit first)
+     * @param b second mantissa (least significant digit first), as long as a
+     * @param product placeholder for the product digits, twice as long as a
+     */
+    private static void karatsuba(final int[] a, final int[] b, final int[] product) {
+
+        final long[] la = new long[a.length];
+        final long[] lb = new long[b.length];
+        for (int i = 0; i < a.length; ++i) {
+            la[i] = a[i];
+            lb[i] = b[i];
+        }
+
+        // compute the raw coefficients of the product, then propagate carries
+        final long[] raw = karatsuba(la, lb);
+        long carry = 0;
+        for (int i = 0; i < product.length; ++i) {
+            final long r = raw[i] + carry;
+            carry = r / RADIX;
+            product[i] = (int) (r - carry * RADIX);
+        }
+
+    }
+
+    /** Multiply two polynomials using Karatsuba algorithm.
+     * <p>
+     * The coefficients of the polynomials are the radix digits, but no carry
+     * is propagated so the coefficients of the result may exceed the radix.
+     * </p>
+     * @param a first polynomial coefficients (constant term first)
+     * @param b second polynomial coefficients (constant term first), as long as a
+     * @return product polynomial coefficients, twice as long as a
+     */
+    private static long[] karatsuba(final long[] a, final long[] b) {
+
+        final int n = a.length;
+        final long[] r = new long[2 * n];
+
+        if (n < KARATSUBA_THRESHOLD) {
+            // schoolbook multiplication
+            for (int i = 0; i < n; ++i) {
+                final long ai = a[i];
+                for (int j = 0; j < n; ++j) {
+                    r[i + j] += ai * b[j];
+                }
+            }
+            return r;
+        }
+
+        // split a = a0 + a1 X^h and b = b0 + b1 X^h, where a1 and b1 are zero-padded
+        final int h = (n + 1) / 2;
+        final long[] a0 = new long[h];
+        final long[] a1 = new long[h];
+        final long[] b0 = new long[h];
+        final long[] b1 = new long[h];
+        System.arraycopy(a, 0, a0, 0, h);
+        System.arraycopy(a, h, a1, 0, n - h);
+        System.arraycopy(b, 0, b0, 0, h);
+        System.arraycopy(b, h, b1, 0, n - h);
+        final long[] sa = new long[h];
+        final long[] sb = new long[h];
+        for (int i = 0; i < h; ++i) {
+            sa[i] = a0[i] + a1[i];
+            sb[i] = b0[i] + b1[i];
+        }
+
+        // a b = z0 + (z1 - z0 - z2) X^h + z2 X^(2h)
+        final long[] z0 = karatsuba(a0, b0);
+        final long[] z1 = karatsuba(sa, sb);
+        final long[] z2 = karatsuba(a1, b1);
+        for (int i = 0; i < 2 * h; ++i) {
+            final long middle = z1[i] - z0[i] - z2[i];
+            r[i] += z0[i];
+            if (i + h < r.length) {
+                r[i + h] += middle;
+            }
+            if (i + 2 * h < r.length) {
+                r[i + 2 * h] += z2[i];
+            }
+        }
+
+        return r;
+
+    }
+
     /** Multiply this by a single digit x.
      * @param x multiplicand
      * @return product of this and x
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.dfp;
+
+/** Mutable accumulator for {@link Dfp} computations.
+ * <p>
+ * {@link Dfp} instances are immutable, so each arithmetic operation allocates
+ * a new instance, and the operations themselves allocate temporary instances
+ * and mantissa arrays. This class holds a value that is updated in place,
+ * reusing preallocated working storage, which is useful for long loops like
+ * series evaluations. The results are exactly the same as the ones of the
+ * corresponding {@link Dfp} operations, including IEEE flags settings.
+ * </p>
+ * <p>
+ * Operations on non-finite numbers or numbers belonging to another field
+ * are delegated to the regular {@link Dfp} methods.
+ * </p>
+ * <p>
+ * Instances of this class are not thread-safe.
+ * </p>
+ * @since 3.7
+ */
+public class DfpAccumulator {
+
+    /** Current value. */
+    private final Dfp value;
+
+    /** Working instance for the first operand of additions. */
+    private final Dfp a;
+
+    /** Working instance for the second operand of additions. */
+    private final Dfp b;
+
+    /** Working instance for terms to add. */
+    private final Dfp term;
+
+    /** Working array for products. */
+    private final int[] product;
+
+    /** Simple constructor.
+     * @param initial initial value (the precision of the
+     * accumulator is the precision of this value)
+     */
+    public DfpAccumulator(final Dfp initial) {
+        value   = initial.newInstance(initial);
+        a       = initial.newInstance(initial);
+        b       = initial.newInstance(initial);
+        term    = initial.newInstance(initial);
+        product = new int[2 * initial.mant.length];
+    }
+
+    /** Set the current value.
+     * @param x new value
+     * @return this accumulator
+     */
+    public DfpAccumulator set(final Dfp x) {
+        store(hasSamePrecision(x) ? x : value.newInstance(x));
+        return this;
+    }
+
+    /** Set the current value from another accumulator.
+     * @param other accumulator holding the new value
+     * @return this accumulator
+     */
+    public DfpAccumulator set(final DfpAccumulator other) {
+        return set(other.value);
+    }
+
+    /** Add a number to the current value.
+     * @param x number to add
+     * @return this accumulator
+     * @see Dfp#add(Dfp)
+     */
+    public DfpAccumulator add(final Dfp x) {
+        if (isFinite(x)) {
+            copy(value, a);
+            copy(x, b);
+            store(value.addFinite(x, a, b, value));
+        } else {
+            store(value.add(x));
+        }
+        return this;
+    }
+
+    /** Subtract a number from the current value.
+     * @param x number to subtract
+     * @return this accumulator
+     * @see Dfp#subtract(Dfp)
+     */
+    public DfpAccumulator subtract(final Dfp x) {
+        if (isFinite(x)) {
+            copy(x, term);
+            term.sign = (byte) -term.sign;
+            return add(term);
+        }
+        store(value.subtract(x));
+        return this;
+    }
+
+    /** Multiply the current value by a number.
+     * @param x multiplicand
+     * @return this accumulator
+     * @see Dfp#multiply(Dfp)
+     */
+    public DfpAccumulator multiply(final Dfp x) {
+        if (isFinite(x)) {
+            store(value.multiplyFinite(x, product, value));
+        } else {
+            store(value.multiply(x));
+        }
+        return this;
+    }
+
+    /** Add the product of two numbers to the current value.
+     * <p>
+     * The product is rounded before being added, so the result is the same
+     * as {@code value.add(x.multiply(y))}.
+     * </p>
+     * @param x first factor
+     * @param y second factor
+     * @return this accumulator
+     */
+    public DfpAccumulator addProduct(final Dfp x, final Dfp y) {
+        if (x.getField() == value.getField() && x.nans == Dfp.FINITE && isFinite(y)) {
+            return add(x.multiplyFinite(y, product, term));
+        }
+        return add(x.multiply(y));
+    }
+
+    /** Check if the current value is equal to the value of another accumulator.
+     * @param other other accumulator
+     * @return true if both values are equal in the sense of {@link Dfp#equals(Object)}
+     */
+    public boolean hasSameValue(final DfpAccumulator other) {
+        return value.equals(other.value);
+    }
+
+    /** Get the current value.
+     * @return a new instance holding the current value
+     */
+    public Dfp getValue() {
+        return value.newInstance(value);
+    }
+
+    /** Check if a number and the current value are finite and belong to the same field.
+     * <p>
+     * Only such numbers are handled by the allocation-free paths, as rounding
+     * modes and IEEE flags are per field.
+     * </p>
+     * @param x number to check
+     * @return true if both x and the current value are finite and belong to the same field
+     */
+    private boolean isFinite(final Dfp x) {
+        return value.nans == Dfp.FINITE && x.nans == Dfp.FINITE && x.getField() == value.getField();
+    }
+
+    /** Check if a number has the same precision as the current value.
+     * @param x number to check
+     * @return true if x has the same precision as the current value
+     */
+    private boolean hasSamePrecision(final Dfp x) {
+        return x.mant.length == value.mant.length;
+    }
+
+    /** Store a result as the current value.
+     * @param result result to store (must have the same precision as the current value)
+     */
+    private void store(final Dfp result) {
+        if (result != value) {
+            copy(result, value);
+        }
+    }
+
+    /** Copy a number into another one with the same precision.
+     * @param src source number
+     * @param dst destination number
+     */
+    private static void copy(final Dfp src, final Dfp dst) {
+        System.arraycopy(src.mant, 0, dst.mant, 0, dst.mant.length);
+        dst.sign = src.sign;
+        dst.exp  = src.exp;
+        dst.nans = src.nans;
+    }
+
+}
@@ -17,6 +17,9 @@
 
 package org.apache.commons.math3.dfp;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.commons.math3.Field;
 import org.apache.commons.math3.FieldElement;
 
@@ -100,6 +103,16 @@ public class DfpField implements Field<Dfp> {
     /** High precision string representation of ln(10). */
     private static String ln10String;
 
+    /** Transcendental constants already parsed, indexed by number of radix digits.
+     * <p>
+     * Each entry contains sqr2, sqr2Split, sqr2Reciprocal, sqr3, sqr3Reciprocal,
+     * pi, piSplit, e, eSplit, ln2, ln2Split, ln5, ln5Split and ln10, with the
+     * split constants flattened as two consecutive elements. The cache is
+     * guarded by DfpField.class, like the string constants.
+     * </p>
+     */
+    private static final Map<Integer, Dfp[]> CONSTANTS_CACHE = new HashMap<Integer, Dfp[]>();
+
     /** The number of radix digits.
      * Note these depend on the radix which is 10000 digits,
      * so each one is equivalent to 4 decimal digits.
@@ -200,27 +213,56 @@ public class DfpField implements Field<Dfp> {
             // set up transcendental constants
             synchronized (DfpField.class) {
 
-                // as a heuristic to circumvent Table-Maker's Dilemma, we set the string
-                // representation of the constants to be at least 3 times larger than the
-                // number of decimal digits, also as an attempt to really compute these
-                // constants only once, we set a minimum number of digits
-                computeStringConstants((decimalDigits < 67) ? 200 : (3 * decimalDigits));
-
-                // set up the constants at current field accuracy
-                sqr2           = new Dfp(this, sqr2String);
-                sqr2Split      = split(sqr2String);
-                sqr2Reciprocal = new Dfp(this, sqr2ReciprocalString);
-                sqr3           = new Dfp(this, sqr3String);
-                sqr3Reciprocal = new Dfp(this, sqr3ReciprocalString);
-                pi             = new Dfp(this, piString);
-                piSplit        = split(piString);
-                e              = new Dfp(this, eString);
-                eSplit         = split(eString);
-                ln2            = new Dfp(this, ln2String);
-                ln2Split       = split(ln2String);
-                ln5            = new Dfp(this, ln5String);
-                ln5Split       = split(ln5String);
-                ln10           = new Dfp(this, ln10String);
+                Dfp[] cached = CONSTANTS_CACHE.get(radixDigits);
+                if (cached == null) {
+
+                    // as a heuristic to circumvent Table-Maker's Dilemma, we set the string
+                    // representation of the constants to be at least 3 times larger than the
+                    // number of decimal digits, also as an attempt to really compute these
+                    // constants only once, we set a minimum number of digits
+                    computeStringConstants((decimalDigits < 67) ? 200 : (3 * decimalDigits));
+
+                    // parse the constants at current field accuracy
+                    final Dfp[] sqr2S = split(sqr2String);
+                    final Dfp[] piS   = split(piString);
+                    final Dfp[] eS    = split(eString);
+                    final Dfp[] ln2S  = split(ln2String);
+                    final Dfp[] ln5S  = split(ln5String);
+                    cached = new Dfp[] {
+                        new Dfp(this, sqr2String), sqr2S[0], sqr2S[1],
+                        new Dfp(this, sqr2ReciprocalString),
+                        new Dfp(this, sqr3String),
+                        new Dfp(this, sqr3ReciprocalString),
+                        new Dfp(this, piString), piS[0], piS[1],
+                        new Dfp(this, eString), eS[0], eS[1],
+                        new Dfp(this, ln2String), ln2S[0], ln2S[1],
+                        new Dfp(this, ln5String), ln5S[0], ln5S[1],
+                        new Dfp(this, ln10String)
+                    };
+                    CONSTANTS_CACHE.put(radixDigits, cached);
+
+                } else {
+                    // parsing the constants strings raises the inexact flag but copying
+                    // them does not, the flags must not depend on the cache state
+                    setIEEEFlagsBits(FLAG_INEXACT);
+                }
+
+                // set up the constants at current field accuracy, copying the cached ones
+                // so the instances belong to this field
+                sqr2           = new Dfp(this, cached[0]);
+                sqr2Split      = new Dfp[] { new Dfp(this, cached[1]), new Dfp(this, cached[2]) };
+                sqr2Reciprocal = new Dfp(this, cached[3]);
+                sqr3           = new Dfp(this, cached[4]);
+                sqr3Reciprocal = new Dfp(this, cached[5]);
+                pi             = new Dfp(this, cached[6]);
+                piSplit        = new Dfp[] { new Dfp(this, cached[7]), new Dfp(this, cached[8]) };
+                e              = new Dfp(this, cached[9]);
+                eSplit         = new Dfp[] { new Dfp(this, cached[10]), new Dfp(this, cached[11]) };
+                ln2            = new Dfp(this, cached[12]);
+                ln2Split       = new Dfp[] { new Dfp(this, cached[13]), new Dfp(this, cached[14]) };
+                ln5            = new Dfp(this, cached[15]);
+                ln5Split       = new Dfp[] { new Dfp(this, cached[16]), new Dfp(this, cached[17]) };
+                ln10           = new Dfp(this, cached[18]);
 
             }
         } else {
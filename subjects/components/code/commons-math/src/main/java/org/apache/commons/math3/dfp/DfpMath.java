@@ -288,22 +288,22 @@ public class DfpMath {
      * @return e<sup>a</sup>
      */
     protected static Dfp expInternal(final Dfp a) {
-        Dfp y = a.getOne();
+        final DfpAccumulator y  = new DfpAccumulator(a.getOne());
+        final DfpAccumulator py = new DfpAccumulator(a.getOne());
         Dfp x = a.getOne();
         Dfp fact = a.getOne();
-        Dfp py = new Dfp(y);
 
         for (int i = 1; i < 90; i++) {
             x = x.multiply(a);
             fact = fact.divide(i);
-            y = y.add(x.multiply(fact));
-            if (y.equals(py)) {
+            y.addProduct(x, fact);
+            if (y.hasSameValue(py)) {
                 break;
             }
-            py = new Dfp(y);
+            py.set(y);
         }
 
-        return y;
+        return y.getValue();
     }
 
     /** Returns the natural logarithm of a.
@@ -669,25 +669,25 @@ public class DfpMath {
     protected static Dfp sinInternal(Dfp a[]) {
 
         Dfp c = a[0].add(a[1]);
-        Dfp y = c;
+        final DfpAccumulator y  = new DfpAccumulator(c);
+        final DfpAccumulator py = new DfpAccumulator(c);
+        Dfp x = c;
         c = c.multiply(c);
-        Dfp x = y;
         Dfp fact = a[0].getOne();
-        Dfp py = new Dfp(y);
 
         for (int i = 3; i < 90; i += 2) {
             x = x.multiply(c);
             x = x.negate();
 
             fact = fact.divide((i-1)*i);  // 1 over fact
-            y = y.add(x.multiply(fact));
-            if (y.equals(py)) {
+            y.addProduct(x, fact);
+            if (y.hasSameValue(py)) {
                 break;
             }
-            py = new Dfp(y);
+            py.set(y);
         }
 
-        return y;
+        return y.getValue();
 
     }
 
@@ -701,12 +701,12 @@ public class DfpMath {
 
 
         Dfp x = one;
-        Dfp y = one;
+        final DfpAccumulator y  = new DfpAccumulator(one);
+        final DfpAccumulator py = new DfpAccumulator(one);
         Dfp c = a[0].add(a[1]);
         c = c.multiply(c);
 
         Dfp fact = one;
-        Dfp py = new Dfp(y);
 
         for (int i = 2; i < 90; i += 2) {
             x = x.multiply(c);
@@ -714,14 +714,14 @@ public class DfpMath {
 
             fact = fact.divide((i - 1) * i);  // 1 over fact
 
-            y = y.add(x.multiply(fact));
-            if (y.equals(py)) {
+            y.addProduct(x, fact);
+            if (y.hasSameValue(py)) {
                 break;
             }
-            py = new Dfp(y);
+            py.set(y);
         }
 
-        return y;
+        return y.getValue();
 
     }
 
@@ -835,22 +835,23 @@ public class DfpMath {
      */
     protected static Dfp atanInternal(final Dfp a) {
 
-        Dfp y = new Dfp(a);
-        Dfp x = new Dfp(y);
-        Dfp py = new Dfp(y);
+        final Dfp a0 = new Dfp(a);
+        final DfpAccumulator y  = new DfpAccumulator(a0);
+        final DfpAccumulator py = new DfpAccumulator(a0);
+        Dfp x = a0;
 
         for (int i = 3; i < 90; i += 2) {
             x = x.multiply(a);
             x = x.multiply(a);
             x = x.negate();
-            y = y.add(x.divide(i));
-            if (y.equals(py)) {
+            y.add(x.divide(i));
+            if (y.hasSameValue(py)) {
                 break;
             }
-            py = new Dfp(y);
+            py.set(y);
         }
 
-        return y;
+        return y.getValue();
 
     }
 
@@ -356,6 +356,7 @@ public enum LocalizedFormats implements Localizable {
     USER_EXCEPTION("exception generated in user code"), /* keep */
     URL_CONTAINS_NO_DATA("URL {0} contains no data"),
     VALUES_ADDED_BEFORE_CONFIGURING_STATISTIC("{0} values have been added before statistic is configured"),
+    VARIABLE_RECORDED_ON_ANOTHER_TAPE("variable recorded on another tape"),
     VECTOR_LENGTH_MISMATCH("vector length mismatch: got {0} but expected {1}"),
     VECTOR_MUST_HAVE_AT_LEAST_ONE_ELEMENT("vector must have at least one element"),
     WEIGHT_AT_LEAST_ONE_NON_ZERO("weigth array must contain at least one non-zero value"),
@@ -0,0 +1,721 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.filter;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.MatrixDimensionMismatchException;
+import org.apache.commons.math3.linear.NonPositiveDefiniteMatrixException;
+import org.apache.commons.math3.linear.NonSquareMatrixException;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+import org.apache.commons.math3.linear.SingularMatrixException;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+import org.apache.commons.math3.util.Precision;
+
+/**
+ * Implementation of a Kalman filter using a UD factorization of the error
+ * covariance matrix.
+ * <p>
+ * This filter estimates the same process as {@link KalmanFilter}, using the
+ * same {@link ProcessModel} and {@link MeasurementModel}, but the error
+ * covariance matrix P is never formed explicitly. It is kept as
+ * <b>P</b> = <b>U</b> <b>D</b> <b>U</b><sup>T</sup>, where <b>U</b> is unit
+ * upper triangular and <b>D</b> is diagonal, which guarantees that it remains
+ * symmetric and positive semi-definite despite rounding errors:
+ * <ul>
+ * <li>predict uses Thornton's modified weighted Gram-Schmidt time update,</li>
+ * <li>correct uses Bierman's sequential scalar measurement updates, one
+ * measurement component at a time, so no matrix needs to be inverted.</li>
+ * </ul>
+ * <p>
+ * Sequential updates require uncorrelated measurement noise. When the
+ * measurement noise matrix R is not diagonal, the measurements are first
+ * decorrelated using the UD factorization of R.
+ * <p>
+ * All the work arrays are allocated at construction, so neither {@link
+ * #predict(double[])} nor {@link #correct(double[])} allocates memory, which
+ * makes this filter suitable for high rate loops. The {@link
+ * #correct(double[][])} method processes several measurement vectors taken
+ * at the same time step in one call.
+ * <p>
+ * As in {@link KalmanFilter}, the transition, control and measurement matrices
+ * are read at construction, whereas the process and measurement noise matrices
+ * are read from the models at each step as they may change over time.
+ *
+ * @see KalmanFilter
+ * @see <a href="http://dx.doi.org/10.1016/C2013-0-10637-4">G. J. Bierman,
+ *      Factorization Methods for Discrete Sequential Estimation, Academic Press, 1977</a>
+ * @since 3.7
+ */
+public class UDKalmanFilter {
+    /** The process model used by this filter instance. */
+    private final ProcessModel processModel;
+    /** The measurement model used by this filter instance. */
+    private final MeasurementModel measurementModel;
+    /** The transition matrix, equivalent to A. */
+    private final double[][] transition;
+    /** The control matrix, equivalent to B (may have 0 columns). */
+    private final double[][] control;
+    /** The measurement matrix, equivalent to H. */
+    private final double[][] measurement;
+    /** The internal state estimation vector, equivalent to x hat. */
+    private final double[] state;
+    /** Unit upper triangular factor U of the error covariance matrix. */
+    private final double[][] u;
+    /** Diagonal factor D of the error covariance matrix. */
+    private final double[] d;
+    /** Work array for the weighted Gram-Schmidt orthogonalization (n x 2n). */
+    private final double[][] w;
+    /** Weights for the weighted Gram-Schmidt orthogonalization (2n). */
+    private final double[] dw;
+    /** Work array for the factorization of noise matrices. */
+    private final double[][] noiseU;
+    /** Work array for the factorization of noise matrices. */
+    private final double[] noiseD;
+    /** Decorrelated measurement matrix. */
+    private final double[][] hw;
+    /** Decorrelated measurement. */
+    private final double[] zw;
+    /** Work array of state dimension. */
+    private final double[] f;
+    /** Work array of state dimension. */
+    private final double[] g;
+    /** Work array of state dimension. */
+    private final double[] b;
+
+    /**
+     * Creates a new UD Kalman filter with the given process and measurement models.
+     *
+     * @param process
+     *            the model defining the underlying process dynamics
+     * @param measurement
+     *            the model defining the given measurement characteristics
+     * @throws NullArgumentException
+     *             if any of the given inputs is null (except for the control matrix)
+     * @throws NonSquareMatrixException
+     *             if the transition matrix is non square
+     * @throws DimensionMismatchException
+     *             if the column dimension of the transition matrix does not match the dimension of the
+     *             initial state estimation vector
+     * @throws MatrixDimensionMismatchException
+     *             if the matrix dimensions do not fit together
+     * @throws NonPositiveDefiniteMatrixException
+     *             if the initial error covariance is not positive semi-definite
+     */
+    public UDKalmanFilter(final ProcessModel process, final MeasurementModel measurement)
+            throws NullArgumentException, NonSquareMatrixException, DimensionMismatchException,
+                   MatrixDimensionMismatchException, NonPositiveDefiniteMatrixException {
+
+        MathUtils.checkNotNull(process);
+        MathUtils.checkNotNull(measurement);
+
+        this.processModel = process;
+        this.measurementModel = measurement;
+
+        final RealMatrix transitionMatrix = processModel.getStateTransitionMatrix();
+        MathUtils.checkNotNull(transitionMatrix);
+        final RealMatrix controlMatrix = processModel.getControlMatrix();
+        final RealMatrix measurementMatrix = measurementModel.getMeasurementMatrix();
+        MathUtils.checkNotNull(measurementMatrix);
+
+        // check that the process and measurement noise matrices are not null
+        // they will be directly accessed from the model as they may change
+        // over time
+        final RealMatrix processNoise = processModel.getProcessNoise();
+        MathUtils.checkNotNull(processNoise);
+        final RealMatrix measNoise = measurementModel.getMeasurementNoise();
+        MathUtils.checkNotNull(measNoise);
+
+        // A must be a square matrix
+        if (!transitionMatrix.isSquare()) {
+            throw new NonSquareMatrixException(
+                    transitionMatrix.getRowDimension(),
+                    transitionMatrix.getColumnDimension());
+        }
+        final int n = transitionMatrix.getRowDimension();
+
+        final RealVector initialState = processModel.getInitialStateEstimate();
+        if (initialState != null && initialState.getDimension() != n) {
+            throw new DimensionMismatchException(n, initialState.getDimension());
+        }
+
+        // row dimension of B must be equal to A
+        if (controlMatrix != null &&
+            controlMatrix.getRowDimension() > 0 &&
+            controlMatrix.getColumnDimension() > 0 &&
+            controlMatrix.getRowDimension() != n) {
+            throw new MatrixDimensionMismatchException(controlMatrix.getRowDimension(),
+                                                       controlMatrix.getColumnDimension(),
+                                                       n,
+                                                       controlMatrix.getColumnDimension());
+        }
+
+        // Q must be equal to A
+        if (processNoise.getRowDimension() != n || processNoise.getColumnDimension() != n) {
+            throw new MatrixDimensionMismatchException(processNoise.getRowDimension(),
+                                                       processNoise.getColumnDimension(),
+                                                       n, n);
+        }
+
+        // column dimension of H must be equal to row dimension of A
+        if (measurementMatrix.getColumnDimension() != n) {
+            throw new MatrixDimensionMismatchException(measurementMatrix.getRowDimension(),
+                                                       measurementMatrix.getColumnDimension(),
+                                                       measurementMatrix.getRowDimension(),
+                                                       n);
+        }
+        final int m = measurementMatrix.getRowDimension();
+
+        // R must be square, with row dimension equal to row dimension of H
+        checkMeasurementNoise(measNoise, m);
+
+        transition  = transitionMatrix.getData();
+        control     = (controlMatrix == null || controlMatrix.getColumnDimension() == 0) ?
+                      new double[n][0] : controlMatrix.getData();
+        this.measurement = measurementMatrix.getData();
+
+        state  = (initialState == null) ? new double[n] : initialState.toArray();
+        u      = new double[n][n];
+        d      = new double[n];
+        w      = new double[n][2 * n];
+        dw     = new double[2 * n];
+        noiseU = new double[FastMath.max(n, m)][FastMath.max(n, m)];
+        noiseD = new double[FastMath.max(n, m)];
+        hw     = new double[m][n];
+        zw     = new double[m];
+        f      = new double[n];
+        g      = new double[n];
+        b      = new double[n];
+
+        // initialize the error covariance to the process noise if it is not
+        // available from the process model
+        final RealMatrix initialCovariance = processModel.getInitialErrorCovariance() == null ?
+                                             processNoise : processModel.getInitialErrorCovariance();
+        if (initialCovariance.getRowDimension() != n || initialCovariance.getColumnDimension() != n) {
+            throw new MatrixDimensionMismatchException(initialCovariance.getRowDimension(),
+                                                       initialCovariance.getColumnDimension(),
+                                                       n, n);
+        }
+        factorize(initialCovariance, n, u, d);
+
+    }
+
+    /**
+     * Returns the dimension of the state estimation vector.
+     *
+     * @return the state dimension
+     */
+    public int getStateDimension() {
+        return state.length;
+    }
+
+    /**
+     * Returns the dimension of the measurement vector.
+     *
+     * @return the measurement vector dimension
+     */
+    public int getMeasurementDimension() {
+        return measurement.length;
+    }
+
+    /**
+     * Returns the current state estimation vector.
+     *
+     * @return the state estimation vector
+     */
+    public double[] getStateEstimation() {
+        return state.clone();
+    }
+
+    /**
+     * Returns a copy of the current state estimation vector.
+     *
+     * @return the state estimation vector
+     */
+    public RealVector getStateEstimationVector() {
+        return new ArrayRealVector(state);
+    }
+
+    /**
+     * Returns the current error covariance matrix.
+     * <p>
+     * The matrix is rebuilt from its U and D factors at each call.
+     * </p>
+     *
+     * @return the error covariance matrix
+     */
+    public double[][] getErrorCovariance() {
+        final int n = state.length;
+        final double[][] p = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = i; j < n; ++j) {
+                // P(i, j) = sum(U(i, k) D(k) U(j, k)) for k >= j
+                double sum = d[j] * u[i][j];
+                for (int k = j + 1; k < n; ++k) {
+                    sum += u[i][k] * d[k] * u[j][k];
+                }
+                p[i][j] = sum;
+                p[j][i] = sum;
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Returns a copy of the current error covariance matrix.
+     *
+     * @return the error covariance matrix
+     */
+    public RealMatrix getErrorCovarianceMatrix() {
+        return new Array2DRowRealMatrix(getErrorCovariance(), false);
+    }
+
+    /**
+     * Returns a copy of the diagonal factor D of the error covariance matrix.
+     *
+     * @return the diagonal elements of D
+     */
+    public double[] getDiagonalFactor() {
+        return d.clone();
+    }
+
+    /**
+     * Returns a copy of the unit upper triangular factor U of the error covariance matrix.
+     *
+     * @return the U factor
+     */
+    public double[][] getUnitUpperFactor() {
+        final double[][] copy = new double[u.length][];
+        for (int i = 0; i < u.length; ++i) {
+            copy[i] = u[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Predict the internal state estimation one time step ahead.
+     */
+    public void predict() {
+        predict((double[]) null);
+    }
+
+    /**
+     * Predict the internal state estimation one time step ahead.
+     *
+     * @param uVector
+     *            the control vector
+     * @throws DimensionMismatchException
+     *             if the dimension of the control vector does not match
+     */
+    public void predict(final RealVector uVector) throws DimensionMismatchException {
+        predict(uVector == null ? null : uVector.toArray());
+    }
+
+    /**
+     * Predict the internal state estimation one time step ahead.
+     *
+     * @param uVector
+     *            the control vector (may be null)
+     * @throws DimensionMismatchException
+     *             if the dimension of the control vector does not fit
+     * @throws NonPositiveDefiniteMatrixException
+     *             if the process noise matrix is not positive semi-definite
+     */
+    public void predict(final double[] uVector)
+        throws DimensionMismatchException, NonPositiveDefiniteMatrixException {
+
+        final int n = state.length;
+
+        // sanity checks
+        if (uVector != null && uVector.length != control[0].length) {
+            throw new DimensionMismatchException(uVector.length, control[0].length);
+        }
+
+        // project the state estimation ahead (a priori state)
+        // xHat(k)- = A * xHat(k-1) + B * u(k-1)
+        for (int i = 0; i < n; ++i) {
+            double sum = 0;
+            for (int j = 0; j < n; ++j) {
+                sum += transition[i][j] * state[j];
+            }
+            if (uVector != null) {
+                for (int j = 0; j < uVector.length; ++j) {
+                    sum += control[i][j] * uVector[j];
+                }
+            }
+            f[i] = sum;
+        }
+        System.arraycopy(f, 0, state, 0, n);
+
+        // P(k)- = A * P(k-1) * A' + Q = W * diag(D, Dq) * W' with W = [A * U, Uq]
+        factorize(processModel.getProcessNoise(), n, noiseU, noiseD);
+        for (int i = 0; i < n; ++i) {
+            final double[] wI = w[i];
+            final double[] aI = transition[i];
+            for (int k = 0; k < n; ++k) {
+                // U is unit upper triangular
+                double sum = aI[k];
+                for (int l = 0; l < k; ++l) {
+                    sum += aI[l] * u[l][k];
+                }
+                wI[k] = sum;
+            }
+            System.arraycopy(noiseU[i], 0, wI, n, n);
+        }
+        System.arraycopy(d, 0, dw, 0, n);
+        System.arraycopy(noiseD, 0, dw, n, n);
+
+        // modified weighted Gram-Schmidt orthogonalization of the rows of W
+        for (int j = n - 1; j >= 0; --j) {
+            final double[] wJ = w[j];
+            double sigma = 0;
+            for (int k = 0; k < 2 * n; ++k) {
+                sigma += wJ[k] * wJ[k] * dw[k];
+            }
+            d[j]    = sigma;
+            u[j][j] = 1;
+            for (int i = 0; i < j; ++i) {
+                final double[] wI = w[i];
+                double uIJ = 0;
+                if (sigma > 0) {
+                    double sum = 0;
+                    for (int k = 0; k < 2 * n; ++k) {
+                        sum += wI[k] * dw[k] * wJ[k];
+                    }
+                    uIJ = sum / sigma;
+                    for (int k = 0; k < 2 * n; ++k) {
+                        wI[k] -= uIJ * wJ[k];
+                    }
+                }
+                u[i][j] = uIJ;
+            }
+        }
+
+    }
+
+    /**
+     * Correct the current state estimate with an actual measurement.
+     *
+     * @param z
+     *            the measurement vector
+     * @throws NullArgumentException
+     *             if the measurement vector is {@code null}
+     * @throws DimensionMismatchException
+     *             if the dimension of the measurement vector does not fit
+     * @throws SingularMatrixException
+     *             if the innovation covariance is singular
+     */
+    public void correct(final RealVector z)
+            throws NullArgumentException, DimensionMismatchException, SingularMatrixException {
+        MathUtils.checkNotNull(z);
+        correct(z.toArray());
+    }
+
+    /**
+     * Correct the current state estimate with an actual measurement.
+     *
+     * @param z
+     *            the measurement vector
+     * @throws NullArgumentException
+     *             if the measurement vector is {@code null}
+     * @throws DimensionMismatchException
+     *             if the dimension of the measurement vector does not fit
+     * @throws SingularMatrixException
+     *             if the innovation covariance is singular
+     * @throws NonPositiveDefiniteMatrixException
+     *             if the measurement noise matrix is not positive semi-definite
+     */
+    public void correct(final double[] z)
+            throws NullArgumentException, DimensionMismatchException,
+                   SingularMatrixException, NonPositiveDefiniteMatrixException {
+        MathUtils.checkNotNull(z);
+        checkMeasurement(z);
+        final boolean diagonal = prepareMeasurementNoise();
+        correct(z, diagonal);
+    }
+
+    /**
+     * Correct the current state estimate with several measurements taken at
+     * the same time step.
+     * <p>
+     * This is equivalent to calling {@link #correct(double[])} for each
+     * measurement vector in turn, but the measurement noise matrix is read
+     * and decorrelated only once.
+     * </p>
+     *
+     * @param zs
+     *            the measurement vectors
+     * @throws NullArgumentException
+     *             if the measurement array or one of the vectors is {@code null}
+     * @throws DimensionMismatchException
+     *             if the dimension of a measurement vector does not fit
+     * @throws SingularMatrixException
+     *             if the innovation covariance is singular
+     * @throws NonPositiveDefiniteMatrixException
+     *             if the measurement noise matrix is not positive semi-definite
+     */
+    public void correct(final double[][] zs)
+            throws NullArgumentException, DimensionMismatchException,
+                   SingularMatrixException, NonPositiveDefiniteMatrixException {
+        MathUtils.checkNotNull(zs);
+        for (final double[] z : zs) {
+            MathUtils.checkNotNull(z);
+            checkMeasurement(z);
+        }
+        final boolean diagonal = prepareMeasurementNoise();
+        for (final double[] z : zs) {
+            correct(z, diagonal);
+        }
+    }
+
+    /**
+     * Check the dimension of a measurement vector.
+     *
+     * @param z the measurement vector
+     * @throws DimensionMismatchException
+     *             if the dimension of the measurement vector does not fit
+     */
+    private void checkMeasurement(final double[] z) throws DimensionMismatchException {
+        if (z.length != measurement.length) {
+            throw new DimensionMismatchException(z.length, measurement.length);
+        }
+    }
+
+    /**
+     * Read the measurement noise and decorrelate the measurement matrix if needed.
+     * <p>
+     * Upon return, {@link #noiseD} contains the variances of the (decorrelated)
+     * measurement components and, if the noise is correlated, {@link #noiseU}
+     * contains its unit upper triangular factor and {@link #hw} the decorrelated
+     * measurement matrix Ur<sup>-1</sup> H.
+     * </p>
+     *
+     * @return true if the measurement noise matrix is diagonal
+     * @throws NonPositiveDefiniteMatrixException
+     *             if the measurement noise matrix is not positive semi-definite
+     */
+    private boolean prepareMeasurementNoise() throws NonPositiveDefiniteMatrixException {
+
+        final int m = measurement.length;
+        final RealMatrix r = measurementModel.getMeasurementNoise();
+        checkMeasurementNoise(r, m);
+
+        boolean diagonal = true;
+        for (int i = 0; i < m && diagonal; ++i) {
+            for (int j = i + 1; j < m && diagonal; ++j) {
+                diagonal = r.getEntry(i, j) == 0;
+            }
+        }
+
+        if (diagonal) {
+            for (int i = 0; i < m; ++i) {
+                noiseD[i] = r.getEntry(i, i);
+                if (noiseD[i] < 0) {
+                    throw new NonPositiveDefiniteMatrixException(noiseD[i], i, 0);
+                }
+            }
+            return true;
+        }
+
+        // R = Ur * Dr * Ur', the noise of Ur^-1 * z is uncorrelated
+        factorize(r, m, noiseU, noiseD);
+        final int n = state.length;
+        for (int i = m - 1; i >= 0; --i) {
+            final double[] hwI = hw[i];
+            System.arraycopy(measurement[i], 0, hwI, 0, n);
+            for (int k = i + 1; k < m; ++k) {
+                final double uIK = noiseU[i][k];
+                if (uIK != 0) {
+                    final double[] hwK = hw[k];
+                    for (int j = 0; j < n; ++j) {
+                        hwI[j] -= uIK * hwK[j];
+                    }
+                }
+            }
+        }
+        return false;
+
+    }
+
+    /**
+     * Correct the current state estimate with one measurement vector.
+     *
+     * @param z the measurement vector
+     * @param diagonal if true, the measurement noise is uncorrelated
+     * @throws SingularMatrixException
+     *             if the innovation covariance is singular
+     */
+    private void correct(final double[] z, final boolean diagonal)
+        throws SingularMatrixException {
+
+        final int m = measurement.length;
+        final double[][] h;
+        final double[]   y;
+        if (diagonal) {
+            h = measurement;
+            y = z;
+        } else {
+            // decorrelate the measurement: zw = Ur^-1 * z
+            for (int i = m - 1; i >= 0; --i) {
+                double sum = z[i];
+                for (int k = i + 1; k < m; ++k) {
+                    sum -= noiseU[i][k] * zw[k];
+                }
+                zw[i] = sum;
+            }
+            h = hw;
+            y = zw;
+        }
+
+        for (int i = 0; i < m; ++i) {
+            scalarUpdate(h[i], y[i], noiseD[i]);
+        }
+
+    }
+
+    /**
+     * Bierman's update of the state and covariance factors with a scalar measurement.
+     *
+     * @param hRow the measurement row
+     * @param z the scalar measurement
+     * @param r the variance of the measurement noise
+     * @throws SingularMatrixException
+     *             if the innovation variance is not strictly positive
+     */
+    private void scalarUpdate(final double[] hRow, final double z, final double r)
+        throws SingularMatrixException {
+
+        final int n = state.length;
+
+        // f = U' * h', g = D * f, innovation = z - h * x
+        double innovation = z;
+        for (int j = 0; j < n; ++j) {
+            double sum = hRow[j];
+            for (int i = 0; i < j; ++i) {
+                sum += u[i][j] * hRow[i];
+            }
+            f[j] = sum;
+            g[j] = d[j] * sum;
+            innovation -= hRow[j] * state[j];
+        }
+
+        // alpha accumulates the innovation variance h * P * h' + r,
+        // it remains 0 as long as the measurement does not constrain the state
+        double alpha = r;
+        for (int j = 0; j < n; ++j) {
+            final double beta = alpha;
+            alpha += f[j] * g[j];
+            if (alpha > 0) {
+                d[j] *= beta / alpha;
+            }
+            final double lambda = (beta > 0) ? -f[j] / beta : 0;
+            for (int i = 0; i < j; ++i) {
+                final double uIJ = u[i][j];
+                u[i][j] = uIJ + b[i] * lambda;
+                b[i]   += g[j] * uIJ;
+            }
+            b[j] = g[j];
+        }
+
+        if (!(alpha > 0)) {
+            throw new SingularMatrixException();
+        }
+
+        // update estimate with measurement z(k), the gain is b / alpha
+        final double scale = innovation / alpha;
+        for (int j = 0; j < n; ++j) {
+            state[j] += b[j] * scale;
+        }
+
+    }
+
+    /**
+     * Check the dimensions of the measurement noise matrix.
+     *
+     * @param r the measurement noise matrix
+     * @param m the measurement dimension
+     * @throws MatrixDimensionMismatchException if the dimensions do not match
+     */
+    private static void checkMeasurementNoise(final RealMatrix r, final int m)
+        throws MatrixDimensionMismatchException {
+        if (r.getRowDimension() != m || r.getColumnDimension() != m) {
+            throw new MatrixDimensionMismatchException(r.getRowDimension(),
+                                                       r.getColumnDimension(),
+                                                       m, m);
+        }
+    }
+
+    /**
+     * Compute the UD factorization of a symmetric positive semi-definite matrix.
+     * <p>
+     * Only the upper triangular part of the matrix is used. Upon return, the upper
+     * triangular part of the first {@code n} rows and columns of {@code uFactor}
+     * contains the unit upper triangular factor and the {@code n} first elements
+     * of {@code dFactor} the diagonal factor.
+     * </p>
+     *
+     * @param p the matrix to factorize
+     * @param n the dimension of the matrix
+     * @param uFactor array where to store the unit upper triangular factor
+     * @param dFactor array where to store the diagonal factor
+     * @throws NonPositiveDefiniteMatrixException
+     *             if the matrix is not positive semi-definite
+     */
+    private static void factorize(final RealMatrix p, final int n,
+                                  final double[][] uFactor, final double[] dFactor)
+        throws NonPositiveDefiniteMatrixException {
+
+        for (int j = n - 1; j >= 0; --j) {
+            final double pJJ = p.getEntry(j, j);
+            double dJ = pJJ;
+            for (int k = j + 1; k < n; ++k) {
+                dJ -= dFactor[k] * uFactor[j][k] * uFactor[j][k];
+            }
+            final double threshold = n * Precision.EPSILON * FastMath.abs(pJJ);
+            if (dJ < -threshold) {
+                throw new NonPositiveDefiniteMatrixException(dJ, j, -threshold);
+            }
+            if (dJ <= threshold) {
+                // singular direction, the covariance is only semi-definite
+                dJ = 0;
+            }
+            dFactor[j] = dJ;
+            uFactor[j][j] = 1;
+            for (int i = 0; i < j; ++i) {
+                double uIJ = 0;
+                if (dJ > 0) {
+                    double sum = p.getEntry(i, j);
+                    for (int k = j + 1; k < n; ++k) {
+                        sum -= dFactor[k] * uFactor[i][k] * uFactor[j][k];
+                    }
+                    uIJ = sum / dJ;
+                }
+                uFactor[i][j] = uIJ;
+            }
+            for (int i = j + 1; i < n; ++i) {
+                // clear the strictly lower part which may contain stale values
+                uFactor[i][j] = 0;
+            }
+        }
+
+    }
+
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.math3.fitting.leastsquares;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math3.analysis.MultivariateMatrixFunction;
 import org.apache.commons.math3.analysis.MultivariateVectorFunction;
 import org.apache.commons.math3.fitting.leastsquares.LeastSquaresProblem.Evaluation;
@@ -134,6 +136,23 @@ public class LeastSquaresBuilder {
         return model(LeastSquaresFactory.model(value, jacobian));
     }
 
+    /**
+     * Configure the model function, with a Jacobian computed by finite differences.
+     *
+     * @param value the model function value
+     * @param steps finite differences steps, one per parameter
+     * @param executor executor for computing the Jacobian columns (null to
+     * compute them in the calling thread, otherwise {@code value} must be thread-safe)
+     * @return this
+     * @see LeastSquaresFactory#model(MultivariateVectorFunction, double[], ExecutorService)
+     * @since 3.7
+     */
+    public LeastSquaresBuilder model(final MultivariateVectorFunction value,
+                                     final double[] steps,
+                                     final ExecutorService executor) {
+        return model(LeastSquaresFactory.model(value, steps, executor));
+    }
+
     /**
      * Configure the model function.
      *
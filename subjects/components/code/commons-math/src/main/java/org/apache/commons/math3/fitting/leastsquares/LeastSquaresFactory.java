@@ -16,7 +16,15 @@
  */
 package org.apache.commons.math3.fitting.leastsquares;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.analysis.MultivariateMatrixFunction;
 import org.apache.commons.math3.analysis.MultivariateVectorFunction;
@@ -33,6 +41,7 @@ import org.apache.commons.math3.optim.PointVectorValuePair;
 import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.Incrementor;
 import org.apache.commons.math3.util.Pair;
+import org.apache.commons.math3.util.ParallelTasks;
 
 /**
  * A Factory for creating {@link LeastSquaresProblem}s.
@@ -299,6 +308,50 @@ public class LeastSquaresFactory {
         return new LocalValueAndJacobianFunction(value, jacobian);
     }
 
+    /**
+     * Build a {@link MultivariateJacobianFunction} from a {@link
+     * MultivariateVectorFunction}, the Jacobian being computed by forward
+     * finite differences.
+     * <p>
+     * Column j of the Jacobian is computed as (f(x + h<sub>j</sub> e<sub>j</sub>)
+     * - f(x)) / h<sub>j</sub>, so each Jacobian costs n + 1 evaluations of the
+     * model, where n is the number of parameters. When an executor is
+     * provided, the n evaluations at perturbed points are performed
+     * concurrently by the executor, which is worthwhile for expensive models
+     * without analytical derivatives. In this case, the model function must
+     * be thread-safe. The executor is not shut down by the returned function,
+     * so it can be shared with other tasks.
+     * </p>
+     * <p>
+     * Evaluating the Jacobian throws a {@link NumberIsTooSmallException} if a
+     * step is too small to change the corresponding parameter value.
+     * </p>
+     * <p>
+     * The returned function implements {@link ValueAndJacobianFunction}, so it
+     * can be used with {@link LeastSquaresBuilder#lazyEvaluation(boolean) lazy
+     * evaluation}.
+     * </p>
+     *
+     * @param value the vector value function
+     * @param steps finite differences steps, one per parameter
+     * @param executor executor for the evaluations at perturbed points
+     * (null to perform them in the calling thread)
+     * @return a function that computes both the value and the Jacobian
+     * @throws NotStrictlyPositiveException if one of the steps is not strictly positive
+     * @since 3.7
+     */
+    public static MultivariateJacobianFunction model(final MultivariateVectorFunction value,
+                                                     final double[] steps,
+                                                     final ExecutorService executor)
+        throws NotStrictlyPositiveException {
+        for (final double step : steps) {
+            if (!(step > 0)) {
+                throw new NotStrictlyPositiveException(step);
+            }
+        }
+        return new FiniteDifferencesJacobianFunction(value, steps.clone(), executor);
+    }
+
     /**
      * Combine a {@link MultivariateVectorFunction} with a {@link
      * MultivariateMatrixFunction} to produce a {@link MultivariateJacobianFunction}.
@@ -345,6 +398,132 @@ public class LeastSquaresFactory {
         }
     }
 
+    /**
+     * Model whose Jacobian is computed by forward finite differences,
+     * possibly in parallel.
+     * @since 3.7
+     */
+    private static class FiniteDifferencesJacobianFunction
+        implements ValueAndJacobianFunction {
+        /** Model. */
+        private final MultivariateVectorFunction value;
+        /** Finite differences steps. */
+        private final double[] steps;
+        /** Executor for the columns computation (null for the calling thread). */
+        private final ExecutorService executor;
+
+        /**
+         * @param value Model function.
+         * @param steps Finite differences steps.
+         * @param executor Executor for the columns computation.
+         */
+        FiniteDifferencesJacobianFunction(final MultivariateVectorFunction value,
+                                          final double[] steps,
+                                          final ExecutorService executor) {
+            this.value = value;
+            this.steps = steps;
+            this.executor = executor;
+        }
+
+        /** {@inheritDoc} */
+        public Pair<RealVector, RealMatrix> value(final RealVector point) {
+            final double[] p = point.toArray();
+
+            // Evaluate, sharing the value at the current point with the Jacobian.
+            final double[] f0 = value.value(p);
+            return new Pair<RealVector, RealMatrix>(new ArrayRealVector(f0, false),
+                                                    new Array2DRowRealMatrix(jacobian(p, f0), false));
+        }
+
+        /** {@inheritDoc} */
+        public RealVector computeValue(final double[] params) {
+            return new ArrayRealVector(value.value(params), false);
+        }
+
+        /** {@inheritDoc} */
+        public RealMatrix computeJacobian(final double[] params) {
+            return new Array2DRowRealMatrix(jacobian(params, value.value(params)), false);
+        }
+
+        /**
+         * Compute the Jacobian.
+         *
+         * @param params Point at which the Jacobian must be computed.
+         * @param f0 Value of the model at this point.
+         * @return the Jacobian.
+         * @throws DimensionMismatchException if the point dimension does not
+         * match the number of steps.
+         * @throws NumberIsTooSmallException if a step is too small to change
+         * the corresponding parameter.
+         */
+        private double[][] jacobian(final double[] params, final double[] f0)
+            throws DimensionMismatchException, NumberIsTooSmallException {
+
+            final int nC = params.length;
+            if (nC != steps.length) {
+                throw new DimensionMismatchException(nC, steps.length);
+            }
+            final double[][] jacobian = new double[f0.length][nC];
+
+            if (executor == null || nC <= 1) {
+                computeColumns(params, f0, jacobian, 0, nC);
+                return jacobian;
+            }
+
+            final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(nC);
+            for (int j = 0; j < nC; ++j) {
+                final int column = j;
+                tasks.add(new Callable<Void>() {
+                    /** {@inheritDoc} */
+                    public Void call() {
+                        computeColumns(params, f0, jacobian, column, column + 1);
+                        return null;
+                    }
+                });
+            }
+            ParallelTasks.invokeAll(executor, tasks);
+
+            return jacobian;
+
+        }
+
+        /**
+         * Compute some columns of the Jacobian.
+         *
+         * @param params Point at which the Jacobian must be computed.
+         * @param f0 Value of the model at this point.
+         * @param jacobian Jacobian (filled in-place).
+         * @param from Index of the first column to compute.
+         * @param to Index after the last column to compute.
+         * @throws DimensionMismatchException if the dimension of the model
+         * value changes.
+         * @throws NumberIsTooSmallException if a step is too small to change
+         * the corresponding parameter.
+         */
+        private void computeColumns(final double[] params, final double[] f0,
+                                    final double[][] jacobian,
+                                    final int from, final int to)
+            throws DimensionMismatchException, NumberIsTooSmallException {
+            final double[] x = params.clone();
+            for (int j = from; j < to; ++j) {
+                x[j] = params[j] + steps[j];
+                // use the step really represented in floating point
+                final double h = x[j] - params[j];
+                if (h == 0) {
+                    // the step is lost when added to the parameter
+                    throw new NumberIsTooSmallException(steps[j], FastMath.ulp(params[j]), true);
+                }
+                final double[] fj = value.value(x);
+                x[j] = params[j];
+                if (fj.length != f0.length) {
+                    throw new DimensionMismatchException(fj.length, f0.length);
+                }
+                for (int i = 0; i < f0.length; ++i) {
+                    jacobian[i][j] = (fj[i] - f0[i]) / h;
+                }
+            }
+        }
+    }
 
     /**
      * A private, "field" immutable (not "real" immutable) implementation of {@link
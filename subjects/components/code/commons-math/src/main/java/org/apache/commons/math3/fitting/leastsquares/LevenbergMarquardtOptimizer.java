@@ -20,6 +20,7 @@ import java.util.Arrays;
 
 import org.apache.commons.math3.fitting.leastsquares.LeastSquaresProblem.Evaluation;
 import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.DefaultRealMatrixPreservingVisitor;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.exception.ConvergenceException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
@@ -320,6 +321,8 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
         double[] work1   = new double[nC];
         double[] work2   = new double[nC];
         double[] work3   = new double[nC];
+        // QR decomposition work arrays, reused at each iteration
+        final InternalData internalData = new InternalData(nR, nC);
 
 
         // Evaluate the function at the starting point and calculate its norm.
@@ -338,8 +341,7 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
             final Evaluation previous = current;
 
             // QR decomposition of the jacobian matrix
-            final InternalData internalData
-                    = qrDecomposition(current.getJacobian(), solvedCols);
+            qrDecomposition(current.getJacobian(), solvedCols, internalData);
             final double[][] weightedJacobian = internalData.weightedJacobian;
             final int[] permutation = internalData.permutation;
             final double[] diagR = internalData.diagR;
@@ -551,6 +553,11 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
      * This structure was created so that all optimizer fields can be "final".
      * Code should be further refactored in order to not pass around arguments
      * that will modified in-place (cf. "work" arrays).
+     * <p>
+     * The arrays are allocated once per optimization and overwritten by each
+     * {@link LevenbergMarquardtOptimizer#qrDecomposition(RealMatrix, int, InternalData)
+     * QR decomposition}.
+     * </p>
      */
     private static class InternalData {
         /** Weighted Jacobian. */
@@ -558,7 +565,7 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
         /** Columns permutation array. */
         private final int[] permutation;
         /** Rank of the Jacobian matrix. */
-        private final int rank;
+        private int rank;
         /** Diagonal elements of the R matrix in the QR decomposition. */
         private final double[] diagR;
         /** Norms of the columns of the jacobian matrix. */
@@ -567,25 +574,15 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
         private final double[] beta;
 
         /**
-         * @param weightedJacobian Weighted Jacobian.
-         * @param permutation Columns permutation array.
-         * @param rank Rank of the Jacobian matrix.
-         * @param diagR Diagonal elements of the R matrix in the QR decomposition.
-         * @param jacNorm Norms of the columns of the jacobian matrix.
-         * @param beta Coefficients of the Householder transforms vectors.
+         * @param nR Number of observed data.
+         * @param nC Number of parameters.
          */
-        InternalData(double[][] weightedJacobian,
-                     int[] permutation,
-                     int rank,
-                     double[] diagR,
-                     double[] jacNorm,
-                     double[] beta) {
-            this.weightedJacobian = weightedJacobian;
-            this.permutation = permutation;
-            this.rank = rank;
-            this.diagR = diagR;
-            this.jacNorm = jacNorm;
-            this.beta = beta;
+        InternalData(int nR, int nC) {
+            this.weightedJacobian = new double[nR][nC];
+            this.permutation = new int[nC];
+            this.diagR = new double[nC];
+            this.jacNorm = new double[nC];
+            this.beta = new double[nC];
         }
     }
 
@@ -930,22 +927,33 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
      *
      * @param jacobian Weighted Jacobian matrix at the current point.
      * @param solvedCols Number of solved point.
-     * @return data used in other methods of this class.
+     * @param internalData Data used in other methods of this class
+     * (overwritten in-place in this method).
      * @throws ConvergenceException if the decomposition cannot be performed.
      */
-    private InternalData qrDecomposition(RealMatrix jacobian,
-                                         int solvedCols) throws ConvergenceException {
-        // Code in this class assumes that the weighted Jacobian is -(W^(1/2) J),
-        // hence the multiplication by -1.
-        final double[][] weightedJacobian = jacobian.scalarMultiply(-1).getData();
+    private void qrDecomposition(RealMatrix jacobian,
+                                 int solvedCols,
+                                 InternalData internalData) throws ConvergenceException {
+        final double[][] weightedJacobian = internalData.weightedJacobian;
+        final int[] permutation = internalData.permutation;
+        final double[] diagR = internalData.diagR;
+        final double[] jacNorm = internalData.jacNorm;
+        final double[] beta = internalData.beta;
 
         final int nR = weightedJacobian.length;
         final int nC = weightedJacobian[0].length;
 
-        final int[] permutation = new int[nC];
-        final double[] diagR = new double[nC];
-        final double[] jacNorm = new double[nC];
-        final double[] beta = new double[nC];
+        // Code in this class assumes that the weighted Jacobian is -(W^(1/2) J),
+        // hence the multiplication by -1.
+        jacobian.walkInOptimizedOrder(new DefaultRealMatrixPreservingVisitor() {
+            /** {@inheritDoc} */
+            @Override
+            public void visit(int row, int column, double value) {
+                weightedJacobian[row][column] = -value;
+            }
+        });
+        Arrays.fill(diagR, 0);
+        Arrays.fill(beta, 0);
 
         // initializations
         for (int k = 0; k < nC; ++k) {
@@ -980,7 +988,8 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
                 }
             }
             if (ak2 <= qrRankingThreshold) {
-                return new InternalData(weightedJacobian, permutation, k, diagR, jacNorm, beta);
+                internalData.rank = k;
+                return;
             }
             int pk = permutation[nextColumn];
             permutation[nextColumn] = permutation[k];
@@ -1009,7 +1018,7 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
             }
         }
 
-        return new InternalData(weightedJacobian, permutation, solvedCols, diagR, jacNorm, beta);
+        internalData.rank = solvedCols;
     }
 
     /**
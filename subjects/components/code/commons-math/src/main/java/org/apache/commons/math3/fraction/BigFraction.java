@@ -442,6 +442,32 @@ public class BigFraction
         return new BigFraction(numerator, denominator);
     }
 
+    /**
+     * <p>
+     * Adds several fractions, returning the result in reduced form.
+     * </p>
+     *
+     * <p>
+     * This is faster than chaining calls to {@link #add(BigFraction)}, as the
+     * intermediate sums are not reduced and are computed with {@code long}
+     * arithmetic as long as they fit.
+     * </p>
+     *
+     * @param fractions
+     *            the fractions to add, must not contain <code>null</code>.
+     * @return a {@link BigFraction} instance with the sum of the fractions.
+     * @throws NullArgumentException if one of the fractions is {@code null}.
+     * @see FractionAccumulator
+     * @since 3.7
+     */
+    public static BigFraction sum(final BigFraction... fractions) {
+        final FractionAccumulator accumulator = new FractionAccumulator();
+        for (final BigFraction fraction : fractions) {
+            accumulator.add(fraction);
+        }
+        return accumulator.getBigFraction();
+    }
+
     /**
      * <p>
      * Returns the absolute value of this {@link BigFraction}.
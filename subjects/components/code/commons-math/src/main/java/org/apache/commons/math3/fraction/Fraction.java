@@ -604,6 +604,30 @@ public class Fraction
         return 100 * doubleValue();
     }
 
+    /**
+     * <p>Adds several fractions, returning the result in reduced form.</p>
+     * <p>
+     * This is faster than chaining calls to {@link #add(Fraction)}, as the
+     * intermediate sums are neither reduced nor allocated, and they may
+     * exceed the range of {@code int} as long as the final result does not.
+     * </p>
+     *
+     * @param fractions fractions to add, must not contain {@code null}
+     * @return a {@code Fraction} instance with the sum of the fractions
+     * @throws NullArgumentException if one of the fractions is {@code null}
+     * @throws MathArithmeticException if the resulting numerator or denominator
+     *   cannot be represented in an {@code int}.
+     * @see FractionAccumulator
+     * @since 3.7
+     */
+    public static Fraction sum(final Fraction... fractions) {
+        final FractionAccumulator accumulator = new FractionAccumulator();
+        for (final Fraction fraction : fractions) {
+            accumulator.add(fraction);
+        }
+        return accumulator.getFraction();
+    }
+
     /**
      * <p>Creates a {@code Fraction} instance with the 2 parts
      * of a fraction Y/Z.</p>
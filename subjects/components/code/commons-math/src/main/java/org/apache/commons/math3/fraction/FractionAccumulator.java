@@ -0,0 +1,380 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.fraction;
+
+import java.math.BigInteger;
+
+import org.apache.commons.math3.exception.MathArithmeticException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.ArithmeticUtils;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Mutable accumulator for exact sums of rational numbers.
+ * <p>
+ * Contrary to {@link Fraction#add(Fraction)} and {@link BigFraction#add(BigFraction)},
+ * which create a new reduced instance at each call, this class updates its state
+ * in place. The running sum is kept with {@code long} numerator and denominator
+ * as long as they fit, and is promoted to {@code BigInteger} only when an overflow
+ * would occur. The denominator is always the least common multiple of the
+ * denominators added so far, but the sum itself is reduced lazily: only when an
+ * overflow is detected, when the {@code BigInteger} representation has grown
+ * too much, or when the result is retrieved.
+ * </p>
+ * <p>
+ * Instances of this class are not thread-safe.
+ * </p>
+ * @see Fraction#sum(Fraction...)
+ * @see BigFraction#sum(BigFraction...)
+ * @since 3.7
+ */
+public class FractionAccumulator {
+
+    /** Minimal size of the {@code BigInteger} denominator triggering a reduction (in bits). */
+    private static final int MIN_REDUCTION_BITS = 128;
+
+    /** Largest {@code long} such that all smaller values are exactly representable as {@code double}. */
+    private static final long MAX_EXACT_LONG = 1l << 53;
+
+    /** Numerator of the running sum (meaningful only if {@link #bigNumerator} is null). */
+    private long numerator;
+
+    /** Denominator of the running sum, always positive (meaningful only if {@link #bigNumerator} is null). */
+    private long denominator;
+
+    /** Numerator of the running sum once promoted to {@code BigInteger}. */
+    private BigInteger bigNumerator;
+
+    /** Denominator of the running sum once promoted to {@code BigInteger}, always positive. */
+    private BigInteger bigDenominator;
+
+    /** Size of the {@code BigInteger} denominator triggering the next reduction (in bits). */
+    private int reductionBits;
+
+    /** Build an accumulator with a zero sum.
+     */
+    public FractionAccumulator() {
+        clear();
+    }
+
+    /** Reset the sum to zero.
+     */
+    public void clear() {
+        numerator      = 0;
+        denominator    = 1;
+        bigNumerator   = null;
+        bigDenominator = null;
+        reductionBits  = MIN_REDUCTION_BITS;
+    }
+
+    /** Add a fraction to the sum.
+     * @param fraction fraction to add
+     * @return this accumulator
+     * @exception NullArgumentException if the fraction is null
+     */
+    public FractionAccumulator add(final Fraction fraction) throws NullArgumentException {
+        MathUtils.checkNotNull(fraction, LocalizedFormats.FRACTION);
+        // int components, this never hits Long.MIN_VALUE
+        addPositive(fraction.getNumerator(), fraction.getDenominator());
+        return this;
+    }
+
+    /** Subtract a fraction from the sum.
+     * @param fraction fraction to subtract
+     * @return this accumulator
+     * @exception NullArgumentException if the fraction is null
+     */
+    public FractionAccumulator subtract(final Fraction fraction) throws NullArgumentException {
+        MathUtils.checkNotNull(fraction, LocalizedFormats.FRACTION);
+        // int components, this never hits Long.MIN_VALUE
+        addPositive(-((long) fraction.getNumerator()), fraction.getDenominator());
+        return this;
+    }
+
+    /** Add a fraction to the sum.
+     * @param fraction fraction to add
+     * @return this accumulator
+     * @exception NullArgumentException if the fraction is null
+     */
+    public FractionAccumulator add(final BigFraction fraction) throws NullArgumentException {
+        MathUtils.checkNotNull(fraction, LocalizedFormats.FRACTION);
+        add(fraction.getNumerator(), fraction.getDenominator());
+        return this;
+    }
+
+    /** Subtract a fraction from the sum.
+     * @param fraction fraction to subtract
+     * @return this accumulator
+     * @exception NullArgumentException if the fraction is null
+     */
+    public FractionAccumulator subtract(final BigFraction fraction) throws NullArgumentException {
+        MathUtils.checkNotNull(fraction, LocalizedFormats.FRACTION);
+        add(fraction.getNumerator().negate(), fraction.getDenominator());
+        return this;
+    }
+
+    /** Add a fraction to the sum.
+     * @param num numerator of the fraction to add
+     * @param den denominator of the fraction to add
+     * @return this accumulator
+     * @exception MathArithmeticException if the denominator is zero
+     */
+    public FractionAccumulator add(final long num, final long den) throws MathArithmeticException {
+        if (den == 0) {
+            throw new MathArithmeticException(LocalizedFormats.ZERO_DENOMINATOR_IN_FRACTION, num, den);
+        }
+        if (num == Long.MIN_VALUE || den == Long.MIN_VALUE) {
+            add(BigInteger.valueOf(num), BigInteger.valueOf(den));
+        } else if (den < 0) {
+            addPositive(-num, -den);
+        } else {
+            addPositive(num, den);
+        }
+        return this;
+    }
+
+    /** Add the sum held by another accumulator to the sum.
+     * @param other accumulator whose sum should be added (it is not modified)
+     * @return this accumulator
+     * @exception NullArgumentException if the accumulator is null
+     */
+    public FractionAccumulator add(final FractionAccumulator other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        if (other.bigNumerator == null) {
+            addPositive(other.numerator, other.denominator);
+        } else {
+            add(other.bigNumerator, other.bigDenominator);
+        }
+        return this;
+    }
+
+    /** Get the sum as a {@link Fraction}.
+     * @return reduced sum
+     * @exception MathArithmeticException if the reduced numerator or denominator
+     * cannot be represented in an {@code int}
+     */
+    public Fraction getFraction() throws MathArithmeticException {
+        reduce();
+        if (bigNumerator == null &&
+            numerator >= Integer.MIN_VALUE && numerator <= Integer.MAX_VALUE &&
+            denominator <= Integer.MAX_VALUE) {
+            return new Fraction((int) numerator, (int) denominator);
+        }
+        throw new MathArithmeticException(LocalizedFormats.FRACTION_CONVERSION_OVERFLOW,
+                                          doubleValue(), getBigNumerator(), getBigDenominator());
+    }
+
+    /** Get the sum as a {@link BigFraction}.
+     * @return reduced sum
+     */
+    public BigFraction getBigFraction() {
+        reduce();
+        return new BigFraction(getBigNumerator(), getBigDenominator());
+    }
+
+    /** Get the sum as a {@code double}.
+     * @return sum, rounded to a {@code double}
+     */
+    public double doubleValue() {
+        if (bigNumerator == null &&
+            FastMath.abs(numerator) <= MAX_EXACT_LONG && denominator <= MAX_EXACT_LONG) {
+            // both parts are exactly representable, the division is correctly rounded
+            return ((double) numerator) / ((double) denominator);
+        }
+        return new BigFraction(getBigNumerator(), getBigDenominator()).doubleValue();
+    }
+
+    /** Add a fraction with a positive denominator, neither part being {@code Long.MIN_VALUE}.
+     * @param num numerator of the fraction to add
+     * @param den denominator of the fraction to add
+     */
+    private void addPositive(final long num, final long den) {
+        if (bigNumerator == null) {
+            if (addLong(num, den)) {
+                return;
+            }
+            // overflow with the unreduced sum, try again with the reduced one
+            if (reduce() && addLong(num, den)) {
+                return;
+            }
+            bigNumerator   = BigInteger.valueOf(numerator);
+            bigDenominator = BigInteger.valueOf(denominator);
+        }
+        addBig(BigInteger.valueOf(num), BigInteger.valueOf(den));
+    }
+
+    /** Add a fraction represented with {@code BigInteger} parts.
+     * @param num numerator of the fraction to add
+     * @param den denominator of the fraction to add (must be non-zero)
+     */
+    private void add(final BigInteger num, final BigInteger den) {
+        if (den.signum() < 0) {
+            add(num.negate(), den.negate());
+            return;
+        }
+        if (num.bitLength() < Long.SIZE - 1 && den.bitLength() < Long.SIZE - 1) {
+            // both parts fit in a long and none of them is Long.MIN_VALUE
+            addPositive(num.longValue(), den.longValue());
+            return;
+        }
+        if (bigNumerator == null) {
+            bigNumerator   = BigInteger.valueOf(numerator);
+            bigDenominator = BigInteger.valueOf(denominator);
+        }
+        addBig(num, den);
+    }
+
+    /** Add a fraction using {@code long} arithmetic.
+     * <p>
+     * The sum is not modified if an overflow occurs.
+     * </p>
+     * @param num numerator of the fraction to add
+     * @param den denominator of the fraction to add (must be positive)
+     * @return true if the fraction could be added without overflow
+     */
+    private boolean addLong(final long num, final long den) {
+        if (den == denominator) {
+            final long n = numerator + num;
+            if (overflowAdd(numerator, num, n)) {
+                return false;
+            }
+            numerator = n;
+            return true;
+        }
+
+        // the new denominator is the least common multiple of the denominators
+        final long g  = ArithmeticUtils.gcd(denominator, den);
+        final long f1 = den / g;
+        final long f2 = denominator / g;
+        final long d  = denominator * f1;
+        final long p1 = numerator * f1;
+        final long p2 = num * f2;
+        final long n  = p1 + p2;
+        if (overflowMultiply(denominator, f1, d) ||
+            overflowMultiply(numerator, f1, p1) ||
+            overflowMultiply(num, f2, p2) ||
+            overflowAdd(p1, p2, n)) {
+            return false;
+        }
+        numerator   = n;
+        denominator = d;
+        return true;
+    }
+
+    /** Add a fraction using {@code BigInteger} arithmetic.
+     * @param num numerator of the fraction to add
+     * @param den denominator of the fraction to add (must be positive)
+     */
+    private void addBig(final BigInteger num, final BigInteger den) {
+        if (den.equals(bigDenominator)) {
+            bigNumerator = bigNumerator.add(num);
+        } else {
+            final BigInteger g  = bigDenominator.gcd(den);
+            final BigInteger f1 = den.divide(g);
+            final BigInteger f2 = bigDenominator.divide(g);
+            bigNumerator   = bigNumerator.multiply(f1).add(num.multiply(f2));
+            bigDenominator = bigDenominator.multiply(f1);
+        }
+        if (bigDenominator.bitLength() > reductionBits) {
+            reduce();
+        }
+    }
+
+    /** Reduce the sum to lowest terms.
+     * <p>
+     * If the reduced sum fits in {@code long} parts again, the
+     * {@code BigInteger} representation is dropped.
+     * </p>
+     * @return true if the sum was changed by the reduction
+     */
+    private boolean reduce() {
+        if (bigNumerator == null) {
+            if (numerator == 0) {
+                final boolean changed = denominator != 1;
+                denominator = 1;
+                return changed;
+            }
+            final long g = ArithmeticUtils.gcd(numerator, denominator);
+            if (g == 1) {
+                return false;
+            }
+            numerator   /= g;
+            denominator /= g;
+            return true;
+        }
+
+        final BigInteger g = bigNumerator.gcd(bigDenominator);
+        final boolean changed = !BigInteger.ONE.equals(g);
+        if (bigNumerator.signum() == 0) {
+            bigDenominator = BigInteger.ONE;
+        } else if (changed) {
+            bigNumerator   = bigNumerator.divide(g);
+            bigDenominator = bigDenominator.divide(g);
+        }
+        if (bigNumerator.bitLength() < Long.SIZE - 1 && bigDenominator.bitLength() < Long.SIZE - 1) {
+            numerator      = bigNumerator.longValue();
+            denominator    = bigDenominator.longValue();
+            bigNumerator   = null;
+            bigDenominator = null;
+            reductionBits  = MIN_REDUCTION_BITS;
+        } else {
+            reductionBits  = FastMath.max(MIN_REDUCTION_BITS, 2 * bigDenominator.bitLength());
+        }
+        return changed;
+    }
+
+    /** Get the numerator as a {@code BigInteger}.
+     * @return numerator
+     */
+    private BigInteger getBigNumerator() {
+        return (bigNumerator == null) ? BigInteger.valueOf(numerator) : bigNumerator;
+    }
+
+    /** Get the denominator as a {@code BigInteger}.
+     * @return denominator
+     */
+    private BigInteger getBigDenominator() {
+        return (bigNumerator == null) ? BigInteger.valueOf(denominator) : bigDenominator;
+    }
+
+    /** Check if a {@code long} addition has overflowed.
+     * @param a first term
+     * @param b second term
+     * @param sum result of {@code a + b} in {@code long} arithmetic
+     * @return true if the sum overflowed or is {@code Long.MIN_VALUE}
+     */
+    private static boolean overflowAdd(final long a, final long b, final long sum) {
+        return ((a ^ sum) & (b ^ sum)) < 0 || sum == Long.MIN_VALUE;
+    }
+
+    /** Check if a {@code long} multiplication has overflowed.
+     * @param a first factor (must not be {@code Long.MIN_VALUE})
+     * @param b second factor, positive
+     * @param product result of {@code a * b} in {@code long} arithmetic
+     * @return true if the product overflowed or is {@code Long.MIN_VALUE}
+     */
+    private static boolean overflowMultiply(final long a, final long b, final long product) {
+        if (((a | b) >>> 31) == 0 || (a < 0 && ((-a | b) >>> 31) == 0)) {
+            // both factors are smaller than 2^31 in absolute value
+            return false;
+        }
+        return product / b != a || product == Long.MIN_VALUE;
+    }
+
+}
@@ -25,6 +25,8 @@ import java.util.NoSuchElementException;
 import org.apache.commons.math3.geometry.Point;
 import org.apache.commons.math3.geometry.partitioning.AbstractRegion;
 import org.apache.commons.math3.geometry.partitioning.BSPTree;
+import org.apache.commons.math3.geometry.partitioning.FlatBSPTree;
+import org.apache.commons.math3.geometry.partitioning.Hyperplane;
 import org.apache.commons.math3.geometry.partitioning.BoundaryProjection;
 import org.apache.commons.math3.geometry.partitioning.SubHyperplane;
 import org.apache.commons.math3.util.Precision;
@@ -210,6 +212,15 @@ public class IntervalsSet extends AbstractRegion<Euclidean1D, Euclidean1D> imple
         return new IntervalsSet(tree, getTolerance());
     }
 
+    /** Get a compact array-based snapshot of the tree, for fast point location.
+     * <p>The snapshot is not updated if the instance is modified afterwards.</p>
+     * @return flat representation of the tree
+     * @since 3.7
+     */
+    public FlatBSPTree<Euclidean1D> getFlatTree() {
+        return new FlatBSPTree<Euclidean1D>(getTree(false), getTolerance(), new CutCoefficientsExtractor());
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void computeGeometricalProperties() {
@@ -683,4 +694,22 @@ public class IntervalsSet extends AbstractRegion<Euclidean1D, Euclidean1D> imple
 
     }
 
+    /** Extractor for the affine coefficients of the cut hyperplanes. */
+    private static class CutCoefficientsExtractor implements FlatBSPTree.CoefficientsExtractor<Euclidean1D> {
+
+        /** {@inheritDoc} */
+        public int getDimension() {
+            return 1;
+        }
+
+        /** {@inheritDoc} */
+        public void extract(final Hyperplane<Euclidean1D> hyperplane, final double[] coefficients, final int offset) {
+            final OrientedPoint point = (OrientedPoint) hyperplane;
+            final double sign = point.isDirect() ? 1.0 : -1.0;
+            coefficients[offset]     = sign;
+            coefficients[offset + 1] = -sign * point.getLocation().getX();
+        }
+
+    }
+
 }
@@ -32,6 +32,7 @@ import org.apache.commons.math3.geometry.euclidean.twod.SubLine;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.apache.commons.math3.geometry.partitioning.AbstractRegion;
 import org.apache.commons.math3.geometry.partitioning.BSPTree;
+import org.apache.commons.math3.geometry.partitioning.FlatBSPTree;
 import org.apache.commons.math3.geometry.partitioning.BSPTreeVisitor;
 import org.apache.commons.math3.geometry.partitioning.BoundaryAttribute;
 import org.apache.commons.math3.geometry.partitioning.Hyperplane;
@@ -419,6 +420,15 @@ public class PolyhedronsSet extends AbstractRegion<Euclidean3D, Euclidean2D> {
         return new PolyhedronsSet(tree, getTolerance());
     }
 
+    /** Get a compact array-based snapshot of the tree, for fast point location.
+     * <p>The snapshot is not updated if the instance is modified afterwards.</p>
+     * @return flat representation of the tree
+     * @since 3.7
+     */
+    public FlatBSPTree<Euclidean3D> getFlatTree() {
+        return new FlatBSPTree<Euclidean3D>(getTree(false), getTolerance(), new CutCoefficientsExtractor());
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void computeGeometricalProperties() {
@@ -736,4 +746,24 @@ public class PolyhedronsSet extends AbstractRegion<Euclidean3D, Euclidean2D> {
 
     }
 
+    /** Extractor for the affine coefficients of the cut hyperplanes. */
+    private static class CutCoefficientsExtractor implements FlatBSPTree.CoefficientsExtractor<Euclidean3D> {
+
+        /** {@inheritDoc} */
+        public int getDimension() {
+            return 3;
+        }
+
+        /** {@inheritDoc} */
+        public void extract(final Hyperplane<Euclidean3D> hyperplane, final double[] coefficients, final int offset) {
+            final Plane plane = (Plane) hyperplane;
+            final Vector3D normal = plane.getNormal();
+            coefficients[offset]     = normal.getX();
+            coefficients[offset + 1] = normal.getY();
+            coefficients[offset + 2] = normal.getZ();
+            coefficients[offset + 3] = plane.getOffset(Vector3D.ZERO);
+        }
+
+    }
+
 }
@@ -427,6 +427,22 @@ public class Line implements Hyperplane<Euclidean2D>, Embedding<Euclidean2D, Euc
         return originOffset;
     }
 
+    /** Get the affine coefficients of the {@link #getOffset(Point) offset}.
+     * <p>
+     * The coefficients are the ones used internally, they are not recomputed
+     * from the {@link #getAngle() angle} and hence match exactly the offsets
+     * computed by the line.
+     * </p>
+     * @param coefficients array where to store the x, y and constant coefficients
+     * @param offset index of the first coefficient in the array
+     * @since 3.7
+     */
+    void getOffsetCoefficients(final double[] coefficients, final int offset) {
+        coefficients[offset]     = sin;
+        coefficients[offset + 1] = -cos;
+        coefficients[offset + 2] = originOffset;
+    }
+
     /** Set the offset of the origin.
      * @param offset offset of the origin
      */
@@ -28,6 +28,7 @@ import org.apache.commons.math3.geometry.euclidean.oned.Vector1D;
 import org.apache.commons.math3.geometry.partitioning.AbstractRegion;
 import org.apache.commons.math3.geometry.partitioning.AbstractSubHyperplane;
 import org.apache.commons.math3.geometry.partitioning.BSPTree;
+import org.apache.commons.math3.geometry.partitioning.FlatBSPTree;
 import org.apache.commons.math3.geometry.partitioning.BSPTreeVisitor;
 import org.apache.commons.math3.geometry.partitioning.BoundaryAttribute;
 import org.apache.commons.math3.geometry.partitioning.Hyperplane;
@@ -604,6 +605,15 @@ public class PolygonsSet extends AbstractRegion<Euclidean2D, Euclidean1D> {
         return new PolygonsSet(tree, getTolerance());
     }
 
+    /** Get a compact array-based snapshot of the tree, for fast point location.
+     * <p>The snapshot is not updated if the instance is modified afterwards.</p>
+     * @return flat representation of the tree
+     * @since 3.7
+     */
+    public FlatBSPTree<Euclidean2D> getFlatTree() {
+        return new FlatBSPTree<Euclidean2D>(getTree(false), getTolerance(), new CutCoefficientsExtractor());
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void computeGeometricalProperties() {
@@ -1157,4 +1167,19 @@ public class PolygonsSet extends AbstractRegion<Euclidean2D, Euclidean1D> {
 
     }
 
+    /** Extractor for the affine coefficients of the cut hyperplanes. */
+    private static class CutCoefficientsExtractor implements FlatBSPTree.CoefficientsExtractor<Euclidean2D> {
+
+        /** {@inheritDoc} */
+        public int getDimension() {
+            return 2;
+        }
+
+        /** {@inheritDoc} */
+        public void extract(final Hyperplane<Euclidean2D> hyperplane, final double[] coefficients, final int offset) {
+            ((Line) hyperplane).getOffsetCoefficients(coefficients, offset);
+        }
+
+    }
+
 }
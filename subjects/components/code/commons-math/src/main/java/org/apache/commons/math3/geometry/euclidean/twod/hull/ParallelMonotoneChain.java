@@ -0,0 +1,475 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.geometry.euclidean.twod.hull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.exception.ConvergenceException;
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+import org.apache.commons.math3.util.ParallelTasks;
+
+/**
+ * Divide and conquer variant of {@link MonotoneChain} for large point sets
+ * given as primitive coordinates arrays.
+ * <p>
+ * The points are split into contiguous chunks processed independently, possibly
+ * in parallel on a user-provided {@link ExecutorService executor}, which is not
+ * shut down by this class and can be shared with other tasks. Each chunk is first
+ * reduced using the Akl-Toussaint heuristic with the quadrilateral of the global
+ * extreme points, then the remaining points are sorted and a candidate hull is
+ * extracted with a monotone chain working directly on the coordinates. The candidate
+ * hulls are conservative: they retain all points that are closer than the tolerance
+ * to a hull edge. The final hull is computed by a regular {@link MonotoneChain} on
+ * the union of the candidate hulls, which is usually tiny with respect to the input,
+ * so the result has the same semantics with respect to tolerance and collinear points.
+ * <p>
+ * The runtime complexity is O(n log n), with n being the number of input points, but
+ * only the chunks need to be sorted and no {@link Vector2D} instances are created
+ * for discarded points.
+ *
+ * @see MonotoneChain
+ * @see AklToussaintHeuristic
+ * @since 3.7
+ */
+public class ParallelMonotoneChain extends AbstractConvexHullGenerator2D {
+
+    /** Minimum number of points per chunk. */
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+
+    /** Maximum number of chunks. */
+    private static final int MAX_CHUNKS = 64;
+
+    /** Size below which insertion sort is used. */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /** Executor for the chunks (null for the calling thread). */
+    private final ExecutorService executor;
+
+    /** Generator used to compute the final hull from the candidate hulls. */
+    private final MonotoneChain finalChain;
+
+    /**
+     * Create a new single-threaded instance.
+     */
+    public ParallelMonotoneChain() {
+        this(false, 1e-10, null);
+    }
+
+    /**
+     * Create a new instance.
+     * @param includeCollinearPoints whether collinear points shall be added as hull vertices
+     * @param tolerance tolerance below which points are considered identical
+     * @param executor executor for the chunks (null to process them in the calling thread)
+     */
+    public ParallelMonotoneChain(final boolean includeCollinearPoints, final double tolerance,
+                                 final ExecutorService executor) {
+        super(includeCollinearPoints, tolerance);
+        this.executor   = executor;
+        this.finalChain = new MonotoneChain(includeCollinearPoints, tolerance);
+    }
+
+    /**
+     * Builds the convex hull from a set of points given by their coordinates.
+     *
+     * @param x abscissas of the points
+     * @param y ordinates of the points
+     * @return the convex hull
+     * @throws NullArgumentException if one of the arrays is null
+     * @throws DimensionMismatchException if the arrays do not have the same length
+     * @throws ConvergenceException if generator fails to generate a convex hull for
+     * the given set of input points
+     */
+    public ConvexHull2D generate(final double[] x, final double[] y)
+        throws NullArgumentException, DimensionMismatchException, ConvergenceException {
+        MathUtils.checkNotNull(x);
+        MathUtils.checkNotNull(y);
+        if (x.length != y.length) {
+            throw new DimensionMismatchException(y.length, x.length);
+        }
+        return finalChain.generate(findCandidates(x, y));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Collection<Vector2D> findHullVertices(final Collection<Vector2D> points) {
+        final double[] x = new double[points.size()];
+        final double[] y = new double[points.size()];
+        int i = 0;
+        for (final Vector2D p : points) {
+            x[i]   = p.getX();
+            y[i++] = p.getY();
+        }
+        return finalChain.findHullVertices(findCandidates(x, y));
+    }
+
+    /**
+     * Find the points that may belong to the convex hull.
+     * @param x abscissas of the points
+     * @param y ordinates of the points
+     * @return candidate hull points
+     */
+    private List<Vector2D> findCandidates(final double[] x, final double[] y) {
+
+        final int n = x.length;
+        final int nbChunks = FastMath.max(1, FastMath.min(MAX_CHUNKS, n / MIN_CHUNK_SIZE));
+
+        // first pass: find the extreme points
+        final List<Callable<int[]>> extremesTasks = new ArrayList<Callable<int[]>>(nbChunks);
+        for (int c = 0; c < nbChunks; ++c) {
+            final int from = chunkStart(c, nbChunks, n);
+            final int to   = chunkStart(c + 1, nbChunks, n);
+            extremesTasks.add(new Callable<int[]>() {
+                /** {@inheritDoc} */
+                public int[] call() {
+                    return findExtremes(x, y, from, to);
+                }
+            });
+        }
+        int[] extremes = null;
+        for (final int[] chunkExtremes : ParallelTasks.invokeAll(executor, extremesTasks)) {
+            extremes = (extremes == null) ? chunkExtremes : mergeExtremes(x, y, extremes, chunkExtremes);
+        }
+        final double[] quadrilateral = (extremes == null) ? null : buildQuadrilateral(x, y, extremes);
+
+        // second pass: reduce, sort and extract candidate hull for each chunk
+        final List<Callable<double[]>> hullTasks = new ArrayList<Callable<double[]>>(nbChunks);
+        for (int c = 0; c < nbChunks; ++c) {
+            final int from = chunkStart(c, nbChunks, n);
+            final int to   = chunkStart(c + 1, nbChunks, n);
+            hullTasks.add(new Callable<double[]>() {
+                /** {@inheritDoc} */
+                public double[] call() {
+                    return chunkHull(x, y, from, to, quadrilateral);
+                }
+            });
+        }
+        final List<Vector2D> candidates = new ArrayList<Vector2D>();
+        for (final double[] hull : ParallelTasks.invokeAll(executor, hullTasks)) {
+            for (int i = 0; i < hull.length; i += 2) {
+                candidates.add(new Vector2D(hull[i], hull[i + 1]));
+            }
+        }
+        return candidates;
+
+    }
+
+    /**
+     * Get the start index of a chunk.
+     * @param c chunk index
+     * @param nbChunks number of chunks
+     * @param n number of points
+     * @return index of the first point of the chunk
+     */
+    private static int chunkStart(final int c, final int nbChunks, final int n) {
+        return (int) (((long) n * c) / nbChunks);
+    }
+
+    /**
+     * Find the indices of the extreme points of a chunk.
+     * @param x abscissas of the points
+     * @param y ordinates of the points
+     * @param from index of the first point of the chunk (inclusive)
+     * @param to index of the last point of the chunk (exclusive)
+     * @return indices of the points with min y, max x, max y and min x,
+     * or null if the chunk is empty
+     */
+    private static int[] findExtremes(final double[] x, final double[] y, final int from, final int to) {
+        if (from >= to) {
+            return null;
+        }
+        int minY = from;
+        int maxX = from;
+        int maxY = from;
+        int minX = from;
+        for (int i = from + 1; i < to; ++i) {
+            if (y[i] < y[minY]) {
+                minY = i;
+            }
+            if (x[i] > x[maxX]) {
+                maxX = i;
+            }
+            if (y[i] > y[maxY]) {
+                maxY = i;
+            }
+            if (x[i] < x[minX]) {
+                minX = i;
+            }
+        }
+        return new int[] { minY, maxX, maxY, minX };
+    }
+
+    /**
+     * Merge extreme points of two chunks.
+     * @param x abscissas of the points
+     * @param y ordinates of the points
+     * @param e1 extreme points of the first chunk
+     * @param e2 extreme points of the second chunk (may be null)
+     * @return merged extreme points
+     */
+    private static int[] mergeExtremes(final double[] x, final double[] y, final int[] e1, final int[] e2) {
+        if (e2 == null) {
+            return e1;
+        }
+        return new int[] {
+            (y[e2[0]] < y[e1[0]]) ? e2[0] : e1[0],
+            (x[e2[1]] > x[e1[1]]) ? e2[1] : e1[1],
+            (y[e2[2]] > y[e1[2]]) ? e2[2] : e1[2],
+            (x[e2[3]] < x[e1[3]]) ? e2[3] : e1[3]
+        };
+    }
+
+    /**
+     * Build the counter-clockwise quadrilateral of the extreme points.
+     * @param x abscissas of the points
+     * @param y ordinates of the points
+     * @param extremes indices of the points with min y, max x, max y and min x
+     * @return coordinates of the distinct vertices of the quadrilateral
+     * (x<sub>0</sub>, y<sub>0</sub>, x<sub>1</sub>, y<sub>1</sub>...),
+     * or null if there are less than 3 distinct vertices
+     */
+    private static double[] buildQuadrilateral(final double[] x, final double[] y, final int[] extremes) {
+        final double[] vertices = new double[8];
+        int size = 0;
+        for (final int index : extremes) {
+            boolean found = false;
+            for (int j = 0; j < size; j += 2) {
+                found |= vertices[j] == x[index] && vertices[j + 1] == y[index];
+            }
+            if (!found) {
+                vertices[size++] = x[index];
+                vertices[size++] = y[index];
+            }
+        }
+        if (size < 6) {
+            // the quadrilateral is not well formed, do not attempt to reduce
+            return null;
+        }
+        final double[] quadrilateral = new double[size];
+        System.arraycopy(vertices, 0, quadrilateral, 0, size);
+        return quadrilateral;
+    }
+
+    /**
+     * Compute the candidate hull of a chunk.
+     * @param x abscissas of the points
+     * @param y ordinates of the points
+     * @param from index of the first point of the chunk (inclusive)
+     * @param to index of the last point of the chunk (exclusive)
+     * @param quadrilateral Akl-Toussaint quadrilateral (may be null)
+     * @return coordinates of the candidate hull points
+     * (x<sub>0</sub>, y<sub>0</sub>, x<sub>1</sub>, y<sub>1</sub>...)
+     */
+    private double[] chunkHull(final double[] x, final double[] y, final int from, final int to,
+                               final double[] quadrilateral) {
+
+        final double tolerance = getTolerance();
+
+        // Akl-Toussaint reduction: only points farther than the tolerance
+        // inside the quadrilateral are discarded
+        final double[] xr = new double[to - from];
+        final double[] yr = new double[to - from];
+        int m = 0;
+        for (int i = from; i < to; ++i) {
+            if (quadrilateral == null || !strictlyInside(x[i], y[i], quadrilateral, tolerance)) {
+                xr[m]   = x[i];
+                yr[m++] = y[i];
+            }
+        }
+
+        // sort remaining points by x, then y
+        sort(xr, yr, 0, m - 1);
+
+        // build lower and upper chains, popping only points
+        // that are clearly not on the hull with respect to tolerance
+        final double[] hull = new double[4 * m + 4];
+        int size = 0;
+        for (int i = 0; i < m; ++i) {
+            size = updateChain(hull, 0, size, xr[i], yr[i], tolerance);
+        }
+        final int lowerSize = size;
+        for (int i = m - 1; i >= 0; --i) {
+            size = lowerSize + updateChain(hull, lowerSize, size - lowerSize, xr[i], yr[i], tolerance);
+        }
+
+        final double[] result = new double[size];
+        System.arraycopy(hull, 0, result, 0, size);
+        return result;
+
+    }
+
+    /**
+     * Check if a point is inside a convex counter-clockwise polygon, farther than tolerance from its edges.
+     * @param px abscissa of the point
+     * @param py ordinate of the point
+     * @param polygon coordinates of the polygon vertices
+     * @param tolerance tolerance below which points are considered to be on edges
+     * @return true if the point is strictly inside the polygon
+     */
+    private static boolean strictlyInside(final double px, final double py,
+                                          final double[] polygon, final double tolerance) {
+        for (int i = 0; i < polygon.length; i += 2) {
+            final int    j  = (i + 2 == polygon.length) ? 0 : i + 2;
+            final double dx = polygon[j]     - polygon[i];
+            final double dy = polygon[j + 1] - polygon[i + 1];
+            final double cross = dx * (py - polygon[i + 1]) - dy * (px - polygon[i]);
+            if (cross <= tolerance * FastMath.sqrt(dx * dx + dy * dy)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Update a partial chain with a new point.
+     * @param hull array containing the chain
+     * @param start index of the chain start in the array
+     * @param size current size of the chain (number of coordinates)
+     * @param px abscissa of the new point
+     * @param py ordinate of the new point
+     * @param tolerance tolerance below which points are considered to be on the chain
+     * @return new size of the chain
+     */
+    private static int updateChain(final double[] hull, final int start, final int size,
+                                   final double px, final double py, final double tolerance) {
+        int s = size;
+        if (s >= 2 && hull[start + s - 2] == px && hull[start + s - 1] == py) {
+            // identical point
+            return s;
+        }
+        while (s >= 4) {
+            final double ax = hull[start + s - 4];
+            final double ay = hull[start + s - 3];
+            final double bx = hull[start + s - 2];
+            final double by = hull[start + s - 1];
+            final double dx = px - ax;
+            final double dy = py - ay;
+            final double cross = dx * (by - ay) - dy * (bx - ax);
+            if (cross > tolerance * FastMath.sqrt(dx * dx + dy * dy)) {
+                // b is clearly on the inner side of segment (a, p)
+                s -= 2;
+            } else {
+                break;
+            }
+        }
+        hull[start + s]     = px;
+        hull[start + s + 1] = py;
+        return s + 2;
+    }
+
+    /**
+     * Sort points in increasing x, then y order.
+     * @param x abscissas of the points
+     * @param y ordinates of the points
+     * @param low index of the first point to sort (inclusive)
+     * @param high index of the last point to sort (inclusive)
+     */
+    private static void sort(final double[] x, final double[] y, final int low, final int high) {
+        int lo = low;
+        int hi = high;
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+
+            // three-way partitioning around the middle point
+            final int    mid = (lo + hi) >>> 1;
+            final double vx  = x[mid];
+            final double vy  = y[mid];
+            int lt = lo;
+            int gt = hi;
+            int i  = lo;
+            while (i <= gt) {
+                final int cmp = compare(x[i], y[i], vx, vy);
+                if (cmp < 0) {
+                    swap(x, y, lt++, i++);
+                } else if (cmp > 0) {
+                    swap(x, y, i, gt--);
+                } else {
+                    ++i;
+                }
+            }
+
+            // recurse on the smaller part, loop on the larger one
+            if (lt - lo < hi - gt) {
+                sort(x, y, lo, lt - 1);
+                lo = gt + 1;
+            } else {
+                sort(x, y, gt + 1, hi);
+                hi = lt - 1;
+            }
+
+        }
+
+        // insertion sort for small ranges
+        for (int i = lo + 1; i <= hi; ++i) {
+            final double px = x[i];
+            final double py = y[i];
+            int j = i - 1;
+            while (j >= lo && compare(x[j], y[j], px, py) > 0) {
+                x[j + 1] = x[j];
+                y[j + 1] = y[j];
+                --j;
+            }
+            x[j + 1] = px;
+            y[j + 1] = py;
+        }
+
+    }
+
+    /**
+     * Compare two points in lexicographic order.
+     * @param x1 abscissa of the first point
+     * @param y1 ordinate of the first point
+     * @param x2 abscissa of the second point
+     * @param y2 ordinate of the second point
+     * @return negative, zero or positive if first point is before, equal or after the second point
+     */
+    private static int compare(final double x1, final double y1, final double x2, final double y2) {
+        if (x1 < x2) {
+            return -1;
+        } else if (x1 > x2) {
+            return +1;
+        } else if (y1 < y2) {
+            return -1;
+        } else if (y1 > y2) {
+            return +1;
+        }
+        return 0;
+    }
+
+    /**
+     * Swap two points.
+     * @param x abscissas of the points
+     * @param y ordinates of the points
+     * @param i index of the first point
+     * @param j index of the second point
+     */
+    private static void swap(final double[] x, final double[] y, final int i, final int j) {
+        final double tx = x[i];
+        final double ty = y[i];
+        x[i] = x[j];
+        y[i] = y[j];
+        x[j] = tx;
+        y[j] = ty;
+    }
+
+}
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.geometry.partitioning;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.geometry.Space;
+import org.apache.commons.math3.geometry.partitioning.Region.Location;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+
+/** Compact array-based representation of a region BSP tree.
+
+ * <p>This class is a read-only snapshot of the tree of a {@link
+ * Region region} in a Euclidean space, designed for fast point
+ * location. The internal nodes are stored in pre-order in primitive
+ * arrays: two ints per node for the plus and minus children and
+ * (dimension + 1) doubles per node for the affine coefficients of the
+ * cut hyperplane, so that the offset of a point p with respect to
+ * the cut of node i is:</p>
+ * <pre>
+ *   c[i (d+1)] p<sub>0</sub> + ... + c[i (d+1) + d - 1] p<sub>d-1</sub> + c[i (d+1) + d]
+ * </pre>
+ * <p>Children references are indices of internal nodes when they are
+ * non-negative and encode leaf cells as {@code ~leafIndex} when they
+ * are negative. Leaf cells only hold the inside/outside boolean
+ * attribute of the region.</p>
+
+ * <p>The {@link #checkPoint(double[]) checkPoint} method gives the same
+ * results as {@link AbstractRegion#checkPoint(org.apache.commons.math3.geometry.Point)
+ * AbstractRegion.checkPoint} but does not allocate anything, which
+ * makes it suitable for classifying large numbers of points against
+ * regions with many facets.</p>
+
+ * <p>Instances are immutable and hence thread-safe. They are not
+ * updated if the region they were built from is modified.</p>
+
+ * @param <S> Type of the space.
+ * @see org.apache.commons.math3.geometry.euclidean.oned.IntervalsSet#getFlatTree()
+ * @see org.apache.commons.math3.geometry.euclidean.twod.PolygonsSet#getFlatTree()
+ * @see org.apache.commons.math3.geometry.euclidean.threed.PolyhedronsSet#getFlatTree()
+ * @since 3.7
+ */
+public class FlatBSPTree<S extends Space> {
+
+    /** Dimension of the space. */
+    private final int dimension;
+
+    /** Tolerance below which points are considered to belong to cut hyperplanes. */
+    private final double tolerance;
+
+    /** Root node (internal node index or encoded leaf index). */
+    private final int root;
+
+    /** Children of internal nodes (plus child at 2i, minus child at 2i + 1). */
+    private final int[] children;
+
+    /** Affine coefficients of the cut hyperplanes (d + 1 per internal node). */
+    private final double[] coefficients;
+
+    /** Inside/outside attribute of leaf cells. */
+    private final boolean[] inside;
+
+    /** Build a flat tree from a region tree.
+     * @param tree region tree to flatten (leaf attributes must be
+     * {@code Boolean}, as in {@link AbstractRegion})
+     * @param tolerance tolerance below which points are considered to
+     * belong to cut hyperplanes
+     * @param extractor extractor for the affine coefficients of the cut hyperplanes
+     */
+    public FlatBSPTree(final BSPTree<S> tree, final double tolerance,
+                       final CoefficientsExtractor<S> extractor) {
+
+        this.dimension = extractor.getDimension();
+        this.tolerance = tolerance;
+
+        // count nodes
+        final int[] counts = new int[2];
+        count(tree, counts);
+        children     = new int[2 * counts[0]];
+        coefficients = new double[(dimension + 1) * counts[0]];
+        inside       = new boolean[counts[1]];
+
+        // fill arrays in pre-order
+        root = flatten(tree, extractor, new int[2]);
+
+    }
+
+    /** Count the internal nodes and leaf cells of a tree.
+     * @param node current node
+     * @param counts counters for internal nodes and leaf cells (updated in place)
+     */
+    private static void count(final BSPTree<?> node, final int[] counts) {
+        if (node.getCut() == null) {
+            ++counts[1];
+        } else {
+            ++counts[0];
+            count(node.getPlus(),  counts);
+            count(node.getMinus(), counts);
+        }
+    }
+
+    /** Flatten a sub-tree.
+     * @param node root of the sub-tree
+     * @param extractor extractor for the affine coefficients of the cut hyperplanes
+     * @param next next free internal node and leaf cell indices (updated in place)
+     * @return reference to the flattened sub-tree root
+     */
+    private int flatten(final BSPTree<S> node, final CoefficientsExtractor<S> extractor,
+                        final int[] next) {
+
+        if (node.getCut() == null) {
+            final int leaf = next[1]++;
+            inside[leaf] = (Boolean) node.getAttribute();
+            return ~leaf;
+        }
+
+        final int index = next[0]++;
+        extractor.extract(node.getCut().getHyperplane(), coefficients, index * (dimension + 1));
+        final int minus = flatten(node.getMinus(), extractor, next);
+        final int plus  = flatten(node.getPlus(),  extractor, next);
+        children[2 * index]     = plus;
+        children[2 * index + 1] = minus;
+        return index;
+
+    }
+
+    /** Get the dimension of the space.
+     * @return dimension of the space
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /** Get the tolerance below which points are considered to belong to cut hyperplanes.
+     * @return tolerance below which points are considered to belong to cut hyperplanes
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /** Get the number of internal nodes.
+     * @return number of internal nodes
+     */
+    public int getNbInternalNodes() {
+        return children.length / 2;
+    }
+
+    /** Get the number of leaf cells.
+     * @return number of leaf cells
+     */
+    public int getNbLeaves() {
+        return inside.length;
+    }
+
+    /** Check a point with respect to the region.
+     * <p>This method does not allocate any memory.</p>
+     * @param point coordinates of the point to check
+     * @return a code representing the point status: either {@link
+     * Region.Location#INSIDE INSIDE}, {@link Region.Location#OUTSIDE
+     * OUTSIDE} or {@link Region.Location#BOUNDARY BOUNDARY}
+     * @exception DimensionMismatchException if the point dimension does
+     * not match the space dimension
+     */
+    public Location checkPoint(final double[] point)
+        throws DimensionMismatchException {
+        if (point.length != dimension) {
+            throw new DimensionMismatchException(point.length, dimension);
+        }
+        return checkPoint(root, point);
+    }
+
+    /** Check a point with respect to the region starting at a given node.
+     * @param node reference to the starting node
+     * @param point coordinates of the point to check
+     * @return a code representing the point status
+     */
+    private Location checkPoint(final int node, final double[] point) {
+
+        // walk down to the cell containing the point
+        int current = node;
+        while (current >= 0) {
+            final double offset = getOffset(current, point);
+            if (FastMath.abs(offset) < tolerance) {
+                // the point is on a cut-sub-hyperplane, is it on a boundary ?
+                final Location minusCode = checkPoint(children[2 * current + 1], point);
+                final Location plusCode  = checkPoint(children[2 * current],     point);
+                return (minusCode == plusCode) ? minusCode : Location.BOUNDARY;
+            }
+            current = children[(offset <= 0) ? 2 * current + 1 : 2 * current];
+        }
+
+        // the point is in the interior of a cell, just check the attribute
+        return inside[~current] ? Location.INSIDE : Location.OUTSIDE;
+
+    }
+
+    /** Compute the offset of a point with respect to the cut hyperplane of an internal node.
+     * <p>In dimensions 1 to 3, the offset is computed with the same accurate
+     * linear combinations as {@link
+     * org.apache.commons.math3.geometry.euclidean.twod.Line#getOffset(org.apache.commons.math3.geometry.Point)
+     * Line.getOffset} and {@link
+     * org.apache.commons.math3.geometry.euclidean.threed.Plane#getOffset(org.apache.commons.math3.geometry.Point)
+     * Plane.getOffset}, so points near the cut hyperplanes are classified
+     * exactly as in the region tree.</p>
+     * @param node index of the internal node
+     * @param point coordinates of the point
+     * @return offset of the point
+     */
+    private double getOffset(final int node, final double[] point) {
+        final int start = node * (dimension + 1);
+        switch (dimension) {
+            case 1:
+                return MathArrays.linearCombination(coefficients[start],     point[0],
+                                                    1.0,                     coefficients[start + 1]);
+            case 2:
+                return MathArrays.linearCombination(coefficients[start],     point[0],
+                                                    coefficients[start + 1], point[1],
+                                                    1.0,                     coefficients[start + 2]);
+            case 3:
+                return MathArrays.linearCombination(point[0], coefficients[start],
+                                                    point[1], coefficients[start + 1],
+                                                    point[2], coefficients[start + 2]) +
+                       coefficients[start + 3];
+            default:
+                double offset = coefficients[start + dimension];
+                for (int i = 0; i < dimension; ++i) {
+                    offset += coefficients[start + i] * point[i];
+                }
+                return offset;
+        }
+    }
+
+    /** Interface extracting the affine coefficients of hyperplanes.
+     * @param <S> Type of the space.
+     */
+    public interface CoefficientsExtractor<S extends Space> {
+
+        /** Get the dimension of the space.
+         * @return dimension of the space
+         */
+        int getDimension();
+
+        /** Extract the affine coefficients of a hyperplane.
+         * <p>The coefficients must be such that the {@link
+         * Hyperplane#getOffset(org.apache.commons.math3.geometry.Point) offset}
+         * of a point p is c<sub>0</sub> p<sub>0</sub> + ... + c<sub>d-1</sub>
+         * p<sub>d-1</sub> + c<sub>d</sub>.</p>
+         * @param hyperplane hyperplane to convert
+         * @param coefficients array where to store the d + 1 coefficients
+         * @param offset index of the first coefficient in the array
+         */
+        void extract(Hyperplane<S> hyperplane, double[] coefficients, int offset);
+
+    }
+
+}
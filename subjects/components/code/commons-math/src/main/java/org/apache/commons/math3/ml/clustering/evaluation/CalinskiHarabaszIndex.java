@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.clustering.evaluation;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.ml.clustering.Cluster;
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+
+/**
+ * Computes the Calinski-Harabasz index (variance ratio criterion) of a clustering.
+ * <p>
+ * With n the number of points, k the number of non-empty clusters,
+ * \( m_i \) and \( n_i \) the centroid and size of cluster \( c_i \)
+ * and m the mean of all points, the index is:
+ * <pre>
+ * \( score = \frac{B / (k - 1)}{W / (n - k)} \)
+ * </pre>
+ * where \( B = \sum\limits_{i=1}^k n_i d(m_i, m)^2 \) is the between-clusters
+ * dispersion and \( W = \sum\limits_{i=1}^k \sum\limits_{x \in c_i} d(x, m_i)^2 \)
+ * is the within-clusters dispersion. Larger scores are better. The score is
+ * NaN if there are less than two non-empty clusters.
+ * </p>
+ * <p>
+ * The computation is linear in the number of points, the dispersions
+ * being computed on blocks of points that can be evaluated in parallel.
+ * </p>
+ *
+ * @param <T> the type of the clustered points
+ * @since 3.7
+ */
+public class CalinskiHarabaszIndex<T extends Clusterable> extends ClusterEvaluator<T> {
+
+    /** Number of points per block. */
+    private static final int BLOCK_SIZE = 4096;
+
+    /** Executor for the blocks (null for the calling thread). */
+    private final ExecutorService executor;
+
+    /**
+     * Build a single-threaded evaluator using Euclidean distance.
+     */
+    public CalinskiHarabaszIndex() {
+        this(new EuclideanDistance());
+    }
+
+    /**
+     * Build a single-threaded evaluator.
+     *
+     * @param measure the distance measure to use
+     */
+    public CalinskiHarabaszIndex(final DistanceMeasure measure) {
+        this(measure, null);
+    }
+
+    /**
+     * Build an evaluator.
+     *
+     * @param measure the distance measure to use
+     * @param executor executor for the blocks of points
+     * (null to evaluate them in the calling thread)
+     */
+    public CalinskiHarabaszIndex(final DistanceMeasure measure, final ExecutorService executor) {
+        super(measure);
+        this.executor = executor;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double score(final List<? extends Cluster<T>> clusters) {
+
+        final ClusterData data = new ClusterData(clusters, 0, null);
+        final int k = data.getNbClusters();
+        if (k < 2) {
+            return Double.NaN;
+        }
+        final DistanceMeasure measure = getDistanceMeasure();
+        final int n         = data.getSize();
+        final int dimension = data.getPoint(0).length;
+
+        final double[][] centroids = new double[k][];
+        int c = 0;
+        for (final Cluster<T> cluster : clusters) {
+            if (!cluster.getPoints().isEmpty()) {
+                centroids[c++] = centroidOf(cluster).getPoint();
+            }
+        }
+
+        // coordinates sums, followed by within-clusters dispersion
+        final double[] sums = data.sumBlocks(BLOCK_SIZE, executor, dimension + 1, new ClusterData.BlockFunction() {
+            /** {@inheritDoc} */
+            public double[] sum(final int from, final int to) {
+                final double[] blockSums = new double[dimension + 1];
+                for (int i = from; i < to; ++i) {
+                    final double[] p = data.getPoint(i);
+                    for (int j = 0; j < dimension; ++j) {
+                        blockSums[j] += p[j];
+                    }
+                    blockSums[dimension] += ClusterData.squaredDistance(measure, p, centroids[data.getLabel(i)]);
+                }
+                return blockSums;
+            }
+        });
+
+        final double[] mean = new double[dimension];
+        for (int j = 0; j < dimension; ++j) {
+            mean[j] = sums[j] / n;
+        }
+        double between = 0;
+        for (int i = 0; i < k; ++i) {
+            between += (data.getEnd(i) - data.getStart(i)) *
+                       ClusterData.squaredDistance(measure, centroids[i], mean);
+        }
+        final double within = sums[dimension];
+
+        return (between * (n - k)) / (within * (k - 1));
+
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Larger Calinski-Harabasz indices are better.
+     * </p>
+     */
+    @Override
+    public boolean isBetterScore(final double score1, final double score2) {
+        return score1 > score2;
+    }
+
+}
@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.clustering.evaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.ml.clustering.Cluster;
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.ParallelTasks;
+
+/**
+ * Primitive arrays view of a list of clusters, used by the evaluators.
+ * <p>
+ * The coordinates arrays of the points are gathered cluster by cluster,
+ * empty clusters being skipped. The clusters may be sub-sampled, in which
+ * case each cluster has a weight equal to its size divided by the number of
+ * points kept.
+ * </p>
+ * @since 3.7
+ */
+class ClusterData {
+
+    /** Coordinates of the points, grouped by cluster. */
+    private final double[][] points;
+
+    /** Index of the cluster of each point. */
+    private final int[] labels;
+
+    /** Start index of each cluster in the points array (with an extra final entry). */
+    private final int[] start;
+
+    /** Weight of the points of each cluster. */
+    private final double[] weights;
+
+    /** Total number of points before sub-sampling. */
+    private final long totalSize;
+
+    /**
+     * Gather the points of the clusters.
+     *
+     * @param <T> type of the clustered points
+     * @param clusters clusters to gather
+     * @param sampleSize maximum number of points to keep per cluster,
+     * or 0 to keep all points
+     * @param random generator used for sub-sampling (may be null if sampleSize is 0)
+     */
+    <T extends Clusterable> ClusterData(final List<? extends Cluster<T>> clusters,
+                                        final int sampleSize, final RandomGenerator random) {
+
+        final List<List<T>> nonEmpty = new ArrayList<List<T>>();
+        int size = 0;
+        long total = 0;
+        for (final Cluster<T> cluster : clusters) {
+            final List<T> clusterPoints = cluster.getPoints();
+            if (!clusterPoints.isEmpty()) {
+                nonEmpty.add(clusterPoints);
+                size  += (sampleSize > 0) ? FastMath.min(sampleSize, clusterPoints.size()) : clusterPoints.size();
+                total += clusterPoints.size();
+            }
+        }
+
+        points    = new double[size][];
+        labels    = new int[size];
+        start     = new int[nonEmpty.size() + 1];
+        weights   = new double[nonEmpty.size()];
+        totalSize = total;
+        int k = 0;
+        for (int c = 0; c < nonEmpty.size(); ++c) {
+            final List<T> clusterPoints = nonEmpty.get(c);
+            start[c] = k;
+            if (sampleSize > 0 && clusterPoints.size() > sampleSize) {
+                // partial Fisher-Yates shuffle of the indices
+                final int[] indices = new int[clusterPoints.size()];
+                for (int i = 0; i < indices.length; ++i) {
+                    indices[i] = i;
+                }
+                for (int i = 0; i < sampleSize; ++i) {
+                    final int j   = i + random.nextInt(indices.length - i);
+                    final int tmp = indices[i];
+                    indices[i]    = indices[j];
+                    indices[j]    = tmp;
+                    labels[k]     = c;
+                    points[k++]   = clusterPoints.get(indices[i]).getPoint();
+                }
+                weights[c] = ((double) clusterPoints.size()) / sampleSize;
+            } else {
+                for (final T p : clusterPoints) {
+                    labels[k]   = c;
+                    points[k++] = p.getPoint();
+                }
+                weights[c] = 1.0;
+            }
+        }
+        start[nonEmpty.size()] = k;
+
+    }
+
+    /**
+     * Get the number of non-empty clusters.
+     *
+     * @return number of non-empty clusters
+     */
+    int getNbClusters() {
+        return weights.length;
+    }
+
+    /**
+     * Get the number of points kept.
+     *
+     * @return number of points kept
+     */
+    int getSize() {
+        return points.length;
+    }
+
+    /**
+     * Get the total number of points before sub-sampling.
+     *
+     * @return total number of points
+     */
+    long getTotalSize() {
+        return totalSize;
+    }
+
+    /**
+     * Get the coordinates of a point.
+     *
+     * @param i index of the point
+     * @return coordinates of the point (reference to the internal array of the point)
+     */
+    double[] getPoint(final int i) {
+        return points[i];
+    }
+
+    /**
+     * Get the cluster of a point.
+     *
+     * @param i index of the point
+     * @return index of the cluster of the point
+     */
+    int getLabel(final int i) {
+        return labels[i];
+    }
+
+    /**
+     * Get the index of the first point of a cluster.
+     *
+     * @param c index of the cluster
+     * @return index of the first point of the cluster
+     */
+    int getStart(final int c) {
+        return start[c];
+    }
+
+    /**
+     * Get the index after the last point of a cluster.
+     *
+     * @param c index of the cluster
+     * @return index after the last point of the cluster
+     */
+    int getEnd(final int c) {
+        return start[c + 1];
+    }
+
+    /**
+     * Get the weight of the points of a cluster.
+     *
+     * @param c index of the cluster
+     * @return cluster size divided by the number of points kept
+     */
+    double getWeight(final int c) {
+        return weights[c];
+    }
+
+    /**
+     * Compute the distance between two points.
+     *
+     * @param measure distance measure
+     * @param a first point
+     * @param b second point
+     * @return distance between the points
+     */
+    static double distance(final DistanceMeasure measure, final double[] a, final double[] b) {
+        if (measure.getClass() == EuclideanDistance.class && a.length == b.length) {
+            return FastMath.sqrt(squaredEuclidean(a, b));
+        }
+        return measure.compute(a, b);
+    }
+
+    /**
+     * Compute the squared distance between two points.
+     * <p>
+     * The square root and squaring are avoided for the Euclidean distance.
+     * </p>
+     *
+     * @param measure distance measure
+     * @param a first point
+     * @param b second point
+     * @return squared distance between the points
+     */
+    static double squaredDistance(final DistanceMeasure measure, final double[] a, final double[] b) {
+        if (measure.getClass() == EuclideanDistance.class && a.length == b.length) {
+            return squaredEuclidean(a, b);
+        }
+        final double d = measure.compute(a, b);
+        return d * d;
+    }
+
+    /**
+     * Compute the squared Euclidean distance between two points of the same dimension.
+     *
+     * @param a first point
+     * @param b second point
+     * @return squared Euclidean distance between the points
+     */
+    private static double squaredEuclidean(final double[] a, final double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; ++i) {
+            final double d = a[i] - b[i];
+            sum += d * d;
+        }
+        return sum;
+    }
+
+    /**
+     * Compute sums over blocks of points, possibly in parallel.
+     * <p>
+     * The block sums are added in block order, so the result does
+     * not depend on the executor.
+     * </p>
+     *
+     * @param blockSize number of points per block
+     * @param executor executor for the blocks (null to sum them in the calling thread)
+     * @param dimension dimension of the sums
+     * @param function function computing the sums over one block
+     * @return sums over all points
+     * @throws MathIllegalStateException if the calling thread is interrupted
+     * while waiting for the blocks
+     */
+    double[] sumBlocks(final int blockSize, final ExecutorService executor, final int dimension,
+                       final BlockFunction function)
+        throws MathIllegalStateException {
+
+        final double[] sums = new double[dimension];
+        final int n = points.length;
+
+        final List<Callable<double[]>> tasks = new ArrayList<Callable<double[]>>();
+        for (int from = 0; from < n; from += blockSize) {
+            final int blockStart = from;
+            final int blockEnd   = FastMath.min(from + blockSize, n);
+            tasks.add(new Callable<double[]>() {
+                /** {@inheritDoc} */
+                public double[] call() {
+                    return function.sum(blockStart, blockEnd);
+                }
+            });
+        }
+        for (final double[] block : ParallelTasks.invokeAll(executor, tasks)) {
+            add(sums, block);
+        }
+        return sums;
+
+    }
+
+    /**
+     * Add a vector to another one.
+     *
+     * @param sums vector to update
+     * @param block vector to add
+     */
+    private static void add(final double[] sums, final double[] block) {
+        for (int i = 0; i < sums.length; ++i) {
+            sums[i] += block[i];
+        }
+    }
+
+    /** Interface for functions computing sums over blocks of points. */
+    interface BlockFunction {
+
+        /**
+         * Compute sums over a block of points.
+         *
+         * @param from index of the first point of the block (inclusive)
+         * @param to index of the last point of the block (exclusive)
+         * @return sums over the block
+         */
+        double[] sum(int from, int to);
+
+    }
+
+}
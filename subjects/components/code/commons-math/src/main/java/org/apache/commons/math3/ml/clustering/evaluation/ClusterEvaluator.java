@@ -75,6 +75,16 @@ public abstract class ClusterEvaluator<T extends Clusterable> {
         return score1 < score2;
     }
 
+    /**
+     * Returns the distance measure used by this evaluator.
+     *
+     * @return the distance measure
+     * @since 3.7
+     */
+    protected DistanceMeasure getDistanceMeasure() {
+        return measure;
+    }
+
     /**
      * Calculates the distance between two {@link Clusterable} instances
      * with the configured {@link DistanceMeasure}.
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.clustering.evaluation;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.ml.clustering.Cluster;
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Computes the Davies-Bouldin index of a clustering.
+ * <p>
+ * With \( S_i \) the mean distance between the points of cluster \( c_i \)
+ * and its centroid \( m_i \), the index is:
+ * <pre>
+ * \( score = \frac{1}{k} \sum\limits_{i=1}^k \max\limits_{j \ne i} \frac{S_i + S_j}{d(m_i, m_j)} \)
+ * </pre>
+ * where k is the number of non-empty clusters. Smaller scores are better.
+ * The score is NaN if there are less than two non-empty clusters.
+ * </p>
+ * <p>
+ * The computation is linear in the number of points, the distances
+ * to the centroids being computed on blocks of points that can be
+ * evaluated in parallel.
+ * </p>
+ *
+ * @param <T> the type of the clustered points
+ * @since 3.7
+ */
+public class DaviesBouldinIndex<T extends Clusterable> extends ClusterEvaluator<T> {
+
+    /** Number of points per block. */
+    private static final int BLOCK_SIZE = 4096;
+
+    /** Executor for the blocks (null for the calling thread). */
+    private final ExecutorService executor;
+
+    /**
+     * Build a single-threaded evaluator using Euclidean distance.
+     */
+    public DaviesBouldinIndex() {
+        this(new EuclideanDistance());
+    }
+
+    /**
+     * Build a single-threaded evaluator.
+     *
+     * @param measure the distance measure to use
+     */
+    public DaviesBouldinIndex(final DistanceMeasure measure) {
+        this(measure, null);
+    }
+
+    /**
+     * Build an evaluator.
+     *
+     * @param measure the distance measure to use
+     * @param executor executor for the blocks of points
+     * (null to evaluate them in the calling thread)
+     */
+    public DaviesBouldinIndex(final DistanceMeasure measure, final ExecutorService executor) {
+        super(measure);
+        this.executor = executor;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double score(final List<? extends Cluster<T>> clusters) {
+
+        final ClusterData data = new ClusterData(clusters, 0, null);
+        final int k = data.getNbClusters();
+        if (k < 2) {
+            return Double.NaN;
+        }
+        final DistanceMeasure measure = getDistanceMeasure();
+
+        final double[][] centroids = new double[k][];
+        int c = 0;
+        for (final Cluster<T> cluster : clusters) {
+            if (!cluster.getPoints().isEmpty()) {
+                centroids[c++] = centroidOf(cluster).getPoint();
+            }
+        }
+
+        // mean distance to centroid for each cluster
+        final double[] scatter = data.sumBlocks(BLOCK_SIZE, executor, k, new ClusterData.BlockFunction() {
+            /** {@inheritDoc} */
+            public double[] sum(final int from, final int to) {
+                final double[] sums = new double[k];
+                for (int i = from; i < to; ++i) {
+                    final int label = data.getLabel(i);
+                    sums[label] += ClusterData.distance(measure, data.getPoint(i), centroids[label]);
+                }
+                return sums;
+            }
+        });
+        for (int i = 0; i < k; ++i) {
+            scatter[i] /= data.getEnd(i) - data.getStart(i);
+        }
+
+        double sum = 0;
+        for (int i = 0; i < k; ++i) {
+            double max = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < k; ++j) {
+                if (j != i) {
+                    final double separation = ClusterData.distance(measure, centroids[i], centroids[j]);
+                    max = FastMath.max(max, (scatter[i] + scatter[j]) / separation);
+                }
+            }
+            sum += max;
+        }
+
+        return sum / k;
+
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.clustering.evaluation;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.ml.clustering.Cluster;
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Computes the mean silhouette coefficient of a clustering.
+ * <p>
+ * For each point i, with a(i) the mean distance to the other points of its
+ * own cluster and b(i) the smallest mean distance to the points of another
+ * cluster, the silhouette is:
+ * <pre>
+ * \( s(i) = \frac{b(i) - a(i)}{\max(a(i), b(i))} \)
+ * </pre>
+ * and s(i) = 0 if i is the only point of its cluster. The score is the
+ * mean of s(i) over all points, between -1 and +1, higher being better.
+ * Empty clusters are ignored and the score is NaN if there are less than
+ * two non-empty clusters.
+ * </p>
+ * <p>
+ * The exact computation needs a number of distance computations quadratic in
+ * the number of points. They are performed on blocks of points that can be
+ * evaluated in parallel. For large data sets, a sampled approximation can be
+ * used instead: at most {@code sampleSize} points are drawn at random from each
+ * cluster, and both the mean distances and the mean silhouette are estimated
+ * from these samples, each sampled point standing for {@code size / sampleSize}
+ * points of its cluster. The cost then drops to (k sampleSize)<sup>2</sup>
+ * distance computations for k clusters.
+ * </p>
+ * <p>
+ * When sampling is used, the random generator is shared by all calls to
+ * {@link #score(List)}, so instances are not thread-safe.
+ * </p>
+ *
+ * @param <T> the type of the clustered points
+ * @since 3.7
+ */
+public class SilhouetteCoefficient<T extends Clusterable> extends ClusterEvaluator<T> {
+
+    /** Number of points per block. */
+    private static final int BLOCK_SIZE = 64;
+
+    /** Executor for the blocks (null for the calling thread). */
+    private final ExecutorService executor;
+
+    /** Maximum number of points per cluster (0 for exact computation). */
+    private final int sampleSize;
+
+    /** Random generator used for sampling. */
+    private final RandomGenerator random;
+
+    /**
+     * Build an exact single-threaded evaluator using Euclidean distance.
+     */
+    public SilhouetteCoefficient() {
+        this(new EuclideanDistance());
+    }
+
+    /**
+     * Build an exact single-threaded evaluator.
+     *
+     * @param measure the distance measure to use
+     */
+    public SilhouetteCoefficient(final DistanceMeasure measure) {
+        this(measure, null);
+    }
+
+    /**
+     * Build an exact evaluator.
+     *
+     * @param measure the distance measure to use
+     * @param executor executor for the blocks of points
+     * (null to evaluate them in the calling thread)
+     */
+    public SilhouetteCoefficient(final DistanceMeasure measure, final ExecutorService executor) {
+        super(measure);
+        this.executor   = executor;
+        this.sampleSize = 0;
+        this.random     = null;
+    }
+
+    /**
+     * Build an evaluator using a sampled approximation.
+     *
+     * @param measure the distance measure to use
+     * @param executor executor for the blocks of points
+     * (null to evaluate them in the calling thread)
+     * @param sampleSize maximum number of points drawn from each cluster
+     * @param random random generator used to draw the points
+     * @exception NumberIsTooSmallException if the sample size is smaller than 2
+     * @exception org.apache.commons.math3.exception.NullArgumentException if the random generator is null
+     */
+    public SilhouetteCoefficient(final DistanceMeasure measure, final ExecutorService executor,
+                                 final int sampleSize, final RandomGenerator random)
+        throws NumberIsTooSmallException {
+        super(measure);
+        if (sampleSize < 2) {
+            throw new NumberIsTooSmallException(sampleSize, 2, true);
+        }
+        MathUtils.checkNotNull(random);
+        this.executor   = executor;
+        this.sampleSize = sampleSize;
+        this.random     = random;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double score(final List<? extends Cluster<T>> clusters) {
+
+        final ClusterData data = new ClusterData(clusters, sampleSize, random);
+        final int k = data.getNbClusters();
+        if (k < 2) {
+            return Double.NaN;
+        }
+        final DistanceMeasure measure = getDistanceMeasure();
+
+        final double[] sum = data.sumBlocks(BLOCK_SIZE, executor, 1, new ClusterData.BlockFunction() {
+            /** {@inheritDoc} */
+            public double[] sum(final int from, final int to) {
+                final double[] distanceSums = new double[k];
+                double weightedSum = 0;
+                for (int i = from; i < to; ++i) {
+                    final int      own = data.getLabel(i);
+                    final double[] p   = data.getPoint(i);
+                    for (int c = 0; c < k; ++c) {
+                        double d = 0;
+                        for (int j = data.getStart(c); j < data.getEnd(c); ++j) {
+                            d += ClusterData.distance(measure, p, data.getPoint(j));
+                        }
+                        distanceSums[c] = d;
+                    }
+
+                    // a point alone in its cluster has a zero silhouette
+                    final int ownCount = data.getEnd(own) - data.getStart(own);
+                    if (ownCount > 1) {
+                        final double a = distanceSums[own] / (ownCount - 1);
+                        double b = Double.POSITIVE_INFINITY;
+                        for (int c = 0; c < k; ++c) {
+                            if (c != own) {
+                                b = FastMath.min(b, distanceSums[c] / (data.getEnd(c) - data.getStart(c)));
+                            }
+                        }
+                        final double max = FastMath.max(a, b);
+                        if (max > 0) {
+                            weightedSum += data.getWeight(own) * (b - a) / max;
+                        }
+                    }
+
+                }
+                return new double[] { weightedSum };
+            }
+        });
+
+        return sum[0] / data.getTotalSize();
+
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Larger silhouette coefficients are better.
+     * </p>
+     */
+    @Override
+    public boolean isBetterScore(final double score1, final double score2) {
+        return score1 > score2;
+    }
+
+}
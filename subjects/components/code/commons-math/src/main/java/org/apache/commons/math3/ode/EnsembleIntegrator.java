@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.ode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.util.ParallelTasks;
+
+/**
+ * Integrates an ensemble of independent trajectories in parallel.
+ *
+ * <p>This class is intended for integrating the same kind of problem
+ * for a large number of initial conditions or parameter sets. Each
+ * trajectory is integrated by a separate task submitted to a
+ * user-provided {@link ExecutorService executor}, so the trajectories
+ * are distributed dynamically among its threads. Since {@link
+ * FirstOrderIntegrator integrators} are not thread-safe, each running
+ * task borrows a private integrator from a pool kept by the instance.
+ * Integrators are built by a user-provided {@link IntegratorFactory
+ * factory} only when all the existing ones are in use, and are reused
+ * for the following trajectories, in this call and in subsequent calls.
+ * At most one integrator is therefore built per thread of the executor.</p>
+ *
+ * <p>Step handlers and event handlers are configured per trajectory:
+ * before integrating each trajectory, the task clears the handlers of
+ * its integrator and calls {@link
+ * TrajectoryProvider#configure(int, FirstOrderIntegrator)} so that
+ * handlers dedicated to this trajectory can be registered. As the
+ * handlers of different trajectories run concurrently in different
+ * threads, they must not share mutable state.</p>
+ *
+ * <p>The executor is not shut down by this class, it can be shared with
+ * other computations. Instances of this class are not thread-safe: the {@link
+ * #integrate(TrajectoryProvider, double, double[][], double, double[][])
+ * integrate} method must not be called concurrently on the same
+ * instance.</p>
+ *
+ * @since 3.7
+ */
+public class EnsembleIntegrator {
+
+    /** Factory for per-task integrators. */
+    public interface IntegratorFactory {
+
+        /** Build a new integrator.
+         * <p>Each call must return a new instance, as instances
+         * will be used concurrently by different threads.</p>
+         * @return a new integrator
+         */
+        FirstOrderIntegrator create();
+
+    }
+
+    /** Provider for the trajectories of an ensemble. */
+    public interface TrajectoryProvider {
+
+        /** Get the differential equations for one trajectory.
+         * <p>This method is called from worker threads, it may return
+         * either a new instance or a shared instance, provided shared
+         * instances are thread-safe.</p>
+         * @param index index of the trajectory
+         * @return differential equations to integrate for this trajectory
+         */
+        FirstOrderDifferentialEquations getEquations(int index);
+
+        /** Configure an integrator before it integrates one trajectory.
+         * <p>The integrator step and event handlers have already been
+         * cleared when this method is called, so this is the place
+         * where the handlers for this trajectory should be added.</p>
+         * @param index index of the trajectory
+         * @param integrator integrator that will integrate the trajectory
+         */
+        void configure(int index, FirstOrderIntegrator integrator);
+
+    }
+
+    /** Factory for per-task integrators. */
+    private final IntegratorFactory factory;
+
+    /** Executor for the trajectories integration (null for the calling thread). */
+    private final ExecutorService executor;
+
+    /** Integrators not currently used by any task. */
+    private final List<FirstOrderIntegrator> idle;
+
+    /** Build an ensemble integrator running in the calling thread.
+     * @param factory factory for per-task integrators
+     */
+    public EnsembleIntegrator(final IntegratorFactory factory) {
+        this(factory, null);
+    }
+
+    /** Build an ensemble integrator.
+     * @param factory factory for per-task integrators
+     * @param executor executor for the trajectories integration
+     * (null to integrate them in the calling thread)
+     */
+    public EnsembleIntegrator(final IntegratorFactory factory, final ExecutorService executor) {
+        this.factory  = factory;
+        this.executor = executor;
+        this.idle     = new ArrayList<FirstOrderIntegrator>();
+    }
+
+    /** Integrate all the trajectories of an ensemble up to the given time.
+     * <p>If integration of any trajectory fails, the remaining trajectories
+     * are not started and the first exception encountered is rethrown.</p>
+     * @param provider provider for the trajectories
+     * @param t0 initial time, common to all trajectories
+     * @param y0 initial states, one row per trajectory
+     * @param t target time for the integration, common to all trajectories
+     * (can be set to a value smaller than <code>t0</code> for backward integration)
+     * @param y placeholder where to put the final states, one row per trajectory
+     * (can be the same object as y0)
+     * @return stop times for each trajectory, the same as target time if integration
+     * reached its target, but may be different if some {@link
+     * org.apache.commons.math3.ode.events.EventHandler} stops it at some point
+     * @exception DimensionMismatchException if the number of initial and final states do not match
+     * @exception MathIllegalStateException if the calling thread is interrupted while waiting
+     * for the tasks
+     */
+    public double[] integrate(final TrajectoryProvider provider,
+                              final double t0, final double[][] y0,
+                              final double t, final double[][] y)
+        throws DimensionMismatchException, MathIllegalStateException {
+
+        if (y.length != y0.length) {
+            throw new DimensionMismatchException(y.length, y0.length);
+        }
+
+        final int n = y0.length;
+        final double[] stopTimes = new double[n];
+        final AtomicInteger failed = new AtomicInteger(0);
+
+        final List<Trajectory> tasks = new ArrayList<Trajectory>(n);
+        for (int i = 0; i < n; ++i) {
+            tasks.add(new Trajectory(i, provider, t0, y0, t, y, stopTimes, failed));
+        }
+        ParallelTasks.invokeAll(executor, tasks);
+
+        return stopTimes;
+
+    }
+
+    /** Borrow an idle integrator, building a new one if all are in use.
+     * @return integrator for the exclusive use of the caller
+     */
+    private FirstOrderIntegrator borrowIntegrator() {
+        synchronized (idle) {
+            if (!idle.isEmpty()) {
+                return idle.remove(idle.size() - 1);
+            }
+        }
+        return factory.create();
+    }
+
+    /** Give back an integrator borrowed by {@link #borrowIntegrator()}.
+     * @param integrator integrator to give back
+     */
+    private void releaseIntegrator(final FirstOrderIntegrator integrator) {
+        synchronized (idle) {
+            idle.add(integrator);
+        }
+    }
+
+    /** Task integrating one trajectory. */
+    private class Trajectory implements Callable<Void> {
+
+        /** Index of the trajectory. */
+        private final int index;
+
+        /** Provider for the trajectories. */
+        private final TrajectoryProvider provider;
+
+        /** Initial time. */
+        private final double t0;
+
+        /** Initial states. */
+        private final double[][] y0;
+
+        /** Target time. */
+        private final double t;
+
+        /** Final states. */
+        private final double[][] y;
+
+        /** Stop times. */
+        private final double[] stopTimes;
+
+        /** Failure indicator shared by all tasks. */
+        private final AtomicInteger failed;
+
+        /** Simple constructor.
+         * @param index index of the trajectory
+         * @param provider provider for the trajectories
+         * @param t0 initial time
+         * @param y0 initial states
+         * @param t target time
+         * @param y final states
+         * @param stopTimes stop times
+         * @param failed failure indicator shared by all tasks
+         */
+        Trajectory(final int index, final TrajectoryProvider provider,
+                   final double t0, final double[][] y0, final double t, final double[][] y,
+                   final double[] stopTimes, final AtomicInteger failed) {
+            this.index     = index;
+            this.provider  = provider;
+            this.t0        = t0;
+            this.y0        = y0;
+            this.t         = t;
+            this.y         = y;
+            this.stopTimes = stopTimes;
+            this.failed    = failed;
+        }
+
+        /** {@inheritDoc} */
+        public Void call() {
+            if (failed.get() != 0 || Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+            final FirstOrderIntegrator integrator = borrowIntegrator();
+            try {
+                integrator.clearStepHandlers();
+                integrator.clearEventHandlers();
+                provider.configure(index, integrator);
+                if (y[index] == null) {
+                    y[index] = new double[y0[index].length];
+                }
+                stopTimes[index] = integrator.integrate(provider.getEquations(index), t0, y0[index], t, y[index]);
+            } catch (RuntimeException re) {
+                failed.set(1);
+                throw re;
+            } catch (Error e) {
+                failed.set(1);
+                throw e;
+            } finally {
+                releaseIntegrator(integrator);
+            }
+            return null;
+        }
+
+    }
+
+}
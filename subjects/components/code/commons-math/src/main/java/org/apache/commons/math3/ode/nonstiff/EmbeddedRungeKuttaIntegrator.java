@@ -23,6 +23,7 @@ import org.apache.commons.math3.exception.NoBracketingException;
 import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.ode.ExpandableStatefulODE;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.Precision;
 
 /**
  * This class implements the common part of all embedded Runge-Kutta
@@ -57,6 +58,13 @@ import org.apache.commons.math3.util.FastMath;
  * evaluation is saved. For an <i>fsal</i> method, we have cs = 1 and
  * asi = bi for all i.</p>
  *
+ * <p>When neither step handlers nor event handlers are registered,
+ * no step interpolator is set up: accepted steps only swap internal
+ * buffers, and the additional derivatives evaluations some interpolators
+ * need for dense output are avoided. The working arrays are kept from
+ * one call to {@link #integrate(ExpandableStatefulODE, double) integrate}
+ * to the next one as long as the state dimension does not change.</p>
+ *
  * @since 1.2
  */
 
@@ -90,6 +98,18 @@ public abstract class EmbeddedRungeKuttaIntegrator
     /** Maximal growth factor for stepsize control. */
     private double maxGrowth;
 
+    /** Working array for the state at step start, reused across calls. */
+    private double[] yWork;
+
+    /** Working array for the state at step end, reused across calls. */
+    private double[] yTmpWork;
+
+    /** Working array for the state derivative at step end, reused across calls. */
+    private double[] yDotTmpWork;
+
+    /** Working arrays for the stages derivatives, reused across calls. */
+    private double[][] yDotKWork;
+
   /** Build a Runge-Kutta integrator with the given Butcher array.
    * @param name name of the method
    * @param fsal indicate that the method is an <i>fsal</i>
@@ -197,19 +217,35 @@ public abstract class EmbeddedRungeKuttaIntegrator
     setEquations(equations);
     final boolean forward = t > equations.getTime();
 
-    // create some internal working arrays
+    // set up the internal working arrays
     final double[] y0  = equations.getCompleteState();
-    final double[] y = y0.clone();
     final int stages = c.length + 1;
-    final double[][] yDotK = new double[stages][y.length];
-    final double[] yTmp    = y0.clone();
-    final double[] yDotTmp = new double[y.length];
+    if (yDotKWork == null || yWork.length != y0.length) {
+        yWork       = new double[y0.length];
+        yTmpWork    = new double[y0.length];
+        yDotTmpWork = new double[y0.length];
+        yDotKWork   = new double[stages][y0.length];
+    }
+    double[] y             = yWork;
+    double[] yTmp          = yTmpWork;
+    final double[] yDotTmp = yDotTmpWork;
+    final double[][] yDotK = yDotKWork;
+    System.arraycopy(y0, 0, y, 0, y0.length);
+    System.arraycopy(y0, 0, yTmp, 0, y0.length);
+
+    // dense output is needed only if someone will look at the steps
+    final boolean lean = stepHandlers.isEmpty() && getEventHandlers().isEmpty();
 
     // set up an interpolator sharing the integrator arrays
-    final RungeKuttaStepInterpolator interpolator = (RungeKuttaStepInterpolator) prototype.copy();
-    interpolator.reinitialize(this, yTmp, yDotK, forward,
-                              equations.getPrimaryMapper(), equations.getSecondaryMappers());
-    interpolator.storeTime(equations.getTime());
+    final RungeKuttaStepInterpolator interpolator;
+    if (lean) {
+        interpolator = null;
+    } else {
+        interpolator = (RungeKuttaStepInterpolator) prototype.copy();
+        interpolator.reinitialize(this, yTmp, yDotK, forward,
+                                  equations.getPrimaryMapper(), equations.getSecondaryMappers());
+        interpolator.storeTime(equations.getTime());
+    }
 
     // set up integration control objects
     stepStart         = equations.getTime();
@@ -221,7 +257,9 @@ public abstract class EmbeddedRungeKuttaIntegrator
     isLastStep = false;
     do {
 
-      interpolator.shift();
+      if (!lean) {
+          interpolator.shift();
+      }
 
       // iterate over step size, ensuring local normalized error is smaller than 1
       double error = 10;
@@ -295,23 +333,47 @@ public abstract class EmbeddedRungeKuttaIntegrator
 
       }
 
-      // local error is small enough: accept the step, trigger events and step handlers
-      interpolator.storeTime(stepStart + stepSize);
-      System.arraycopy(yTmp, 0, y, 0, y0.length);
-      System.arraycopy(yDotK[stages - 1], 0, yDotTmp, 0, y0.length);
-      stepStart = acceptStep(interpolator, y, yDotTmp, t);
-      System.arraycopy(y, 0, yTmp, 0, y.length);
-
-      if (!isLastStep) {
+      if (lean) {
 
-          // prepare next step
-          interpolator.storeTime(stepStart);
+          // local error is small enough: accept the step, just swapping buffers
+          final double[] swap = y;
+          y         = yTmp;
+          yTmp      = swap;
+          stepStart = stepStart + stepSize;
+          isLastStep = Precision.equals(stepStart, t, 1);
 
-          if (fsal) {
+          if (fsal && !isLastStep) {
               // save the last evaluation for the next step
-              System.arraycopy(yDotTmp, 0, yDotK[0], 0, y0.length);
+              final double[] swapDot = yDotK[0];
+              yDotK[0]          = yDotK[stages - 1];
+              yDotK[stages - 1] = swapDot;
+          }
+
+      } else {
+
+          // local error is small enough: accept the step, trigger events and step handlers
+          interpolator.storeTime(stepStart + stepSize);
+          System.arraycopy(yTmp, 0, y, 0, y0.length);
+          System.arraycopy(yDotK[stages - 1], 0, yDotTmp, 0, y0.length);
+          stepStart = acceptStep(interpolator, y, yDotTmp, t);
+          System.arraycopy(y, 0, yTmp, 0, y.length);
+
+          if (!isLastStep) {
+
+              // prepare next step
+              interpolator.storeTime(stepStart);
+
+              if (fsal) {
+                  // save the last evaluation for the next step
+                  System.arraycopy(yDotTmp, 0, yDotK[0], 0, y0.length);
+              }
+
           }
 
+      }
+
+      if (!isLastStep) {
+
           // stepsize control for next step
           final double factor =
               FastMath.min(maxGrowth, FastMath.max(minReduction, safety * FastMath.pow(error, exp)));
@@ -0,0 +1,461 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.optim.linear;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.linear.SingularMatrixException;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.Precision;
+
+/**
+ * Sparse factorization of a simplex basis.
+ * <p>
+ * The basis B<sub>0</sub> is factored as L U by a left-looking sparse
+ * elimination with partial pivoting, L and U being stored column-wise in
+ * compressed arrays. Subsequent basis changes are not folded into the
+ * factors but recorded in an eta file (product form of the inverse):
+ * B<sub>k</sub> = B<sub>0</sub> E<sub>1</sub> ... E<sub>k</sub>, where each
+ * E<sub>t</sub> is the identity with one column replaced.
+ * </p>
+ * <p>
+ * When a column is factorized, only the columns of L whose pivot row is
+ * reached by the column (directly or through previously applied columns)
+ * are applied. They are retrieved in pivot order from a heap of elimination
+ * steps, so the cost depends on the number of non-zero entries involved and
+ * not on the number of previous steps.
+ * </p>
+ * <p>
+ * Step {@code j} of the elimination corresponds to basis position {@code j},
+ * hence vectors returned by {@link #ftran(double[], double[]) ftran} and
+ * consumed by {@link #btran(double[], double[]) btran} are indexed by basis
+ * position, whereas constraint-space vectors are indexed by row.
+ * </p>
+ *
+ * @since 3.7
+ */
+class BasisFactorization {
+
+    /** Number of rows (and columns) of the basis. */
+    private final int m;
+
+    /** Row pivoted at each elimination step. */
+    private final int[] pivotRow;
+
+    /** Elimination step at which each row was pivoted, -1 if not yet pivoted. */
+    private final int[] rowStep;
+
+    /** Diagonal of U. */
+    private final double[] uDiag;
+
+    /** Start of each column of U in {@link #uIndex}/{@link #uValue}. */
+    private final int[] uStart;
+
+    /** Step index of the off-diagonal entries of U. */
+    private int[] uIndex;
+
+    /** Values of the off-diagonal entries of U. */
+    private double[] uValue;
+
+    /** Start of each column of L in {@link #lIndex}/{@link #lValue}. */
+    private final int[] lStart;
+
+    /** Row index of the entries of L. */
+    private int[] lIndex;
+
+    /** Values of the entries of L (multipliers). */
+    private double[] lValue;
+
+    /** Elimination steps with a non-empty column of L, in increasing order. */
+    private final int[] lSteps;
+
+    /** Number of elimination steps with a non-empty column of L. */
+    private int lStepCount;
+
+    /** Basis position replaced by each eta matrix. */
+    private int[] etaPosition;
+
+    /** Pivot value of each eta matrix. */
+    private double[] etaPivot;
+
+    /** Start of each eta column in {@link #etaIndex}/{@link #etaValue}. */
+    private int[] etaStart;
+
+    /** Basis positions of the off-pivot entries of eta columns. */
+    private int[] etaIndex;
+
+    /** Values of the off-pivot entries of eta columns. */
+    private double[] etaValue;
+
+    /** Number of eta matrices since the last factorization. */
+    private int etaCount;
+
+    /** Dense work array indexed by row. */
+    private final double[] work;
+
+    /** Marker for rows present in {@link #touched}. */
+    private final boolean[] marked;
+
+    /** Rows touched during the elimination of the current column. */
+    private final int[] touched;
+
+    /** Binary min-heap of the elimination steps to apply to the current column. */
+    private final int[] pending;
+
+    /** Number of elimination steps in {@link #pending}. */
+    private int pendingCount;
+
+    /**
+     * Simple constructor.
+     *
+     * @param m Number of rows of the basis.
+     */
+    BasisFactorization(final int m) {
+        this.m        = m;
+        this.pivotRow = new int[m];
+        this.rowStep  = new int[m];
+        this.uDiag    = new double[m];
+        this.uStart   = new int[m + 1];
+        this.lStart   = new int[m + 1];
+        this.lSteps   = new int[m];
+        this.work     = new double[m];
+        this.marked   = new boolean[m];
+        this.touched  = new int[m];
+        this.pending  = new int[m];
+        final int initialSize = FastMath.max(16, 2 * m);
+        this.uIndex      = new int[initialSize];
+        this.uValue      = new double[initialSize];
+        this.lIndex      = new int[initialSize];
+        this.lValue      = new double[initialSize];
+        this.etaPosition = new int[16];
+        this.etaPivot    = new double[16];
+        this.etaStart    = new int[17];
+        this.etaIndex    = new int[initialSize];
+        this.etaValue    = new double[initialSize];
+    }
+
+    /**
+     * Factorizes a basis, discarding all previous updates.
+     *
+     * @param basis Column of the constraint matrix at each basis position.
+     * @param colStart Start of each column in {@code rowIndex}/{@code values}.
+     * @param rowIndex Row index of the constraint matrix entries.
+     * @param values Values of the constraint matrix entries.
+     * @throws SingularMatrixException if the basis is singular.
+     */
+    void factorize(final int[] basis, final int[] colStart,
+                   final int[] rowIndex, final double[] values)
+        throws SingularMatrixException {
+
+        Arrays.fill(rowStep, -1);
+        lStepCount = 0;
+        etaCount   = 0;
+        int uSize  = 0;
+        int lSize  = 0;
+
+        for (int j = 0; j < m; ++j) {
+
+            // scatter the basis column into the work array
+            int touchedCount = 0;
+            final int col = basis[j];
+            for (int p = colStart[col]; p < colStart[col + 1]; ++p) {
+                touchedCount = scatter(rowIndex[p], values[p], touchedCount);
+            }
+
+            // eliminate using the reached columns of L, in pivot order
+            // (applying step k only reaches rows pivoted after step k)
+            while (pendingCount > 0) {
+                final int k = pollPending();
+                final double w = work[pivotRow[k]];
+                if (w != 0) {
+                    for (int p = lStart[k]; p < lStart[k + 1]; ++p) {
+                        touchedCount = scatter(lIndex[p], -lValue[p] * w, touchedCount);
+                    }
+                }
+            }
+
+            // split the result between U (pivoted rows) and pivot candidates
+            uStart[j] = uSize;
+            int best = -1;
+            double bestAbs = 0;
+            for (int t = 0; t < touchedCount; ++t) {
+                final int row = touched[t];
+                final double v = work[row];
+                if (rowStep[row] >= 0) {
+                    if (v != 0) {
+                        if (uSize == uIndex.length) {
+                            uIndex = MathArrays.copyOf(uIndex, 2 * uSize);
+                            uValue = MathArrays.copyOf(uValue, 2 * uSize);
+                        }
+                        uIndex[uSize]   = rowStep[row];
+                        uValue[uSize++] = v;
+                    }
+                } else if (FastMath.abs(v) > bestAbs) {
+                    best    = row;
+                    bestAbs = FastMath.abs(v);
+                }
+            }
+            uStart[j + 1] = uSize;
+
+            if (best < 0 || bestAbs < Precision.SAFE_MIN) {
+                clear(touchedCount);
+                throw new SingularMatrixException();
+            }
+
+            final double pivot = work[best];
+            uDiag[j]      = pivot;
+            pivotRow[j]   = best;
+            rowStep[best] = j;
+
+            // remaining entries below the pivot form the new column of L
+            lStart[j] = lSize;
+            for (int t = 0; t < touchedCount; ++t) {
+                final int row = touched[t];
+                final double v = work[row];
+                if (rowStep[row] < 0 && v != 0) {
+                    if (lSize == lIndex.length) {
+                        lIndex = MathArrays.copyOf(lIndex, 2 * lSize);
+                        lValue = MathArrays.copyOf(lValue, 2 * lSize);
+                    }
+                    lIndex[lSize]   = row;
+                    lValue[lSize++] = v / pivot;
+                }
+            }
+            lStart[j + 1] = lSize;
+            if (lSize > lStart[j]) {
+                lSteps[lStepCount++] = j;
+            }
+
+            clear(touchedCount);
+
+        }
+
+    }
+
+    /**
+     * Solves B y = a.
+     *
+     * @param a Right hand side, indexed by row (overwritten).
+     * @param y Placeholder for the solution, indexed by basis position.
+     */
+    void ftran(final double[] a, final double[] y) {
+
+        // forward substitution with L
+        for (int s = 0; s < lStepCount; ++s) {
+            final int k = lSteps[s];
+            final double w = a[pivotRow[k]];
+            if (w != 0) {
+                for (int p = lStart[k]; p < lStart[k + 1]; ++p) {
+                    a[lIndex[p]] -= lValue[p] * w;
+                }
+            }
+        }
+
+        // backward substitution with U
+        for (int k = 0; k < m; ++k) {
+            y[k] = a[pivotRow[k]];
+        }
+        for (int j = m - 1; j >= 0; --j) {
+            final double yj = y[j] / uDiag[j];
+            y[j] = yj;
+            if (yj != 0) {
+                for (int p = uStart[j]; p < uStart[j + 1]; ++p) {
+                    y[uIndex[p]] -= uValue[p] * yj;
+                }
+            }
+        }
+
+        // eta matrices, oldest first
+        for (int t = 0; t < etaCount; ++t) {
+            final int r = etaPosition[t];
+            final double yr = y[r] / etaPivot[t];
+            y[r] = yr;
+            if (yr != 0) {
+                for (int p = etaStart[t]; p < etaStart[t + 1]; ++p) {
+                    y[etaIndex[p]] -= etaValue[p] * yr;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Solves z<sup>T</sup> B = c<sup>T</sup>.
+     *
+     * @param c Right hand side, indexed by basis position (overwritten).
+     * @param z Placeholder for the solution, indexed by row.
+     */
+    void btran(final double[] c, final double[] z) {
+
+        // eta matrices, newest first
+        for (int t = etaCount - 1; t >= 0; --t) {
+            final int r = etaPosition[t];
+            double s = c[r];
+            for (int p = etaStart[t]; p < etaStart[t + 1]; ++p) {
+                s -= etaValue[p] * c[etaIndex[p]];
+            }
+            c[r] = s / etaPivot[t];
+        }
+
+        // forward substitution with U transposed
+        for (int j = 0; j < m; ++j) {
+            double s = c[j];
+            for (int p = uStart[j]; p < uStart[j + 1]; ++p) {
+                s -= uValue[p] * c[uIndex[p]];
+            }
+            c[j] = s / uDiag[j];
+        }
+
+        // backward substitution with L transposed
+        for (int k = m - 1; k >= 0; --k) {
+            double s = c[k];
+            for (int p = lStart[k]; p < lStart[k + 1]; ++p) {
+                s -= lValue[p] * z[lIndex[p]];
+            }
+            z[pivotRow[k]] = s;
+        }
+
+    }
+
+    /**
+     * Records a basis change.
+     *
+     * @param position Basis position of the leaving variable.
+     * @param d Entering column premultiplied by the current basis inverse,
+     * as returned by {@link #ftran(double[], double[]) ftran}.
+     */
+    void update(final int position, final double[] d) {
+
+        if (etaCount == etaPosition.length) {
+            etaPosition = MathArrays.copyOf(etaPosition, 2 * etaCount);
+            etaPivot    = MathArrays.copyOf(etaPivot, 2 * etaCount);
+            etaStart    = MathArrays.copyOf(etaStart, 2 * etaCount + 1);
+        }
+
+        int size = etaStart[etaCount];
+        for (int i = 0; i < m; ++i) {
+            if (i != position && d[i] != 0) {
+                if (size == etaIndex.length) {
+                    etaIndex = MathArrays.copyOf(etaIndex, 2 * size);
+                    etaValue = MathArrays.copyOf(etaValue, 2 * size);
+                }
+                etaIndex[size]   = i;
+                etaValue[size++] = d[i];
+            }
+        }
+
+        etaPosition[etaCount] = position;
+        etaPivot[etaCount]    = d[position];
+        etaStart[++etaCount]  = size;
+
+    }
+
+    /**
+     * Get the number of basis changes recorded since the last factorization.
+     *
+     * @return number of eta matrices in the product form
+     */
+    int getUpdateCount() {
+        return etaCount;
+    }
+
+    /**
+     * Adds a value to the work array, keeping track of touched rows.
+     * <p>
+     * The first time an already pivoted row is touched, the elimination
+     * step that pivoted it is scheduled if its column of L is not empty.
+     * </p>
+     *
+     * @param row Row index.
+     * @param value Value to add.
+     * @param touchedCount Current number of touched rows.
+     * @return updated number of touched rows
+     */
+    private int scatter(final int row, final double value, final int touchedCount) {
+        work[row] += value;
+        if (!marked[row]) {
+            marked[row] = true;
+            touched[touchedCount] = row;
+            final int k = rowStep[row];
+            if (k >= 0 && lStart[k + 1] > lStart[k]) {
+                addPending(k);
+            }
+            return touchedCount + 1;
+        }
+        return touchedCount;
+    }
+
+    /**
+     * Schedules an elimination step.
+     *
+     * @param k Elimination step.
+     */
+    private void addPending(final int k) {
+        int i = pendingCount++;
+        while (i > 0) {
+            final int parent = (i - 1) >> 1;
+            if (pending[parent] <= k) {
+                break;
+            }
+            pending[i] = pending[parent];
+            i = parent;
+        }
+        pending[i] = k;
+    }
+
+    /**
+     * Removes the earliest scheduled elimination step.
+     *
+     * @return earliest scheduled elimination step
+     */
+    private int pollPending() {
+        final int first = pending[0];
+        final int last  = pending[--pendingCount];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= pendingCount) {
+                break;
+            }
+            if (child + 1 < pendingCount && pending[child + 1] < pending[child]) {
+                ++child;
+            }
+            if (pending[child] >= last) {
+                break;
+            }
+            pending[i] = pending[child];
+            i = child;
+        }
+        pending[i] = last;
+        return first;
+    }
+
+    /**
+     * Resets the touched entries of the work array.
+     *
+     * @param touchedCount Number of touched rows.
+     */
+    private void clear(final int touchedCount) {
+        for (int t = 0; t < touchedCount; ++t) {
+            final int row = touched[t];
+            work[row]   = 0;
+            marked[row] = false;
+        }
+    }
+
+}
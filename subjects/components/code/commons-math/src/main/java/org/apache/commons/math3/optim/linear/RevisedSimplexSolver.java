@@ -0,0 +1,685 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.optim.linear;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.math3.exception.TooManyIterationsException;
+import org.apache.commons.math3.linear.RealVector;
+import org.apache.commons.math3.optim.OptimizationData;
+import org.apache.commons.math3.optim.PointValuePair;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.Precision;
+
+/**
+ * Solves a linear problem using the "Two-Phase Revised Simplex" method.
+ * <p>
+ * Contrary to {@link SimplexSolver}, which updates a dense tableau of size
+ * (constraints &times; variables) at each pivot, this solver keeps the
+ * constraint matrix in compressed sparse column form and only maintains a
+ * sparse LU factorization of the current basis, updated in product form
+ * between periodic refactorizations. Memory consumption is therefore
+ * proportional to the number of non-zero coefficients in the constraints,
+ * which makes it suitable for large sparse problems. Constraint coefficients
+ * are read with {@link RealVector#sparseIterator() sparseIterator}, so only the
+ * non-zero entries of sparse vectors such as
+ * {@link org.apache.commons.math3.linear.OpenMapRealVector OpenMapRealVector}
+ * are visited.
+ * </p>
+ * <p>
+ * The {@link RevisedSimplexSolver} supports the following {@link OptimizationData} data provided
+ * as arguments to {@link #optimize(OptimizationData...)}:
+ * <ul>
+ *   <li>objective function: {@link LinearObjectiveFunction} - mandatory</li>
+ *   <li>linear constraints {@link LinearConstraintSet} - mandatory</li>
+ *   <li>type of optimization: {@link GoalType}
+ *    - optional, default: {@link GoalType#MINIMIZE MINIMIZE}</li>
+ *   <li>whether to allow negative values as solution: {@link NonNegativeConstraint} - optional, default: true</li>
+ *   <li>pivot selection rule: {@link PivotSelectionRule} - optional, default {@link PivotSelectionRule#DANTZIG}</li>
+ *   <li>maximum number of iterations: {@link org.apache.commons.math3.optim.MaxIter} - optional, default: {@link Integer#MAX_VALUE}</li>
+ * </ul>
+ * {@link SolutionCallback} is not supported as it is bound to the dense tableau.
+ * <p>
+ * Default convergence criteria are the same as for {@link SimplexSolver}.
+ * </p>
+ *
+ * @see SimplexSolver
+ * @since 3.7
+ */
+public class RevisedSimplexSolver extends LinearOptimizer {
+
+    /** Default number of basis updates between refactorizations. */
+    public static final int DEFAULT_REFACTORIZATION_INTERVAL = 100;
+
+    /** Default amount of error to accept for algorithm convergence. */
+    private static final double DEFAULT_EPSILON = 1.0e-6;
+
+    /** Amount of error to accept for algorithm convergence. */
+    private final double epsilon;
+
+    /**
+     * Cut-off value for pivot elements: values smaller than the cut-off
+     * are treated as zero to improve numerical stability.
+     */
+    private final double cutOff;
+
+    /** Number of basis updates between refactorizations. */
+    private final int refactorizationInterval;
+
+    /** The pivot selection method to use. */
+    private PivotSelectionRule pivotSelection;
+
+    /** Number of constraints. */
+    private int m;
+
+    /** Number of columns (decision, slack and artificial variables). */
+    private int n;
+
+    /** Index of the first artificial column. */
+    private int artificialOffset;
+
+    /** Start of each column in {@link #rowIndex}/{@link #values}. */
+    private int[] colStart;
+
+    /** Row index of the non-zero constraint coefficients. */
+    private int[] rowIndex;
+
+    /** Values of the non-zero constraint coefficients. */
+    private double[] values;
+
+    /** Right hand side of the normalized constraints. */
+    private double[] rhs;
+
+    /** Column at each basis position. */
+    private int[] basis;
+
+    /** Basis position of each column, -1 for non-basic columns. */
+    private int[] position;
+
+    /** Values of the basic variables, indexed by basis position. */
+    private double[] xB;
+
+    /** Factorization of the current basis. */
+    private BasisFactorization factorization;
+
+    /**
+     * Builds a revised simplex solver with default settings.
+     */
+    public RevisedSimplexSolver() {
+        this(DEFAULT_EPSILON, SimplexSolver.DEFAULT_CUT_OFF, DEFAULT_REFACTORIZATION_INTERVAL);
+    }
+
+    /**
+     * Builds a revised simplex solver with a specified accepted amount of error.
+     *
+     * @param epsilon Amount of error to accept for algorithm convergence.
+     * @param cutOff Values smaller than the cutOff are treated as zero.
+     */
+    public RevisedSimplexSolver(final double epsilon, final double cutOff) {
+        this(epsilon, cutOff, DEFAULT_REFACTORIZATION_INTERVAL);
+    }
+
+    /**
+     * Builds a revised simplex solver with a specified accepted amount of error.
+     *
+     * @param epsilon Amount of error to accept for algorithm convergence.
+     * @param cutOff Values smaller than the cutOff are treated as zero.
+     * @param refactorizationInterval Number of basis updates after which
+     * the basis is factorized again from scratch.
+     */
+    public RevisedSimplexSolver(final double epsilon, final double cutOff,
+                                final int refactorizationInterval) {
+        this.epsilon                 = epsilon;
+        this.cutOff                  = cutOff;
+        this.refactorizationInterval = refactorizationInterval;
+        this.pivotSelection          = PivotSelectionRule.DANTZIG;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param optData Optimization data. In addition to those documented in
+     * {@link LinearOptimizer#optimize(OptimizationData...)
+     * LinearOptimizer}, this method will register the following data:
+     * <ul>
+     *  <li>{@link PivotSelectionRule}</li>
+     * </ul>
+     *
+     * @return {@inheritDoc}
+     * @throws TooManyIterationsException if the maximal number of iterations is exceeded.
+     */
+    @Override
+    public PointValuePair optimize(OptimizationData... optData)
+        throws TooManyIterationsException {
+        // Set up base class and perform computation.
+        return super.optimize(optData);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param optData Optimization data.
+     * In addition to those documented in
+     * {@link LinearOptimizer#parseOptimizationData(OptimizationData[])
+     * LinearOptimizer}, this method will register the following data:
+     * <ul>
+     *  <li>{@link PivotSelectionRule}</li>
+     * </ul>
+     */
+    @Override
+    protected void parseOptimizationData(OptimizationData... optData) {
+        // Allow base class to register its own data.
+        super.parseOptimizationData(optData);
+
+        for (OptimizationData data : optData) {
+            if (data instanceof PivotSelectionRule) {
+                pivotSelection = (PivotSelectionRule) data;
+                continue;
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public PointValuePair doOptimize()
+        throws TooManyIterationsException,
+               UnboundedSolutionException,
+               NoFeasibleSolutionException {
+
+        final LinearObjectiveFunction f = getFunction();
+        final int numOriginal = f.getCoefficients().getDimension();
+        final boolean nonNegative = isRestrictedToNonNegative();
+
+        final List<LinearConstraint> constraints = normalizeConstraints(getConstraints());
+        buildStandardForm(constraints, numOriginal, nonNegative);
+
+        // phase 1: minimize the sum of artificial variables
+        final double[] cost = new double[n];
+        Arrays.fill(cost, artificialOffset, n, 1.0);
+        if (artificialOffset < n) {
+            solvePhase(cost, n);
+            if (!Precision.equals(basicObjective(cost), 0d, epsilon)) {
+                throw new NoFeasibleSolutionException();
+            }
+            driveOutArtificials();
+        }
+
+        // phase 2: minimize the real objective, artificial variables may not enter
+        Arrays.fill(cost, 0.0);
+        final boolean maximize = getGoalType() == GoalType.MAXIMIZE;
+        final double[] objective = f.getCoefficients().toArray();
+        double sum = 0;
+        for (int j = 0; j < numOriginal; ++j) {
+            cost[j] = maximize ? -objective[j] : objective[j];
+            sum    -= cost[j];
+        }
+        if (!nonNegative) {
+            cost[numOriginal] = sum;
+        }
+        solvePhase(cost, artificialOffset);
+
+        // extract the solution
+        final double mostNegative = nonNegative ? 0 : columnValue(numOriginal);
+        final double[] coefficients = new double[numOriginal];
+        for (int i = 0; i < numOriginal; ++i) {
+            coefficients[i] = columnValue(i) - mostNegative;
+        }
+
+        // check that the solution respects the nonNegative restriction in case
+        // the epsilon/cutOff values are too large for the actual linear problem
+        if (nonNegative) {
+            for (int i = 0; i < coefficients.length; i++) {
+                if (Precision.compareTo(coefficients[i], 0, epsilon) < 0) {
+                    throw new NoFeasibleSolutionException();
+                }
+            }
+        }
+
+        return new PointValuePair(coefficients, f.value(coefficients));
+
+    }
+
+    /**
+     * Get new versions of the constraints which have positive right hand sides.
+     *
+     * @param originalConstraints original (not normalized) constraints
+     * @return new versions of the constraints
+     */
+    private List<LinearConstraint> normalizeConstraints(final Collection<LinearConstraint> originalConstraints) {
+        final List<LinearConstraint> normalized = new ArrayList<LinearConstraint>(originalConstraints.size());
+        for (final LinearConstraint constraint : originalConstraints) {
+            if (constraint.getValue() < 0) {
+                normalized.add(new LinearConstraint(constraint.getCoefficients().mapMultiply(-1),
+                                                    constraint.getRelationship().oppositeRelationship(),
+                                                    -1 * constraint.getValue()));
+            } else {
+                normalized.add(constraint);
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Builds the sparse standard form A x = b, x &ge; 0 and the initial basis.
+     * <p>
+     * Columns are ordered as decision variables (plus one extra variable if
+     * negative values are allowed, as in {@link SimplexTableau}), slack
+     * variables and artificial variables. The initial basis is made of the
+     * slack variables of &le; constraints and the artificial variables of
+     * the other constraints, so it is the identity matrix.
+     * </p>
+     *
+     * @param constraints normalized constraints
+     * @param numOriginal number of original decision variables
+     * @param nonNegative whether variables are restricted to non-negative values
+     */
+    private void buildStandardForm(final List<LinearConstraint> constraints,
+                                   final int numOriginal, final boolean nonNegative) {
+
+        m = constraints.size();
+        final int numDecision = numOriginal + (nonNegative ? 0 : 1);
+
+        // gather the non-zero coefficients row by row
+        final NonZeroCollector collector = new NonZeroCollector();
+        final int[] rowStart = new int[m + 1];
+        int numSlack = 0;
+        int numArtificial = 0;
+        for (int i = 0; i < m; ++i) {
+            final LinearConstraint constraint = constraints.get(i);
+            collector.collect(constraint.getCoefficients());
+            rowStart[i + 1] = collector.size;
+            if (constraint.getRelationship() != Relationship.EQ) {
+                ++numSlack;
+            }
+            if (constraint.getRelationship() != Relationship.LEQ) {
+                ++numArtificial;
+            }
+        }
+
+        // count the non-zero entries in each column
+        artificialOffset = numDecision + numSlack;
+        n                = artificialOffset + numArtificial;
+        colStart         = new int[n + 1];
+        for (int p = 0; p < collector.size; ++p) {
+            ++colStart[collector.index[p] + 1];
+        }
+        if (!nonNegative) {
+            colStart[numOriginal + 1] = m;
+        }
+        for (int j = 0; j < numDecision; ++j) {
+            colStart[j + 1] += colStart[j];
+        }
+        for (int j = numDecision; j < n; ++j) {
+            colStart[j + 1] = colStart[j] + 1;
+        }
+        rowIndex = new int[colStart[n]];
+        values   = new double[colStart[n]];
+        rhs      = new double[m];
+        basis    = new int[m];
+        position = new int[n];
+        Arrays.fill(position, -1);
+
+        // fill the columns
+        final int[] next = new int[numDecision];
+        System.arraycopy(colStart, 0, next, 0, numDecision);
+        int slack = numDecision;
+        int artificial = artificialOffset;
+        for (int i = 0; i < m; ++i) {
+            final LinearConstraint constraint = constraints.get(i);
+            double sum = 0;
+            for (int q = rowStart[i]; q < rowStart[i + 1]; ++q) {
+                final int p = next[collector.index[q]]++;
+                rowIndex[p] = i;
+                values[p]   = collector.value[q];
+                sum        -= collector.value[q];
+            }
+            if (!nonNegative) {
+                final int p = next[numOriginal]++;
+                rowIndex[p] = i;
+                values[p]   = sum;
+            }
+            rhs[i] = constraint.getValue();
+
+            final Relationship relationship = constraint.getRelationship();
+            if (relationship != Relationship.EQ) {
+                rowIndex[colStart[slack]] = i;
+                values[colStart[slack]]   = relationship == Relationship.LEQ ? 1 : -1;
+                if (relationship == Relationship.LEQ) {
+                    basis[i] = slack;
+                }
+                ++slack;
+            }
+            if (relationship != Relationship.LEQ) {
+                rowIndex[colStart[artificial]] = i;
+                values[colStart[artificial]]   = 1;
+                basis[i] = artificial;
+                ++artificial;
+            }
+        }
+
+        for (int i = 0; i < m; ++i) {
+            position[basis[i]] = i;
+        }
+        xB            = rhs.clone();
+        factorization = new BasisFactorization(m);
+        factorization.factorize(basis, colStart, rowIndex, values);
+
+    }
+
+    /**
+     * Runs simplex iterations until the given objective is optimal.
+     *
+     * @param cost cost of each column
+     * @param limit columns with index greater than or equal to this limit are not allowed to enter the basis
+     * @throws TooManyIterationsException if the allowed number of iterations has been exhausted.
+     * @throws UnboundedSolutionException if the model is found not to have a bounded solution.
+     */
+    private void solvePhase(final double[] cost, final int limit)
+        throws TooManyIterationsException, UnboundedSolutionException {
+
+        final double[] c = new double[m];
+        final double[] y = new double[m];
+        final double[] a = new double[m];
+        final double[] d = new double[m];
+
+        while (true) {
+
+            // simplex multipliers
+            for (int i = 0; i < m; ++i) {
+                c[i] = cost[basis[i]];
+            }
+            factorization.btran(c, y);
+
+            // pricing
+            final int entering = getPivotColumn(cost, y, limit);
+            if (entering < 0) {
+                return;
+            }
+
+            incrementIterationCount();
+
+            // entering column in terms of the current basis
+            loadColumn(entering, a);
+            factorization.ftran(a, d);
+
+            final int leaving = getPivotRow(d);
+            if (leaving < 0) {
+                throw new UnboundedSolutionException();
+            }
+
+            pivot(entering, leaving, d);
+
+        }
+
+    }
+
+    /**
+     * Returns the entering column, according to the pivot selection rule.
+     *
+     * @param cost cost of each column
+     * @param y simplex multipliers
+     * @param limit columns with index greater than or equal to this limit are not allowed to enter the basis
+     * @return entering column, or -1 if the current basis is optimal
+     */
+    private int getPivotColumn(final double[] cost, final double[] y, final int limit) {
+        double minValue = 0;
+        int minPos = -1;
+        for (int j = 0; j < limit; ++j) {
+            if (position[j] >= 0) {
+                continue;
+            }
+            double reducedCost = cost[j];
+            for (int p = colStart[j]; p < colStart[j + 1]; ++p) {
+                reducedCost -= values[p] * y[rowIndex[p]];
+            }
+            if (Precision.compareTo(reducedCost, 0d, epsilon) < 0 && reducedCost < minValue) {
+                minValue = reducedCost;
+                minPos   = j;
+                // Bland's rule: chose the entering column with the lowest index
+                if (pivotSelection == PivotSelectionRule.BLAND) {
+                    break;
+                }
+            }
+        }
+        return minPos;
+    }
+
+    /**
+     * Returns the leaving basis position as given by the minimum ratio test (MRT).
+     *
+     * @param d entering column premultiplied by the basis inverse
+     * @return leaving basis position, or -1 if the entering column is unbounded
+     */
+    private int getPivotRow(final double[] d) {
+        int minPos = -1;
+        double minRatio = Double.MAX_VALUE;
+        for (int i = 0; i < m; ++i) {
+            // only consider pivot elements larger than the cutOff threshold
+            // selecting others may lead to degeneracy or numerical instabilities
+            if (Precision.compareTo(d[i], 0d, cutOff) > 0) {
+                final double ratio = FastMath.abs(xB[i] / d[i]);
+                final int cmp = Double.compare(ratio, minRatio);
+                if (cmp < 0 || (cmp == 0 && preferLeaving(i, minPos))) {
+                    minRatio = ratio;
+                    minPos   = i;
+                }
+            }
+        }
+        return minPos;
+    }
+
+    /**
+     * Breaks ties in the minimum ratio test.
+     * <p>
+     * Artificial variables are forced out of the basis first, then Bland's
+     * rule is applied to prevent cycling.
+     * </p>
+     *
+     * @param candidate candidate basis position
+     * @param current currently selected basis position
+     * @return true if the candidate should replace the current selection
+     */
+    private boolean preferLeaving(final int candidate, final int current) {
+        final boolean candidateArtificial = basis[candidate] >= artificialOffset;
+        final boolean currentArtificial   = basis[current]   >= artificialOffset;
+        if (candidateArtificial != currentArtificial) {
+            return candidateArtificial;
+        }
+        return basis[candidate] < basis[current];
+    }
+
+    /**
+     * Replaces a basic variable.
+     *
+     * @param entering entering column
+     * @param leaving leaving basis position
+     * @param d entering column premultiplied by the basis inverse
+     */
+    private void pivot(final int entering, final int leaving, final double[] d) {
+
+        final double theta = xB[leaving] / d[leaving];
+        for (int i = 0; i < m; ++i) {
+            xB[i] -= theta * d[i];
+        }
+        xB[leaving] = theta;
+
+        position[basis[leaving]] = -1;
+        basis[leaving]           = entering;
+        position[entering]       = leaving;
+
+        if (factorization.getUpdateCount() >= refactorizationInterval) {
+            // start again from a fresh factorization, and recompute the
+            // basic variables to get rid of accumulated rounding errors
+            factorization.factorize(basis, colStart, rowIndex, values);
+            final double[] b = rhs.clone();
+            factorization.ftran(b, xB);
+        } else {
+            factorization.update(leaving, d);
+        }
+
+    }
+
+    /**
+     * Pivots basic artificial variables out of the basis at the end of phase 1.
+     * <p>
+     * Artificial variables that cannot be replaced correspond to redundant
+     * constraints, they remain basic at level zero.
+     * </p>
+     */
+    private void driveOutArtificials() {
+        final double[] e = new double[m];
+        final double[] row = new double[m];
+        final double[] a = new double[m];
+        final double[] d = new double[m];
+        for (int r = 0; r < m; ++r) {
+            if (basis[r] < artificialOffset) {
+                continue;
+            }
+
+            // row r of the basis inverse
+            Arrays.fill(e, 0.0);
+            e[r] = 1.0;
+            factorization.btran(e, row);
+
+            for (int j = 0; j < artificialOffset; ++j) {
+                if (position[j] >= 0) {
+                    continue;
+                }
+                double alpha = 0;
+                for (int p = colStart[j]; p < colStart[j + 1]; ++p) {
+                    alpha += values[p] * row[rowIndex[p]];
+                }
+                if (FastMath.abs(alpha) > cutOff) {
+                    loadColumn(j, a);
+                    factorization.ftran(a, d);
+                    pivot(j, r, d);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scatters a column of the constraint matrix into a dense array.
+     *
+     * @param j column index
+     * @param a placeholder for the column, indexed by row
+     */
+    private void loadColumn(final int j, final double[] a) {
+        Arrays.fill(a, 0.0);
+        for (int p = colStart[j]; p < colStart[j + 1]; ++p) {
+            a[rowIndex[p]] = values[p];
+        }
+    }
+
+    /**
+     * Computes the objective value of the current basic solution.
+     *
+     * @param cost cost of each column
+     * @return objective value
+     */
+    private double basicObjective(final double[] cost) {
+        double sum = 0;
+        for (int i = 0; i < m; ++i) {
+            sum += cost[basis[i]] * xB[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Get the value of a column in the current basic solution.
+     *
+     * @param j column index
+     * @return value of the column variable
+     */
+    private double columnValue(final int j) {
+        return position[j] < 0 ? 0 : xB[position[j]];
+    }
+
+    /** Accumulator for the non-zero entries of successive vectors. */
+    private static class NonZeroCollector {
+
+        /** Indices of the non-zero entries. */
+        private int[] index = new int[16];
+
+        /** Values of the non-zero entries. */
+        private double[] value = new double[16];
+
+        /** Number of non-zero entries collected so far. */
+        private int size;
+
+        /**
+         * Appends the non-zero entries of a vector.
+         *
+         * @param vector vector to scan
+         */
+        public void collect(final RealVector vector) {
+            SparseReader.collect(vector, this);
+        }
+
+        /**
+         * Appends one entry, if it is non-zero.
+         *
+         * @param i index of the entry
+         * @param v value of the entry
+         */
+        private void append(final int i, final double v) {
+            if (v != 0) {
+                if (size == index.length) {
+                    index = MathArrays.copyOf(index, 2 * size);
+                    value = MathArrays.copyOf(value, 2 * size);
+                }
+                index[size]   = i;
+                value[size++] = v;
+            }
+        }
+
+    }
+
+    /**
+     * Sparse reader for vectors.
+     * <p>
+     * The entries returned by {@link RealVector#sparseIterator()} are only
+     * visible to subclasses of {@link RealVector}, so the iteration is done
+     * from this subclass, which is never instantiated.
+     * </p>
+     */
+    private abstract static class SparseReader extends RealVector {
+
+        /**
+         * Appends the non-zero entries of a vector to a collector.
+         *
+         * @param vector vector to scan
+         * @param collector collector for the entries
+         */
+        static void collect(final RealVector vector, final NonZeroCollector collector) {
+            final Iterator<Entry> iterator = vector.sparseIterator();
+            while (iterator.hasNext()) {
+                final Entry entry = iterator.next();
+                collector.append(entry.getIndex(), entry.getValue());
+            }
+        }
+
+    }
+
+}
@@ -40,21 +40,35 @@ class PollardRho {
      */
     public static List<Integer> primeFactors(int n) {
         final List<Integer> factors = new ArrayList<Integer>();
+        primeFactors(n, factors);
+        return factors;
+    }
+
+    /**
+     * Factorization using Pollard's rho algorithm.
+     * <p>
+     * The factors are appended to the list, which allows to reuse it when
+     * factoring many numbers. They are not sorted.
+     * </p>
+     * @param n number to factors, must be &gt; 0
+     * @param factors the list where to add the factors
+     * @since 3.7
+     */
+    static void primeFactors(int n, final List<Integer> factors) {
 
         n = SmallPrimes.smallTrialDivision(n, factors);
         if (1 == n) {
-            return factors;
+            return;
         }
 
         if (SmallPrimes.millerRabinPrimeTest(n)) {
             factors.add(n);
-            return factors;
+            return;
         }
 
         int divisor = rhoBrent(n);
         factors.add(divisor);
         factors.add(n / divisor);
-        return factors;
     }
 
     /**
@@ -19,6 +19,8 @@ package org.apache.commons.math3.primes;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -29,6 +31,8 @@ import java.util.List;
  * <li>prime number generation</li>
  * <li>factorization</li>
  * </ul>
+ * Enumeration of primes in ranges of <code>long</code> numbers is provided
+ * by {@link SegmentedSieve}.
  *
  * @since 3.2
  */
@@ -126,4 +130,55 @@ public class Primes {
 
     }
 
+    /**
+     * Prime factors decomposition of several numbers.
+     * <p>
+     * Contrary to {@link #primeFactors(int)} which uses trial division, this
+     * method uses Pollard's rho algorithm, which is faster once JIT-compiled,
+     * i.e. when factoring a large number of values.
+     * </p>
+     *
+     * @param numbers numbers to factorize: must all be &ge; 2
+     * @return array whose element i contains the prime factors of numbers[i]
+     * in increasing order, with multiplicity
+     * @throws MathIllegalArgumentException if one of the numbers is &lt; 2.
+     * @since 3.7
+     */
+    public static int[][] primeFactors(int[] numbers) {
+        final int[][] factorizations = new int[numbers.length][];
+        final List<Integer> factors = new ArrayList<Integer>(32);
+        for (int i = 0; i < numbers.length; ++i) {
+            final int n = numbers[i];
+            if (n < 2) {
+                throw new MathIllegalArgumentException(LocalizedFormats.NUMBER_TOO_SMALL, n, 2);
+            }
+            factors.clear();
+            PollardRho.primeFactors(n, factors);
+            final int[] sorted = new int[factors.size()];
+            for (int j = 0; j < sorted.length; ++j) {
+                sorted[j] = factors.get(j);
+            }
+            Arrays.sort(sorted);
+            factorizations[i] = sorted;
+        }
+        return factorizations;
+    }
+
+    /**
+     * Get all primes in a range of <code>long</code> numbers.
+     * <p>
+     * This method uses a {@link SegmentedSieve}, which should be used
+     * directly for iterating over large ranges or processing them in parallel.
+     * </p>
+     *
+     * @param from lower bound of the range (inclusive), must be &ge; 0
+     * @param to upper bound of the range (exclusive), must be &le; {@link SegmentedSieve#MAX_BOUND}
+     * @return primes p such that from &le; p &lt; to, in increasing order
+     * @throws MathIllegalArgumentException if the range is invalid or contains too many primes
+     * @since 3.7
+     */
+    public static long[] primesInRange(long from, long to) {
+        return new SegmentedSieve(from, to).toArray();
+    }
+
 }
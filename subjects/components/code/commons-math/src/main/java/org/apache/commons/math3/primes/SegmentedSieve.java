@@ -0,0 +1,475 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.primes;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.ParallelTasks;
+
+/**
+ * Segmented sieve of Eratosthenes enumerating the primes in a range of
+ * <code>long</code> numbers.
+ * <p>
+ * The primes up to the square root of the upper bound are computed once
+ * by a classical sieve. The range is then processed in segments of
+ * 2<sup>19</sup> numbers, each segment being a bitset over the odd numbers
+ * that fits in the processor cache. Segments are independent, so they can
+ * be processed in parallel for bulk operations, or one at a time by an
+ * iterator that only keeps one segment in memory.
+ * </p>
+ * <p>
+ * Parallel bulk operations run on a user-provided {@link ExecutorService
+ * executor}, which is not shut down by this class and can be shared with
+ * other tasks.
+ * </p>
+ * <p>
+ * Instances are immutable and can be shared between threads; iterators
+ * are not thread-safe.
+ * </p>
+ *
+ * @since 3.7
+ */
+public class SegmentedSieve implements Iterable<Long> {
+
+    /** Largest supported upper bound (2<sup>48</sup>). */
+    public static final long MAX_BOUND = 1L << 48;
+
+    /** Number of 64 bits words per segment. */
+    private static final int SEGMENT_WORDS = 1 << 12;
+
+    /** Number of odd numbers per segment. */
+    private static final int SEGMENT_BITS = SEGMENT_WORDS * 64;
+
+    /** Number of segments per task for parallel bulk operations. */
+    private static final int SEGMENTS_PER_TASK = 16;
+
+    /** Lower bound of the range (inclusive). */
+    private final long from;
+
+    /** Upper bound of the range (exclusive). */
+    private final long to;
+
+    /** First odd number of the first segment. */
+    private final long firstOdd;
+
+    /** Number of segments. */
+    private final long nbSegments;
+
+    /** Odd primes up to the square root of the upper bound. */
+    private final int[] sievingPrimes;
+
+    /**
+     * Build a sieve for a range of numbers.
+     *
+     * @param from lower bound of the range (inclusive)
+     * @param to upper bound of the range (exclusive)
+     * @throws NotPositiveException if {@code from} is negative
+     * @throws NumberIsTooSmallException if {@code to < from}
+     * @throws NumberIsTooLargeException if {@code to > MAX_BOUND}
+     */
+    public SegmentedSieve(final long from, final long to)
+        throws NotPositiveException, NumberIsTooSmallException, NumberIsTooLargeException {
+        if (from < 0) {
+            throw new NotPositiveException(from);
+        }
+        if (to < from) {
+            throw new NumberIsTooSmallException(to, from, true);
+        }
+        if (to > MAX_BOUND) {
+            throw new NumberIsTooLargeException(to, MAX_BOUND, true);
+        }
+        this.from          = from;
+        this.to            = to;
+        this.firstOdd      = from | 1;
+        this.nbSegments    = (to <= firstOdd) ? 0 : (to - firstOdd - 1) / (2L * SEGMENT_BITS) + 1;
+        this.sievingPrimes = oddPrimesUpTo((int) FastMath.sqrt((double) FastMath.max(to - 1, 0)));
+    }
+
+    /**
+     * Compute the odd primes up to a limit with a classical sieve.
+     *
+     * @param limit upper bound (inclusive)
+     * @return odd primes up to the limit
+     */
+    private static int[] oddPrimesUpTo(final int limit) {
+        // odd number 2i + 1 is composite if composite[i] is true
+        final int size = (limit + 1) / 2;
+        final boolean[] composite = new boolean[size];
+        int count = 0;
+        for (int i = 1; i < size; ++i) {
+            if (!composite[i]) {
+                ++count;
+                final long p = 2 * i + 1;
+                for (long j = (p * p) / 2; j < size; j += p) {
+                    composite[(int) j] = true;
+                }
+            }
+        }
+        final int[] primes = new int[count];
+        int k = 0;
+        for (int i = 1; i < size; ++i) {
+            if (!composite[i]) {
+                primes[k++] = 2 * i + 1;
+            }
+        }
+        return primes;
+    }
+
+    /**
+     * Get the lower bound of the range.
+     *
+     * @return lower bound of the range (inclusive)
+     */
+    public long getFrom() {
+        return from;
+    }
+
+    /**
+     * Get the upper bound of the range.
+     *
+     * @return upper bound of the range (exclusive)
+     */
+    public long getTo() {
+        return to;
+    }
+
+    /**
+     * Check if 2 belongs to the range.
+     *
+     * @return true if 2 belongs to the range
+     */
+    private boolean containsTwo() {
+        return from <= 2 && to > 2;
+    }
+
+    /**
+     * Sieve one segment.
+     * <p>
+     * Bit i of the segment represents the odd number lo + 2i, it is set if the
+     * number is composite, equal to 1 or outside of the range.
+     * </p>
+     *
+     * @param segment index of the segment
+     * @param words bitset to fill (must have {@link #SEGMENT_WORDS} elements)
+     * @return first odd number of the segment
+     */
+    private long sieveSegment(final long segment, final long[] words) {
+
+        final long lo    = firstOdd + segment * 2L * SEGMENT_BITS;
+        final long nbits = FastMath.min(SEGMENT_BITS, (to - lo + 1) / 2);
+        final long hi    = lo + 2 * nbits;
+
+        // reset the bitset, marking the bits beyond the range as composite
+        for (int w = 0; w < SEGMENT_WORDS; ++w) {
+            final long firstBit = 64L * w;
+            if (firstBit + 64 <= nbits) {
+                words[w] = 0L;
+            } else if (firstBit >= nbits) {
+                words[w] = -1L;
+            } else {
+                words[w] = -1L << (nbits - firstBit);
+            }
+        }
+        if (lo == 1) {
+            // 1 is not a prime
+            words[0] |= 1L;
+        }
+
+        for (final int p : sievingPrimes) {
+            final long p2 = ((long) p) * p;
+            if (p2 >= hi) {
+                break;
+            }
+            // first odd multiple of p in the segment, not below p^2
+            long start = FastMath.max(p2, ((lo + p - 1) / p) * p);
+            if ((start & 1L) == 0) {
+                start += p;
+            }
+            for (long i = (start - lo) >> 1; i < nbits; i += p) {
+                words[(int) (i >>> 6)] |= 1L << i;
+            }
+        }
+
+        return lo;
+
+    }
+
+    /**
+     * Count the primes in the range, in the calling thread.
+     *
+     * @return number of primes in the range
+     */
+    public long count() {
+        return count(null);
+    }
+
+    /**
+     * Count the primes in the range.
+     *
+     * @param executor executor for the segments (null to sieve them in the calling thread)
+     * @return number of primes in the range
+     * @throws MathIllegalStateException if the calling thread is interrupted
+     * while waiting for the segments
+     */
+    public long count(final ExecutorService executor) throws MathIllegalStateException {
+        long count = containsTwo() ? 1 : 0;
+        for (final long[] counts : processChunks(executor, true)) {
+            count += counts[0];
+        }
+        return count;
+    }
+
+    /**
+     * Get all primes in the range, in the calling thread.
+     *
+     * @return primes in the range, in increasing order
+     * @throws NumberIsTooLargeException if there are too many primes to fit in an array
+     */
+    public long[] toArray() throws NumberIsTooLargeException {
+        return toArray(null);
+    }
+
+    /**
+     * Get all primes in the range.
+     *
+     * @param executor executor for the segments (null to sieve them in the calling thread)
+     * @return primes in the range, in increasing order
+     * @throws NumberIsTooLargeException if there are too many primes to fit in an array
+     * @throws MathIllegalStateException if the calling thread is interrupted
+     * while waiting for the segments
+     */
+    public long[] toArray(final ExecutorService executor)
+        throws NumberIsTooLargeException, MathIllegalStateException {
+
+        final List<long[]> chunks = processChunks(executor, false);
+        long size = containsTwo() ? 1 : 0;
+        for (final long[] chunk : chunks) {
+            size += chunk.length;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new NumberIsTooLargeException(size, Integer.MAX_VALUE, true);
+        }
+
+        final long[] primes = new long[(int) size];
+        int k = 0;
+        if (containsTwo()) {
+            primes[k++] = 2;
+        }
+        for (final long[] chunk : chunks) {
+            System.arraycopy(chunk, 0, primes, k, chunk.length);
+            k += chunk.length;
+        }
+        return primes;
+
+    }
+
+    /**
+     * Process contiguous chunks of segments, possibly in parallel.
+     *
+     * @param executor executor for the chunks (null to process them in the calling thread)
+     * @param countOnly if true, only count the odd primes in each chunk
+     * @return for each chunk in increasing order, either a singleton array
+     * containing the number of odd primes or an array containing the odd primes
+     * @throws MathIllegalStateException if the calling thread is interrupted
+     * while waiting for the chunks
+     */
+    private List<long[]> processChunks(final ExecutorService executor, final boolean countOnly)
+        throws MathIllegalStateException {
+
+        final List<long[]> results = new ArrayList<long[]>();
+        if (executor == null || nbSegments <= SEGMENTS_PER_TASK) {
+            results.add(countOnly ? new long[] { countOddPrimes(0, nbSegments) } : oddPrimes(0, nbSegments));
+            return results;
+        }
+
+        final List<Callable<long[]>> tasks = new ArrayList<Callable<long[]>>();
+        for (long start = 0; start < nbSegments; start += SEGMENTS_PER_TASK) {
+            final long chunkStart = start;
+            final long chunkEnd   = FastMath.min(start + SEGMENTS_PER_TASK, nbSegments);
+            tasks.add(new Callable<long[]>() {
+                /** {@inheritDoc} */
+                public long[] call() {
+                    return countOnly ?
+                           new long[] { countOddPrimes(chunkStart, chunkEnd) } :
+                           oddPrimes(chunkStart, chunkEnd);
+                }
+            });
+        }
+        return ParallelTasks.invokeAll(executor, tasks);
+
+    }
+
+    /**
+     * Count the odd primes in a set of consecutive segments.
+     *
+     * @param start index of the first segment (inclusive)
+     * @param end index of the last segment (exclusive)
+     * @return number of odd primes in the segments
+     */
+    private long countOddPrimes(final long start, final long end) {
+        final long[] words = new long[SEGMENT_WORDS];
+        long count = 0;
+        for (long s = start; s < end; ++s) {
+            sieveSegment(s, words);
+            for (final long word : words) {
+                count += Long.bitCount(~word);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the odd primes in a set of consecutive segments.
+     *
+     * @param start index of the first segment (inclusive)
+     * @param end index of the last segment (exclusive)
+     * @return odd primes in the segments
+     */
+    private long[] oddPrimes(final long start, final long end) {
+        final long[] words = new long[SEGMENT_WORDS];
+        long[] primes = new long[1024];
+        int size = 0;
+        for (long s = start; s < end; ++s) {
+            final long lo = sieveSegment(s, words);
+            for (int w = 0; w < SEGMENT_WORDS; ++w) {
+                long bits = ~words[w];
+                while (bits != 0) {
+                    if (size == primes.length) {
+                        final long[] grown = new long[2 * size];
+                        System.arraycopy(primes, 0, grown, 0, size);
+                        primes = grown;
+                    }
+                    primes[size++] = lo + 2 * (64L * w + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+        final long[] result = new long[size];
+        System.arraycopy(primes, 0, result, 0, size);
+        return result;
+    }
+
+    /**
+     * Get an iterator over the primes in the range, in increasing order.
+     * <p>
+     * The iterator sieves one segment at a time, so its memory footprint
+     * does not depend on the size of the range.
+     * </p>
+     *
+     * @return a new iterator over the primes
+     */
+    public PrimeIterator iterator() {
+        return new PrimeIterator();
+    }
+
+    /**
+     * Streaming iterator over the primes of the range.
+     * <p>
+     * In addition to the {@link Iterator} methods, which box the primes,
+     * this class provides {@link #nextPrime()} which returns a primitive value.
+     * </p>
+     */
+    public class PrimeIterator implements Iterator<Long> {
+
+        /** Bitset of the current segment. */
+        private final long[] words;
+
+        /** Index of the next segment to sieve. */
+        private long nextSegment;
+
+        /** First odd number of the current segment. */
+        private long lo;
+
+        /** Index of the current word. */
+        private int w;
+
+        /** Remaining primes bits of the current word. */
+        private long bits;
+
+        /** Indicator for a pending 2. */
+        private boolean pendingTwo;
+
+        /** Simple constructor.
+         */
+        PrimeIterator() {
+            words       = new long[SEGMENT_WORDS];
+            nextSegment = 0;
+            w           = SEGMENT_WORDS;
+            bits        = 0;
+            pendingTwo  = containsTwo();
+        }
+
+        /** {@inheritDoc} */
+        public boolean hasNext() {
+            if (pendingTwo) {
+                return true;
+            }
+            while (bits == 0) {
+                if (++w >= SEGMENT_WORDS) {
+                    if (nextSegment >= nbSegments) {
+                        return false;
+                    }
+                    lo = sieveSegment(nextSegment++, words);
+                    w  = 0;
+                }
+                bits = ~words[w];
+            }
+            return true;
+        }
+
+        /**
+         * Get the next prime.
+         *
+         * @return next prime
+         * @throws NoSuchElementException if there are no primes left
+         */
+        public long nextPrime() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (pendingTwo) {
+                pendingTwo = false;
+                return 2;
+            }
+            final long prime = lo + 2 * (64L * w + Long.numberOfTrailingZeros(bits));
+            bits &= bits - 1;
+            return prime;
+        }
+
+        /** {@inheritDoc} */
+        public Long next() {
+            return nextPrime();
+        }
+
+        /** {@inheritDoc} */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
@@ -17,7 +17,6 @@
 package org.apache.commons.math3.primes;
 
 
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -160,13 +159,9 @@ class SmallPrimes {
         if (n >= 25326001) {
             t = 4;
         } // works up to 3.2 billion, int range stops at 2.7 so we are safe :-)
-        BigInteger br = BigInteger.valueOf(r);
-        BigInteger bn = BigInteger.valueOf(n);
 
         for (int i = 0; i < t; i++) {
-            BigInteger a = BigInteger.valueOf(SmallPrimes.PRIMES[i]);
-            BigInteger bPow = a.modPow(br, bn);
-            int y = bPow.intValue();
+            int y = modPow(SmallPrimes.PRIMES[i], r, n);
             if ((1 != y) && (y != nMinus1)) {
                 int j = 1;
                 while ((j <= s - 1) && (nMinus1 != y)) {
@@ -184,5 +179,30 @@ class SmallPrimes {
         }
         return true; // definitely prime
     }
+
+    /**
+     * Modular exponentiation for int type.
+     * <p>
+     * As the modulus is an int, all intermediate products fit in a long,
+     * so this is much faster than using {@link java.math.BigInteger#modPow}.
+     * </p>
+     *
+     * @param a base, must be &ge; 0
+     * @param e exponent, must be &ge; 0
+     * @param n modulus, must be &gt; 1
+     * @return a<sup>e</sup> mod n
+     * @since 3.7
+     */
+    static int modPow(final int a, final int e, final int n) {
+        long result = 1;
+        long base   = a % n;
+        for (int k = e; k != 0; k >>>= 1) {
+            if ((k & 1) != 0) {
+                result = (result * base) % n;
+            }
+            base = (base * base) % n;
+        }
+        return (int) result;
+    }
 }
 
@@ -23,10 +23,15 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math3.distribution.AbstractRealDistribution;
 import org.apache.commons.math3.distribution.ConstantRealDistribution;
@@ -43,6 +48,7 @@ import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.MathUtils;
+import org.apache.commons.math3.util.ParallelTasks;
 
 /**
  * <p>Represents an <a href="http://http://en.wikipedia.org/wiki/Empirical_distribution_function">
@@ -105,6 +111,12 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
     /** Default bin count */
     public static final int DEFAULT_BIN_COUNT = 1000;
 
+    /** Size of the file chunks parsed by one task when loading files in parallel. */
+    private static final long MAPPED_CHUNK_SIZE = 1l << 26;
+
+    /** Size of the buffer used to find lines boundaries. */
+    private static final int PROBE_SIZE = 1 << 12;
+
     /** Character set for file input */
     private static final String FILE_CHARSET = "US-ASCII";
 
@@ -314,6 +326,362 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
         }
     }
 
+    /**
+     * Computes the empirical distribution from the input file, using an executor.
+     *
+     * <p>The input file <i>must</i> be an ASCII text file containing one
+     * valid numeric entry per line.</p>
+     *
+     * <p>The file is memory-mapped and split in chunks at line boundaries.
+     * Each chunk is scanned by a separate task run by the executor, first to compute
+     * the sample statistics and then to fill the bins, which require the sample range
+     * to be known. The executor is not shut down. If it is null, the chunks are scanned
+     * one after the other in the calling thread. The numbers are parsed directly from
+     * the mapped bytes, without creating any intermediate string for the usual decimal
+     * notations. The per-chunk statistics are merged in file order, so the result does
+     * not depend on the executor.</p>
+     *
+     * @param file the input file
+     * @param executor executor scanning the chunks (null to scan them in the calling thread)
+     * @throws IOException if an IO error occurs
+     * @throws NullArgumentException if file is null
+     * @since 3.7
+     */
+    public void load(File file, ExecutorService executor)
+        throws IOException, NullArgumentException {
+        MathUtils.checkNotNull(file);
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            final List<ByteBuffer> chunks = mapChunks(raf.getChannel(), MAPPED_CHUNK_SIZE);
+
+            // first scan, computing sample statistics
+            final List<Callable<SummaryStatistics>> statsTasks =
+                new ArrayList<Callable<SummaryStatistics>>(chunks.size());
+            for (final ByteBuffer chunk : chunks) {
+                statsTasks.add(new Callable<SummaryStatistics>() {
+                    /** {@inheritDoc} */
+                    public SummaryStatistics call() throws IOException {
+                        final SummaryStatistics stats = new SummaryStatistics();
+                        final ChunkParser parser = new ChunkParser(chunk);
+                        while (parser.hasNext()) {
+                            stats.addValue(parser.next());
+                        }
+                        return stats;
+                    }
+                });
+            }
+            final SummaryStatistics stats = new SummaryStatistics();
+            for (final SummaryStatistics chunkStats :
+                 invokeAll(statsTasks, executor)) {
+                stats.aggregate(chunkStats);
+            }
+            sampleStats = stats;
+            setUpBins();
+
+            // second scan, computing bins statistics
+            final List<Callable<SummaryStatistics[]>> binsTasks =
+                new ArrayList<Callable<SummaryStatistics[]>>(chunks.size());
+            for (final ByteBuffer chunk : chunks) {
+                binsTasks.add(new Callable<SummaryStatistics[]>() {
+                    /** {@inheritDoc} */
+                    public SummaryStatistics[] call() throws IOException {
+                        final SummaryStatistics[] chunkBins = new SummaryStatistics[binCount];
+                        final ChunkParser parser = new ChunkParser(chunk);
+                        while (parser.hasNext()) {
+                            final double val = parser.next();
+                            final int bin = findBin(val);
+                            if (chunkBins[bin] == null) {
+                                chunkBins[bin] = new SummaryStatistics();
+                            }
+                            chunkBins[bin].addValue(val);
+                        }
+                        return chunkBins;
+                    }
+                });
+            }
+            for (final SummaryStatistics[] chunkBins :
+                 invokeAll(binsTasks, executor)) {
+                for (int i = 0; i < binCount; ++i) {
+                    if (chunkBins[i] != null) {
+                        binStats.get(i).aggregate(chunkBins[i]);
+                    }
+                }
+            }
+            computeUpperBounds();
+            loaded = true;
+
+        } finally {
+            try {
+                raf.close();
+            } catch (IOException ex) { //NOPMD
+                // ignore
+            }
+        }
+    }
+
+    /**
+     * Runs chunk scanning tasks.
+     *
+     * @param <T> the type of the results
+     * @param tasks tasks to run
+     * @param executor executor running the tasks (null to run them in the calling thread)
+     * @return results of the tasks, in the tasks order
+     * @throws IOException if a task failed with an IO error
+     */
+    private static <T> List<T> invokeAll(final List<Callable<T>> tasks, final ExecutorService executor)
+        throws IOException {
+        try {
+            return ParallelTasks.invokeAll(executor, tasks);
+        } catch (MathIllegalStateException mise) {
+            if (mise.getCause() instanceof IOException) {
+                throw (IOException) mise.getCause();
+            }
+            throw mise;
+        }
+    }
+
+    /**
+     * Maps a file in chunks ending at line boundaries.
+     * <p>
+     * Lines may end with {@code '\n'}, {@code '\r'} or {@code "\r\n"}, as
+     * accepted by {@link BufferedReader#readLine()}.
+     * </p>
+     *
+     * @param channel channel to the file
+     * @param chunkSize minimum size of the chunks (the last one may be smaller)
+     * @return mapped chunks
+     * @throws IOException if an IO error occurs
+     */
+    static List<ByteBuffer> mapChunks(final FileChannel channel, final long chunkSize)
+        throws IOException {
+        final long size = channel.size();
+        final List<ByteBuffer> chunks = new ArrayList<ByteBuffer>();
+        final ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+        long start = 0;
+        while (start < size) {
+            // extend the chunk up to the next line boundary
+            long end = FastMath.min(start + chunkSize, size);
+            byte last = 0;
+            while (last != '\n' && last != '\r' && end < size) {
+                probe.clear();
+                final int read = channel.read(probe, end);
+                for (int i = 0; last != '\n' && last != '\r' && i < read; ++i) {
+                    last = probe.get(i);
+                    ++end;
+                }
+            }
+            if (last == '\r' && end < size) {
+                // don't split a "\r\n" line terminator
+                probe.clear();
+                probe.limit(1);
+                if (channel.read(probe, end) > 0 && probe.get(0) == '\n') {
+                    ++end;
+                }
+            }
+            chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Parser for the numbers in a mapped file chunk, one per line.
+     * <p>
+     * Lines are split and trimmed as by {@link BufferedReader#readLine()} and
+     * {@link Double#parseDouble(String)}. Plain decimal numbers with at most 15
+     * significant digits and a small exponent are converted exactly without
+     * building a string, other notations are delegated to
+     * {@link Double#parseDouble(String)}.
+     * </p>
+     */
+    private static class ChunkParser {
+
+        /** Maximum number of significant digits for direct conversion. */
+        private static final int MAX_DIGITS = 15;
+
+        /** Exactly representable powers of ten. */
+        private static final double[] POWERS_OF_TEN = {
+            1.0e0,  1.0e1,  1.0e2,  1.0e3,  1.0e4,  1.0e5,  1.0e6,  1.0e7,
+            1.0e8,  1.0e9,  1.0e10, 1.0e11, 1.0e12, 1.0e13, 1.0e14, 1.0e15,
+            1.0e16, 1.0e17, 1.0e18, 1.0e19, 1.0e20, 1.0e21, 1.0e22
+        };
+
+        /** Chunk content. */
+        private final ByteBuffer chunk;
+
+        /** Index of the start of next line. */
+        private int position;
+
+        /** Buffer for lines that must be converted to strings. */
+        private byte[] line;
+
+        /**
+         * Create a parser for a chunk.
+         *
+         * @param chunk chunk content (only absolute accesses are used)
+         */
+        ChunkParser(final ByteBuffer chunk) {
+            this.chunk    = chunk;
+            this.position = 0;
+            this.line     = new byte[64];
+        }
+
+        /**
+         * Check if there are remaining lines.
+         *
+         * @return true if there are remaining lines
+         */
+        public boolean hasNext() {
+            return position < chunk.limit();
+        }
+
+        /**
+         * Parse next line.
+         *
+         * @return number in next line
+         * @throws IOException if the line cannot be decoded
+         * @throws NumberFormatException if the line does not contain a number
+         */
+        public double next() throws IOException, NumberFormatException {
+
+            // find line end, with the same terminators as BufferedReader.readLine
+            final int limit = chunk.limit();
+            int start = position;
+            int end   = start;
+            while (end < limit && chunk.get(end) != '\n' && chunk.get(end) != '\r') {
+                ++end;
+            }
+            position = end;
+            if (position < limit && chunk.get(position) == '\r') {
+                ++position;
+            }
+            if (position < limit && chunk.get(position) == '\n') {
+                ++position;
+            }
+
+            // trim the line as String.trim
+            while (start < end && (chunk.get(start) & 0xff) <= ' ') {
+                ++start;
+            }
+            while (end > start && (chunk.get(end - 1) & 0xff) <= ' ') {
+                --end;
+            }
+
+            final double value = parseDecimal(start, end);
+            return Double.isNaN(value) ? parseString(start, end) : value;
+
+        }
+
+        /**
+         * Parse a plain decimal number.
+         *
+         * @param start index of the first character
+         * @param end index after the last character
+         * @return parsed number, or NaN if direct conversion is not possible
+         */
+        private double parseDecimal(final int start, final int end) {
+
+            int i = start;
+            boolean negative = false;
+            if (i < end && (chunk.get(i) == '-' || chunk.get(i) == '+')) {
+                negative = chunk.get(i) == '-';
+                ++i;
+            }
+
+            // mantissa
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean dot = false;
+            boolean hasDigits = false;
+            for (; i < end; ++i) {
+                final byte b = chunk.get(i);
+                if (b >= '0' && b <= '9') {
+                    hasDigits = true;
+                    if (mantissa != 0 || b != '0') {
+                        if (++digits > MAX_DIGITS) {
+                            return Double.NaN;
+                        }
+                        mantissa = 10 * mantissa + (b - '0');
+                    }
+                    if (dot) {
+                        --exponent;
+                    }
+                } else if (b == '.' && !dot) {
+                    dot = true;
+                } else {
+                    break;
+                }
+            }
+            if (!hasDigits) {
+                return Double.NaN;
+            }
+
+            // exponent
+            if (i < end && (chunk.get(i) == 'e' || chunk.get(i) == 'E')) {
+                ++i;
+                boolean negativeExponent = false;
+                if (i < end && (chunk.get(i) == '-' || chunk.get(i) == '+')) {
+                    negativeExponent = chunk.get(i) == '-';
+                    ++i;
+                }
+                int e = 0;
+                boolean hasExponentDigits = false;
+                for (; i < end && chunk.get(i) >= '0' && chunk.get(i) <= '9'; ++i) {
+                    hasExponentDigits = true;
+                    if (e < 1000) {
+                        e = 10 * e + (chunk.get(i) - '0');
+                    }
+                }
+                if (!hasExponentDigits) {
+                    return Double.NaN;
+                }
+                exponent += negativeExponent ? -e : e;
+            }
+
+            if (i < end) {
+                // trailing characters, like type suffixes
+                return Double.NaN;
+            }
+
+            // both mantissa and power of ten are exact, so there is only one rounding
+            final double value;
+            if (mantissa == 0) {
+                value = 0.0;
+            } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+                value = mantissa * POWERS_OF_TEN[exponent];
+            } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+                value = mantissa / POWERS_OF_TEN[-exponent];
+            } else {
+                return Double.NaN;
+            }
+            return negative ? -value : value;
+
+        }
+
+        /**
+         * Parse a number using {@link Double#parseDouble(String)}.
+         *
+         * @param start index of the first character
+         * @param end index after the last character
+         * @return parsed number
+         * @throws IOException if the line cannot be decoded
+         * @throws NumberFormatException if the line does not contain a number
+         */
+        private double parseString(final int start, final int end)
+            throws IOException, NumberFormatException {
+            final int length = end - start;
+            if (line.length < length) {
+                line = new byte[length];
+            }
+            for (int i = 0; i < length; ++i) {
+                line[i] = chunk.get(start + i);
+            }
+            return Double.parseDouble(new String(line, 0, length, FILE_CHARSET));
+        }
+
+    }
+
     /**
      * Provides methods for computing <code>sampleStats</code> and
      * <code>beanStats</code> abstracting the source of data.
@@ -432,6 +800,18 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
      */
     private void fillBinStats(final DataAdapter da)
         throws IOException {
+        setUpBins();
+
+        // Filling data in binStats Array
+        da.computeBinStats();
+
+        computeUpperBounds();
+    }
+
+    /**
+     * Sets up the bins grid from the sample statistics, with empty bins statistics.
+     */
+    private void setUpBins() {
         // Set up grid
         min = sampleStats.getMin();
         max = sampleStats.getMax();
@@ -445,10 +825,12 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
             SummaryStatistics stats = new SummaryStatistics();
             binStats.add(i,stats);
         }
+    }
 
-        // Filling data in binStats Array
-        da.computeBinStats();
-
+    /**
+     * Computes the upper bounds of the bins from the bins statistics.
+     */
+    private void computeUpperBounds() {
         // Assign upperBounds based on bin counts
         upperBounds = new double[binCount];
         upperBounds[0] =
@@ -17,8 +17,11 @@
 package org.apache.commons.math3.random;
 
 import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathInternalError;
 import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.util.MathUtils;
 
@@ -45,13 +48,18 @@ import org.apache.commons.math3.util.MathUtils;
  *   <li>sequential generation of points: {@link #nextVector()}</li>
  *   <li>random access to the i-th point in the sequence: {@link #skipTo(int)}</li>
  * </ul>
+ * <p>
+ * Large numbers of points can be generated without per-point allocation using
+ * {@link #fill(double[][])} or {@link #fill(double[], int)}, and a range of the
+ * sequence can be shared between several threads using {@link #split(int, int)}.
+ * </p>
  *
  * @see <a href="http://en.wikipedia.org/wiki/Halton_sequence">Halton sequence (Wikipedia)</a>
  * @see <a href="https://lirias.kuleuven.be/bitstream/123456789/131168/1/mcm2005_bartv.pdf">
  * On the Halton sequence and its scramblings</a>
  * @since 3.3
  */
-public class HaltonSequenceGenerator implements RandomVectorGenerator {
+public class HaltonSequenceGenerator implements RandomVectorGenerator, Cloneable {
 
     /** The first 40 primes. */
     private static final int[] PRIMES = new int[] {
@@ -67,6 +75,9 @@ public class HaltonSequenceGenerator implements RandomVectorGenerator {
         66, 63, 60, 66
     };
 
+    /** Maximum number of digits of an index in any base. */
+    private static final int MAX_DIGITS = 32;
+
     /** Space dimension. */
     private final int dimension;
 
@@ -133,12 +144,114 @@ public class HaltonSequenceGenerator implements RandomVectorGenerator {
                 v[i] += f * digit;
                 index /= base[i]; // floor( index / base )
                 f /= base[i];
+                j++;
             }
         }
         count++;
         return v;
     }
 
+    /**
+     * Fill an array with the next points of the sequence.
+     * <p>
+     * This is equivalent to calling {@link #nextVector()} once for each
+     * row, without allocating new arrays.
+     * </p>
+     *
+     * @param out array to fill, each row must have the space dimension
+     * @throws DimensionMismatchException if a row does not have the space dimension
+     * @since 3.7
+     */
+    public void fill(final double[][] out) throws DimensionMismatchException {
+        for (final double[] point : out) {
+            if (point.length != dimension) {
+                throw new DimensionMismatchException(point.length, dimension);
+            }
+        }
+        fill(out, null, out.length);
+    }
+
+    /**
+     * Fill a flat array with the next points of the sequence.
+     * <p>
+     * The components of point p are stored from index {@code p * dimension}
+     * to index {@code (p + 1) * dimension - 1}.
+     * </p>
+     *
+     * @param out array to fill, it must hold at least {@code nbPoints * dimension} elements
+     * @param nbPoints number of points to generate
+     * @throws NotPositiveException if nbPoints is negative
+     * @throws DimensionMismatchException if the array is too small
+     * @since 3.7
+     */
+    public void fill(final double[] out, final int nbPoints)
+        throws NotPositiveException, DimensionMismatchException {
+        if (nbPoints < 0) {
+            throw new NotPositiveException(nbPoints);
+        }
+        if ((long) nbPoints * dimension > out.length) {
+            throw new DimensionMismatchException(out.length, nbPoints * dimension);
+        }
+        fill(null, out, nbPoints);
+    }
+
+    /**
+     * Generate the next points of the sequence.
+     * <p>
+     * The digits of the index are updated incrementally from one point to
+     * the next, instead of being recomputed by successive divisions. The
+     * components are the same as the ones computed by {@link #nextVector()}.
+     * </p>
+     *
+     * @param rows array where to put the points, one per row (may be null if flat is not null)
+     * @param flat array where to put the points, one after the other (may be null if rows is not null)
+     * @param nbPoints number of points to generate
+     */
+    private void fill(final double[][] rows, final double[] flat, final int nbPoints) {
+        final int[] digits = new int[MAX_DIGITS];
+        final double[] factors = new double[MAX_DIGITS];
+        for (int i = 0; i < dimension; i++) {
+            final int b = base[i];
+
+            // same factors as in nextVector
+            double f = 1.0 / b;
+            for (int j = 0; j < MAX_DIGITS; ++j) {
+                factors[j] = f;
+                f /= b;
+            }
+
+            // digits of the first index
+            int nbDigits = 0;
+            for (int index = count; index > 0; index /= b) {
+                digits[nbDigits++] = index % b;
+            }
+
+            for (int p = 0; p < nbPoints; ++p) {
+                double v = 0;
+                for (int j = 0; j < nbDigits; ++j) {
+                    v += factors[j] * scramble(i, j, b, digits[j]);
+                }
+                if (rows == null) {
+                    flat[p * dimension + i] = v;
+                } else {
+                    rows[p][i] = v;
+                }
+
+                // increment the index, propagating carries
+                int j = 0;
+                while (j < nbDigits && digits[j] == b - 1) {
+                    digits[j++] = 0;
+                }
+                if (j < nbDigits) {
+                    ++digits[j];
+                } else {
+                    digits[nbDigits++] = 1;
+                }
+            }
+        }
+        count += nbPoints;
+    }
+
     /**
      * Performs scrambling of digit {@code d_j} according to the formula:
      * <pre>
@@ -170,6 +283,54 @@ public class HaltonSequenceGenerator implements RandomVectorGenerator {
         return nextVector();
     }
 
+    /**
+     * Split a range of the sequence between several generators.
+     * <p>
+     * The range of {@code nbPoints} points starting at the {@link #getNextIndex()
+     * next index} is split into {@code nbParts} contiguous disjoint sub-ranges,
+     * with sizes differing by at most one point. Part k is positioned at the
+     * start of its sub-range, which ends where part k+1 starts (i.e. at its
+     * {@link #getNextIndex() next index} before any use), the last one ending at
+     * {@code getNextIndex() + nbPoints}. This generator is not modified.
+     * </p>
+     * <p>
+     * The parts are copies of this generator (including the {@link #scramble(int,
+     * int, int, int) scrambling} of sub-classes), and can be used independently by
+     * different threads.
+     * </p>
+     *
+     * @param nbPoints number of points in the range to split
+     * @param nbParts number of parts
+     * @return generators positioned at the start of each sub-range
+     * @throws NotPositiveException if nbPoints is negative
+     * @throws NotStrictlyPositiveException if nbParts is not strictly positive
+     * @throws NumberIsTooLargeException if the range exceeds the largest supported index
+     * @since 3.7
+     */
+    public HaltonSequenceGenerator[] split(final int nbPoints, final int nbParts)
+        throws NotPositiveException, NotStrictlyPositiveException, NumberIsTooLargeException {
+        if (nbPoints < 0) {
+            throw new NotPositiveException(nbPoints);
+        }
+        if (nbParts <= 0) {
+            throw new NotStrictlyPositiveException(nbParts);
+        }
+        if (nbPoints > Integer.MAX_VALUE - count) {
+            throw new NumberIsTooLargeException(nbPoints, Integer.MAX_VALUE - count, true);
+        }
+        final HaltonSequenceGenerator[] parts = new HaltonSequenceGenerator[nbParts];
+        try {
+            for (int k = 0; k < nbParts; ++k) {
+                parts[k] = (HaltonSequenceGenerator) clone();
+                parts[k].count = count + (int) (((long) k * nbPoints) / nbParts);
+            }
+        } catch (CloneNotSupportedException cnse) {
+            // this should never happen
+            throw new MathInternalError(cnse);
+        }
+        return parts;
+    }
+
     /**
      * Returns the index i of the next point in the Halton sequence that will be returned
      * by calling {@link #nextVector()}.
@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.random;
+
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+import org.apache.commons.math3.util.ParallelTasks;
+
+/**
+ * Parallel Monte Carlo executor.
+ * <p>
+ * The samples are split in blocks of fixed size. Each block is drawn from
+ * its own generator, seeded from the master seed and the block index only
+ * (split seeding), and its values are gathered in a block
+ * {@link SummaryStatistics}. The blocks are processed in parallel and
+ * their statistics are aggregated in block order. The result therefore
+ * depends only on the master seed, the block size and the number of samples,
+ * and is exactly the same regardless of the executor used.
+ * </p>
+ * <p>
+ * The blocks are run on a user-provided {@link ExecutorService executor},
+ * which is not shut down by this class and can be shared with other tasks.
+ * </p>
+ * <p>
+ * As each block uses a private generator, no synchronization is needed
+ * between the samples, as opposed to sharing a
+ * {@link SynchronizedRandomGenerator} between threads.
+ * </p>
+ * @since 3.7
+ */
+public class MonteCarloExecutor {
+
+    /** Default number of samples per block. */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    /** Number of int values in the seed of each block generator. */
+    private static final int SEED_SIZE = 16;
+
+    /** Increment of the seeds sequence (golden ratio). */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15l;
+
+    /** Maximal number of blocks submitted and not yet aggregated. */
+    private static final int MAX_PENDING_BLOCKS = 256;
+
+    /** Master seed. */
+    private final long masterSeed;
+
+    /** Number of samples per block. */
+    private final int blockSize;
+
+    /** Executor for the blocks (null for the calling thread). */
+    private final ExecutorService executor;
+
+    /**
+     * Simple constructor, using {@link #DEFAULT_BLOCK_SIZE default block size}.
+     *
+     * @param masterSeed master seed from which all block seeds are derived
+     * @param executor executor for the blocks (null to run them in the calling thread)
+     */
+    public MonteCarloExecutor(final long masterSeed, final ExecutorService executor) {
+        this(masterSeed, DEFAULT_BLOCK_SIZE, executor);
+    }
+
+    /**
+     * Simple constructor.
+     * <p>
+     * Changing the block size changes the generated samples, and hence the result.
+     * </p>
+     *
+     * @param masterSeed master seed from which all block seeds are derived
+     * @param blockSize number of samples per block
+     * @param executor executor for the blocks (null to run them in the calling thread)
+     * @throws NotStrictlyPositiveException if the block size is not strictly positive
+     */
+    public MonteCarloExecutor(final long masterSeed, final int blockSize,
+                              final ExecutorService executor)
+        throws NotStrictlyPositiveException {
+        if (blockSize <= 0) {
+            throw new NotStrictlyPositiveException(LocalizedFormats.NUMBER_OF_ELEMENTS_SHOULD_BE_POSITIVE,
+                                                   blockSize);
+        }
+        this.masterSeed = masterSeed;
+        this.blockSize  = blockSize;
+        this.executor   = executor;
+    }
+
+    /**
+     * Get the master seed.
+     *
+     * @return master seed
+     */
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    /**
+     * Get the number of samples per block.
+     *
+     * @return number of samples per block
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Run a Monte Carlo simulation.
+     * <p>
+     * The sample function may be called concurrently from several threads, each
+     * call receiving the data generator of the block being processed. It must
+     * therefore not share mutable state between calls, and it must draw all its
+     * random values from the generator it receives for the result to be reproducible.
+     * </p>
+     *
+     * @param function sample function
+     * @param nbSamples number of samples to draw
+     * @return statistics of the samples
+     * @throws NullArgumentException if function is null
+     * @throws NotPositiveException if the number of samples is negative
+     * @throws MathIllegalStateException if the calling thread is interrupted
+     * while waiting for the blocks
+     */
+    public SummaryStatistics run(final SampleFunction function, final long nbSamples)
+        throws NullArgumentException, NotPositiveException, MathIllegalStateException {
+
+        MathUtils.checkNotNull(function);
+        if (nbSamples < 0) {
+            throw new NotPositiveException(LocalizedFormats.NUMBER_OF_SAMPLES, nbSamples);
+        }
+
+        final long nbBlocks = nbSamples / blockSize + (nbSamples % blockSize == 0 ? 0 : 1);
+        final SummaryStatistics stats = new SummaryStatistics();
+
+        if (executor == null || nbBlocks <= 1) {
+            for (long block = 0; block < nbBlocks; ++block) {
+                stats.aggregate(runBlock(function, block, blockSamples(block, nbSamples)));
+            }
+            return stats;
+        }
+
+        // keep a bounded number of blocks in flight, consuming them in order
+        final LinkedList<Future<SummaryStatistics>> pending =
+            new LinkedList<Future<SummaryStatistics>>();
+        boolean done = false;
+        try {
+            long next = 0;
+            while (next < nbBlocks || !pending.isEmpty()) {
+                while (next < nbBlocks && pending.size() < MAX_PENDING_BLOCKS) {
+                    final long block = next++;
+                    final int  size  = blockSamples(block, nbSamples);
+                    pending.add(executor.submit(new Callable<SummaryStatistics>() {
+                        /** {@inheritDoc} */
+                        public SummaryStatistics call() {
+                            return runBlock(function, block, size);
+                        }
+                    }));
+                }
+                stats.aggregate(ParallelTasks.getResult(pending.removeFirst()));
+            }
+            done = true;
+        } finally {
+            if (!done) {
+                ParallelTasks.cancel(pending);
+            }
+        }
+
+        return stats;
+
+    }
+
+    /**
+     * Create the generator used for one block.
+     * <p>
+     * The default implementation creates a {@link Well19937c} generator.
+     * Sub-classes may override this method to use another generator,
+     * it is called concurrently from several threads.
+     * </p>
+     *
+     * @param seed seed of the block
+     * @return a new generator initialized with the seed
+     */
+    protected RandomGenerator createGenerator(final int[] seed) {
+        return new Well19937c(seed);
+    }
+
+    /**
+     * Get the seed of a block.
+     * <p>
+     * The seeds are successive outputs of a SplitMix64 sequence starting at
+     * the mixed master seed, so the seeds of different blocks are well mixed
+     * and each of them can be computed directly from the block index. Mixing
+     * the master seed first prevents close master seeds (for example seeds
+     * differing by a multiple of the sequence increment) from producing
+     * shifted copies of the same block seeds.
+     * </p>
+     *
+     * @param block index of the block
+     * @return seed of the block
+     */
+    public int[] getBlockSeed(final long block) {
+        final int[] seed = new int[SEED_SIZE];
+        long state = mix(masterSeed) + block * (SEED_SIZE / 2) * GOLDEN_GAMMA;
+        for (int i = 0; i < SEED_SIZE; i += 2) {
+            state += GOLDEN_GAMMA;
+            final long z = mix(state);
+            seed[i]     = (int) (z >>> 32);
+            seed[i + 1] = (int) z;
+        }
+        return seed;
+    }
+
+    /**
+     * Apply the SplitMix64 finalizer.
+     *
+     * @param x value to mix
+     * @return mixed value
+     */
+    private static long mix(final long x) {
+        long z = x;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9l;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebl;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Draw the samples of one block.
+     *
+     * @param function sample function
+     * @param block index of the block
+     * @param size number of samples in the block
+     * @return statistics of the block samples
+     */
+    private SummaryStatistics runBlock(final SampleFunction function, final long block, final int size) {
+        final RandomDataGenerator data = new RandomDataGenerator(createGenerator(getBlockSeed(block)));
+        final SummaryStatistics blockStats = new SummaryStatistics();
+        for (int i = 0; i < size; ++i) {
+            blockStats.addValue(function.sample(data));
+        }
+        return blockStats;
+    }
+
+    /**
+     * Get the number of samples in a block.
+     *
+     * @param block index of the block
+     * @param nbSamples total number of samples
+     * @return number of samples in the block (only the last block may be shorter)
+     */
+    private int blockSamples(final long block, final long nbSamples) {
+        return (int) FastMath.min(blockSize, nbSamples - block * blockSize);
+    }
+
+    /** Interface for sample functions. */
+    public interface SampleFunction {
+
+        /**
+         * Draw one sample.
+         *
+         * @param data data generator to use for all random draws
+         * @return sample value
+         */
+        double sample(RandomDataGenerator data);
+
+    }
+
+}
@@ -25,10 +25,12 @@ import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.StringTokenizer;
 
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathInternalError;
 import org.apache.commons.math3.exception.MathParseException;
 import org.apache.commons.math3.exception.NotPositiveException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.util.FastMath;
 
@@ -47,6 +49,11 @@ import org.apache.commons.math3.util.FastMath;
  *   <li>sequential generation of points: {@link #nextVector()}</li>
  *   <li>random access to the i-th point in the sequence: {@link #skipTo(int)}</li>
  * </ul>
+ * <p>
+ * Large numbers of points can be generated without per-point allocation using
+ * {@link #fill(double[][])} or {@link #fill(double[], int)}, and a range of the
+ * sequence can be shared between several threads using {@link #split(int, int)}.
+ * </p>
  *
  * @see <a href="http://en.wikipedia.org/wiki/Sobol_sequence">Sobol sequence (Wikipedia)</a>
  * @see <a href="http://web.maths.unsw.edu.au/~fkuo/sobol/">Sobol sequence direction numbers</a>
@@ -76,8 +83,8 @@ public class SobolSequenceGenerator implements RandomVectorGenerator {
     /** The current index in the sequence. */
     private int count = 0;
 
-    /** The direction vector for each component. */
-    private final long[][] direction;
+    /** The direction numbers, stored by bit: number k of component i is at {@code k * dimension + i}. */
+    private final long[] direction;
 
     /** The current state. */
     private final long[] x;
@@ -102,7 +109,7 @@ public class SobolSequenceGenerator implements RandomVectorGenerator {
         this.dimension = dimension;
 
         // init data structures
-        direction = new long[dimension][BITS + 1];
+        direction = new long[(BITS + 1) * dimension];
         x = new long[dimension];
 
         try {
@@ -163,7 +170,7 @@ public class SobolSequenceGenerator implements RandomVectorGenerator {
         this.dimension = dimension;
 
         // init data structures
-        direction = new long[dimension][BITS + 1];
+        direction = new long[(BITS + 1) * dimension];
         x = new long[dimension];
 
         // initialize the other dimensions with direction numbers from the stream
@@ -173,6 +180,18 @@ public class SobolSequenceGenerator implements RandomVectorGenerator {
         }
     }
 
+    /**
+     * Copy constructor, sharing the direction numbers.
+     *
+     * @param original generator to copy
+     */
+    private SobolSequenceGenerator(final SobolSequenceGenerator original) {
+        this.dimension = original.dimension;
+        this.direction = original.direction;
+        this.x         = original.x.clone();
+        this.count     = original.count;
+    }
+
     /**
      * Load the direction vector for each dimension from the given stream.
      * <p>
@@ -188,7 +207,7 @@ public class SobolSequenceGenerator implements RandomVectorGenerator {
 
         // special case: dimension 1 -> use unit initialization
         for (int i = 1; i <= BITS; i++) {
-            direction[0][i] = 1l << (BITS - i);
+            direction[i * dimension] = 1l << (BITS - i);
         }
 
         final Charset charset = Charset.forName(FILE_CHARSET);
@@ -243,12 +262,13 @@ public class SobolSequenceGenerator implements RandomVectorGenerator {
     private void initDirectionVector(final int d, final int a, final int[] m) {
         final int s = m.length - 1;
         for (int i = 1; i <= s; i++) {
-            direction[d][i] = ((long) m[i]) << (BITS - i);
+            direction[i * dimension + d] = ((long) m[i]) << (BITS - i);
         }
         for (int i = s + 1; i <= BITS; i++) {
-            direction[d][i] = direction[d][i - s] ^ (direction[d][i - s] >> s);
+            final long v = direction[(i - s) * dimension + d];
+            direction[i * dimension + d] = v ^ (v >> s);
             for (int k = 1; k <= s - 1; k++) {
-                direction[d][i] ^= ((a >> (s - 1 - k)) & 1) * direction[d][i - k];
+                direction[i * dimension + d] ^= ((a >> (s - 1 - k)) & 1) * direction[(i - k) * dimension + d];
             }
         }
     }
@@ -256,25 +276,83 @@ public class SobolSequenceGenerator implements RandomVectorGenerator {
     /** {@inheritDoc} */
     public double[] nextVector() {
         final double[] v = new double[dimension];
+        next(v, 0);
+        return v;
+    }
+
+    /**
+     * Fill an array with the next points of the sequence.
+     * <p>
+     * This is equivalent to calling {@link #nextVector()} once for each
+     * row, without allocating new arrays.
+     * </p>
+     *
+     * @param out array to fill, each row must have the space dimension
+     * @throws DimensionMismatchException if a row does not have the space dimension
+     * @since 3.7
+     */
+    public void fill(final double[][] out) throws DimensionMismatchException {
+        for (final double[] point : out) {
+            if (point.length != dimension) {
+                throw new DimensionMismatchException(point.length, dimension);
+            }
+        }
+        for (final double[] point : out) {
+            next(point, 0);
+        }
+    }
+
+    /**
+     * Fill a flat array with the next points of the sequence.
+     * <p>
+     * The components of point p are stored from index {@code p * dimension}
+     * to index {@code (p + 1) * dimension - 1}.
+     * </p>
+     *
+     * @param out array to fill, it must hold at least {@code nbPoints * dimension} elements
+     * @param nbPoints number of points to generate
+     * @throws NotPositiveException if nbPoints is negative
+     * @throws DimensionMismatchException if the array is too small
+     * @since 3.7
+     */
+    public void fill(final double[] out, final int nbPoints)
+        throws NotPositiveException, DimensionMismatchException {
+        if (nbPoints < 0) {
+            throw new NotPositiveException(nbPoints);
+        }
+        if ((long) nbPoints * dimension > out.length) {
+            throw new DimensionMismatchException(out.length, nbPoints * dimension);
+        }
+        for (int p = 0; p < nbPoints; ++p) {
+            next(out, p * dimension);
+        }
+    }
+
+    /**
+     * Compute the next point, using Gray code ordering.
+     * <p>
+     * Only one direction number is combined into each component per point.
+     * </p>
+     *
+     * @param v array where to put the point
+     * @param offset index of the first component in v
+     */
+    private void next(final double[] v, final int offset) {
         if (count == 0) {
+            Arrays.fill(v, offset, offset + dimension, 0.0);
             count++;
-            return v;
+            return;
         }
 
         // find the index c of the rightmost 0
-        int c = 1;
-        int value = count - 1;
-        while ((value & 1) == 1) {
-            value >>= 1;
-            c++;
-        }
+        final int c = Integer.numberOfTrailingZeros(~(count - 1)) + 1;
 
+        final int row = c * dimension;
         for (int i = 0; i < dimension; i++) {
-            x[i] ^= direction[i][c];
-            v[i] = (double) x[i] / SCALE;
+            x[i] ^= direction[row + i];
+            v[offset + i] = (double) x[i] / SCALE;
         }
         count++;
-        return v;
     }
 
     /**
@@ -287,29 +365,85 @@ public class SobolSequenceGenerator implements RandomVectorGenerator {
      * @throws NotPositiveException if index &lt; 0
      */
     public double[] skipTo(final int index) throws NotPositiveException {
+        setNextIndex(index);
+        return nextVector();
+    }
+
+    /**
+     * Set the index of the next point to generate.
+     *
+     * @param index the index of the next point
+     * @throws NotPositiveException if index &lt; 0
+     */
+    private void setNextIndex(final int index) throws NotPositiveException {
+        if (index < 0) {
+            throw new NotPositiveException(index);
+        }
         if (index == 0) {
             // reset x vector
             Arrays.fill(x, 0);
         } else {
             final int i = index - 1;
             final long grayCode = i ^ (i >> 1); // compute the gray code of i = i XOR floor(i / 2)
-            for (int j = 0; j < dimension; j++) {
-                long result = 0;
-                for (int k = 1; k <= BITS; k++) {
-                    final long shift = grayCode >> (k - 1);
-                    if (shift == 0) {
-                        // stop, as all remaining bits will be zero
-                        break;
+            Arrays.fill(x, 0);
+            for (int k = 1; k <= BITS; k++) {
+                final long shift = grayCode >> (k - 1);
+                if (shift == 0) {
+                    // stop, as all remaining bits will be zero
+                    break;
+                }
+                // the k-th bit of i
+                if ((shift & 1) != 0) {
+                    final int row = k * dimension;
+                    for (int j = 0; j < dimension; j++) {
+                        x[j] ^= direction[row + j];
                     }
-                    // the k-th bit of i
-                    final long ik = shift & 1;
-                    result ^= ik * direction[j][k];
                 }
-                x[j] = result;
             }
         }
         count = index;
-        return nextVector();
+    }
+
+    /**
+     * Split a range of the sequence between several generators.
+     * <p>
+     * The range of {@code nbPoints} points starting at the {@link #getNextIndex()
+     * next index} is split into {@code nbParts} contiguous disjoint sub-ranges,
+     * with sizes differing by at most one point. Part k is positioned at the
+     * start of its sub-range, which ends where part k+1 starts (i.e. at its
+     * {@link #getNextIndex() next index} before any use), the last one ending at
+     * {@code getNextIndex() + nbPoints}. This generator is not modified.
+     * </p>
+     * <p>
+     * The parts share the direction numbers of this generator, but they can
+     * be used independently by different threads.
+     * </p>
+     *
+     * @param nbPoints number of points in the range to split
+     * @param nbParts number of parts
+     * @return generators positioned at the start of each sub-range
+     * @throws NotPositiveException if nbPoints is negative
+     * @throws NotStrictlyPositiveException if nbParts is not strictly positive
+     * @throws NumberIsTooLargeException if the range exceeds the largest supported index
+     * @since 3.7
+     */
+    public SobolSequenceGenerator[] split(final int nbPoints, final int nbParts)
+        throws NotPositiveException, NotStrictlyPositiveException, NumberIsTooLargeException {
+        if (nbPoints < 0) {
+            throw new NotPositiveException(nbPoints);
+        }
+        if (nbParts <= 0) {
+            throw new NotStrictlyPositiveException(nbParts);
+        }
+        if (nbPoints > Integer.MAX_VALUE - count) {
+            throw new NumberIsTooLargeException(nbPoints, Integer.MAX_VALUE - count, true);
+        }
+        final SobolSequenceGenerator[] parts = new SobolSequenceGenerator[nbParts];
+        for (int k = 0; k < nbParts; ++k) {
+            parts[k] = new SobolSequenceGenerator(this);
+            parts[k].setNextIndex(count + (int) (((long) k * nbPoints) / nbParts));
+        }
+        return parts;
     }
 
     /**
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.special;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.util.ContinuedFraction;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Regularized beta function I(x, a, b) for fixed parameters a and b.
+ * <p>
+ * This class gives the same results as {@link Beta#regularizedBeta(double,
+ * double, double, double, int)}, but the terms that depend only on the
+ * parameters, like log B(a, b), log a, log b and the continued fractions,
+ * are computed once at construction. It is intended for callers that evaluate
+ * the function many times with the same parameters, like cumulative
+ * distribution functions. For even faster evaluation within a known range,
+ * an interpolation table with a controlled error can be built using {@link
+ * #tabulate(double, double, int, double)}.
+ * </p>
+ * <p>
+ * Instances are immutable and hence thread-safe.
+ * </p>
+ *
+ * @since 3.7
+ */
+public class RegularizedBeta {
+
+    /** Maximum allowed numerical error. */
+    private static final double DEFAULT_EPSILON = 1E-14;
+
+    /** Parameter a. */
+    private final double a;
+
+    /** Parameter b. */
+    private final double b;
+
+    /** Value of log a. */
+    private final double logA;
+
+    /** Value of log b. */
+    private final double logB;
+
+    /** Value of log B(a, b). */
+    private final double logBetaAB;
+
+    /** Convergence threshold. */
+    private final double epsilon;
+
+    /** Maximum number of iterations. */
+    private final int maxIterations;
+
+    /** Continued fraction for I(x, a, b). */
+    private final ContinuedFraction fractionAB;
+
+    /** Continued fraction for I(1 - x, b, a). */
+    private final ContinuedFraction fractionBA;
+
+    /**
+     * Simple constructor.
+     * <p>
+     * The function is evaluated with the same default convergence settings as
+     * {@link Beta#regularizedBeta(double, double, double)}.
+     * </p>
+     *
+     * @param a Parameter {@code a}.
+     * @param b Parameter {@code b}.
+     * @throws NotStrictlyPositiveException if {@code a <= 0} or {@code b <= 0}
+     */
+    public RegularizedBeta(final double a, final double b)
+        throws NotStrictlyPositiveException {
+        this(a, b, DEFAULT_EPSILON, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Build an evaluator with specified convergence settings.
+     *
+     * @param a Parameter {@code a}.
+     * @param b Parameter {@code b}.
+     * @param epsilon When the absolute value of the nth item in the
+     * series is less than epsilon the approximation ceases to calculate
+     * further elements in the series.
+     * @param maxIterations Maximum number of iterations.
+     * @throws NotStrictlyPositiveException if {@code a <= 0} or {@code b <= 0}
+     */
+    public RegularizedBeta(final double a, final double b,
+                           final double epsilon, final int maxIterations)
+        throws NotStrictlyPositiveException {
+
+        if (!(a > 0)) {
+            throw new NotStrictlyPositiveException(a);
+        }
+        if (!(b > 0)) {
+            throw new NotStrictlyPositiveException(b);
+        }
+
+        this.a             = a;
+        this.b             = b;
+        this.logA          = FastMath.log(a);
+        this.logB          = FastMath.log(b);
+        this.logBetaAB     = Beta.logBeta(a, b);
+        this.epsilon       = epsilon;
+        this.maxIterations = maxIterations;
+        this.fractionAB    = createFraction(a, b);
+        this.fractionBA    = createFraction(b, a);
+
+    }
+
+    /** Create the continued fraction for the regularized beta function.
+     * @param p first parameter
+     * @param q second parameter
+     * @return continued fraction for I(x, p, q)
+     */
+    private static ContinuedFraction createFraction(final double p, final double q) {
+        return new ContinuedFraction() {
+
+            /** {@inheritDoc} */
+            @Override
+            protected double getB(int n, double x) {
+                double ret;
+                double m;
+                if (n % 2 == 0) { // even
+                    m = n / 2.0;
+                    ret = (m * (q - m) * x) /
+                        ((p + (2 * m) - 1) * (p + (2 * m)));
+                } else {
+                    m = (n - 1.0) / 2.0;
+                    ret = -((p + m) * (p + q + m) * x) /
+                            ((p + (2 * m)) * (p + (2 * m) + 1.0));
+                }
+                return ret;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            protected double getA(int n, double x) {
+                return 1.0;
+            }
+        };
+    }
+
+    /** Get the a parameter.
+     * @return the a parameter
+     */
+    public double getA() {
+        return a;
+    }
+
+    /** Get the b parameter.
+     * @return the b parameter
+     */
+    public double getB() {
+        return b;
+    }
+
+    /**
+     * Returns the regularized beta function I(x, a, b).
+     *
+     * @param x Value.
+     * @return the regularized beta function I(x, a, b).
+     * @throws MaxCountExceededException if the algorithm fails to converge.
+     * @see Beta#regularizedBeta(double, double, double, double, int)
+     */
+    public double regularizedBeta(final double x) throws MaxCountExceededException {
+        if (Double.isNaN(x) || x < 0 || x > 1) {
+            return Double.NaN;
+        } else if (x > (a + 1) / (2 + b + a) &&
+                   1 - x <= (b + 1) / (2 + b + a)) {
+            final double y = 1 - x;
+            return 1 - FastMath.exp((b * FastMath.log(y)) + (a * FastMath.log1p(-y)) -
+                                    logB - logBetaAB) *
+                       1.0 / fractionBA.evaluate(y, epsilon, maxIterations);
+        } else {
+            return FastMath.exp((a * FastMath.log(x)) + (b * FastMath.log1p(-x)) -
+                                logA - logBetaAB) *
+                   1.0 / fractionAB.evaluate(x, epsilon, maxIterations);
+        }
+    }
+
+    /**
+     * Returns the regularized beta function I(x, a, b) for several values.
+     *
+     * @param x the values.
+     * @return array containing I(x[i], a, b)
+     * @throws MaxCountExceededException if the algorithm fails to converge.
+     */
+    public double[] regularizedBeta(final double[] x) throws MaxCountExceededException {
+        final double[] y = new double[x.length];
+        for (int i = 0; i < x.length; ++i) {
+            y[i] = regularizedBeta(x[i]);
+        }
+        return y;
+    }
+
+    /**
+     * Build an interpolation table for I(x, a, b).
+     *
+     * @param lower lower bound of the tabulated interval
+     * @param upper upper bound of the tabulated interval
+     * @param nbIntervals number of grid intervals
+     * @param maxError maximal interpolation error allowed
+     * @return interpolation table for I(x, a, b)
+     * @throws OutOfRangeException if the bounds are not within [0, 1]
+     * @throws NumberIsTooLargeException if {@code lower >= upper}
+     * @throws NotStrictlyPositiveException if {@code nbIntervals <= 0}
+     * or {@code maxError <= 0}
+     */
+    public TabulatedFunction tabulate(final double lower, final double upper,
+                                      final int nbIntervals, final double maxError)
+        throws OutOfRangeException, NumberIsTooLargeException, NotStrictlyPositiveException {
+        if (lower < 0 || lower > 1) {
+            throw new OutOfRangeException(lower, 0, 1);
+        }
+        if (upper < 0 || upper > 1) {
+            throw new OutOfRangeException(upper, 0, 1);
+        }
+        return new TabulatedFunction(new UnivariateFunction() {
+            /** {@inheritDoc} */
+            public double value(final double x) {
+                return regularizedBeta(x);
+            }
+        }, new UnivariateFunction() {
+            /** {@inheritDoc} */
+            public double value(final double x) {
+                return density(x);
+            }
+        }, lower, upper, nbIntervals, maxError);
+    }
+
+    /** Compute the derivative of I(x, a, b) with respect to x.
+     * @param x the value.
+     * @return x<sup>a-1</sup> (1-x)<sup>b-1</sup> / B(a, b)
+     */
+    private double density(final double x) {
+        // for a = 1 (resp. b = 1), x^(a-1) (resp. (1-x)^(b-1)) is 1 even at
+        // x = 0 (resp. x = 1), where the product with the logarithm would be NaN
+        final double logPowerX        = (a == 1) ? 0.0 : (a - 1) * FastMath.log(x);
+        final double logPowerOneMinus = (b == 1) ? 0.0 : (b - 1) * FastMath.log1p(-x);
+        return FastMath.exp(logPowerX + logPowerOneMinus - logBetaAB);
+    }
+
+}
@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.special;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.util.ContinuedFraction;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Regularized gamma functions P(a, x) and Q(a, x) for a fixed parameter a.
+ * <p>
+ * This class gives the same results as {@link Gamma#regularizedGammaP(double,
+ * double, double, int)} and {@link Gamma#regularizedGammaQ(double, double,
+ * double, int)}, but the terms that depend only on the parameter, like
+ * log &Gamma;(a) and the continued fraction, are computed once at construction.
+ * It is intended for callers that evaluate the functions many times with the
+ * same parameter, like cumulative distribution functions. For even faster
+ * evaluation within a known range, an interpolation table with a controlled
+ * error can be built using {@link #tabulateP(double, double, int, double)} or
+ * {@link #tabulateQ(double, double, int, double)}.
+ * </p>
+ * <p>
+ * Instances are immutable and hence thread-safe.
+ * </p>
+ *
+ * @since 3.7
+ */
+public class RegularizedGamma {
+
+    /** Maximum allowed numerical error. */
+    private static final double DEFAULT_EPSILON = 10e-15;
+
+    /** Parameter a. */
+    private final double a;
+
+    /** Value of log &Gamma;(a). */
+    private final double logGammaA;
+
+    /** Convergence threshold. */
+    private final double epsilon;
+
+    /** Maximum number of iterations. */
+    private final int maxIterations;
+
+    /** Continued fraction used for Q(a, x). */
+    private final ContinuedFraction fraction;
+
+    /**
+     * Simple constructor.
+     * <p>
+     * The functions are evaluated with the same default convergence settings as
+     * {@link Gamma#regularizedGammaP(double, double)}.
+     * </p>
+     *
+     * @param a the a parameter
+     * @throws NotStrictlyPositiveException if {@code a <= 0}
+     */
+    public RegularizedGamma(final double a) throws NotStrictlyPositiveException {
+        this(a, DEFAULT_EPSILON, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Build an evaluator with specified convergence settings.
+     *
+     * @param a the a parameter
+     * @param epsilon When the absolute value of the nth item in the
+     * series is less than epsilon the approximation ceases to calculate
+     * further elements in the series.
+     * @param maxIterations Maximum number of "iterations" to complete.
+     * @throws NotStrictlyPositiveException if {@code a <= 0}
+     */
+    public RegularizedGamma(final double a, final double epsilon, final int maxIterations)
+        throws NotStrictlyPositiveException {
+
+        if (!(a > 0)) {
+            throw new NotStrictlyPositiveException(a);
+        }
+
+        this.a             = a;
+        this.logGammaA     = Gamma.logGamma(a);
+        this.epsilon       = epsilon;
+        this.maxIterations = maxIterations;
+        this.fraction      = new ContinuedFraction() {
+
+            /** {@inheritDoc} */
+            @Override
+            protected double getA(int n, double x) {
+                return ((2.0 * n) + 1.0) - a + x;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            protected double getB(int n, double x) {
+                return n * (a - n);
+            }
+        };
+
+    }
+
+    /** Get the a parameter.
+     * @return the a parameter
+     */
+    public double getA() {
+        return a;
+    }
+
+    /**
+     * Returns the regularized gamma function P(a, x).
+     *
+     * @param x the value.
+     * @return the regularized gamma function P(a, x)
+     * @throws MaxCountExceededException if the algorithm fails to converge.
+     * @see Gamma#regularizedGammaP(double, double, double, int)
+     */
+    public double regularizedGammaP(final double x) throws MaxCountExceededException {
+        if (Double.isNaN(x) || (x < 0.0)) {
+            return Double.NaN;
+        } else if (x == 0.0) {
+            return 0.0;
+        } else if (x >= a + 1) {
+            // use Q because it should converge faster in this case.
+            return 1.0 - continuedFraction(x);
+        } else {
+            return series(x);
+        }
+    }
+
+    /**
+     * Returns the regularized gamma function Q(a, x) = 1 - P(a, x).
+     *
+     * @param x the value.
+     * @return the regularized gamma function Q(a, x)
+     * @throws MaxCountExceededException if the algorithm fails to converge.
+     * @see Gamma#regularizedGammaQ(double, double, double, int)
+     */
+    public double regularizedGammaQ(final double x) throws MaxCountExceededException {
+        if (Double.isNaN(x) || (x < 0.0)) {
+            return Double.NaN;
+        } else if (x == 0.0) {
+            return 1.0;
+        } else if (x < a + 1.0) {
+            // use P because it should converge faster in this case.
+            return 1.0 - series(x);
+        } else {
+            return continuedFraction(x);
+        }
+    }
+
+    /**
+     * Returns the regularized gamma function P(a, x) for several values.
+     *
+     * @param x the values.
+     * @return array containing P(a, x[i])
+     * @throws MaxCountExceededException if the algorithm fails to converge.
+     */
+    public double[] regularizedGammaP(final double[] x) throws MaxCountExceededException {
+        final double[] p = new double[x.length];
+        for (int i = 0; i < x.length; ++i) {
+            p[i] = regularizedGammaP(x[i]);
+        }
+        return p;
+    }
+
+    /**
+     * Returns the regularized gamma function Q(a, x) for several values.
+     *
+     * @param x the values.
+     * @return array containing Q(a, x[i])
+     * @throws MaxCountExceededException if the algorithm fails to converge.
+     */
+    public double[] regularizedGammaQ(final double[] x) throws MaxCountExceededException {
+        final double[] q = new double[x.length];
+        for (int i = 0; i < x.length; ++i) {
+            q[i] = regularizedGammaQ(x[i]);
+        }
+        return q;
+    }
+
+    /**
+     * Build an interpolation table for P(a, x).
+     *
+     * @param lower lower bound of the tabulated interval
+     * @param upper upper bound of the tabulated interval
+     * @param nbIntervals number of grid intervals
+     * @param maxError maximal interpolation error allowed
+     * @return interpolation table for P(a, x)
+     * @throws NumberIsTooSmallException if {@code lower < 0}
+     * @throws NumberIsTooLargeException if {@code lower >= upper}
+     * @throws NotStrictlyPositiveException if {@code nbIntervals <= 0}
+     * or {@code maxError <= 0}
+     */
+    public TabulatedFunction tabulateP(final double lower, final double upper,
+                                       final int nbIntervals, final double maxError)
+        throws NumberIsTooSmallException, NumberIsTooLargeException, NotStrictlyPositiveException {
+        checkLowerBound(lower);
+        return new TabulatedFunction(new UnivariateFunction() {
+            /** {@inheritDoc} */
+            public double value(final double x) {
+                return regularizedGammaP(x);
+            }
+        }, new UnivariateFunction() {
+            /** {@inheritDoc} */
+            public double value(final double x) {
+                return density(x);
+            }
+        }, lower, upper, nbIntervals, maxError);
+    }
+
+    /**
+     * Build an interpolation table for Q(a, x).
+     *
+     * @param lower lower bound of the tabulated interval
+     * @param upper upper bound of the tabulated interval
+     * @param nbIntervals number of grid intervals
+     * @param maxError maximal interpolation error allowed
+     * @return interpolation table for Q(a, x)
+     * @throws NumberIsTooSmallException if {@code lower < 0}
+     * @throws NumberIsTooLargeException if {@code lower >= upper}
+     * @throws NotStrictlyPositiveException if {@code nbIntervals <= 0}
+     * or {@code maxError <= 0}
+     */
+    public TabulatedFunction tabulateQ(final double lower, final double upper,
+                                       final int nbIntervals, final double maxError)
+        throws NumberIsTooSmallException, NumberIsTooLargeException, NotStrictlyPositiveException {
+        checkLowerBound(lower);
+        return new TabulatedFunction(new UnivariateFunction() {
+            /** {@inheritDoc} */
+            public double value(final double x) {
+                return regularizedGammaQ(x);
+            }
+        }, new UnivariateFunction() {
+            /** {@inheritDoc} */
+            public double value(final double x) {
+                return -density(x);
+            }
+        }, lower, upper, nbIntervals, maxError);
+    }
+
+    /** Check the lower bound of a tabulated interval.
+     * @param lower lower bound of the tabulated interval
+     * @throws NumberIsTooSmallException if {@code lower < 0}
+     */
+    private static void checkLowerBound(final double lower) throws NumberIsTooSmallException {
+        if (lower < 0) {
+            throw new NumberIsTooSmallException(lower, 0, true);
+        }
+    }
+
+    /** Compute P(a, x) using the series expansion.
+     * @param x the value (must be strictly positive).
+     * @return the regularized gamma function P(a, x)
+     * @throws MaxCountExceededException if the algorithm fails to converge.
+     */
+    private double series(final double x) throws MaxCountExceededException {
+        double n = 0.0; // current element index
+        double an = 1.0 / a; // n-th element in the series
+        double sum = an; // partial sum
+        while (FastMath.abs(an/sum) > epsilon &&
+               n < maxIterations &&
+               sum < Double.POSITIVE_INFINITY) {
+            // compute next element in the series
+            n += 1.0;
+            an *= x / (a + n);
+
+            // update partial sum
+            sum += an;
+        }
+        if (n >= maxIterations) {
+            throw new MaxCountExceededException(maxIterations);
+        } else if (Double.isInfinite(sum)) {
+            return 1.0;
+        } else {
+            return FastMath.exp(-x + (a * FastMath.log(x)) - logGammaA) * sum;
+        }
+    }
+
+    /** Compute Q(a, x) using the continued fraction.
+     * @param x the value (must be strictly positive).
+     * @return the regularized gamma function Q(a, x)
+     * @throws MaxCountExceededException if the algorithm fails to converge.
+     */
+    private double continuedFraction(final double x) throws MaxCountExceededException {
+        final double ret = 1.0 / fraction.evaluate(x, epsilon, maxIterations);
+        return FastMath.exp(-x + (a * FastMath.log(x)) - logGammaA) * ret;
+    }
+
+    /** Compute the derivative of P(a, x) with respect to x.
+     * @param x the value.
+     * @return x<sup>a-1</sup> e<sup>-x</sup> / &Gamma;(a)
+     */
+    private double density(final double x) {
+        // for a = 1, x^(a-1) is 1 even at x = 0, where (a - 1) log(x) would be NaN
+        final double logPower = (a == 1) ? 0.0 : (a - 1) * FastMath.log(x);
+        return FastMath.exp(-x + logPower - logGammaA);
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.special;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Interpolation table for a special function over a fixed interval.
+ * <p>
+ * The function is sampled on a regular grid together with its exact
+ * derivative and evaluated between nodes by cubic Hermite interpolation.
+ * When the table is built, the interpolation error of each grid interval
+ * is checked against the exact function at its midpoint and quarter points,
+ * which is where the error of cubic Hermite interpolation peaks for smooth
+ * functions. Intervals where the check fails (for example near singularities
+ * of the derivative) are not interpolated: the exact function is evaluated
+ * there instead, as well as outside of the tabulated interval.
+ * </p>
+ * <p>
+ * The error bound is therefore an estimate based on the sampled points, not
+ * a strict guarantee. Instances are immutable and hence thread-safe.
+ * </p>
+ *
+ * @see RegularizedGamma#tabulateP(double, double, int, double)
+ * @see RegularizedGamma#tabulateQ(double, double, int, double)
+ * @see RegularizedBeta#tabulate(double, double, int, double)
+ * @since 3.7
+ */
+public class TabulatedFunction implements UnivariateFunction {
+
+    /** Exact function. */
+    private final UnivariateFunction function;
+
+    /** Lower bound of the tabulated interval. */
+    private final double lower;
+
+    /** Upper bound of the tabulated interval. */
+    private final double upper;
+
+    /** Inverse of the grid step. */
+    private final double inverseStep;
+
+    /** Function values at grid nodes. */
+    private final double[] values;
+
+    /** Function derivatives at grid nodes, multiplied by the grid step. */
+    private final double[] scaledDerivatives;
+
+    /** Indicator for intervals where the exact function must be used. */
+    private final boolean[] exact;
+
+    /** Number of intervals where the exact function is used. */
+    private final int nbExact;
+
+    /** Estimated maximal interpolation error. */
+    private final double maxError;
+
+    /**
+     * Build a table.
+     *
+     * @param function exact function
+     * @param derivative exact derivative of the function
+     * @param lower lower bound of the tabulated interval
+     * @param upper upper bound of the tabulated interval
+     * @param nbIntervals number of grid intervals
+     * @param maxError maximal interpolation error allowed
+     * @throws NumberIsTooLargeException if {@code lower >= upper}
+     * @throws NotStrictlyPositiveException if {@code nbIntervals <= 0}
+     * or {@code maxError <= 0}
+     */
+    TabulatedFunction(final UnivariateFunction function, final UnivariateFunction derivative,
+                      final double lower, final double upper,
+                      final int nbIntervals, final double maxError)
+        throws NumberIsTooLargeException, NotStrictlyPositiveException {
+
+        if (!(lower < upper)) {
+            throw new NumberIsTooLargeException(lower, upper, false);
+        }
+        if (nbIntervals <= 0) {
+            throw new NotStrictlyPositiveException(nbIntervals);
+        }
+        if (!(maxError > 0)) {
+            throw new NotStrictlyPositiveException(maxError);
+        }
+
+        this.function    = function;
+        this.lower       = lower;
+        this.upper       = upper;
+        this.maxError    = maxError;
+        final double step = (upper - lower) / nbIntervals;
+        this.inverseStep = nbIntervals / (upper - lower);
+
+        // sample the grid nodes
+        values            = new double[nbIntervals + 1];
+        scaledDerivatives = new double[nbIntervals + 1];
+        for (int i = 0; i <= nbIntervals; ++i) {
+            final double x = (i == nbIntervals) ? upper : lower + i * step;
+            values[i]            = function.value(x);
+            scaledDerivatives[i] = derivative.value(x) * step;
+        }
+
+        // check the interpolation error in each interval
+        exact = new boolean[nbIntervals];
+        int count = 0;
+        for (int i = 0; i < nbIntervals; ++i) {
+            final double x0 = lower + i * step;
+            for (int k = 1; k < 4 && !exact[i]; ++k) {
+                final double s     = 0.25 * k;
+                final double error = interpolate(i, s) - function.value(x0 + s * step);
+                if (!(FastMath.abs(error) <= maxError)) {
+                    exact[i] = true;
+                    ++count;
+                }
+            }
+        }
+        nbExact = count;
+
+    }
+
+    /** Get the lower bound of the tabulated interval.
+     * @return lower bound of the tabulated interval
+     */
+    public double getLowerBound() {
+        return lower;
+    }
+
+    /** Get the upper bound of the tabulated interval.
+     * @return upper bound of the tabulated interval
+     */
+    public double getUpperBound() {
+        return upper;
+    }
+
+    /** Get the number of grid intervals.
+     * @return number of grid intervals
+     */
+    public int getNbIntervals() {
+        return exact.length;
+    }
+
+    /** Get the number of grid intervals where the exact function is used.
+     * <p>
+     * If this number is a significant fraction of {@link #getNbIntervals()},
+     * the table should be built with more intervals or a larger error.
+     * </p>
+     * @return number of grid intervals where the exact function is used
+     */
+    public int getNbExactIntervals() {
+        return nbExact;
+    }
+
+    /** Get the estimated maximal interpolation error.
+     * @return estimated maximal interpolation error
+     */
+    public double getMaxError() {
+        return maxError;
+    }
+
+    /** {@inheritDoc} */
+    public double value(final double x) {
+
+        if (!(x >= lower && x <= upper)) {
+            // outside of the table (or NaN)
+            return function.value(x);
+        }
+
+        final double t = (x - lower) * inverseStep;
+        final int    i = FastMath.min((int) t, exact.length - 1);
+        return exact[i] ? function.value(x) : interpolate(i, t - i);
+
+    }
+
+    /** Evaluate the function at several points.
+     * @param x points at which the function must be evaluated
+     * @return array containing the function values at the points
+     */
+    public double[] value(final double[] x) {
+        final double[] y = new double[x.length];
+        for (int i = 0; i < x.length; ++i) {
+            y[i] = value(x[i]);
+        }
+        return y;
+    }
+
+    /** Interpolate within a grid interval.
+     * @param i index of the interval
+     * @param s normalized abscissa within the interval (between 0 and 1)
+     * @return interpolated value
+     */
+    private double interpolate(final int i, final double s) {
+        final double s1  = 1 - s;
+        final double h00 = (1 + 2 * s) * s1 * s1;
+        final double h10 = s * s1 * s1;
+        final double h01 = s * s * (3 - 2 * s);
+        final double h11 = -s * s * s1;
+        return h00 * values[i]     + h10 * scaledDerivatives[i] +
+               h01 * values[i + 1] + h11 * scaledDerivatives[i + 1];
+    }
+
+}
@@ -0,0 +1,519 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Thread-safe frequency distribution of integral values.
+ * <p>
+ * This class is a primitive counterpart of {@link Frequency} for int and long
+ * values: neither the values nor the counts are boxed. The counts are held in
+ * several stripes, each one being an open addressing hash table protected by
+ * its own lock. Each thread updates the stripe selected by its identifier, so
+ * threads counting the same values concurrently seldom compete for the same lock.
+ * </p>
+ * <p>
+ * Statistics like cumulative frequencies or modes are computed from an immutable
+ * {@link Snapshot}, which holds the values in increasing order together with
+ * their counts. Snapshots from different tables can be merged.
+ * </p>
+ *
+ * @since 3.7
+ */
+public class LongFrequency {
+
+    /** Initial capacity of the stripes hash tables. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Multiplier for hashing values (golden ratio). */
+    private static final long HASH_MULTIPLIER = 0x9e3779b97f4a7c15l;
+
+    /** Stripes holding the counts. */
+    private final Stripe[] stripes;
+
+    /**
+     * Build a table with one stripe per available processor.
+     */
+    public LongFrequency() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Build a table with a specified number of stripes.
+     * <p>
+     * The number of stripes is rounded up to the next power of two.
+     * </p>
+     *
+     * @param nbStripes number of stripes (should be at least the
+     * number of threads updating the table concurrently)
+     * @throws NotStrictlyPositiveException if the number of stripes is not strictly positive
+     */
+    public LongFrequency(final int nbStripes) throws NotStrictlyPositiveException {
+        if (nbStripes <= 0) {
+            throw new NotStrictlyPositiveException(LocalizedFormats.NUMBER_OF_ELEMENTS_SHOULD_BE_POSITIVE,
+                                                   nbStripes);
+        }
+        int n = 1;
+        while (n < nbStripes) {
+            n <<= 1;
+        }
+        stripes = new Stripe[n];
+        for (int i = 0; i < n; ++i) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Get the number of stripes.
+     *
+     * @return number of stripes
+     */
+    public int getNbStripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Adds 1 to the frequency count for v.
+     *
+     * @param v the value to add
+     */
+    public void addValue(final long v) {
+        incrementValue(v, 1);
+    }
+
+    /**
+     * Increments the frequency count for v.
+     *
+     * @param v the value to add
+     * @param increment the amount by which the value should be incremented
+     */
+    public void incrementValue(final long v, final long increment) {
+        final Stripe stripe = stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+        synchronized (stripe) {
+            stripe.increment(v, increment);
+        }
+    }
+
+    /**
+     * Adds all the counts of a snapshot to this table.
+     *
+     * @param snapshot snapshot to add
+     * @throws NullArgumentException if {@code snapshot} is null
+     */
+    public void merge(final Snapshot snapshot) throws NullArgumentException {
+        MathUtils.checkNotNull(snapshot, LocalizedFormats.NULL_NOT_ALLOWED);
+        final Stripe stripe = stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+        synchronized (stripe) {
+            for (int i = 0; i < snapshot.values.length; ++i) {
+                stripe.increment(snapshot.values[i], snapshot.counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Clears the frequency table.
+     */
+    public void clear() {
+        for (final Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of values equal to v.
+     *
+     * @param v the value to lookup
+     * @return the frequency of v
+     */
+    public long getCount(final long v) {
+        long count = 0;
+        for (final Stripe stripe : stripes) {
+            synchronized (stripe) {
+                count += stripe.get(v);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of all frequencies.
+     *
+     * @return the total frequency count
+     */
+    public long getSumFreq() {
+        long sum = 0;
+        for (final Stripe stripe : stripes) {
+            synchronized (stripe) {
+                sum += stripe.sumFreq;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Get a snapshot of the current counts.
+     * <p>
+     * Each stripe is copied atomically, but updates may occur between
+     * stripes copies if the table is updated concurrently.
+     * </p>
+     *
+     * @return snapshot of the current counts
+     */
+    public Snapshot getSnapshot() {
+        Snapshot snapshot = new Snapshot(new long[0], new long[0]);
+        for (final Stripe stripe : stripes) {
+            final long[] values;
+            final long[] counts;
+            synchronized (stripe) {
+                values = stripe.sortedValues();
+                counts = new long[values.length];
+                for (int i = 0; i < values.length; ++i) {
+                    counts[i] = stripe.get(values[i]);
+                }
+            }
+            snapshot = snapshot.merge(new Snapshot(values, counts));
+        }
+        return snapshot;
+    }
+
+    /** Open addressing hash table from values to counts. */
+    private static class Stripe {
+
+        /** Values. */
+        private long[] keys;
+
+        /** Counts. */
+        private long[] counts;
+
+        /** Occupied slots. */
+        private boolean[] used;
+
+        /** Number of occupied slots. */
+        private int size;
+
+        /** Sum of the counts. */
+        private long sumFreq;
+
+        /** Simple constructor.
+         */
+        Stripe() {
+            clear();
+        }
+
+        /** Clear the table.
+         */
+        void clear() {
+            keys    = new long[INITIAL_CAPACITY];
+            counts  = new long[INITIAL_CAPACITY];
+            used    = new boolean[INITIAL_CAPACITY];
+            size    = 0;
+            sumFreq = 0;
+        }
+
+        /** Find the slot of a value.
+         * @param v value
+         * @return slot holding the value, or free slot where it should be inserted
+         */
+        private int slot(final long v) {
+            final int mask = keys.length - 1;
+            int i = (int) ((v * HASH_MULTIPLIER) >>> 32) & mask;
+            while (used[i] && keys[i] != v) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        /** Get the count of a value.
+         * @param v value
+         * @return count of the value
+         */
+        long get(final long v) {
+            final int i = slot(v);
+            return used[i] ? counts[i] : 0;
+        }
+
+        /** Increment the count of a value.
+         * @param v value
+         * @param increment increment of the count
+         */
+        void increment(final long v, final long increment) {
+            int i = slot(v);
+            if (!used[i]) {
+                if (2 * (size + 1) > keys.length) {
+                    grow();
+                    i = slot(v);
+                }
+                used[i] = true;
+                keys[i] = v;
+                ++size;
+            }
+            counts[i] += increment;
+            sumFreq   += increment;
+        }
+
+        /** Double the capacity of the table.
+         */
+        private void grow() {
+            final long[]    oldKeys   = keys;
+            final long[]    oldCounts = counts;
+            final boolean[] oldUsed   = used;
+            keys   = new long[2 * oldKeys.length];
+            counts = new long[2 * oldKeys.length];
+            used   = new boolean[2 * oldKeys.length];
+            for (int j = 0; j < oldKeys.length; ++j) {
+                if (oldUsed[j]) {
+                    final int i = slot(oldKeys[j]);
+                    used[i]   = true;
+                    keys[i]   = oldKeys[j];
+                    counts[i] = oldCounts[j];
+                }
+            }
+        }
+
+        /** Get the values in increasing order.
+         * @return sorted values
+         */
+        long[] sortedValues() {
+            final long[] values = new long[size];
+            int k = 0;
+            for (int i = 0; i < keys.length; ++i) {
+                if (used[i]) {
+                    values[k++] = keys[i];
+                }
+            }
+            Arrays.sort(values);
+            return values;
+        }
+
+    }
+
+    /**
+     * Immutable snapshot of a frequency distribution.
+     * <p>
+     * The values are sorted in increasing order, so cumulative statistics
+     * are computed using binary searches.
+     * </p>
+     */
+    public static class Snapshot implements Serializable {
+
+        /** Serializable version identifier. */
+        private static final long serialVersionUID = 20161018L;
+
+        /** Values, in increasing order. */
+        private final long[] values;
+
+        /** Counts of the values. */
+        private final long[] counts;
+
+        /** Cumulative counts of the values. */
+        private final long[] cumulative;
+
+        /**
+         * Simple constructor.
+         *
+         * @param values values, in increasing order (stored by reference)
+         * @param counts counts of the values (stored by reference)
+         */
+        private Snapshot(final long[] values, final long[] counts) {
+            this.values     = values;
+            this.counts     = counts;
+            this.cumulative = new long[values.length];
+            long sum = 0;
+            for (int i = 0; i < values.length; ++i) {
+                sum += counts[i];
+                cumulative[i] = sum;
+            }
+        }
+
+        /**
+         * Merge this snapshot with another one.
+         *
+         * @param other other snapshot
+         * @return a new snapshot holding the sum of both counts
+         * @throws NullArgumentException if {@code other} is null
+         */
+        public Snapshot merge(final Snapshot other) throws NullArgumentException {
+            MathUtils.checkNotNull(other, LocalizedFormats.NULL_NOT_ALLOWED);
+            final long[] mergedValues = new long[values.length + other.values.length];
+            final long[] mergedCounts = new long[mergedValues.length];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < values.length || j < other.values.length) {
+                if (j == other.values.length || (i < values.length && values[i] < other.values[j])) {
+                    mergedValues[k]   = values[i];
+                    mergedCounts[k++] = counts[i++];
+                } else if (i == values.length || other.values[j] < values[i]) {
+                    mergedValues[k]   = other.values[j];
+                    mergedCounts[k++] = other.counts[j++];
+                } else {
+                    mergedValues[k]   = values[i];
+                    mergedCounts[k++] = counts[i++] + other.counts[j++];
+                }
+            }
+            if (k == mergedValues.length) {
+                return new Snapshot(mergedValues, mergedCounts);
+            }
+            final long[] trimmedValues = new long[k];
+            final long[] trimmedCounts = new long[k];
+            System.arraycopy(mergedValues, 0, trimmedValues, 0, k);
+            System.arraycopy(mergedCounts, 0, trimmedCounts, 0, k);
+            return new Snapshot(trimmedValues, trimmedCounts);
+        }
+
+        /**
+         * Returns the number of values in the frequency table.
+         *
+         * @return the number of unique values that have been added to the frequency table.
+         */
+        public int getUniqueCount() {
+            return values.length;
+        }
+
+        /**
+         * Returns the value at the specified index in increasing values order.
+         *
+         * @param index index of the value, between 0 and {@link #getUniqueCount()} - 1
+         * @return value at index
+         */
+        public long getValue(final int index) {
+            return values[index];
+        }
+
+        /**
+         * Returns the sum of all frequencies.
+         *
+         * @return the total frequency count
+         */
+        public long getSumFreq() {
+            return (cumulative.length == 0) ? 0 : cumulative[cumulative.length - 1];
+        }
+
+        /**
+         * Returns the number of values equal to v.
+         *
+         * @param v the value to lookup
+         * @return the frequency of v
+         */
+        public long getCount(final long v) {
+            final int index = Arrays.binarySearch(values, v);
+            return (index < 0) ? 0 : counts[index];
+        }
+
+        /**
+         * Returns the percentage of values that are equal to v
+         * (as a proportion between 0 and 1).
+         * <p>
+         * Returns <code>Double.NaN</code> if no values have been added.</p>
+         *
+         * @param v the value to lookup
+         * @return the proportion of values equal to v
+         */
+        public double getPct(final long v) {
+            final long sumFreq = getSumFreq();
+            if (sumFreq == 0) {
+                return Double.NaN;
+            }
+            return (double) getCount(v) / (double) sumFreq;
+        }
+
+        /**
+         * Returns the cumulative frequency of values less than or equal to v.
+         *
+         * @param v the value to lookup
+         * @return the number of values less than or equal to v
+         */
+        public long getCumFreq(final long v) {
+            final int index = Arrays.binarySearch(values, v);
+            final int last  = (index < 0) ? -index - 2 : index;
+            return (last < 0) ? 0 : cumulative[last];
+        }
+
+        /**
+         * Returns the cumulative percentage of values less than or equal to v
+         * (as a proportion between 0 and 1).
+         * <p>
+         * Returns <code>Double.NaN</code> if no values have been added.</p>
+         *
+         * @param v the value to lookup
+         * @return the proportion of values less than or equal to v
+         */
+        public double getCumPct(final long v) {
+            final long sumFreq = getSumFreq();
+            if (sumFreq == 0) {
+                return Double.NaN;
+            }
+            return (double) getCumFreq(v) / (double) sumFreq;
+        }
+
+        /**
+         * Returns the mode value(s) in increasing order.
+         * <p>
+         * Values with a zero count are never modes, so an empty
+         * array is returned if no values have been added.</p>
+         *
+         * @return the value(s) which appear most often
+         */
+        public long[] getMode() {
+            long mostPopular = 0;
+            int  nbModes     = 0;
+            for (final long count : counts) {
+                if (count > mostPopular) {
+                    mostPopular = count;
+                    nbModes     = 1;
+                } else if (count == mostPopular && count > 0) {
+                    ++nbModes;
+                }
+            }
+            if (nbModes == 0) {
+                return new long[0];
+            }
+            final long[] modes = new long[nbModes];
+            int k = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                if (counts[i] == mostPopular) {
+                    modes[k++] = values[i];
+                }
+            }
+            return modes;
+        }
+
+        /**
+         * Convert the snapshot to a {@link Frequency} instance.
+         *
+         * @return a new frequency distribution with the same counts
+         */
+        public Frequency toFrequency() {
+            final Frequency frequency = new Frequency();
+            for (int i = 0; i < values.length; ++i) {
+                frequency.incrementValue(values[i], counts[i]);
+            }
+            return frequency;
+        }
+
+    }
+
+}
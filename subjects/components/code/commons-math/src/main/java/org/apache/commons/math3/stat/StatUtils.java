@@ -16,9 +16,13 @@
  */
 package org.apache.commons.math3.stat;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
 import org.apache.commons.math3.exception.NotPositiveException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooSmallException;
@@ -26,6 +30,7 @@ import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.commons.math3.stat.descriptive.DescriptiveSummary;
 import org.apache.commons.math3.stat.descriptive.UnivariateStatistic;
 import org.apache.commons.math3.stat.descriptive.moment.GeometricMean;
 import org.apache.commons.math3.stat.descriptive.moment.Mean;
@@ -37,6 +42,9 @@ import org.apache.commons.math3.stat.descriptive.summary.Product;
 import org.apache.commons.math3.stat.descriptive.summary.Sum;
 import org.apache.commons.math3.stat.descriptive.summary.SumOfLogs;
 import org.apache.commons.math3.stat.descriptive.summary.SumOfSquares;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.ParallelTasks;
 
 /**
  * StatUtils provides static methods for computing statistics based on data
@@ -45,6 +53,15 @@ import org.apache.commons.math3.stat.descriptive.summary.SumOfSquares;
  */
 public final class StatUtils {
 
+    /** Minimum number of elements for computing {@link #summary(double[], int, int, ExecutorService) summaries}
+     * in parallel.
+     * @since 3.7
+     */
+    public static final int SUMMARY_PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Number of elements per chunk for parallel summaries. */
+    private static final int SUMMARY_CHUNK_LENGTH = SUMMARY_PARALLEL_THRESHOLD / 2;
+
     /** sum */
     private static final UnivariateStatistic SUM = new Sum();
 
@@ -629,6 +646,103 @@ public final class StatUtils {
         return MIN.evaluate(values, begin, length);
     }
 
+    /**
+     * Returns the summary of the values in the input array, computed in one pass.
+     * <p>
+     * The summary holds the count, sum, sum of squares, sum of logs, extrema
+     * and central moments up to order four, which allows to get the mean,
+     * variance, skewness, kurtosis and geometric mean without going through
+     * the data several times.</p>
+     * <p>
+     * Throws <code>MathIllegalArgumentException</code> if the array is null.</p>
+     *
+     * @param values the input array
+     * @return the summary of the values
+     * @throws MathIllegalArgumentException if the array is null
+     * @since 3.7
+     */
+    public static DescriptiveSummary summary(final double[] values)
+        throws MathIllegalArgumentException {
+        return new DescriptiveSummary(values);
+    }
+
+    /**
+     * Returns the summary of the entries in the specified portion of the
+     * input array, computed in one pass.
+     * <p>
+     * Throws <code>MathIllegalArgumentException</code> if the array is null or
+     * the array index parameters are not valid.</p>
+     *
+     * @param values the input array
+     * @param begin index of the first array element to include
+     * @param length the number of elements to include
+     * @return the summary of the values
+     * @throws MathIllegalArgumentException if the array is null or the array index
+     * parameters are not valid
+     * @see #summary(double[])
+     * @since 3.7
+     */
+    public static DescriptiveSummary summary(final double[] values, final int begin, final int length)
+        throws MathIllegalArgumentException {
+        return new DescriptiveSummary(values, begin, length);
+    }
+
+    /**
+     * Returns the summary of the entries in the specified portion of the
+     * input array, computed in one pass using an executor.
+     * <p>
+     * If the portion has at least {@link #SUMMARY_PARALLEL_THRESHOLD} elements,
+     * it is split in chunks of fixed size, the chunks are summarized in parallel
+     * and the chunks summaries are merged in order. The chunks do not depend on
+     * the executor, so the result is the same for all executors, but as the partial
+     * results are combined in a different order, the moments may differ in the last
+     * bits from the ones computed in a single pass.</p>
+     * <p>
+     * The executor is not shut down by this method and can be shared with other tasks.</p>
+     * <p>
+     * Throws <code>MathIllegalArgumentException</code> if the array is null or
+     * the array index parameters are not valid.</p>
+     *
+     * @param values the input array
+     * @param begin index of the first array element to include
+     * @param length the number of elements to include
+     * @param executor executor for the chunks (null to summarize them in the calling thread)
+     * @return the summary of the values
+     * @throws MathIllegalArgumentException if the array is null or the array index
+     * parameters are not valid
+     * @throws MathIllegalStateException if the calling thread is interrupted
+     * while waiting for the chunks
+     * @see #summary(double[])
+     * @since 3.7
+     */
+    public static DescriptiveSummary summary(final double[] values, final int begin, final int length,
+                                             final ExecutorService executor)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        MathArrays.verifyValues(values, begin, length, true);
+        if (executor == null || length < SUMMARY_PARALLEL_THRESHOLD) {
+            return new DescriptiveSummary(values, begin, length);
+        }
+
+        final List<Callable<DescriptiveSummary>> tasks = new ArrayList<Callable<DescriptiveSummary>>();
+        for (int from = begin; from < begin + length; from += SUMMARY_CHUNK_LENGTH) {
+            final int chunkBegin  = from;
+            final int chunkLength = FastMath.min(SUMMARY_CHUNK_LENGTH, begin + length - from);
+            tasks.add(new Callable<DescriptiveSummary>() {
+                /** {@inheritDoc} */
+                public DescriptiveSummary call() {
+                    return new DescriptiveSummary(values, chunkBegin, chunkLength);
+                }
+            });
+        }
+        DescriptiveSummary summary = null;
+        for (final DescriptiveSummary chunk : ParallelTasks.invokeAll(executor, tasks)) {
+            summary = (summary == null) ? chunk : summary.merge(chunk);
+        }
+        return summary;
+
+    }
+
     /**
      * Returns an estimate of the <code>p</code>th percentile of the values
      * in the <code>values</code> array.
@@ -0,0 +1,402 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.descriptive;
+
+import java.io.Serializable;
+
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Value object holding the count, sums, extrema and central moments up to
+ * order four of a set of values, computed in one pass over the data.
+ * <p>
+ * The values are processed in small blocks that stay in cache. The central
+ * moments of each block are computed with two passes over the block, around
+ * the block mean, and the blocks are combined using the pairwise update
+ * formulas from Chan et al. and Pébay. This is as accurate as the two-pass
+ * algorithms used by {@link org.apache.commons.math3.stat.descriptive.moment.Variance},
+ * while reading the data only once from memory.
+ * </p>
+ * <p>
+ * Summaries of disjoint sets of values can be combined using {@link #merge(DescriptiveSummary)}.
+ * The statistics follow the conventions of the corresponding
+ * {@link SummaryStatistics} statistics, in particular {@code NaN} values are
+ * ignored by the minimum and maximum, unless all values are {@code NaN}.
+ * </p>
+ *
+ * @see org.apache.commons.math3.stat.StatUtils#summary(double[], int, int, java.util.concurrent.ExecutorService)
+ * @since 3.7
+ */
+public class DescriptiveSummary implements StatisticalSummary, Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20161018L;
+
+    /** Number of values processed with two passes before being merged. */
+    private static final int BLOCK_SIZE = 1024;
+
+    /** Number of values. */
+    private final long n;
+
+    /** Mean of the values. */
+    private final double mean;
+
+    /** Sum of squares of deviations from the mean. */
+    private final double m2;
+
+    /** Sum of cubes of deviations from the mean. */
+    private final double m3;
+
+    /** Sum of fourth powers of deviations from the mean. */
+    private final double m4;
+
+    /** Sum of the values. */
+    private final double sum;
+
+    /** Sum of the squares of the values. */
+    private final double sumSq;
+
+    /** Sum of the natural logarithms of the values. */
+    private final double sumLog;
+
+    /** Minimum value. */
+    private final double min;
+
+    /** Maximum value. */
+    private final double max;
+
+    /**
+     * Compute the summary of an array.
+     *
+     * @param values the input array
+     * @throws NullArgumentException if the array is null
+     */
+    public DescriptiveSummary(final double[] values) throws NullArgumentException {
+        this(checkNotNull(values), 0, values.length);
+    }
+
+    /**
+     * Compute the summary of a portion of an array.
+     *
+     * @param values the input array
+     * @param begin index of the first array element to include
+     * @param length the number of elements to include
+     * @throws MathIllegalArgumentException if the array is null or the array index
+     * parameters are not valid
+     */
+    public DescriptiveSummary(final double[] values, final int begin, final int length)
+        throws MathIllegalArgumentException {
+
+        MathArrays.verifyValues(values, begin, length, true);
+
+        DescriptiveSummary summary = new DescriptiveSummary(0, Double.NaN, 0, 0, 0, 0, 0, 0,
+                                                            Double.NaN, Double.NaN);
+        for (int from = begin; from < begin + length; from += BLOCK_SIZE) {
+            summary = summary.merge(block(values, from, FastMath.min(from + BLOCK_SIZE, begin + length)));
+        }
+
+        this.n      = summary.n;
+        this.mean   = summary.mean;
+        this.m2     = summary.m2;
+        this.m3     = summary.m3;
+        this.m4     = summary.m4;
+        this.sum    = summary.sum;
+        this.sumSq  = summary.sumSq;
+        this.sumLog = summary.sumLog;
+        this.min    = summary.min;
+        this.max    = summary.max;
+
+    }
+
+    /**
+     * Simple constructor.
+     *
+     * @param n number of values
+     * @param mean mean of the values
+     * @param m2 sum of squares of deviations from the mean
+     * @param m3 sum of cubes of deviations from the mean
+     * @param m4 sum of fourth powers of deviations from the mean
+     * @param sum sum of the values
+     * @param sumSq sum of the squares of the values
+     * @param sumLog sum of the natural logarithms of the values
+     * @param min minimum value
+     * @param max maximum value
+     */
+    private DescriptiveSummary(final long n, final double mean,
+                               final double m2, final double m3, final double m4,
+                               final double sum, final double sumSq, final double sumLog,
+                               final double min, final double max) {
+        this.n      = n;
+        this.mean   = mean;
+        this.m2     = m2;
+        this.m3     = m3;
+        this.m4     = m4;
+        this.sum    = sum;
+        this.sumSq  = sumSq;
+        this.sumLog = sumLog;
+        this.min    = min;
+        this.max    = max;
+    }
+
+    /**
+     * Check an array is not null.
+     *
+     * @param values array to check
+     * @return the array
+     * @throws NullArgumentException if the array is null
+     */
+    private static double[] checkNotNull(final double[] values) throws NullArgumentException {
+        MathUtils.checkNotNull(values);
+        return values;
+    }
+
+    /**
+     * Compute the summary of one block.
+     *
+     * @param values the input array
+     * @param from index of the first element of the block (inclusive)
+     * @param to index of the last element of the block (exclusive)
+     * @return summary of the block
+     */
+    private static DescriptiveSummary block(final double[] values, final int from, final int to) {
+
+        // first pass: sums and extrema
+        double s     = 0;
+        double sSq   = 0;
+        double sLog  = 0;
+        double bMin  = Double.NaN;
+        double bMax  = Double.NaN;
+        for (int i = from; i < to; ++i) {
+            final double x = values[i];
+            s    += x;
+            sSq  += x * x;
+            sLog += FastMath.log(x);
+            if (x < bMin || Double.isNaN(bMin)) {
+                bMin = x;
+            }
+            if (x > bMax || Double.isNaN(bMax)) {
+                bMax = x;
+            }
+        }
+
+        // second pass: power sums of deviations from the approximate mean
+        final int    count = to - from;
+        final double a     = s / count;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        double s4 = 0;
+        for (int i = from; i < to; ++i) {
+            final double d  = values[i] - a;
+            final double d2 = d * d;
+            s1 += d;
+            s2 += d2;
+            s3 += d2 * d;
+            s4 += d2 * d2;
+        }
+
+        // shift the moments to the corrected mean a + c
+        final double c  = s1 / count;
+        final double c2 = c * c;
+        return new DescriptiveSummary(count, a + c,
+                                      s2 - c * s1,
+                                      s3 - 3 * c * s2 + 2 * count * c2 * c,
+                                      s4 - 4 * c * s3 + 6 * c2 * s2 - 3 * count * c2 * c2,
+                                      s, sSq, sLog, bMin, bMax);
+
+    }
+
+    /**
+     * Merge this summary with the summary of another set of values.
+     *
+     * @param other summary of the other set of values
+     * @return summary of the union of both sets of values
+     * @throws NullArgumentException if other is null
+     */
+    public DescriptiveSummary merge(final DescriptiveSummary other) throws NullArgumentException {
+
+        MathUtils.checkNotNull(other);
+        if (other.n == 0) {
+            return this;
+        } else if (n == 0) {
+            return other;
+        }
+
+        final double na    = n;
+        final double nb    = other.n;
+        final double nab   = na + nb;
+        final double delta = other.mean - mean;
+        final double d     = delta / nab;
+        final double d2    = d * d;
+        final double nanb  = na * nb;
+
+        final double mergedM2 = m2 + other.m2 + delta * d * nanb;
+        final double mergedM3 = m3 + other.m3 +
+                                d2 * delta * nanb * (na - nb) +
+                                3 * d * (na * other.m2 - nb * m2);
+        final double mergedM4 = m4 + other.m4 +
+                                d2 * d * delta * nanb * (na * na - nanb + nb * nb) +
+                                6 * d2 * (na * na * other.m2 + nb * nb * m2) +
+                                4 * d * (na * other.m3 - nb * m3);
+
+        return new DescriptiveSummary(n + other.n, mean + nb * d,
+                                      mergedM2, mergedM3, mergedM4,
+                                      sum + other.sum, sumSq + other.sumSq, sumLog + other.sumLog,
+                                      (other.min < min || Double.isNaN(min)) ? other.min : min,
+                                      (other.max > max || Double.isNaN(max)) ? other.max : max);
+
+    }
+
+    /** {@inheritDoc} */
+    public long getN() {
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Returns the (sample) variance of the values.
+     * <p>
+     * This method returns the bias-corrected sample variance (using {@code n - 1} in
+     * the denominator), 0 for a single value and {@code Double.NaN} if there are no values.
+     * </p>
+     *
+     * @return the variance
+     */
+    public double getVariance() {
+        if (n == 0) {
+            return Double.NaN;
+        }
+        return (n == 1) ? 0.0 : m2 / (n - 1);
+    }
+
+    /**
+     * Returns the <a href="http://en.wikibooks.org/wiki/Statistics/Summary/Variance">
+     * population variance</a> of the values, or {@code Double.NaN} if there are no values.
+     *
+     * @return the population variance
+     */
+    public double getPopulationVariance() {
+        return (n == 0) ? Double.NaN : m2 / n;
+    }
+
+    /**
+     * Returns the (sample) standard deviation of the values.
+     *
+     * @return the standard deviation
+     * @see #getVariance()
+     */
+    public double getStandardDeviation() {
+        return FastMath.sqrt(getVariance());
+    }
+
+    /**
+     * Returns the sum of squared deviations of the values from their mean.
+     *
+     * @return the second central moment (not divided by the number of values)
+     */
+    public double getSecondMoment() {
+        return (n == 0) ? Double.NaN : m2;
+    }
+
+    /**
+     * Returns the skewness of the values, computed as in
+     * {@link org.apache.commons.math3.stat.descriptive.moment.Skewness}.
+     *
+     * @return the skewness, or {@code Double.NaN} if there are less than 3 values
+     */
+    public double getSkewness() {
+        if (n < 3) {
+            return Double.NaN;
+        }
+        final double variance = m2 / (n - 1);
+        if (variance < 10E-20) {
+            return 0.0;
+        }
+        final double n0 = n;
+        return (n0 * m3) / ((n0 - 1) * (n0 - 2) * FastMath.sqrt(variance) * variance);
+    }
+
+    /**
+     * Returns the kurtosis of the values, computed as in
+     * {@link org.apache.commons.math3.stat.descriptive.moment.Kurtosis}.
+     *
+     * @return the kurtosis, or {@code Double.NaN} if there are less than 4 values
+     */
+    public double getKurtosis() {
+        if (n < 4) {
+            return Double.NaN;
+        }
+        final double variance = m2 / (n - 1);
+        if (variance < 10E-20) {
+            return 0.0;
+        }
+        final double n0 = n;
+        return (n0 * (n0 + 1) * m4 - 3 * m2 * m2 * (n0 - 1)) /
+               ((n0 - 1) * (n0 - 2) * (n0 - 3) * variance * variance);
+    }
+
+    /** {@inheritDoc} */
+    public double getMin() {
+        return min;
+    }
+
+    /** {@inheritDoc} */
+    public double getMax() {
+        return max;
+    }
+
+    /** {@inheritDoc} */
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the sum of the squares of the values.
+     *
+     * @return the sum of squares
+     */
+    public double getSumsq() {
+        return sumSq;
+    }
+
+    /**
+     * Returns the sum of the natural logarithms of the values.
+     *
+     * @return the sum of logs
+     */
+    public double getSumOfLogs() {
+        return sumLog;
+    }
+
+    /**
+     * Returns the geometric mean of the values, or {@code Double.NaN} if there are no values.
+     *
+     * @return the geometric mean
+     */
+    public double getGeometricMean() {
+        return (n == 0) ? Double.NaN : FastMath.exp(sumLog / n);
+    }
+
+}
@@ -19,6 +19,7 @@ package org.apache.commons.math3.stat.descriptive;
 import java.io.Serializable;
 
 import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.stat.descriptive.moment.GeometricMean;
@@ -373,6 +374,58 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         }
     }
 
+    /**
+     * Aggregates the statistics of another instance into this one.
+     * <p>
+     * After this call, this instance holds the statistics of the union of
+     * both sets of values, as if all of them had been added to it. The
+     * {@code other} instance is not modified. This allows for example to
+     * compute partial statistics in several threads and to merge them
+     * afterwards.
+     * </p>
+     * <p>
+     * Aggregation is only supported when both instances use the default
+     * statistics implementations.
+     * </p>
+     *
+     * @param other the instance to aggregate
+     * @throws NullArgumentException if other is null
+     * @throws MathUnsupportedOperationException if one of the instances
+     * uses a custom statistic implementation
+     * @since 3.7
+     */
+    public void aggregate(SummaryStatistics other)
+        throws NullArgumentException, MathUnsupportedOperationException {
+        MathUtils.checkNotNull(other);
+        if (!(usesDefaultImplementations() && other.usesDefaultImplementations())) {
+            throw new MathUnsupportedOperationException();
+        }
+        ((Sum) sumImpl).aggregate((Sum) other.sumImpl);
+        ((SumOfSquares) sumsqImpl).aggregate((SumOfSquares) other.sumsqImpl);
+        ((Min) minImpl).aggregate((Min) other.minImpl);
+        ((Max) maxImpl).aggregate((Max) other.maxImpl);
+        ((SumOfLogs) sumLogImpl).aggregate((SumOfLogs) other.sumLogImpl);
+        secondMoment.aggregate(other.secondMoment);
+        n += other.n;
+    }
+
+    /**
+     * Check if all statistics use the default implementations, which can be aggregated.
+     * @return true if all statistics use the default implementations
+     */
+    private boolean usesDefaultImplementations() {
+        // mean, variance and geometric mean depend on embedded statistics,
+        // so they must be the internally created instances, as in copy
+        return sumImpl.getClass()    == Sum.class          &&
+               sumsqImpl.getClass()  == SumOfSquares.class &&
+               minImpl.getClass()    == Min.class          &&
+               maxImpl.getClass()    == Max.class          &&
+               sumLogImpl.getClass() == SumOfLogs.class    &&
+               meanImpl     == mean     &&
+               varianceImpl == variance &&
+               geoMeanImpl  == geoMean;
+    }
+
     /**
      * Returns true iff <code>object</code> is a
      * <code>SummaryStatistics</code> instance and all statistics have the
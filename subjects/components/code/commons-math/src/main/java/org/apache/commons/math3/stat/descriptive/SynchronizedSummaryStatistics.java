@@ -37,6 +37,9 @@ public class SynchronizedSummaryStatistics extends SummaryStatistics {
     /** Serialization UID */
     private static final long serialVersionUID = 1909861009042253704L;
 
+    /** Lock ordering the aggregation of instances with equal identity hash codes. */
+    private static final Object TIE_LOCK = new Object();
+
     /**
      * Construct a SynchronizedSummaryStatistics instance
      */
@@ -175,6 +178,44 @@ public class SynchronizedSummaryStatistics extends SummaryStatistics {
         super.clear();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If {@code other} is also a {@code SynchronizedSummaryStatistics}, both
+     * instances are locked during the aggregation, always in the same order,
+     * so that {@code other} can be updated concurrently.
+     * </p>
+     */
+    @Override
+    public void aggregate(SummaryStatistics other) {
+        if (other == this || !(other instanceof SynchronizedSummaryStatistics)) {
+            synchronized (this) {
+                super.aggregate(other);
+            }
+            return;
+        }
+        final int thisHash  = System.identityHashCode(this);
+        final int otherHash = System.identityHashCode(other);
+        if (thisHash == otherHash) {
+            // rare hash collision, serialize the locks acquisitions
+            synchronized (TIE_LOCK) {
+                synchronized (this) {
+                    synchronized (other) {
+                        super.aggregate(other);
+                    }
+                }
+            }
+        } else {
+            final Object first  = (thisHash < otherHash) ? this  : other;
+            final Object second = (thisHash < otherHash) ? other : this;
+            synchronized (first) {
+                synchronized (second) {
+                    super.aggregate(other);
+                }
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
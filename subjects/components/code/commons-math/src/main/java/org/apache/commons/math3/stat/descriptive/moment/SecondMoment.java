@@ -18,6 +18,7 @@ package org.apache.commons.math3.stat.descriptive.moment;
 
 import java.io.Serializable;
 
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.util.MathUtils;
 
@@ -104,6 +105,47 @@ public class SecondMoment extends FirstMoment implements Serializable {
         return m2;
     }
 
+    /**
+     * Aggregates the state of another {@code SecondMoment} instance into this one.
+     * <p>
+     * After this call, this instance holds the moment of the union of both
+     * sets of values, as if all of them had been added to it. The {@code other}
+     * instance is not modified. The update uses the pairwise formula from
+     * Chan, Golub and LeVeque, which is as stable as the incremental one.
+     * </p>
+     * <p>
+     * Sub-classes tracking higher order moments cannot be aggregated this way.
+     * </p>
+     *
+     * @param other the {@code SecondMoment} instance to aggregate
+     * @throws NullArgumentException if other is null
+     * @throws MathUnsupportedOperationException if either instance tracks higher order moments
+     * @since 3.7
+     */
+    public void aggregate(final SecondMoment other)
+        throws NullArgumentException, MathUnsupportedOperationException {
+        MathUtils.checkNotNull(other);
+        if (getClass() != SecondMoment.class || other.getClass() != SecondMoment.class) {
+            throw new MathUnsupportedOperationException();
+        }
+        if (other.n == 0) {
+            return;
+        }
+        if (n == 0) {
+            copy(other, this);
+            return;
+        }
+        final double n0    = n;
+        final double n1    = other.n;
+        final double delta = other.m1 - m1;
+        final double ratio = n1 / (n0 + n1);
+        m2  += other.m2 + delta * delta * n0 * ratio;
+        m1  += delta * ratio;
+        n   += other.n;
+        dev  = Double.NaN;
+        nDev = Double.NaN;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -141,6 +141,26 @@ public class Max extends AbstractStorelessUnivariateStatistic implements Seriali
         return max;
     }
 
+    /**
+     * Aggregates the state of another {@code Max} instance into this one.
+     * <p>
+     * After this call, this instance holds the maximum of the union of both
+     * sets of values, as if all of them had been added to it. The {@code other}
+     * instance is not modified.
+     * </p>
+     *
+     * @param other the {@code Max} instance to aggregate
+     * @throws NullArgumentException if other is null
+     * @since 3.7
+     */
+    public void aggregate(final Max other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        if (other.value > value || Double.isNaN(value)) {
+            value = other.value;
+        }
+        n += other.n;
+    }
+
     /**
      * {@inheritDoc}
      */
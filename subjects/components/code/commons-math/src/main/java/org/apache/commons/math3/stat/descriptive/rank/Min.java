@@ -141,6 +141,26 @@ public class Min extends AbstractStorelessUnivariateStatistic implements Seriali
         return min;
     }
 
+    /**
+     * Aggregates the state of another {@code Min} instance into this one.
+     * <p>
+     * After this call, this instance holds the minimum of the union of both
+     * sets of values, as if all of them had been added to it. The {@code other}
+     * instance is not modified.
+     * </p>
+     *
+     * @param other the {@code Min} instance to aggregate
+     * @throws NullArgumentException if other is null
+     * @since 3.7
+     */
+    public void aggregate(final Min other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        if (other.value < value || Double.isNaN(value)) {
+            value = other.value;
+        }
+        n += other.n;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -195,6 +195,24 @@ public class Sum extends AbstractStorelessUnivariateStatistic implements Seriali
         return evaluate(values, weights, 0, values.length);
     }
 
+    /**
+     * Aggregates the state of another {@code Sum} instance into this one.
+     * <p>
+     * After this call, this instance holds the sum of the union of both
+     * sets of values, as if all of them had been added to it. The {@code other}
+     * instance is not modified.
+     * </p>
+     *
+     * @param other the {@code Sum} instance to aggregate
+     * @throws NullArgumentException if other is null
+     * @since 3.7
+     */
+    public void aggregate(final Sum other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        value += other.value;
+        n     += other.n;
+    }
+
     /**
      * {@inheritDoc}
      */
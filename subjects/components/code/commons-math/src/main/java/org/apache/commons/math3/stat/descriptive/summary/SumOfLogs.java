@@ -140,6 +140,24 @@ public class SumOfLogs extends AbstractStorelessUnivariateStatistic implements S
         return sumLog;
     }
 
+    /**
+     * Aggregates the state of another {@code SumOfLogs} instance into this one.
+     * <p>
+     * After this call, this instance holds the sum of logs of the union of both
+     * sets of values, as if all of them had been added to it. The {@code other}
+     * instance is not modified.
+     * </p>
+     *
+     * @param other the {@code SumOfLogs} instance to aggregate
+     * @throws NullArgumentException if other is null
+     * @since 3.7
+     */
+    public void aggregate(final SumOfLogs other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        value += other.value;
+        n     += other.n;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -128,6 +128,24 @@ public class SumOfSquares extends AbstractStorelessUnivariateStatistic implement
         return sumSq;
     }
 
+    /**
+     * Aggregates the state of another {@code SumOfSquares} instance into this one.
+     * <p>
+     * After this call, this instance holds the sum of squares of the union of both
+     * sets of values, as if all of them had been added to it. The {@code other}
+     * instance is not modified.
+     * </p>
+     *
+     * @param other the {@code SumOfSquares} instance to aggregate
+     * @throws NullArgumentException if other is null
+     * @since 3.7
+     */
+    public void aggregate(final SumOfSquares other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        value += other.value;
+        n     += other.n;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -16,13 +16,15 @@
  */
 package org.apache.commons.math3.stat.inference;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math3.distribution.NormalDistribution;
 import org.apache.commons.math3.exception.ConvergenceException;
 import org.apache.commons.math3.exception.MaxCountExceededException;
 import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.stat.ranking.IndexRanking;
 import org.apache.commons.math3.stat.ranking.NaNStrategy;
-import org.apache.commons.math3.stat.ranking.NaturalRanking;
 import org.apache.commons.math3.stat.ranking.TiesStrategy;
 import org.apache.commons.math3.util.FastMath;
 
@@ -33,7 +35,7 @@ import org.apache.commons.math3.util.FastMath;
 public class MannWhitneyUTest {
 
     /** Ranking algorithm. */
-    private NaturalRanking naturalRanking;
+    private IndexRanking ranking;
 
     /**
      * Create a test instance using where NaN's are left in place and ties get
@@ -41,8 +43,7 @@ public class MannWhitneyUTest {
      * what you are doing.
      */
     public MannWhitneyUTest() {
-        naturalRanking = new NaturalRanking(NaNStrategy.FIXED,
-                TiesStrategy.AVERAGE);
+        ranking = new IndexRanking(NaNStrategy.FIXED, TiesStrategy.AVERAGE);
     }
 
     /**
@@ -56,7 +57,28 @@ public class MannWhitneyUTest {
      */
     public MannWhitneyUTest(final NaNStrategy nanStrategy,
                             final TiesStrategy tiesStrategy) {
-        naturalRanking = new NaturalRanking(nanStrategy, tiesStrategy);
+        ranking = new IndexRanking(nanStrategy, tiesStrategy);
+    }
+
+    /**
+     * Create a test instance using the given strategies for NaN's and ties,
+     * and ranking large samples on an executor.
+     * Only use this if you are sure of what you are doing.
+     *
+     * @param nanStrategy
+     *            specifies the strategy that should be used for Double.NaN's
+     * @param tiesStrategy
+     *            specifies the strategy that should be used for ties
+     * @param executor
+     *            executor for ranking samples with at least
+     *            {@link IndexRanking#PARALLEL_THRESHOLD} elements
+     *            (null to rank them in the calling thread)
+     * @since 3.7
+     */
+    public MannWhitneyUTest(final NaNStrategy nanStrategy,
+                            final TiesStrategy tiesStrategy,
+                            final ExecutorService executor) {
+        ranking = new IndexRanking(nanStrategy, tiesStrategy, executor);
     }
 
     /**
@@ -80,20 +102,6 @@ public class MannWhitneyUTest {
         }
     }
 
-    /** Concatenate the samples into one array.
-     * @param x first sample
-     * @param y second sample
-     * @return concatenated array
-     */
-    private double[] concatenateSamples(final double[] x, final double[] y) {
-        final double[] z = new double[x.length + y.length];
-
-        System.arraycopy(x, 0, z, 0, x.length);
-        System.arraycopy(y, 0, z, x.length, y.length);
-
-        return z;
-    }
-
     /**
      * Computes the <a
      * href="http://en.wikipedia.org/wiki/Mann%E2%80%93Whitney_U"> Mann-Whitney
@@ -127,14 +135,14 @@ public class MannWhitneyUTest {
 
         ensureDataConformance(x, y);
 
-        final double[] z = concatenateSamples(x, y);
-        final double[] ranks = naturalRanking.rank(z);
+        // rank the concatenation of x and y, without building it
+        final double[] ranks = ranking.rank(x, y);
 
         double sumRankX = 0;
 
         /*
          * The ranks for x is in the first x.length entries in ranks because x
-         * is in the first x.length entries in z
+         * is ranked first
          */
         for (int i = 0; i < x.length; ++i) {
             sumRankX += ranks[i];
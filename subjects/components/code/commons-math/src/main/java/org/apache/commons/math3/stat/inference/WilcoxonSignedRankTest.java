@@ -16,6 +16,8 @@
  */
 package org.apache.commons.math3.stat.inference;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math3.distribution.NormalDistribution;
 import org.apache.commons.math3.exception.ConvergenceException;
 import org.apache.commons.math3.exception.DimensionMismatchException;
@@ -23,8 +25,8 @@ import org.apache.commons.math3.exception.MaxCountExceededException;
 import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.stat.ranking.IndexRanking;
 import org.apache.commons.math3.stat.ranking.NaNStrategy;
-import org.apache.commons.math3.stat.ranking.NaturalRanking;
 import org.apache.commons.math3.stat.ranking.TiesStrategy;
 import org.apache.commons.math3.util.FastMath;
 
@@ -35,7 +37,7 @@ import org.apache.commons.math3.util.FastMath;
 public class WilcoxonSignedRankTest {
 
     /** Ranking algorithm. */
-    private NaturalRanking naturalRanking;
+    private IndexRanking ranking;
 
     /**
      * Create a test instance where NaN's are left in place and ties get
@@ -43,8 +45,7 @@ public class WilcoxonSignedRankTest {
      * of what you are doing.
      */
     public WilcoxonSignedRankTest() {
-        naturalRanking = new NaturalRanking(NaNStrategy.FIXED,
-                TiesStrategy.AVERAGE);
+        ranking = new IndexRanking(NaNStrategy.FIXED, TiesStrategy.AVERAGE);
     }
 
     /**
@@ -58,7 +59,28 @@ public class WilcoxonSignedRankTest {
      */
     public WilcoxonSignedRankTest(final NaNStrategy nanStrategy,
                                   final TiesStrategy tiesStrategy) {
-        naturalRanking = new NaturalRanking(nanStrategy, tiesStrategy);
+        ranking = new IndexRanking(nanStrategy, tiesStrategy);
+    }
+
+    /**
+     * Create a test instance using the given strategies for NaN's and ties,
+     * and ranking large samples on an executor.
+     * Only use this if you are sure of what you are doing.
+     *
+     * @param nanStrategy
+     *            specifies the strategy that should be used for Double.NaN's
+     * @param tiesStrategy
+     *            specifies the strategy that should be used for ties
+     * @param executor
+     *            executor for ranking samples with at least
+     *            {@link IndexRanking#PARALLEL_THRESHOLD} elements
+     *            (null to rank them in the calling thread)
+     * @since 3.7
+     */
+    public WilcoxonSignedRankTest(final NaNStrategy nanStrategy,
+                                  final TiesStrategy tiesStrategy,
+                                  final ExecutorService executor) {
+        ranking = new IndexRanking(nanStrategy, tiesStrategy, executor);
     }
 
     /**
@@ -88,46 +110,18 @@ public class WilcoxonSignedRankTest {
     }
 
     /**
-     * Calculates y[i] - x[i] for all i
+     * Calculates |y[i] - x[i]| for all i
      *
      * @param x first sample
      * @param y second sample
-     * @return z = y - x
+     * @return |y - x|
      */
-    private double[] calculateDifferences(final double[] x, final double[] y) {
+    private double[] calculateAbsoluteDifferences(final double[] x, final double[] y) {
 
-        final double[] z = new double[x.length];
+        final double[] zAbs = new double[x.length];
 
         for (int i = 0; i < x.length; ++i) {
-            z[i] = y[i] - x[i];
-        }
-
-        return z;
-    }
-
-    /**
-     * Calculates |z[i]| for all i
-     *
-     * @param z sample
-     * @return |z|
-     * @throws NullArgumentException if {@code z} is {@code null}
-     * @throws NoDataException if {@code z} is zero-length.
-     */
-    private double[] calculateAbsoluteDifferences(final double[] z)
-        throws NullArgumentException, NoDataException {
-
-        if (z == null) {
-            throw new NullArgumentException();
-        }
-
-        if (z.length == 0) {
-            throw new NoDataException();
-        }
-
-        final double[] zAbs = new double[z.length];
-
-        for (int i = 0; i < z.length; ++i) {
-            zAbs[i] = FastMath.abs(z[i]);
+            zAbs[i] = FastMath.abs(y[i] - x[i]);
         }
 
         return zAbs;
@@ -173,17 +167,15 @@ public class WilcoxonSignedRankTest {
 
         ensureDataConformance(x, y);
 
-        // throws IllegalArgumentException if x and y are not correctly
-        // specified
-        final double[] z = calculateDifferences(x, y);
-        final double[] zAbs = calculateAbsoluteDifferences(z);
-
-        final double[] ranks = naturalRanking.rank(zAbs);
+        // the absolute differences are replaced by their ranks, the signs
+        // of the differences are recomputed from the samples
+        final double[] ranks = calculateAbsoluteDifferences(x, y);
+        ranking.rankInPlace(ranks);
 
         double Wplus = 0;
 
-        for (int i = 0; i < z.length; ++i) {
-            if (z[i] > 0) {
+        for (int i = 0; i < ranks.length; ++i) {
+            if (y[i] - x[i] > 0) {
                 Wplus += ranks[i];
             }
         }
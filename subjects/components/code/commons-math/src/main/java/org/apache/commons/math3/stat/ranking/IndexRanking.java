@@ -0,0 +1,555 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.stat.ranking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math3.exception.MathInternalError;
+import org.apache.commons.math3.exception.NotANumberException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.random.RandomDataGenerator;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+import org.apache.commons.math3.util.ParallelTasks;
+
+/**
+ * Ranking based on the natural ordering on doubles, working on primitive arrays.
+ * <p>
+ * This class produces exactly the same ranks as {@link NaturalRanking} with the
+ * same strategies. Instead of sorting one object per element, it sorts an array
+ * of primitive keys holding the order of the values, together with an array of
+ * indices, using a stable merge sort. Large arrays can be sorted on a
+ * user-provided {@link ExecutorService executor}, each task sorting one chunk
+ * before the chunks are merged. The chunks do not depend on the executor, which
+ * is not shut down by this class and can be shared with other tasks.
+ * </p>
+ * <p>
+ * As in {@link NaturalRanking}, {@code -0.0} is ranked below {@code 0.0} and
+ * tied values are visited in increasing index order when resolving ties.
+ * </p>
+ *
+ * @since 3.7
+ */
+public class IndexRanking implements RankingAlgorithm {
+
+    /** Minimum number of elements for sorting on the executor. */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Number of elements per chunk when sorting on the executor. */
+    private static final int CHUNK_LENGTH = PARALLEL_THRESHOLD / 4;
+
+    /** Sort key of NaN values. */
+    private static final long NAN_KEY = key(Double.NaN);
+
+    /** Length of the runs sorted by insertion before merging. */
+    private static final int INSERTION_SORT_LENGTH = 32;
+
+    /** NaN strategy. */
+    private final NaNStrategy nanStrategy;
+
+    /** Ties strategy. */
+    private final TiesStrategy tiesStrategy;
+
+    /** Source of random data - used only when ties strategy is RANDOM. */
+    private final RandomDataGenerator randomData;
+
+    /** Executor for sorting large arrays (null for the calling thread). */
+    private final ExecutorService executor;
+
+    /**
+     * Create a ranking with default strategies for handling ties and NaNs,
+     * sorting in the calling thread.
+     */
+    public IndexRanking() {
+        this(NaturalRanking.DEFAULT_NAN_STRATEGY, NaturalRanking.DEFAULT_TIES_STRATEGY);
+    }
+
+    /**
+     * Create a ranking with the given strategies, sorting in the calling thread.
+     *
+     * @param nanStrategy NaNStrategy to use
+     * @param tiesStrategy TiesStrategy to use
+     */
+    public IndexRanking(final NaNStrategy nanStrategy, final TiesStrategy tiesStrategy) {
+        this(nanStrategy, tiesStrategy, null);
+    }
+
+    /**
+     * Create a ranking with the given strategies.
+     *
+     * @param nanStrategy NaNStrategy to use
+     * @param tiesStrategy TiesStrategy to use
+     * @param executor executor for sorting arrays with at least
+     * {@link #PARALLEL_THRESHOLD} elements (null to sort them in the calling thread)
+     */
+    public IndexRanking(final NaNStrategy nanStrategy, final TiesStrategy tiesStrategy,
+                        final ExecutorService executor) {
+        this(nanStrategy, tiesStrategy, new RandomDataGenerator(), executor);
+    }
+
+    /**
+     * Create a ranking with the given strategies and source of random data.
+     *
+     * @param nanStrategy NaNStrategy to use
+     * @param tiesStrategy TiesStrategy to use
+     * @param randomData source of random data, used only when ties strategy is RANDOM
+     * @param executor executor for sorting arrays with at least
+     * {@link #PARALLEL_THRESHOLD} elements (null to sort them in the calling thread)
+     */
+    IndexRanking(final NaNStrategy nanStrategy, final TiesStrategy tiesStrategy,
+                 final RandomDataGenerator randomData, final ExecutorService executor) {
+        this.nanStrategy  = nanStrategy;
+        this.tiesStrategy = tiesStrategy;
+        this.randomData   = randomData;
+        this.executor     = executor;
+    }
+
+    /**
+     * Return the NaNStrategy
+     *
+     * @return returns the NaNStrategy
+     */
+    public NaNStrategy getNanStrategy() {
+        return nanStrategy;
+    }
+
+    /**
+     * Return the TiesStrategy
+     *
+     * @return the TiesStrategy
+     */
+    public TiesStrategy getTiesStrategy() {
+        return tiesStrategy;
+    }
+
+    /**
+     * Rank <code>data</code> using the natural ordering on Doubles, with
+     * NaN values handled according to <code>nanStrategy</code> and ties
+     * resolved using <code>tiesStrategy.</code>
+     *
+     * @param data array to be ranked
+     * @return array of ranks
+     * @throws NotANumberException if the selected {@link NaNStrategy} is {@code FAILED}
+     * and a {@link Double#NaN} is encountered in the input data
+     */
+    public double[] rank(final double[] data) {
+        return rank(data, new double[0]);
+    }
+
+    /**
+     * Rank the concatenation of two arrays, without building it.
+     * <p>
+     * The result is the same as the ranks of an array containing the
+     * elements of {@code x} followed by the elements of {@code y}.
+     * </p>
+     *
+     * @param x first array to be ranked
+     * @param y second array to be ranked
+     * @return array of ranks, with the ranks of {@code x} elements first
+     * @throws NullArgumentException if {@code x} or {@code y} is null
+     * @throws NotANumberException if the selected {@link NaNStrategy} is {@code FAILED}
+     * and a {@link Double#NaN} is encountered in the input data
+     */
+    public double[] rank(final double[] x, final double[] y)
+        throws NullArgumentException, NotANumberException {
+
+        MathUtils.checkNotNull(x);
+        MathUtils.checkNotNull(y);
+
+        // the index of each key is its position in the output
+        final long[] keys  = new long[x.length + y.length];
+        final int[]  index = new int[keys.length];
+        int n = setKeys(x, 0, keys, index, 0, true);
+        n = setKeys(y, x.length, keys, index, n, true);
+
+        return rank(keys, index, n, new double[n]);
+
+    }
+
+    /**
+     * Rank <code>data</code> in place.
+     * <p>
+     * The ranks are the same as the ones computed by {@link #rank(double[])},
+     * but they replace the values in the array instead of being stored in a
+     * new array. As the length of the array cannot change, the NaN values
+     * dropped by {@link NaNStrategy#REMOVED} are left unchanged.
+     * </p>
+     *
+     * @param data array to be ranked, overwritten with the ranks
+     * @throws NullArgumentException if {@code data} is null
+     * @throws NotANumberException if the selected {@link NaNStrategy} is {@code FAILED}
+     * and a {@link Double#NaN} is encountered in the input data
+     */
+    public void rankInPlace(final double[] data)
+        throws NullArgumentException, NotANumberException {
+
+        MathUtils.checkNotNull(data);
+
+        // the index of each key is the position of its value
+        final long[] keys  = new long[data.length];
+        final int[]  index = new int[data.length];
+        final int n = setKeys(data, 0, keys, index, 0, false);
+
+        rank(keys, index, n, data);
+
+    }
+
+    /**
+     * Append the sort keys of a sample, applying the NaN strategy.
+     *
+     * @param sample sample values
+     * @param offset position of the first sample value in the ranked data
+     * @param keys sort keys
+     * @param index indices associated with the keys
+     * @param n number of keys already set
+     * @param compact if true, the index of a key is its position among the
+     * kept keys, otherwise it is the position of its value in the ranked data
+     * @return number of keys set
+     * @throws NotANumberException if the selected {@link NaNStrategy} is {@code FAILED}
+     * and a {@link Double#NaN} is encountered in the sample
+     */
+    private int setKeys(final double[] sample, final int offset,
+                        final long[] keys, final int[] index, final int n,
+                        final boolean compact)
+        throws NotANumberException {
+        int k = n;
+        for (int i = 0; i < sample.length; ++i) {
+            final double value = sample[i];
+            final long key;
+            if (Double.isNaN(value)) {
+                switch (nanStrategy) {
+                    case MAXIMAL: // Replace NaNs with +INFs
+                        key = key(Double.POSITIVE_INFINITY);
+                        break;
+                    case MINIMAL: // Replace NaNs with -INFs
+                        key = key(Double.NEGATIVE_INFINITY);
+                        break;
+                    case REMOVED: // Drop NaNs from data
+                        continue;
+                    case FIXED:   // Rank NaNs above everything, they will be restored later
+                        key = NAN_KEY;
+                        break;
+                    case FAILED:
+                        throw new NotANumberException();
+                    default: // this should not happen unless NaNStrategy enum is changed
+                        throw new MathInternalError();
+                }
+            } else {
+                key = key(value);
+            }
+            keys[k]  = key;
+            index[k] = compact ? k : offset + i;
+            ++k;
+        }
+        return k;
+    }
+
+    /**
+     * Rank sort keys.
+     *
+     * @param keys sort keys
+     * @param index indices associated with the keys, in increasing order
+     * @param n number of keys
+     * @param out placeholder for the ranks, at the indices associated with the keys
+     * @return out
+     */
+    private double[] rank(final long[] keys, final int[] index, final int n, final double[] out) {
+
+        sort(keys, index, n);
+
+        // walk the sorted keys, resolving ties as we go
+        int start = 0;
+        while (start < n) {
+            int end = start + 1;
+            while (end < n && keys[end] == keys[start]) {
+                ++end;
+            }
+            if (end - start == 1) {
+                out[index[start]] = start + 1;
+            } else {
+                resolveTie(out, index, start, end);
+            }
+            start = end;
+        }
+
+        if (nanStrategy == NaNStrategy.FIXED) {
+            // NaNs have been ranked above everything, restore them
+            for (int i = n - 1; i >= 0 && keys[i] == NAN_KEY; --i) {
+                out[index[i]] = Double.NaN;
+            }
+        }
+
+        return out;
+
+    }
+
+    /**
+     * Compute the sort key of a value.
+     * <p>
+     * The keys compare as signed longs the same way as the values compare
+     * with {@link Double#compare(double, double)}.
+     * </p>
+     *
+     * @param value value
+     * @return sort key
+     */
+    private static long key(final double value) {
+        final long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Resolve a sequence of ties, using the configured {@link TiesStrategy}.
+     *
+     * @param ranks array of ranks
+     * @param index sorted indices
+     * @param start start of the tied sequence in the sorted indices (inclusive)
+     * @param end end of the tied sequence in the sorted indices (exclusive)
+     */
+    private void resolveTie(final double[] ranks, final int[] index, final int start, final int end) {
+
+        // smallest rank in the sequence and length of the sequence
+        final long c      = start + 1;
+        final int  length = end - start;
+
+        switch (tiesStrategy) {
+            case  AVERAGE:  // Replace ranks with average
+                fill(ranks, index, start, end, (2 * c + length - 1) / 2d);
+                break;
+            case MAXIMUM:   // Replace ranks with maximum values
+                fill(ranks, index, start, end, c + length - 1);
+                break;
+            case MINIMUM:   // Replace ties with minimum
+                fill(ranks, index, start, end, c);
+                break;
+            case RANDOM:    // Fill with random integral values in [c, c + length - 1]
+                for (int i = start; i < end; ++i) {
+                    // No advertised exception because args are guaranteed valid
+                    ranks[index[i]] = randomData.nextLong(c, c + length - 1);
+                }
+                break;
+            case SEQUENTIAL:  // Fill sequentially from c to c + length - 1
+                for (int i = start; i < end; ++i) {
+                    ranks[index[i]] = i + 1;
+                }
+                break;
+            default: // this should not happen unless TiesStrategy enum is changed
+                throw new MathInternalError();
+        }
+    }
+
+    /**
+     * Set the ranks of a sequence of sorted indices.
+     *
+     * @param ranks array of ranks
+     * @param index sorted indices
+     * @param start start of the sequence in the sorted indices (inclusive)
+     * @param end end of the sequence in the sorted indices (exclusive)
+     * @param value value to set
+     */
+    private static void fill(final double[] ranks, final int[] index,
+                             final int start, final int end, final double value) {
+        for (int i = start; i < end; ++i) {
+            ranks[index[i]] = value;
+        }
+    }
+
+    /**
+     * Sort keys and indices together, in increasing keys order.
+     * <p>
+     * The sort is stable, so equal keys remain in increasing indices order.
+     * </p>
+     *
+     * @param keys sort keys
+     * @param index indices associated with the keys
+     * @param n number of elements to sort
+     */
+    private void sort(final long[] keys, final int[] index, final int n) {
+
+        final long[] tmpKeys  = new long[n];
+        final int[]  tmpIndex = new int[n];
+
+        if (executor == null || n < PARALLEL_THRESHOLD) {
+            sortRange(keys, index, tmpKeys, tmpIndex, 0, n);
+            return;
+        }
+        final int nbChunks = (n + CHUNK_LENGTH - 1) / CHUNK_LENGTH;
+
+        // chunks boundaries
+        int[] bounds = new int[nbChunks + 1];
+        for (int i = 0; i <= nbChunks; ++i) {
+            bounds[i] = (int) ((((long) n) * i) / nbChunks);
+        }
+
+        // sort the chunks in parallel
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(nbChunks);
+        for (int i = 0; i < nbChunks; ++i) {
+            final int from = bounds[i];
+            final int to   = bounds[i + 1];
+            tasks.add(new Callable<Void>() {
+                /** {@inheritDoc} */
+                public Void call() {
+                    sortRange(keys, index, tmpKeys, tmpIndex, from, to);
+                    return null;
+                }
+            });
+        }
+        ParallelTasks.invokeAll(executor, tasks);
+
+        // merge adjacent chunks in parallel, until only one chunk remains
+        long[] srcKeys  = keys;
+        int[]  srcIndex = index;
+        long[] dstKeys  = tmpKeys;
+        int[]  dstIndex = tmpIndex;
+        while (bounds.length > 2) {
+            final int nbMerged = (bounds.length - 1) / 2;
+            final int[] merged = new int[bounds.length - nbMerged];
+            tasks.clear();
+            for (int i = 0; i < bounds.length - 1; i += 2) {
+                final int     from  = bounds[i];
+                final int     mid   = bounds[i + 1];
+                final int     to    = (i + 2 < bounds.length) ? bounds[i + 2] : mid;
+                final long[]  sK    = srcKeys;
+                final int[]   sI    = srcIndex;
+                final long[]  dK    = dstKeys;
+                final int[]   dI    = dstIndex;
+                merged[i / 2] = from;
+                tasks.add(new Callable<Void>() {
+                    /** {@inheritDoc} */
+                    public Void call() {
+                        merge(sK, sI, dK, dI, from, mid, to);
+                        return null;
+                    }
+                });
+            }
+            merged[merged.length - 1] = n;
+            ParallelTasks.invokeAll(executor, tasks);
+            bounds = merged;
+
+            final long[] swapKeys  = srcKeys;
+            final int[]  swapIndex = srcIndex;
+            srcKeys  = dstKeys;
+            srcIndex = dstIndex;
+            dstKeys  = swapKeys;
+            dstIndex = swapIndex;
+        }
+
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys,  0, keys,  0, n);
+            System.arraycopy(srcIndex, 0, index, 0, n);
+        }
+
+    }
+
+    /**
+     * Sort a range of keys and indices together, using a bottom-up merge sort.
+     *
+     * @param keys sort keys
+     * @param index indices associated with the keys
+     * @param tmpKeys work array for keys
+     * @param tmpIndex work array for indices
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     */
+    private static void sortRange(final long[] keys, final int[] index,
+                                  final long[] tmpKeys, final int[] tmpIndex,
+                                  final int from, final int to) {
+
+        // sort short runs by insertion
+        for (int start = from; start < to; start += INSERTION_SORT_LENGTH) {
+            final int end = FastMath.min(start + INSERTION_SORT_LENGTH, to);
+            for (int i = start + 1; i < end; ++i) {
+                final long k = keys[i];
+                final int  x = index[i];
+                int j = i - 1;
+                while (j >= start && keys[j] > k) {
+                    keys[j + 1]  = keys[j];
+                    index[j + 1] = index[j];
+                    --j;
+                }
+                keys[j + 1]  = k;
+                index[j + 1] = x;
+            }
+        }
+
+        // merge runs of increasing length, alternating between arrays
+        long[] srcKeys  = keys;
+        int[]  srcIndex = index;
+        long[] dstKeys  = tmpKeys;
+        int[]  dstIndex = tmpIndex;
+        for (long width = INSERTION_SORT_LENGTH; width < to - from; width *= 2) {
+            for (long lo = from; lo < to; lo += 2 * width) {
+                final int mid = (int) FastMath.min(lo + width, to);
+                final int hi  = (int) FastMath.min(lo + 2 * width, to);
+                merge(srcKeys, srcIndex, dstKeys, dstIndex, (int) lo, mid, hi);
+            }
+            final long[] swapKeys  = srcKeys;
+            final int[]  swapIndex = srcIndex;
+            srcKeys  = dstKeys;
+            srcIndex = dstIndex;
+            dstKeys  = swapKeys;
+            dstIndex = swapIndex;
+        }
+
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys,  from, keys,  from, to - from);
+            System.arraycopy(srcIndex, from, index, from, to - from);
+        }
+
+    }
+
+    /**
+     * Merge two adjacent sorted ranges.
+     * <p>
+     * Elements from the first range are output first in case of equal keys.
+     * </p>
+     *
+     * @param srcKeys source keys
+     * @param srcIndex source indices
+     * @param dstKeys destination keys
+     * @param dstIndex destination indices
+     * @param from start of the first range (inclusive)
+     * @param mid end of the first range and start of the second range
+     * @param to end of the second range (exclusive)
+     */
+    private static void merge(final long[] srcKeys, final int[] srcIndex,
+                              final long[] dstKeys, final int[] dstIndex,
+                              final int from, final int mid, final int to) {
+        int i = from;
+        int j = mid;
+        int k = from;
+        while (i < mid && j < to) {
+            if (srcKeys[j] < srcKeys[i]) {
+                dstKeys[k]    = srcKeys[j];
+                dstIndex[k++] = srcIndex[j++];
+            } else {
+                dstKeys[k]    = srcKeys[i];
+                dstIndex[k++] = srcIndex[i++];
+            }
+        }
+        System.arraycopy(srcKeys,  i, dstKeys,  k, mid - i);
+        System.arraycopy(srcIndex, i, dstIndex, k, mid - i);
+        k += mid - i;
+        System.arraycopy(srcKeys,  j, dstKeys,  k, to - j);
+        System.arraycopy(srcIndex, j, dstIndex, k, to - j);
+    }
+
+}
@@ -22,6 +22,7 @@ import java.lang.reflect.Array;
 import org.apache.commons.math3.analysis.FunctionUtils;
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.complex.ComplexArray;
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.exception.MathIllegalStateException;
@@ -358,6 +359,23 @@ public class FastFourierTransformer implements Serializable {
         normalizeTransformedData(dataRI, normalization, type);
     }
 
+    /**
+     * Computes the standard transform of the specified complex data. The
+     * computation is done in place, directly on the real and imaginary
+     * parts arrays, without creating any {@link Complex} instance.
+     *
+     * @param data the complex data to transform
+     * @param normalization the normalization to be applied to the transformed data
+     * @param type the type of transform (forward, inverse) to be performed
+     * @throws MathIllegalArgumentException if the number of data points is not
+     *   a power of two
+     * @since 3.7
+     */
+    public static void transformInPlace(final ComplexArray data,
+        final DftNormalization normalization, final TransformType type) {
+        transformInPlace(data.getDataRI(), normalization, type);
+    }
+
     /**
      * Returns the (forward, inverse) transform of the specified real data set.
      *
@@ -417,6 +435,24 @@ public class FastFourierTransformer implements Serializable {
         return TransformUtils.createComplexArray(dataRI);
     }
 
+    /**
+     * Returns the (forward, inverse) transform of the specified complex data set.
+     *
+     * @param f the complex data array to be transformed (not modified)
+     * @param type the type of transform (forward, inverse) to be performed
+     * @return the complex transformed array
+     * @throws MathIllegalArgumentException if the length of the data array is not a power of two
+     * @see #transformInPlace(ComplexArray, DftNormalization, TransformType)
+     * @since 3.7
+     */
+    public ComplexArray transform(final ComplexArray f, final TransformType type) {
+        final ComplexArray transformed = f.copy();
+
+        transformInPlace(transformed, normalization, type);
+
+        return transformed;
+    }
+
     /**
      * Performs a multi-dimensional Fourier transform on a given array. Use
      * {@link #transform(Complex[], TransformType)} in a row-column
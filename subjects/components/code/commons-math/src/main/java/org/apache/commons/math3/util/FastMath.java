@@ -18,6 +18,7 @@ package org.apache.commons.math3.util;
 
 import java.io.PrintStream;
 
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathArithmeticException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 
@@ -4112,6 +4113,387 @@ public class FastMath {
         return ((Float.floatToRawIntBits(f) >>> 23) & 0xff) - 127;
     }
 
+    /**
+     * Compute the exponential of all elements of an array.
+     * <p>
+     * The results are exactly the same as the ones of {@link #exp(double)}.
+     * Arguments in the range (-709, 709) are processed by a straight-line
+     * evaluation without special cases handling, the other ones by the
+     * scalar method.
+     * </p>
+     * @param in arguments
+     * @param out placeholder where to put the results (may be {@code in} itself)
+     * @exception DimensionMismatchException if arrays lengths differ
+     * @since 3.7
+     */
+    public static void exp(final double[] in, final double[] out)
+        throws DimensionMismatchException {
+        checkLengths(in, out);
+        for (int i = 0; i < in.length; ++i) {
+            final double x = in[i];
+            out[i] = (x > -709.0 && x < 709.0) ? expRegular(x) : exp(x, 0.0, null);
+        }
+    }
+
+    /**
+     * Exponential for arguments in the range (-709, 709).
+     * <p>
+     * This is the same computation as {@link #exp(double, double, double[])}
+     * with no extra bits, once all special cases have been excluded.
+     * </p>
+     * @param x argument, in the range (-709, 709)
+     * @return exp(x)
+     */
+    private static double expRegular(final double x) {
+
+        final int intVal = (x < 0.0) ? (int) x - 1 : (int) x;
+        final double intPartA = ExpIntTable.EXP_INT_TABLE_A[EXP_INT_TABLE_MAX_INDEX + intVal];
+        final double intPartB = ExpIntTable.EXP_INT_TABLE_B[EXP_INT_TABLE_MAX_INDEX + intVal];
+
+        final int intFrac = (int) ((x - intVal) * 1024.0);
+        final double fracPartA = ExpFracTable.EXP_FRAC_TABLE_A[intFrac];
+        final double fracPartB = ExpFracTable.EXP_FRAC_TABLE_B[intFrac];
+        final double epsilon = x - (intVal + intFrac / 1024.0);
+
+        double z = 0.04168701738764507;
+        z = z * epsilon + 0.1666666505023083;
+        z = z * epsilon + 0.5000000000042687;
+        z = z * epsilon + 1.0;
+        z = z * epsilon + -3.940510424527919E-20;
+
+        final double tempA = intPartA * fracPartA;
+        final double tempB = intPartA * fracPartB + intPartB * fracPartA + intPartB * fracPartB;
+        final double tempC = tempB + tempA;
+
+        return tempC*z + tempB + tempA;
+
+    }
+
+    /**
+     * Compute the natural logarithm of all elements of an array.
+     * <p>
+     * The results are exactly the same as the ones of {@link #log(double)}.
+     * Positive normal arguments outside of [0.99, 1.01] are processed by a
+     * straight-line evaluation without special cases handling, the other
+     * ones by the scalar method.
+     * </p>
+     * @param in arguments
+     * @param out placeholder where to put the results (may be {@code in} itself)
+     * @exception DimensionMismatchException if arrays lengths differ
+     * @since 3.7
+     */
+    public static void log(final double[] in, final double[] out)
+        throws DimensionMismatchException {
+        checkLengths(in, out);
+        for (int i = 0; i < in.length; ++i) {
+            final double x    = in[i];
+            final long   bits = Double.doubleToRawLongBits(x);
+            final boolean regular = bits >= 0x0010000000000000L && bits < 0x7ff0000000000000L &&
+                                    (x <= 0.99 || x >= 1.01);
+            out[i] = regular ? logRegular(bits) : log(x, null);
+        }
+    }
+
+    /**
+     * Natural logarithm for positive normal arguments outside of [0.99, 1.01].
+     * <p>
+     * This is the same computation as {@link #log(double, double[])}
+     * without extra bits, once all special cases have been excluded.
+     * </p>
+     * @param bits raw bits of the argument
+     * @return log(x)
+     */
+    private static double logRegular(final long bits) {
+
+        final int exp = (int)(bits >> 52)-1023;
+        final double[] lnm = lnMant.LN_MANT[(int)((bits & 0x000ffc0000000000L) >> 42)];
+        final double epsilon = (bits & 0x3ffffffffffL) / (TWO_POWER_52 + (bits & 0x000ffc0000000000L));
+
+        double lnza = -0.16624882440418567;
+        lnza = lnza * epsilon + 0.19999954120254515;
+        lnza = lnza * epsilon + -0.2499999997677497;
+        lnza = lnza * epsilon + 0.3333333333332802;
+        lnza = lnza * epsilon + -0.5;
+        lnza = lnza * epsilon + 1.0;
+        lnza *= epsilon;
+        final double lnzb = 0.0;
+
+        double a = LN_2_A*exp;
+        double b = 0.0;
+        double c = a+lnm[0];
+        double d = -(c-a-lnm[0]);
+        a = c;
+        b += d;
+
+        c = a + lnza;
+        d = -(c - a - lnza);
+        a = c;
+        b += d;
+
+        c = a + LN_2_B*exp;
+        d = -(c - a - LN_2_B*exp);
+        a = c;
+        b += d;
+
+        c = a + lnm[1];
+        d = -(c - a - lnm[1]);
+        a = c;
+        b += d;
+
+        c = a + lnzb;
+        d = -(c - a - lnzb);
+        a = c;
+        b += d;
+
+        return a + b;
+
+    }
+
+    /**
+     * Compute the sine of all elements of an array.
+     * <p>
+     * The results are exactly the same as the ones of {@link #sin(double)}.
+     * Non-zero arguments in the range [-3294198, 3294198] are processed by
+     * an inline Cody-Waite reduction followed by the polynomial evaluation,
+     * without special cases handling, the other ones by the scalar method.
+     * </p>
+     * @param in arguments
+     * @param out placeholder where to put the results (may be {@code in} itself)
+     * @exception DimensionMismatchException if arrays lengths differ
+     * @since 3.7
+     */
+    public static void sin(final double[] in, final double[] out)
+        throws DimensionMismatchException {
+        checkLengths(in, out);
+        for (int i = 0; i < in.length; ++i) {
+            final double x = in[i];
+            if (x > 0 && x <= 3294198.0) {
+                out[i] = sinRegular(x, 0);
+            } else if (x < 0 && x >= -3294198.0) {
+                // sin(-x) = sin(x + pi)
+                out[i] = sinRegular(-x, 2);
+            } else {
+                out[i] = sin(x);
+            }
+        }
+    }
+
+    /**
+     * Compute the cosine of all elements of an array.
+     * <p>
+     * The results are exactly the same as the ones of {@link #cos(double)}.
+     * Non-zero arguments in the range [-3294198, 3294198] are processed by
+     * an inline Cody-Waite reduction followed by the polynomial evaluation,
+     * without special cases handling, the other ones by the scalar method.
+     * </p>
+     * @param in arguments
+     * @param out placeholder where to put the results (may be {@code in} itself)
+     * @exception DimensionMismatchException if arrays lengths differ
+     * @since 3.7
+     */
+    public static void cos(final double[] in, final double[] out)
+        throws DimensionMismatchException {
+        checkLengths(in, out);
+        for (int i = 0; i < in.length; ++i) {
+            final double x  = in[i];
+            final double xa = (x < 0) ? -x : x;
+            // cos(x) = sin(|x| + pi/2)
+            out[i] = (xa > 0 && xa <= 3294198.0) ? sinRegular(xa, 1) : cos(x);
+        }
+    }
+
+    /**
+     * Sine of a shifted argument in the range (0, 3294198].
+     * <p>
+     * This is the same computation as {@link #sin(double)} and {@link
+     * #cos(double)} once all special cases have been excluded, with the
+     * Cody-Waite reduction performed without allocating a {@link CodyWaite}
+     * instance.
+     * </p>
+     * @param xa argument, in the range (0, 3294198]
+     * @param shift number of quarter turns to add to the argument
+     * @return sin(xa + shift &pi;/2)
+     */
+    private static double sinRegular(final double xa, final int shift) {
+
+        int k = 0;
+        double remA = xa;
+        double remB = 0.0;
+        if (xa > 1.5707963267948966) {
+            k = (int)(xa * 0.6366197723675814);
+            while (true) {
+                double a = -k * 1.570796251296997;
+                remA = xa + a;
+                remB = -(remA - xa - a);
+
+                a = -k * 7.549789948768648E-8;
+                double b = remA;
+                remA = a + b;
+                remB += -(remA - b - a);
+
+                a = -k * 6.123233995736766E-17;
+                b = remA;
+                remA = a + b;
+                remB += -(remA - b - a);
+
+                if (remA > 0) {
+                    break;
+                }
+
+                // Remainder is negative, so decrement k and try again.
+                --k;
+            }
+        }
+
+        switch ((k + shift) & 3) {
+            case 0:
+                return sinQ(remA, remB);
+            case 1:
+                return cosQ(remA, remB);
+            case 2:
+                return -sinQ(remA, remB);
+            default:
+                return -cosQ(remA, remB);
+        }
+
+    }
+
+    /**
+     * Raise all elements of an array to a fixed power.
+     * <p>
+     * The results are exactly the same as the ones of {@link #pow(double, double)}.
+     * The analysis of the exponent (special values, integral values, splitting)
+     * is done only once. For non-integral exponents, positive finite arguments
+     * are processed without special cases handling and share the extended
+     * precision logarithm buffer, the other ones by the scalar method.
+     * </p>
+     * @param in arguments
+     * @param y exponent
+     * @param out placeholder where to put the results (may be {@code in} itself)
+     * @exception DimensionMismatchException if arrays lengths differ
+     * @since 3.7
+     */
+    public static void pow(final double[] in, final double y, final double[] out)
+        throws DimensionMismatchException {
+        checkLengths(in, out);
+
+        final long yBits        = Double.doubleToRawLongBits(y);
+        final int  yRawExp      = (int) ((yBits & MASK_DOUBLE_EXPONENT) >> 52);
+        final long yRawMantissa = yBits & MASK_DOUBLE_MANTISSA;
+
+        if (y == 0) {
+            // y = -0 or y = +0
+            for (int i = 0; i < out.length; ++i) {
+                out[i] = 1.0;
+            }
+            return;
+        }
+
+        if (yRawExp > 1085) {
+            // y is either a very large integral value that does not fit in a long or it is a special number
+            for (int i = 0; i < in.length; ++i) {
+                out[i] = pow(in[i], y);
+            }
+            return;
+        }
+
+        if (yRawExp >= 1023) {
+            // y may be an integral value, which should be handled specifically
+            final long yFullMantissa = IMPLICIT_HIGH_BIT | yRawMantissa;
+            long l = 0;
+            boolean integral = false;
+            if (yRawExp < 1075) {
+                final long integralMask = (-1L) << (1075 - yRawExp);
+                if ((yFullMantissa & integralMask) == yFullMantissa) {
+                    l = yFullMantissa >> (1075 - yRawExp);
+                    integral = true;
+                }
+            } else {
+                l = yFullMantissa << (yRawExp - 1075);
+                integral = true;
+            }
+            if (integral) {
+                final long e = (y < 0) ? -l : l;
+                for (int i = 0; i < in.length; ++i) {
+                    out[i] = pow(in[i], e);
+                }
+                return;
+            }
+        }
+
+        // y is a non-integral value, split it into ya and yb such that y = ya+yb
+        final double tmp = y * HEX_40000000;
+        final double ya  = (y + tmp) - tmp;
+        final double yb  = y - ya;
+        final double[] lns = new double[2];
+        for (int i = 0; i < in.length; ++i) {
+            final double x = in[i];
+            out[i] = (x > 0 && x < Double.POSITIVE_INFINITY) ? powRegular(x, ya, yb, lns) : pow(x, y);
+        }
+
+    }
+
+    /**
+     * Power function for positive finite arguments and non-integral exponents.
+     * <p>
+     * This is the same computation as {@link #pow(double, double)}, once all
+     * special cases have been excluded and the exponent has been split.
+     * </p>
+     * @param x argument, positive and finite
+     * @param ya high order bits of the exponent
+     * @param yb low order bits of the exponent
+     * @param lns placeholder for the extended precision logarithm of x
+     * @return x<sup>ya+yb</sup>
+     */
+    private static double powRegular(final double x, final double ya, final double yb,
+                                     final double[] lns) {
+
+        /* Compute ln(x) */
+        final double lores = log(x, lns);
+        if (Double.isInfinite(lores)) { // don't allow this to be converted to NaN
+            return lores;
+        }
+
+        double lna = lns[0];
+        double lnb = lns[1];
+
+        /* resplit lns */
+        final double tmp1 = lna * HEX_40000000;
+        final double tmp2 = (lna + tmp1) - tmp1;
+        lnb += lna - tmp2;
+        lna = tmp2;
+
+        // y*ln(x) = (aa+ab)
+        final double aa = lna * ya;
+        final double ab = lna * yb + lnb * ya + lnb * yb;
+
+        lna = aa+ab;
+        lnb = -(lna - aa - ab);
+
+        double z = 1.0 / 120.0;
+        z = z * lnb + (1.0 / 24.0);
+        z = z * lnb + (1.0 / 6.0);
+        z = z * lnb + 0.5;
+        z = z * lnb + 1.0;
+        z *= lnb;
+
+        return exp(lna, z, null);
+
+    }
+
+    /**
+     * Check input and output arrays of array functions have the same length.
+     * @param in input array
+     * @param out output array
+     * @exception DimensionMismatchException if arrays lengths differ
+     */
+    private static void checkLengths(final double[] in, final double[] out)
+        throws DimensionMismatchException {
+        if (out.length != in.length) {
+            throw new DimensionMismatchException(out.length, in.length);
+        }
+    }
+
     /**
      * Print out contents of arrays, and check the length.
      * <p>used to generate the preset arrays originally.</p>
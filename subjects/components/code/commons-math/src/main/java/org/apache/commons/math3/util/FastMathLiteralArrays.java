@@ -19,9 +19,14 @@ package org.apache.commons.math3.util;
 
 /**
  * Utility class for loading tabulated data used by {@link FastMath}.
- *
+ * <p>
+ * Each table is enclosed in its own nested class, so only the tables
+ * needed by the functions actually called are built.
+ * </p>
  */
 class FastMathLiteralArrays {
+    /** Enclose EXP_INT_A in nested static class so it's only loaded on first access. */
+    private static class ExpIntA {
     /** Exponential evaluated at integer values,
      * exp(x) =  expIntTableA[x + EXP_INT_TABLE_MAX_INDEX] + expIntTableB[x+EXP_INT_TABLE_MAX_INDEX].
      */
@@ -1527,7 +1532,10 @@ class FastMathLiteralArrays {
         Double.NaN,
         Double.NaN,
     };
+    }
 
+    /** Enclose EXP_INT_B in nested static class so it's only loaded on first access. */
+    private static class ExpIntB {
     /** Exponential evaluated at integer values,
      * exp(x) =  expIntTableA[x + EXP_INT_TABLE_MAX_INDEX] + expIntTableB[x+EXP_INT_TABLE_MAX_INDEX]
      */
@@ -3033,8 +3041,11 @@ class FastMathLiteralArrays {
         Double.NaN,
         Double.NaN,
     };
+    }
 
 
+    /** Enclose EXP_FRAC_A in nested static class so it's only loaded on first access. */
+    private static class ExpFracA {
     /** Exponential over the range of 0 - 1 in increments of 2^-10
      * exp(x/1024) =  expFracTableA[x] + expFracTableB[x].
      * 1024 = 2^10
@@ -4066,7 +4077,10 @@ class FastMathLiteralArrays {
       +2.7156286239624023d,
       +2.7182817459106445d,
     };
+    }
 
+    /** Enclose EXP_FRAC_B in nested static class so it's only loaded on first access. */
+    private static class ExpFracB {
     /** Exponential over the range of 0 - 1 in increments of 2^-10
      * exp(x/1024) =  expFracTableA[x] + expFracTableB[x].
      */
@@ -5097,7 +5111,10 @@ class FastMathLiteralArrays {
       -7.184550924856607E-8d,
       +8.254840070367875E-8d,
     };
+    }
 
+    /** Enclose LN_MANT in nested static class so it's only loaded on first access. */
+    private static class LnMant {
     /** Extended precision logarithm table over the range 1 - 2 in increments of 2^-10. */
     private static final double[][] LN_MANT = new double[][] {
       {+0.0d,                   +0.0d,                   }, // 0
@@ -6125,6 +6142,7 @@ class FastMathLiteralArrays {
       {+0.6921701431274414d,    -2.2153227096187463E-9d, }, // 1022
       {+0.6926587820053101d,    -1.943473623641502E-9d,  }, // 1023
     };
+    }
 
 
     /**
@@ -6135,41 +6153,41 @@ class FastMathLiteralArrays {
     /**
      * Load "EXP_INT_A".
      *
-     * @return a clone of the data array.
+     * @return the data array (shared, it must not be modified)
      */
     static double[] loadExpIntA() {
-        return EXP_INT_A.clone();
+        return ExpIntA.EXP_INT_A;
     }
     /**
      * Load "EXP_INT_B".
      *
-     * @return a clone of the data array.
+     * @return the data array (shared, it must not be modified)
      */
     static double[] loadExpIntB() {
-        return EXP_INT_B.clone();
+        return ExpIntB.EXP_INT_B;
     }
     /**
      * Load "EXP_FRAC_A".
      *
-     * @return a clone of the data array.
+     * @return the data array (shared, it must not be modified)
      */
     static double[] loadExpFracA() {
-        return EXP_FRAC_A.clone();
+        return ExpFracA.EXP_FRAC_A;
     }
     /**
      * Load "EXP_FRAC_B".
      *
-     * @return a clone of the data array.
+     * @return the data array (shared, it must not be modified)
      */
     static double[] loadExpFracB() {
-        return EXP_FRAC_B.clone();
+        return ExpFracB.EXP_FRAC_B;
     }
     /**
      * Load "LN_MANT".
      *
-     * @return a clone of the data array.
+     * @return the data array (shared, it must not be modified)
      */
     static double[][] loadLnMant() {
-        return LN_MANT.clone();
+        return LnMant.LN_MANT;
     }
 }
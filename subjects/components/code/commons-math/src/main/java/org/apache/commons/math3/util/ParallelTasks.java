@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+
+/**
+ * Running of independent tasks on a caller-provided executor.
+ * <p>
+ * The executor is never shut down, so it can be shared with other tasks.
+ * When a task fails or the calling thread is interrupted, only the tasks
+ * submitted by the failing call are cancelled. Unchecked exceptions thrown
+ * by the tasks are rethrown as is.
+ * </p>
+ * <p>
+ * This class is intended for internal use by the library, it is not
+ * part of the supported API and may change without notice.
+ * </p>
+ *
+ * @since 3.7
+ */
+public class ParallelTasks {
+
+    /**
+     * Private constructor.
+     */
+    private ParallelTasks() {}
+
+    /**
+     * Run tasks and collect their results.
+     *
+     * @param <T> the type of the results
+     * @param executor executor running the tasks (null to run them in the calling thread)
+     * @param tasks tasks to run
+     * @return results of the tasks, in the tasks order
+     * @throws MathIllegalStateException if the calling thread is interrupted while
+     * waiting for the tasks or if a task throws a checked exception
+     */
+    public static <T> List<T> invokeAll(final ExecutorService executor,
+                                        final List<? extends Callable<T>> tasks)
+        throws MathIllegalStateException {
+
+        final List<T> results = new ArrayList<T>(tasks.size());
+
+        if (executor == null) {
+            for (final Callable<T> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (RuntimeException re) {
+                    throw re;
+                } catch (Exception e) {
+                    throw new MathIllegalStateException(e, LocalizedFormats.SIMPLE_MESSAGE,
+                                                        e.getLocalizedMessage());
+                }
+            }
+            return results;
+        }
+
+        final List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+        boolean done = false;
+        try {
+            for (final Callable<T> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (final Future<T> future : futures) {
+                results.add(getResult(future));
+            }
+            done = true;
+        } finally {
+            if (!done) {
+                cancel(futures);
+            }
+        }
+
+        return results;
+
+    }
+
+    /**
+     * Wait for the result of a task.
+     *
+     * @param <T> the type of the result
+     * @param future future result of the task
+     * @return result of the task
+     * @throws MathIllegalStateException if the calling thread is interrupted while
+     * waiting for the task or if the task throws a checked exception
+     */
+    public static <T> T getResult(final Future<T> future)
+        throws MathIllegalStateException {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new MathIllegalStateException(LocalizedFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MathIllegalStateException(cause, LocalizedFormats.SIMPLE_MESSAGE,
+                                                cause.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Cancel tasks, interrupting them if they are running.
+     *
+     * @param futures future results of the tasks to cancel
+     */
+    public static void cancel(final Collection<? extends Future<?>> futures) {
+        for (final Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import org.apache.commons.math3.RealFieldElement;
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GradientTapeTest {
+
+    @Test
+    public void testUnaryFunctions() {
+        final GradientTape tape = new GradientTape(0.3, 1.7);
+        final TapeVariable x = tape.getVariable(0);
+        final TapeVariable y = tape.getVariable(1);
+        tape.addOutput(x.sin().multiply(y.cos()).add(x.tan()));
+        tape.addOutput(x.exp().add(x.expm1()).add(y.log()).add(x.log1p()).add(y.log10()));
+        tape.addOutput(x.sqrt().add(y.cbrt()).add(y.rootN(5)).add(x.reciprocal()).negate());
+        tape.addOutput(x.acos().add(x.asin()).multiply(x.atan()));
+        tape.addOutput(x.cosh().add(x.sinh()).add(x.tanh()).add(y.acosh()).add(x.asinh()).add(x.atanh()));
+        tape.addOutput(x.pow(2.5).add(y.pow(3)).add(x.pow(y)).add(x.scalb(3)));
+        tape.addOutput(x.toDegrees().add(y.toRadians()).subtract(1.25).divide(3.0));
+
+        final RandomGenerator random = new Well1024a(0x4b4c6e79a6ec5b2dl);
+        final double[] values = new double[tape.getOutputs()];
+        final double[] gradient = new double[2];
+        for (int i = 0; i < 100; ++i) {
+            final double[] point = { 0.05 + 0.9 * random.nextDouble(), 1.1 + 5 * random.nextDouble() };
+            tape.evaluate(point, values);
+
+            final DerivativeStructure dx = new DerivativeStructure(2, 1, 0, point[0]);
+            final DerivativeStructure dy = new DerivativeStructure(2, 1, 1, point[1]);
+            final DerivativeStructure[] expected = {
+                dx.sin().multiply(dy.cos()).add(dx.tan()),
+                dx.exp().add(dx.expm1()).add(dy.log()).add(dx.log1p()).add(dy.log10()),
+                dx.sqrt().add(dy.cbrt()).add(dy.rootN(5)).add(dx.reciprocal()).negate(),
+                dx.acos().add(dx.asin()).multiply(dx.atan()),
+                dx.cosh().add(dx.sinh()).add(dx.tanh()).add(dy.acosh()).add(dx.asinh()).add(dx.atanh()),
+                dx.pow(2.5).add(dy.pow(3)).add(dx.pow(dy)).add(dx.scalb(3)),
+                dx.toDegrees().add(dy.toRadians()).subtract(1.25).divide(3.0)
+            };
+
+            for (int k = 0; k < expected.length; ++k) {
+                final double scale = FastMath.max(1.0, FastMath.abs(expected[k].getValue()));
+                Assert.assertEquals(expected[k].getValue(), values[k], 1.0e-13 * scale);
+                tape.gradient(k, gradient);
+                Assert.assertEquals(expected[k].getPartialDerivative(1, 0), gradient[0], 1.0e-12 * scale);
+                Assert.assertEquals(expected[k].getPartialDerivative(0, 1), gradient[1], 1.0e-12 * scale);
+            }
+        }
+    }
+
+    @Test
+    public void testBinaryFunctions() {
+        final GradientTape tape = new GradientTape(-0.3, 1.7);
+        final TapeVariable x = tape.getVariable(0);
+        final TapeVariable y = tape.getVariable(1);
+        tape.addOutput(x.atan2(y));
+        tape.addOutput(x.hypot(y));
+        tape.addOutput(x.divide(y).subtract(x.multiply(y)));
+        tape.addOutput(x.multiply(7.5).remainder(y));
+        tape.addOutput(y.copySign(x).add(x.abs()).add(x.copySign(-1.0)));
+
+        final RandomGenerator random = new Well1024a(0x1cbf60c95e8cf01el);
+        final double[] values = new double[tape.getOutputs()];
+        final double[] gradient = new double[2];
+        for (int i = 0; i < 100; ++i) {
+            // sign of x changes between evaluations, abs and copySign must follow
+            final double[] point = { 4 * random.nextDouble() - 2, 0.5 + random.nextDouble() };
+            tape.evaluate(point, values);
+
+            final DerivativeStructure dx = new DerivativeStructure(2, 1, 0, point[0]);
+            final DerivativeStructure dy = new DerivativeStructure(2, 1, 1, point[1]);
+            final DerivativeStructure[] expected = {
+                DerivativeStructure.atan2(dx, dy),
+                DerivativeStructure.hypot(dx, dy),
+                dx.divide(dy).subtract(dx.multiply(dy)),
+                dx.multiply(7.5).remainder(dy),
+                dy.copySign(dx).add(dx.abs()).add(dx.copySign(-1.0))
+            };
+
+            for (int k = 0; k < expected.length; ++k) {
+                Assert.assertEquals(expected[k].getValue(), values[k], 1.0e-14);
+                tape.gradient(k, gradient);
+                Assert.assertEquals(expected[k].getPartialDerivative(1, 0), gradient[0], 1.0e-13);
+                Assert.assertEquals(expected[k].getPartialDerivative(0, 1), gradient[1], 1.0e-13);
+            }
+        }
+    }
+
+    @Test
+    public void testGenericFunction() {
+        final GradientTape tape = new GradientTape(1.0, 2.0, 3.0);
+        tape.addOutput(rosenbrockLike(tape.getVariable(0), tape.getVariable(1), tape.getVariable(2)));
+        final double[] point = { 0.5, -1.25, 2.0 };
+        final double[] values = new double[1];
+        final double[] gradient = new double[3];
+        tape.evaluate(point, values);
+        tape.gradient(0, gradient);
+
+        final DerivativeStructure f = rosenbrockLike(new DerivativeStructure(3, 1, 0, point[0]),
+                                                     new DerivativeStructure(3, 1, 1, point[1]),
+                                                     new DerivativeStructure(3, 1, 2, point[2]));
+        Assert.assertEquals(f.getValue(), values[0], 1.0e-12);
+        Assert.assertEquals(f.getPartialDerivative(1, 0, 0), gradient[0], 1.0e-12);
+        Assert.assertEquals(f.getPartialDerivative(0, 1, 0), gradient[1], 1.0e-12);
+        Assert.assertEquals(f.getPartialDerivative(0, 0, 1), gradient[2], 1.0e-12);
+    }
+
+    @Test
+    public void testLargeLeastSquaresJacobian() {
+        // residuals r_i = p_i p_{i+1} - exp(p_{i+2}) / (1 + i), for 200 parameters
+        final int n = 200;
+        final double[] point = new double[n];
+        final GradientTape tape = new GradientTape(point);
+        for (int i = 0; i + 2 < n; ++i) {
+            final TapeVariable pi  = tape.getVariable(i);
+            final TapeVariable pi1 = tape.getVariable(i + 1);
+            final TapeVariable pi2 = tape.getVariable(i + 2);
+            tape.addOutput(pi.multiply(pi1).subtract(pi2.exp().divide(1.0 + i)));
+        }
+        Assert.assertEquals(n, tape.getFreeParameters());
+        Assert.assertEquals(n - 2, tape.getOutputs());
+
+        final RandomGenerator random = new Well1024a(0x5e1b9d27e2b0c5a3l);
+        final double[] values = new double[n - 2];
+        final double[][] jacobian = new double[n - 2][n];
+        for (int k = 0; k < 5; ++k) {
+            for (int j = 0; j < n; ++j) {
+                point[j] = 2 * random.nextDouble() - 1;
+            }
+            tape.jacobian(point, values, jacobian);
+            for (int i = 0; i + 2 < n; ++i) {
+                final double e = FastMath.exp(point[i + 2]) / (1.0 + i);
+                Assert.assertEquals(point[i] * point[i + 1] - e, values[i], 1.0e-15);
+                for (int j = 0; j < n; ++j) {
+                    final double expected;
+                    if (j == i) {
+                        expected = point[i + 1];
+                    } else if (j == i + 1) {
+                        expected = point[i];
+                    } else if (j == i + 2) {
+                        expected = -e;
+                    } else {
+                        expected = 0.0;
+                    }
+                    Assert.assertEquals(expected, jacobian[i][j], 1.0e-15);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRecordingValues() {
+        final GradientTape tape = new GradientTape(2.0, 3.0);
+        final TapeVariable x = tape.getVariable(0);
+        final TapeVariable y = tape.getVariable(1);
+        final TapeVariable f = x.multiply(y).add(tape.getField().getOne());
+        Assert.assertEquals(7.0, f.getReal(), 1.0e-15);
+        Assert.assertEquals(7, f.round());
+        Assert.assertSame(tape, f.getTape());
+        Assert.assertEquals(tape.getSize() - 1, f.getIndex());
+        Assert.assertEquals(0.0, tape.getField().getZero().getValue(), 0.0);
+
+        // gradient is available without explicit evaluation
+        final double[] gradient = new double[2];
+        tape.gradient(tape.addOutput(f), gradient);
+        Assert.assertEquals(3.0, gradient[0], 1.0e-15);
+        Assert.assertEquals(2.0, gradient[1], 1.0e-15);
+
+        // replay updates all nodes
+        tape.evaluate(new double[] { 5.0, -1.0 }, null);
+        Assert.assertEquals(-4.0, f.getReal(), 1.0e-15);
+    }
+
+    @Test
+    public void testTapeGrowth() {
+        final GradientTape tape = new GradientTape(0.5);
+        TapeVariable sum = tape.constant(0.0);
+        for (int i = 0; i < 1000; ++i) {
+            sum = sum.add(tape.getVariable(0).multiply(i));
+        }
+        tape.addOutput(sum);
+        final double[] gradient = new double[1];
+        tape.gradient(0, gradient);
+        Assert.assertEquals(499500.0, gradient[0], 1.0e-10);
+        Assert.assertEquals(249750.0, sum.getValue(), 1.0e-10);
+    }
+
+    @Test(expected=MathIllegalArgumentException.class)
+    public void testMixedTapes() {
+        final GradientTape tape1 = new GradientTape(1.0);
+        final GradientTape tape2 = new GradientTape(1.0);
+        tape1.getVariable(0).add(tape2.getVariable(0));
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testWrongPointDimension() {
+        final GradientTape tape = new GradientTape(1.0, 2.0);
+        tape.evaluate(new double[3], null);
+    }
+
+    private static <T extends RealFieldElement<T>> T rosenbrockLike(final T x, final T y, final T z) {
+        final T a = y.subtract(x.multiply(x));
+        final T b = x.negate().add(1.0);
+        return a.multiply(a).multiply(100).add(b.multiply(b)).add(z.sin().multiply(x.hypot(y)))
+                .add(x.linearCombination(x, y, z, y.exp()));
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.integration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.analysis.QuinticFunction;
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.analysis.function.Sin;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.TooManyEvaluationsException;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveGaussKronrodIntegratorTest {
+
+    @Test
+    public void testSinFunction() {
+        UnivariateFunction f = new Sin();
+        UnivariateIntegrator integrator = new AdaptiveGaussKronrodIntegrator(1.0e-14, 1.0e-10, 1, 100, null, 1);
+        Assert.assertEquals(2.0, integrator.integrate(10000, f, 0, FastMath.PI), 1.0e-10);
+        Assert.assertEquals(-0.5, integrator.integrate(10000, f, -FastMath.PI / 3, 0), 1.0e-10);
+        Assert.assertEquals(0, integrator.getEvaluations() % 15);
+    }
+
+    @Test
+    public void testQuinticFunction() {
+        // 15 points Kronrod rule is exact for polynomials up to degree 22
+        UnivariateFunction f = new QuinticFunction();
+        UnivariateIntegrator integrator = new AdaptiveGaussKronrodIntegrator();
+        Assert.assertEquals(-1.0 / 48, integrator.integrate(10000, f, 0, 1), 1.0e-16);
+        Assert.assertEquals(11.0 / 768, integrator.integrate(10000, f, 0, 0.5), 1.0e-16);
+        Assert.assertEquals(2048 / 3.0 - 78 + 1.0 / 48, integrator.integrate(10000, f, -1, 4), 1.0e-12);
+    }
+
+    @Test
+    public void testEndpointSingularity() {
+        // integrable singularity at 0, nodes never hit the interval bounds
+        UnivariateFunction f = new UnivariateFunction() {
+            public double value(double x) {
+                return 1.0 / FastMath.sqrt(x);
+            }
+        };
+        UnivariateIntegrator integrator = new AdaptiveGaussKronrodIntegrator(1.0e-10, 1.0e-10, 1, 1000, null, 1);
+        Assert.assertEquals(2.0, integrator.integrate(100000, f, 0, 1), 1.0e-9);
+    }
+
+    @Test
+    public void testPeakConcentratesEvaluations() {
+        final double width = 1.0e-3;
+        UnivariateFunction peak = new UnivariateFunction() {
+            public double value(double x) {
+                final double d = (x - 0.3) / width;
+                return 1.0 / (1.0 + d * d);
+            }
+        };
+        final double expected = width * (FastMath.atan(0.7 / width) + FastMath.atan(0.3 / width));
+
+        AdaptiveGaussKronrodIntegrator adaptive = new AdaptiveGaussKronrodIntegrator(1.0e-10, 1.0e-14, 1, 1000, null, 1);
+        Assert.assertEquals(expected, adaptive.integrate(1000000, peak, 0, 1), 1.0e-12);
+
+        IterativeLegendreGaussIntegrator uniform = new IterativeLegendreGaussIntegrator(15, 1.0e-10, 1.0e-14, 2, 1000);
+        Assert.assertEquals(expected, uniform.integrate(1000000, peak, 0, 1), 1.0e-9);
+        Assert.assertTrue(adaptive.getEvaluations() < uniform.getEvaluations());
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        final int[] count = new int[1];
+        UnivariateFunction f = new UnivariateFunction() {
+            public double value(double x) {
+                synchronized (count) {
+                    ++count[0];
+                }
+                return FastMath.exp(-x * x) * FastMath.cos(5 * x) / (0.01 + x * x);
+            }
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AdaptiveGaussKronrodIntegrator sequential = new AdaptiveGaussKronrodIntegrator(1.0e-12, 1.0e-14, 1, 1000, null, 4);
+            AdaptiveGaussKronrodIntegrator parallel   = new AdaptiveGaussKronrodIntegrator(1.0e-12, 1.0e-14, 1, 1000, executor, 4);
+            final double s = sequential.integrate(100000, f, -3, 3);
+            final int sequentialCount = count[0];
+            count[0] = 0;
+            final double p = parallel.integrate(100000, f, -3, 3);
+            Assert.assertEquals(s, p, 0.0);
+            Assert.assertEquals(sequential.getEvaluations(), parallel.getEvaluations());
+            Assert.assertEquals(sequentialCount, sequential.getEvaluations());
+            Assert.assertEquals(count[0], parallel.getEvaluations());
+            Assert.assertEquals(sequential.getIterations(), parallel.getIterations());
+
+            // the executor is not shut down and can be reused
+            Assert.assertFalse(executor.isShutdown());
+            Assert.assertEquals(p, parallel.integrate(100000, f, -3, 3), 0.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected=TooManyEvaluationsException.class)
+    public void testTooManyEvaluations() {
+        UnivariateFunction f = new UnivariateFunction() {
+            public double value(double x) {
+                return FastMath.sin(1.0 / x);
+            }
+        };
+        new AdaptiveGaussKronrodIntegrator(1.0e-15, 1.0e-15, 1, 100000, null, 2).integrate(1000, f, 0, 1);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testWrongBatchSize() {
+        new AdaptiveGaussKronrodIntegrator(1.0e-6, 1.0e-6, null, 0);
+    }
+
+}
@@ -20,7 +20,9 @@ import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.InsufficientDataException;
 import org.apache.commons.math3.exception.NonMonotonicSequenceException;
 import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.analysis.BivariateFunction;
+import org.apache.commons.math3.analysis.polynomials.PolynomialSplineFunction;
 import org.apache.commons.math3.distribution.UniformRealDistribution;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.random.Well19937c;
@@ -265,4 +267,126 @@ public final class PiecewiseBicubicSplineInterpolatingFunctionTest {
         final double meanError = sumError / numberOfSamples;
         Assert.assertEquals(0, meanError, meanTolerance);
     }
+
+    @Test
+    public void testMatchesAkimaWindows() {
+        for (final double jitter : new double[] { 0.0, 0.35 }) {
+            final double[] xval = grid(-2, 3, 11, jitter);
+            final double[] yval = grid(1, 4, 8, jitter);
+            final double[][] fval = new double[xval.length][yval.length];
+            for (int i = 0; i < xval.length; i++) {
+                for (int j = 0; j < yval.length; j++) {
+                    fval[i][j] = FastMath.sin(xval[i]) * FastMath.exp(-0.3 * yval[j]) + xval[i] * yval[j];
+                }
+            }
+            final PiecewiseBicubicSplineInterpolatingFunction f =
+                new PiecewiseBicubicSplineInterpolatingFunction(xval, yval, fval);
+
+            final RandomGenerator rng = new Well19937c(0x2f8b6e1d4c7a9053l);
+            for (int n = 0; n < 1000; n++) {
+                final double x = -2 + 5 * rng.nextDouble();
+                final double y = 1 + 3 * rng.nextDouble();
+                Assert.assertEquals(akimaWindows(xval, yval, fval, x, y), f.value(x, y), 1.0e-14);
+            }
+            for (int i = 0; i < xval.length; i++) {
+                for (int j = 0; j < yval.length; j++) {
+                    Assert.assertEquals(fval[i][j], f.value(xval[i], yval[j]), 1.0e-14);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBulkValues() {
+        final double[] xval = grid(0, 1, 6, 0.0);
+        final double[] yval = grid(0, 2, 9, 0.2);
+        final double[][] fval = new double[xval.length][yval.length];
+        for (int i = 0; i < xval.length; i++) {
+            for (int j = 0; j < yval.length; j++) {
+                fval[i][j] = FastMath.cos(3 * xval[i] - yval[j]);
+            }
+        }
+        final PiecewiseBicubicSplineInterpolatingFunction f =
+            new PiecewiseBicubicSplineInterpolatingFunction(xval, yval, fval);
+
+        final RandomGenerator rng = new Well19937c(0x7c4e0b1a93d2f685l);
+        final int n = 200;
+        final double[] x = new double[n];
+        final double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = rng.nextDouble();
+            y[i] = 2 * rng.nextDouble();
+        }
+        final double[] out = new double[n];
+        f.value(x, y, out);
+        for (int i = 0; i < n; i++) {
+            Assert.assertEquals(f.value(x[i], y[i]), out[i], 0.0);
+        }
+
+        try {
+            f.value(new double[] { 0.5, 1.5 }, new double[] { 1.0, 1.0 }, new double[2]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OutOfRangeException oore) {
+            // expected
+        }
+        try {
+            f.value(x, new double[n - 1], out);
+            Assert.fail("an exception should have been thrown");
+        } catch (DimensionMismatchException dme) {
+            // expected
+        }
+    }
+
+    /**
+     * Reference evaluation building Akima splines on 5x5 windows.
+     */
+    private static double akimaWindows(double[] xval, double[] yval, double[][] fval,
+                                       double x, double y) {
+        final int i = window(xval, x);
+        final int j = window(yval, y);
+        final double[] xArray = new double[5];
+        final double[] yArray = new double[5];
+        final double[] zArray = new double[5];
+        final double[] interpArray = new double[5];
+        final AkimaSplineInterpolator interpolator = new AkimaSplineInterpolator();
+        for (int index = 0; index < 5; index++) {
+            xArray[index] = xval[i + index];
+            yArray[index] = yval[j + index];
+        }
+        for (int zIndex = 0; zIndex < 5; zIndex++) {
+            for (int index = 0; index < 5; index++) {
+                zArray[index] = fval[i + index][j + zIndex];
+            }
+            final PolynomialSplineFunction spline = interpolator.interpolate(xArray, zArray);
+            interpArray[zIndex] = spline.value(x);
+        }
+        return interpolator.interpolate(yArray, interpArray).value(y);
+    }
+
+    /**
+     * Start of the 5 samples window around a coordinate.
+     */
+    private static int window(double[] val, double c) {
+        int r = 0;
+        while (r < val.length - 1 && val[r + 1] <= c) {
+            ++r;
+        }
+        r = (val[r] == c) ? r - 2 : r - 1;
+        return FastMath.max(0, FastMath.min(r, val.length - 5));
+    }
+
+    /**
+     * Build a grid, optionally perturbed away from uniform spacing.
+     */
+    private static double[] grid(double min, double max, int n, double jitter) {
+        final double[] val = new double[n];
+        final double step = (max - min) / (n - 1);
+        for (int i = 0; i < n; i++) {
+            val[i] = min + i * step;
+            if (i > 0 && i < n - 1) {
+                val[i] += ((i % 2 == 0) ? jitter : -jitter) * step;
+            }
+        }
+        return val;
+    }
 }
@@ -16,8 +16,12 @@
  */
 package org.apache.commons.math3.analysis.interpolation;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.analysis.TrivariateFunction;
 import org.apache.commons.math3.distribution.UniformRealDistribution;
 import org.apache.commons.math3.random.RandomGenerator;
@@ -628,4 +632,153 @@ public final class TricubicInterpolatingFunctionTest {
                           1e-12,
                           false);
     }
+
+    @Test
+    public void testParallelConstruction() {
+        final double[] xval = grid(-1, 2, 9, 0.0);
+        final double[] yval = grid(0, 3, 7, 0.1);
+        final double[] zval = grid(-2, 1, 6, 0.0);
+        final double[][][][] data = sample(xval, yval, zval);
+
+        final TricubicInterpolatingFunction serial =
+            new TricubicInterpolatingFunction(xval, yval, zval,
+                                              data[0], data[1], data[2], data[3],
+                                              data[4], data[5], data[6], data[7]);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final TricubicInterpolatingFunction parallel;
+        try {
+            parallel = new TricubicInterpolatingFunction(xval, yval, zval,
+                                                         data[0], data[1], data[2], data[3],
+                                                         data[4], data[5], data[6], data[7], executor);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final RandomGenerator rng = new Well19937c(0x3a1c2d7e5b904f61l);
+        for (int i = 0; i < 1000; i++) {
+            final double x = -1 + 3 * rng.nextDouble();
+            final double y = 3 * rng.nextDouble();
+            final double z = -2 + 3 * rng.nextDouble();
+            Assert.assertEquals(serial.value(x, y, z), parallel.value(x, y, z), 0.0);
+        }
+    }
+
+    @Test
+    public void testBulkValues() {
+        final double[] xval = grid(0, 1, 5, 0.0);
+        final double[] yval = grid(0, 2, 8, 0.0);
+        final double[] zval = grid(1, 3, 4, 0.2);
+        final double[][][][] data = sample(xval, yval, zval);
+        final TricubicInterpolatingFunction f =
+            new TricubicInterpolatingFunction(xval, yval, zval,
+                                              data[0], data[1], data[2], data[3],
+                                              data[4], data[5], data[6], data[7]);
+
+        final RandomGenerator rng = new Well19937c(0x5d0e9c2b17a84f3bl);
+        final int n = 500;
+        final double[] x = new double[n];
+        final double[] y = new double[n];
+        final double[] z = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = rng.nextDouble();
+            y[i] = 2 * rng.nextDouble();
+            z[i] = 1 + 2 * rng.nextDouble();
+        }
+        // include grid nodes, which belong to the cell on their left
+        x[0] = xval[0];
+        y[0] = yval[3];
+        z[0] = zval[zval.length - 1];
+
+        final double[] out = new double[n];
+        f.value(x, y, z, out);
+        for (int i = 0; i < n; i++) {
+            Assert.assertEquals(f.value(x[i], y[i], z[i]), out[i], 0.0);
+        }
+
+        // output may overwrite one of the coordinates arrays
+        f.value(x, y, z, x);
+        Assert.assertArrayEquals(out, x, 0.0);
+    }
+
+    @Test
+    public void testUniformAndIrregularGrids() {
+        // the polynomial is reproduced exactly whatever the grid spacing
+        for (final double jitter : new double[] { 0.0, 0.3 }) {
+            final double[] xval = grid(-1, 1, 6, jitter);
+            final double[] yval = grid(-1, 1, 6, jitter);
+            final double[] zval = grid(-1, 1, 6, jitter);
+            final double[][][][] data = sample(xval, yval, zval);
+            final TricubicInterpolatingFunction f =
+                new TricubicInterpolatingFunction(xval, yval, zval,
+                                                  data[0], data[1], data[2], data[3],
+                                                  data[4], data[5], data[6], data[7]);
+            for (double x = -1; x <= 1; x += 0.0625) {
+                for (double y = -1; y <= 1; y += 0.125) {
+                    for (double z = -1; z <= 1; z += 0.25) {
+                        Assert.assertEquals(polynomial(x, y, z), f.value(x, y, z), 1.0e-13);
+                    }
+                }
+            }
+            Assert.assertFalse(f.isValidPoint(-1.001, 0, 0));
+            try {
+                f.value(0, 0, 1.001);
+                Assert.fail("an exception should have been thrown");
+            } catch (OutOfRangeException oore) {
+                // expected
+            }
+            try {
+                f.value(Double.NaN, 0, 0);
+                Assert.fail("an exception should have been thrown");
+            } catch (OutOfRangeException oore) {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * Build a grid, optionally perturbed away from uniform spacing.
+     */
+    private static double[] grid(double min, double max, int n, double jitter) {
+        final double[] val = new double[n];
+        final double step = (max - min) / (n - 1);
+        for (int i = 0; i < n; i++) {
+            val[i] = min + i * step;
+            if (i > 0 && i < n - 1) {
+                val[i] += ((i % 2 == 0) ? jitter : -jitter) * step;
+            }
+        }
+        return val;
+    }
+
+    /**
+     * Cubic polynomial in each variable.
+     */
+    private static double polynomial(double x, double y, double z) {
+        return 1 + x - 2 * y * z + x * x * y + 0.5 * x * y * z - z * z * z + x * y * y * z;
+    }
+
+    /**
+     * Sample the polynomial and its partial derivatives.
+     */
+    private static double[][][][] sample(double[] xval, double[] yval, double[] zval) {
+        final double[][][][] data = new double[8][xval.length][yval.length][zval.length];
+        for (int i = 0; i < xval.length; i++) {
+            final double x = xval[i];
+            for (int j = 0; j < yval.length; j++) {
+                final double y = yval[j];
+                for (int k = 0; k < zval.length; k++) {
+                    final double z = zval[k];
+                    data[0][i][j][k] = polynomial(x, y, z);
+                    data[1][i][j][k] = 1 + 2 * x * y + 0.5 * y * z + y * y * z;
+                    data[2][i][j][k] = -2 * z + x * x + 0.5 * x * z + 2 * x * y * z;
+                    data[3][i][j][k] = -2 * y + 0.5 * x * y - 3 * z * z + x * y * y;
+                    data[4][i][j][k] = 2 * x + 0.5 * z + 2 * y * z;
+                    data[5][i][j][k] = 0.5 * y + y * y;
+                    data[6][i][j][k] = -2 + 0.5 * x + 2 * x * y;
+                    data[7][i][j][k] = 0.5 + 2 * y;
+                }
+            }
+        }
+        return data;
+    }
 }
@@ -168,6 +168,87 @@ public class PolynomialSplineFunctionTest {
         } catch (OutOfRangeException expected) {}
     }
 
+    @Test
+    public void testCoefficientsConstructor() {
+        PolynomialSplineFunction reference =
+            new PolynomialSplineFunction(knots, polynomials);
+        PolynomialSplineFunction spline =
+            new PolynomialSplineFunction(knots, new double[][] {
+                { 0d, 1d, 1d }, { 2d, 1d, 1d }, { 4d, 1d, 1d }
+            });
+        Assert.assertEquals(3, spline.getN());
+        for (double x = -1; x <= 2; x += 0.0625) {
+            Assert.assertEquals(reference.value(x), spline.value(x), 0);
+            Assert.assertEquals(reference.polynomialSplineDerivative().value(x),
+                                spline.polynomialSplineDerivative().value(x), 0);
+        }
+        Assert.assertEquals(1d, spline.getPolynomials()[0].getCoefficients()[2], 0);
+
+        try { // empty polynomial
+            new PolynomialSplineFunction(knots, new double[][] { { 1d }, { }, { 2d } });
+            Assert.fail("Expecting MathIllegalArgumentException");
+        } catch (MathIllegalArgumentException ex) {
+            // expected
+        }
+
+        try { // wrong number of polynomials
+            new PolynomialSplineFunction(knots, new double[][] { { 1d }, { 2d } });
+            Assert.fail("Expecting MathIllegalArgumentException");
+        } catch (MathIllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMixedDegrees() {
+        PolynomialSplineFunction spline =
+            new PolynomialSplineFunction(knots, new PolynomialFunction[] {
+                new PolynomialFunction(new double[] { 1d }),
+                new PolynomialFunction(new double[] { 1d, 2d, 0d, 3d }),
+                new PolynomialFunction(new double[] { 6d, -1d })
+            });
+        Assert.assertEquals(1d, spline.value(-0.5), 0);
+        Assert.assertEquals(1d + 2 * 0.5 + 3 * 0.125, spline.value(0.5), 0);
+        Assert.assertEquals(6d - 0.5, spline.value(1.5), 0);
+        Assert.assertEquals(2d + 9 * 0.25, spline.polynomialSplineDerivative().value(0.5), 0);
+        Assert.assertEquals(0, spline.getPolynomials()[0].degree());
+        Assert.assertEquals(3, spline.getPolynomials()[1].degree());
+    }
+
+    @Test
+    public void testBulkValues() {
+        PolynomialSplineFunction spline =
+            new PolynomialSplineFunction(knots, polynomials);
+
+        // sorted points, including all knots
+        final double[] sorted = new double[97];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = -1 + i / 32.0;
+        }
+        final double[] out = new double[sorted.length];
+        spline.value(sorted, out);
+        for (int i = 0; i < sorted.length; i++) {
+            Assert.assertEquals(spline.value(sorted[i]), out[i], 0);
+        }
+
+        // unsorted points
+        final double[] unsorted = { 1.5, -0.25, 2.0, 0.0, -1.0, 1.0, 0.75, 0.75, -0.9 };
+        final double[] out2 = new double[unsorted.length];
+        spline.value(unsorted, out2);
+        for (int i = 0; i < unsorted.length; i++) {
+            Assert.assertEquals(spline.value(unsorted[i]), out2[i], 0);
+        }
+
+        // in place evaluation
+        spline.value(unsorted, unsorted);
+        Assert.assertArrayEquals(out2, unsorted, 0);
+
+        try {
+            spline.value(new double[] { 0.0, 2.5 }, new double[2]);
+            Assert.fail("OutOfRangeException expected");
+        } catch (OutOfRangeException expected) {}
+    }
+
     /**
      *  Do linear search to find largest knot point less than or equal to x.
      *  Implementation does binary search.
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.complex;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link ComplexArray} class.
+ */
+public class ComplexArrayTest {
+
+    @Test
+    public void testConstructors() {
+        final ComplexArray zeros = new ComplexArray(3);
+        Assert.assertEquals(3, zeros.size());
+        Assert.assertEquals(Complex.ZERO, zeros.get(2));
+
+        final double[] re = { 1, 2 };
+        final double[] im = { 3, 4 };
+        final ComplexArray copied = new ComplexArray(re, im);
+        Assert.assertNotSame(re, copied.getRealParts());
+        final ComplexArray referenced = new ComplexArray(re, im, false);
+        Assert.assertSame(re, referenced.getRealParts());
+        Assert.assertSame(im, referenced.getImaginaryParts());
+        referenced.conjugate();
+        Assert.assertEquals(-4.0, im[1], 0.0);
+        Assert.assertEquals(4.0, copied.getImaginary(1), 0.0);
+
+        final double[][] dataRI = referenced.getDataRI();
+        Assert.assertSame(re, dataRI[0]);
+        Assert.assertSame(im, dataRI[1]);
+
+        final Complex[] values = { new Complex(1, -1), Complex.I, new Complex(-2.5, 0.5) };
+        final ComplexArray array = new ComplexArray(values);
+        Assert.assertArrayEquals(values, array.toComplexArray());
+        array.set(1, 7, 8);
+        array.set(2, Complex.ONE);
+        Assert.assertEquals(new Complex(7, 8), array.get(1));
+        Assert.assertEquals(Complex.ONE, array.get(2));
+        Assert.assertEquals(Complex.I, values[1]);
+    }
+
+    @Test
+    public void testSameAsComplex() {
+        final RandomGenerator random = new Well1024a(0x7c0f5d2e9a84b361l);
+        final int n = 50;
+        final Complex[] x = new Complex[n];
+        final Complex[] y = new Complex[n];
+        for (int i = 0; i < n; ++i) {
+            x[i] = new Complex(4 * random.nextDouble() - 2, 4 * random.nextDouble() - 2);
+            y[i] = new Complex(4 * random.nextDouble() - 2, 4 * random.nextDouble() - 2);
+        }
+        final ComplexArray cy = new ComplexArray(y);
+        final Complex factor = new Complex(0.3, -1.7);
+
+        checkEquals(add(x, y), new ComplexArray(x).add(cy));
+        checkEquals(subtract(x, y), new ComplexArray(x).subtract(cy));
+        checkEquals(multiply(x, y, false), new ComplexArray(x).multiply(cy));
+        checkEquals(multiply(x, y, true), new ComplexArray(x).multiplyConjugate(cy));
+
+        final Complex[] expected = new Complex[n];
+        final double[] window = new double[n];
+        for (int i = 0; i < n; ++i) {
+            expected[i] = x[i].multiply(factor);
+        }
+        checkEquals(expected, new ComplexArray(x).multiply(factor.getReal(), factor.getImaginary()));
+        for (int i = 0; i < n; ++i) {
+            expected[i] = x[i].multiply(-3.5);
+        }
+        checkEquals(expected, new ComplexArray(x).scale(-3.5));
+        for (int i = 0; i < n; ++i) {
+            window[i]   = 0.5 - 0.5 * FastMath.cos(2 * FastMath.PI * i / n);
+            expected[i] = x[i].multiply(window[i]);
+        }
+        checkEquals(expected, new ComplexArray(x).scale(window));
+        for (int i = 0; i < n; ++i) {
+            expected[i] = x[i].conjugate();
+        }
+        checkEquals(expected, new ComplexArray(x).conjugate());
+        for (int i = 0; i < n; ++i) {
+            expected[i] = x[i].exp();
+        }
+        checkEquals(expected, new ComplexArray(x).exp());
+
+        final double[] abs = new ComplexArray(x).abs();
+        for (int i = 0; i < n; ++i) {
+            Assert.assertEquals(x[i].abs(), abs[i], 0.0);
+        }
+    }
+
+    @Test
+    public void testAbsSpecialValues() {
+        final double inf = Double.POSITIVE_INFINITY;
+        final Complex[] values = {
+            new Complex(3, 4), new Complex(0, -2), new Complex(-5, 0), Complex.ZERO,
+            new Complex(1.0e300, 1.0e300), new Complex(1.0e-300, -1.0e-300),
+            new Complex(inf, 1), new Complex(1, -inf), new Complex(Double.NaN, inf)
+        };
+        final double[] abs = new double[values.length];
+        new ComplexArray(values).abs(abs);
+        for (int i = 0; i < values.length; ++i) {
+            Assert.assertEquals(values[i].abs(), abs[i], 0.0);
+        }
+    }
+
+    @Test
+    public void testCopy() {
+        final ComplexArray original = new ComplexArray(new double[] { 1, 2 }, new double[] { 3, 4 });
+        final ComplexArray copy = original.copy();
+        copy.scale(2);
+        Assert.assertEquals(1.0, original.getReal(0), 0.0);
+        Assert.assertEquals(2.0, copy.getReal(0), 0.0);
+
+        final ComplexArray recovered = (ComplexArray) TestUtils.serializeAndRecover(original);
+        Assert.assertArrayEquals(original.toComplexArray(), recovered.toComplexArray());
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testMultiplySizeMismatch() {
+        new ComplexArray(3).multiply(new ComplexArray(4));
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testAbsSizeMismatch() {
+        new ComplexArray(3).abs(new double[2]);
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testPartsSizeMismatch() {
+        new ComplexArray(new double[3], new double[2]);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullParts() {
+        new ComplexArray(null, new double[2]);
+    }
+
+    @Test(expected=NotPositiveException.class)
+    public void testNegativeSize() {
+        new ComplexArray(-1);
+    }
+
+    private static void checkEquals(final Complex[] expected, final ComplexArray actual) {
+        Assert.assertEquals(expected.length, actual.size());
+        for (int i = 0; i < expected.length; ++i) {
+            Assert.assertEquals(expected[i].getReal(),      actual.getReal(i),      1.0e-15);
+            Assert.assertEquals(expected[i].getImaginary(), actual.getImaginary(i), 1.0e-15);
+        }
+    }
+
+    private static Complex[] add(final Complex[] x, final Complex[] y) {
+        final Complex[] z = new Complex[x.length];
+        for (int i = 0; i < x.length; ++i) {
+            z[i] = x[i].add(y[i]);
+        }
+        return z;
+    }
+
+    private static Complex[] subtract(final Complex[] x, final Complex[] y) {
+        final Complex[] z = new Complex[x.length];
+        for (int i = 0; i < x.length; ++i) {
+            z[i] = x[i].subtract(y[i]);
+        }
+        return z;
+    }
+
+    private static Complex[] multiply(final Complex[] x, final Complex[] y, final boolean conjugate) {
+        final Complex[] z = new Complex[x.length];
+        for (int i = 0; i < x.length; ++i) {
+            z[i] = x[i].multiply(conjugate ? y[i].conjugate() : y[i]);
+        }
+        return z;
+    }
+
+}
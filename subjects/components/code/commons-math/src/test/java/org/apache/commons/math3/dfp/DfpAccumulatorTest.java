@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.dfp;
+
+import java.util.Random;
+
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DfpAccumulatorTest {
+
+    @Test
+    public void testMatchesImmutableOperations() {
+        for (final int digits : new int[] { 20, 100, 250 }) {
+            final DfpField field = new DfpField(digits);
+            final Random random = new Random(0x3a5f1c2e9d874b60l);
+            Dfp expected = field.newDfp(0.25);
+            final DfpAccumulator accumulator = new DfpAccumulator(expected);
+            for (int i = 0; i < 500; ++i) {
+                final Dfp x = field.newDfp(FastMath.scalb(random.nextGaussian(), random.nextInt(40) - 20));
+                final Dfp y = field.newDfp(random.nextGaussian());
+                switch (i % 4) {
+                case 0 :
+                    expected = expected.add(x);
+                    accumulator.add(x);
+                    break;
+                case 1 :
+                    expected = expected.subtract(x);
+                    accumulator.subtract(x);
+                    break;
+                case 2 :
+                    expected = expected.add(x.multiply(y));
+                    accumulator.addProduct(x, y);
+                    break;
+                default :
+                    expected = expected.multiply(y);
+                    accumulator.multiply(y);
+                }
+                Assert.assertEquals(expected, accumulator.getValue());
+            }
+        }
+    }
+
+    @Test
+    public void testNonFinite() {
+        final DfpField field = new DfpField(25);
+        final Dfp pInf = field.newDfp((byte) 1, Dfp.INFINITE);
+        final DfpAccumulator accumulator = new DfpAccumulator(field.getOne());
+        accumulator.add(pInf);
+        Assert.assertEquals(pInf, accumulator.getValue());
+        accumulator.subtract(pInf);
+        Assert.assertTrue(accumulator.getValue().isNaN());
+        Assert.assertTrue((field.getIEEEFlags() & DfpField.FLAG_INVALID) != 0);
+        accumulator.set(field.getTwo()).multiply(field.getPi());
+        Assert.assertEquals(field.getPi().multiply(2), accumulator.getValue());
+    }
+
+    @Test
+    public void testOtherField() {
+        final DfpField f1 = new DfpField(25);
+        final DfpField f2 = new DfpField(25);
+        final DfpField f3 = new DfpField(50);
+        final DfpAccumulator accumulator = new DfpAccumulator(f1.getOne());
+        accumulator.add(f2.getPi());
+        Assert.assertEquals(f1.getOne().add(f2.getPi()), accumulator.getValue());
+        accumulator.add(f3.getOne());
+        Assert.assertTrue(accumulator.getValue().isNaN());
+    }
+
+    @Test
+    public void testValueIsolation() {
+        final DfpField field = new DfpField(25);
+        final Dfp one = field.getOne();
+        final DfpAccumulator a1 = new DfpAccumulator(one);
+        final DfpAccumulator a2 = new DfpAccumulator(one);
+        Assert.assertTrue(a1.hasSameValue(a2));
+        final Dfp before = a1.getValue();
+        a1.add(one);
+        Assert.assertEquals(field.getOne(), one);
+        Assert.assertEquals(field.getOne(), before);
+        Assert.assertFalse(a1.hasSameValue(a2));
+        a2.set(a1);
+        Assert.assertTrue(a1.hasSameValue(a2));
+        Assert.assertEquals(field.getTwo(), a2.getValue());
+    }
+
+}
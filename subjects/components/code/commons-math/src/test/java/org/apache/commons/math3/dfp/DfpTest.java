@@ -17,6 +17,9 @@
 
 package org.apache.commons.math3.dfp;
 
+import java.math.BigInteger;
+import java.util.Random;
+
 import org.apache.commons.math3.ExtendedFieldElementAbstractTest;
 import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.Precision;
@@ -1660,4 +1663,46 @@ public class DfpTest extends ExtendedFieldElementAbstractTest<Dfp> {
         Assert.assertTrue(var5.equals(var6) ? var5.hashCode() == var6.hashCode() : true);
     }
 
+    @Test
+    public void testKaratsubaMultiply() {
+        // products of integers with up to 120 digits are exact in a 250 digits field,
+        // so they can be compared with BigInteger products
+        final DfpField large = new DfpField(250);
+        final Random random = new Random(0x1d2f5e7a9bc30146l);
+        for (int k = 0; k < 50; ++k) {
+            final BigInteger a = new BigInteger(1 + random.nextInt(400), random);
+            final BigInteger b = new BigInteger(1 + random.nextInt(400), random);
+            large.clearIEEEFlags();
+            final Dfp product = large.newDfp(a.toString()).multiply(large.newDfp(b.negate().toString()));
+            Assert.assertEquals(large.newDfp(a.multiply(b).negate().toString()), product);
+            Assert.assertEquals(0, large.getIEEEFlags());
+        }
+    }
+
+    @Test
+    public void testCachedConstants() {
+        final DfpField f1 = new DfpField(60);
+        f1.setRoundingMode(DfpField.RoundingMode.ROUND_DOWN);
+        final DfpField f2 = new DfpField(60);
+        Assert.assertEquals(DfpField.RoundingMode.ROUND_HALF_EVEN, f2.getRoundingMode());
+        Assert.assertNotSame(f1.getPi(), f2.getPi());
+        Assert.assertSame(f2, f2.getPi().getField());
+        Assert.assertSame(f2, f2.getLn2Split()[1].getField());
+        Assert.assertEquals(f1.getPi(), f2.getPi());
+        Assert.assertEquals(f1.getESplit()[0], f2.getESplit()[0]);
+        Assert.assertEquals(f1.getESplit()[1], f2.getESplit()[1]);
+        Assert.assertEquals(f1.getSqr3Reciprocal(), f2.getSqr3Reciprocal());
+        Assert.assertEquals(f1.getLn10(), f2.getLn10());
+    }
+
+    @Test
+    public void testCachedConstantsFlags() {
+        for (final int digits : new int[] { 10, 25, 50, 100, 250 }) {
+            final DfpField first  = new DfpField(digits);
+            final DfpField second = new DfpField(digits);
+            Assert.assertEquals(DfpField.FLAG_INEXACT, first.getIEEEFlags());
+            Assert.assertEquals(first.getIEEEFlags(), second.getIEEEFlags());
+        }
+    }
+
 }
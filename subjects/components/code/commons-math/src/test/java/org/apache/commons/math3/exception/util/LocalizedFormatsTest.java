@@ -29,7 +29,7 @@ public class LocalizedFormatsTest {
 
     @Test
     public void testMessageNumber() {
-        Assert.assertEquals(328, LocalizedFormats.values().length);
+        Assert.assertEquals(329, LocalizedFormats.values().length);
     }
 
     @Test
@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.filter;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.MatrixDimensionMismatchException;
+import org.apache.commons.math3.linear.NonPositiveDefiniteMatrixException;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+import org.apache.commons.math3.linear.SingularMatrixException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UDKalmanFilterTest {
+
+    @Test
+    public void testConstantAcceleration() {
+        final double dt = 0.1;
+        final double measurementNoise = 10;
+        final double accelNoise = 0.2;
+        final RealMatrix A = new Array2DRowRealMatrix(new double[][] { { 1, dt }, { 0, 1 } });
+        final RealMatrix B = new Array2DRowRealMatrix(new double[][] { { dt * dt / 2 }, { dt } });
+        final RealMatrix H = new Array2DRowRealMatrix(new double[][] { { 1, 0 } });
+        final RealMatrix Q = new Array2DRowRealMatrix(new double[][] {
+            { FastMath.pow(dt, 4) / 4, FastMath.pow(dt, 3) / 2 },
+            { FastMath.pow(dt, 3) / 2, dt * dt }
+        }).scalarMultiply(accelNoise * accelNoise);
+        // P0 is only positive semi-definite
+        final RealMatrix P0 = new Array2DRowRealMatrix(new double[][] { { 1, 1 }, { 1, 1 } });
+        final RealMatrix R = new Array2DRowRealMatrix(new double[] { measurementNoise * measurementNoise });
+        final RealVector x = new ArrayRealVector(new double[] { 0, 0 });
+
+        final ProcessModel pm = new DefaultProcessModel(A, B, Q, x, P0);
+        final MeasurementModel mm = new DefaultMeasurementModel(H, R);
+        final KalmanFilter reference = new KalmanFilter(pm, mm);
+        final UDKalmanFilter filter = new UDKalmanFilter(pm, mm);
+        Assert.assertEquals(2, filter.getStateDimension());
+        Assert.assertEquals(1, filter.getMeasurementDimension());
+        checkSame(reference, filter);
+
+        final RandomGenerator random = new Well19937c(0x510e527fade682d1l);
+        final double[] u = { 0.1 };
+        RealVector truth = x;
+        for (int i = 0; i < 200; ++i) {
+            reference.predict(u);
+            filter.predict(u);
+            checkSame(reference, filter);
+
+            truth = A.operate(truth).add(B.operate(new ArrayRealVector(u)));
+            final double[] z = { truth.getEntry(0) + measurementNoise * random.nextGaussian() };
+            reference.correct(z);
+            filter.correct(z);
+            checkSame(reference, filter);
+        }
+    }
+
+    @Test
+    public void testCorrelatedNoise() {
+        final RandomGenerator random = new Well19937c(0x9b05688c2b3e6c1fl);
+        final int n = 4;
+        final int m = 3;
+        final RealMatrix A = randomMatrix(random, n, n).scalarMultiply(0.3).add(identity(n));
+        final RealMatrix H = randomMatrix(random, m, n);
+        final RealMatrix Q = randomCovariance(random, n, 0.01);
+        final RealMatrix R = randomCovariance(random, m, 0.5);
+        final RealMatrix P0 = randomCovariance(random, n, 1.0);
+        final RealVector x0 = new ArrayRealVector(new double[] { 1, -2, 0.5, 3 });
+
+        final ProcessModel pm = new DefaultProcessModel(A, null, Q, x0, P0);
+        final MeasurementModel mm = new DefaultMeasurementModel(H, R);
+        // KalmanFilter loses the symmetry of P with correlated noise, use a symmetrized reference
+        final ReferenceFilter reference = new ReferenceFilter(A, Q, H, R, x0, P0);
+        final UDKalmanFilter filter = new UDKalmanFilter(pm, mm);
+        checkSame(reference, filter);
+
+        for (int i = 0; i < 50; ++i) {
+            reference.predict();
+            filter.predict();
+            checkSame(reference, filter);
+
+            final double[] z = new double[m];
+            for (int k = 0; k < m; ++k) {
+                z[k] = random.nextGaussian();
+            }
+            reference.correct(z);
+            filter.correct(new ArrayRealVector(z));
+            checkSame(reference, filter);
+        }
+    }
+
+    @Test
+    public void testBatchCorrect() {
+        final RandomGenerator random = new Well19937c(0x1f83d9abfb41bd6bl);
+        final int n = 3;
+        final int m = 2;
+        final RealMatrix A = randomMatrix(random, n, n).scalarMultiply(0.2).add(identity(n));
+        final RealMatrix H = randomMatrix(random, m, n);
+        final RealMatrix Q = randomCovariance(random, n, 0.1);
+        final RealMatrix R = randomCovariance(random, m, 0.2);
+
+        final ProcessModel pm = new DefaultProcessModel(A, null, Q, null, null);
+        final MeasurementModel mm = new DefaultMeasurementModel(H, R);
+        final ReferenceFilter reference = new ReferenceFilter(A, Q, H, R, new ArrayRealVector(n), Q);
+        final UDKalmanFilter filter = new UDKalmanFilter(pm, mm);
+
+        for (int i = 0; i < 20; ++i) {
+            reference.predict();
+            filter.predict();
+            final double[][] zs = new double[5][m];
+            for (final double[] z : zs) {
+                for (int k = 0; k < m; ++k) {
+                    z[k] = random.nextGaussian();
+                }
+                reference.correct(z);
+            }
+            filter.correct(zs);
+            checkSame(reference, filter);
+        }
+
+        // an empty batch does nothing
+        final double[] before = filter.getStateEstimation();
+        filter.correct(new double[0][]);
+        Assert.assertArrayEquals(before, filter.getStateEstimation(), 0.0);
+    }
+
+    @Test
+    public void testPerfectMeasurement() {
+        // the first state component is not observed and the measurement is noiseless
+        final RealMatrix A = identity(2);
+        final RealMatrix H = new Array2DRowRealMatrix(new double[][] { { 0, 1 } });
+        final RealMatrix Q = new Array2DRowRealMatrix(new double[][] { { 1, 0.5 }, { 0.5, 2 } });
+        final RealMatrix R = new Array2DRowRealMatrix(new double[][] { { 0 } });
+        final ProcessModel pm = new DefaultProcessModel(A, null, Q, null, null);
+        final MeasurementModel mm = new DefaultMeasurementModel(H, R);
+        final KalmanFilter reference = new KalmanFilter(pm, mm);
+        final UDKalmanFilter filter = new UDKalmanFilter(pm, mm);
+        reference.correct(new double[] { 3.0 });
+        filter.correct(new double[] { 3.0 });
+        checkSame(reference, filter);
+        Assert.assertEquals(3.0, filter.getStateEstimation()[1], 1.0e-14);
+        Assert.assertEquals(0.0, filter.getDiagonalFactor()[1], 0.0);
+    }
+
+    @Test
+    public void testFactors() {
+        final RealMatrix P0 = new Array2DRowRealMatrix(new double[][] { { 4, 2 }, { 2, 2 } });
+        final ProcessModel pm = new DefaultProcessModel(identity(2), null, identity(2), null, P0);
+        final MeasurementModel mm = new DefaultMeasurementModel(identity(2), identity(2));
+        final UDKalmanFilter filter = new UDKalmanFilter(pm, mm);
+        // P0 = [1 1; 0 1] * diag(2, 2) * [1 0; 1 1]
+        Assert.assertArrayEquals(new double[] { 2, 2 }, filter.getDiagonalFactor(), 1.0e-15);
+        final double[][] u = filter.getUnitUpperFactor();
+        Assert.assertArrayEquals(new double[] { 1, 1 }, u[0], 1.0e-15);
+        Assert.assertArrayEquals(new double[] { 0, 1 }, u[1], 1.0e-15);
+        Assert.assertEquals(0.0, P0.subtract(filter.getErrorCovarianceMatrix()).getNorm(), 1.0e-15);
+    }
+
+    @Test(expected=SingularMatrixException.class)
+    public void testSingularInnovation() {
+        final RealMatrix zero = new Array2DRowRealMatrix(new double[][] { { 0 } });
+        final ProcessModel pm = new DefaultProcessModel(identity(1), null, zero, null, null);
+        final MeasurementModel mm = new DefaultMeasurementModel(identity(1), zero);
+        new UDKalmanFilter(pm, mm).correct(new double[] { 1.0 });
+    }
+
+    @Test(expected=NonPositiveDefiniteMatrixException.class)
+    public void testNonPositiveCovariance() {
+        final RealMatrix P0 = new Array2DRowRealMatrix(new double[][] { { 1, 2 }, { 2, 1 } });
+        final ProcessModel pm = new DefaultProcessModel(identity(2), null, identity(2), null, P0);
+        new UDKalmanFilter(pm, new DefaultMeasurementModel(identity(2), identity(2)));
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testWrongMeasurementDimension() {
+        final ProcessModel pm = new DefaultProcessModel(identity(2), null, identity(2), null, null);
+        final UDKalmanFilter filter = new UDKalmanFilter(pm, new DefaultMeasurementModel(identity(2), identity(2)));
+        filter.correct(new double[][] { { 1, 2 }, { 1, 2, 3 } });
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testWrongControlDimension() {
+        final ProcessModel pm = new DefaultProcessModel(identity(2), null, identity(2), null, null);
+        new UDKalmanFilter(pm, new DefaultMeasurementModel(identity(2), identity(2))).predict(new double[] { 1 });
+    }
+
+    @Test(expected=MatrixDimensionMismatchException.class)
+    public void testTransitionMeasurementMatrixMismatch() {
+        final ProcessModel pm = new DefaultProcessModel(identity(2), null, identity(2), null, null);
+        new UDKalmanFilter(pm, new DefaultMeasurementModel(identity(3), identity(3)));
+    }
+
+    private void checkSame(final KalmanFilter reference, final UDKalmanFilter filter) {
+        checkSame(reference.getStateEstimation(), reference.getErrorCovariance(), filter);
+    }
+
+    private void checkSame(final ReferenceFilter reference, final UDKalmanFilter filter) {
+        checkSame(reference.x.toArray(), reference.p.getData(), filter);
+    }
+
+    private void checkSame(final double[] x1, final double[][] p1, final UDKalmanFilter filter) {
+        final double[] x2 = filter.getStateEstimation();
+        for (int i = 0; i < x1.length; ++i) {
+            Assert.assertEquals(x1[i], x2[i], 1.0e-9 * FastMath.max(1.0, FastMath.abs(x1[i])));
+        }
+        final double[][] p2 = filter.getErrorCovariance();
+        for (int i = 0; i < p1.length; ++i) {
+            for (int j = 0; j < p1.length; ++j) {
+                Assert.assertEquals(p1[i][j], p2[i][j], 1.0e-9 * FastMath.max(1.0, FastMath.abs(p1[i][j])));
+            }
+        }
+    }
+
+    /** Textbook filter with explicit symmetrization of the covariance. */
+    private static class ReferenceFilter {
+        private final RealMatrix a;
+        private final RealMatrix q;
+        private final RealMatrix h;
+        private final RealMatrix r;
+        private RealVector x;
+        private RealMatrix p;
+
+        ReferenceFilter(final RealMatrix a, final RealMatrix q, final RealMatrix h, final RealMatrix r,
+                        final RealVector x0, final RealMatrix p0) {
+            this.a = a;
+            this.q = q;
+            this.h = h;
+            this.r = r;
+            this.x = x0;
+            this.p = p0;
+        }
+
+        void predict() {
+            x = a.operate(x);
+            p = symmetrize(a.multiply(p).multiply(a.transpose()).add(q));
+        }
+
+        void correct(final double[] z) {
+            final RealMatrix s = h.multiply(p).multiply(h.transpose()).add(r);
+            final RealMatrix k = p.multiply(h.transpose()).multiply(new LUDecomposition(s).getSolver().getInverse());
+            x = x.add(k.operate(new ArrayRealVector(z).subtract(h.operate(x))));
+            p = symmetrize(p.subtract(k.multiply(s).multiply(k.transpose())));
+        }
+
+        private static RealMatrix symmetrize(final RealMatrix m) {
+            return m.add(m.transpose()).scalarMultiply(0.5);
+        }
+    }
+
+    private static RealMatrix identity(final int n) {
+        final RealMatrix identity = new Array2DRowRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            identity.setEntry(i, i, 1.0);
+        }
+        return identity;
+    }
+
+    private static RealMatrix randomMatrix(final RandomGenerator random, final int rows, final int columns) {
+        final RealMatrix m = new Array2DRowRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        return m;
+    }
+
+    private static RealMatrix randomCovariance(final RandomGenerator random, final int n, final double scale) {
+        final RealMatrix l = randomMatrix(random, n, n);
+        return l.multiply(l.transpose()).add(identity(n).scalarMultiply(0.1)).scalarMultiply(scale);
+    }
+
+}
@@ -20,10 +20,13 @@ package org.apache.commons.math3.fitting.leastsquares;
 import org.apache.commons.math3.analysis.MultivariateMatrixFunction;
 import org.apache.commons.math3.analysis.MultivariateVectorFunction;
 import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.exception.TooManyEvaluationsException;
 import org.apache.commons.math3.fitting.leastsquares.LeastSquaresOptimizer.Optimum;
 import org.apache.commons.math3.fitting.leastsquares.LeastSquaresProblem.Evaluation;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.apache.commons.math3.linear.ArrayRealVector;
 import org.apache.commons.math3.linear.DiagonalMatrix;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
@@ -35,7 +38,12 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.hamcrest.CoreMatchers.is;
 
@@ -331,6 +339,119 @@ public class LevenbergMarquardtOptimizerTest
         Assert.assertThat(optimum.getEvaluations(), is(2));
     }
 
+    @Test
+    public void testFiniteDifferencesJacobian() {
+        final BevingtonProblem problem = createBevingtonProblem();
+        final double[] point = { 10, 900, 80, 27, 225 };
+        final double[] steps = { 1.0e-6, 1.0e-4, 1.0e-5, 1.0e-6, 1.0e-5 };
+        final double[][] expected = problem.getModelFunctionJacobian().value(point);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final MultivariateJacobianFunction serial =
+                LeastSquaresFactory.model(problem.getModelFunction(), steps, null);
+            final MultivariateJacobianFunction parallel =
+                LeastSquaresFactory.model(problem.getModelFunction(), steps, executor);
+            final RealMatrix jSerial   = serial.value(new ArrayRealVector(point)).getSecond();
+            final RealMatrix jParallel = parallel.value(new ArrayRealVector(point)).getSecond();
+            final RealMatrix jLazy     = ((ValueAndJacobianFunction) parallel).computeJacobian(point);
+            for (int i = 0; i < expected.length; ++i) {
+                for (int j = 0; j < expected[i].length; ++j) {
+                    Assert.assertEquals(jSerial.getEntry(i, j), jParallel.getEntry(i, j), 0.0);
+                    Assert.assertEquals(jSerial.getEntry(i, j), jLazy.getEntry(i, j), 0.0);
+                    Assert.assertEquals(expected[i][j], jSerial.getEntry(i, j),
+                                        1.0e-4 * FastMath.max(1.0, FastMath.abs(expected[i][j])));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFiniteDifferencesSharedExecutor() {
+        final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+        final MultivariateVectorFunction f = new MultivariateVectorFunction() {
+            public double[] value(final double[] point) {
+                threads.add(Thread.currentThread());
+                return new double[] { point[0] * point[1], point[1] + point[2], point[2] * point[3] };
+            }
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final ValueAndJacobianFunction model =
+                (ValueAndJacobianFunction) LeastSquaresFactory.model(f, new double[] { 1.0e-6, 1.0e-6, 1.0e-6, 1.0e-6 },
+                                                                     executor);
+            for (int k = 0; k < 50; ++k) {
+                model.computeJacobian(new double[] { k, 1, 2, 3 });
+            }
+            // the calling thread and the two executor threads
+            Assert.assertTrue(threads.size() <= 3);
+            Assert.assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testBevingtonFiniteDifferences() {
+        final BevingtonProblem problem = createBevingtonProblem();
+        final double[] start = {10, 900, 80, 27, 225};
+        final double[] steps = { 1.0e-6, 1.0e-4, 1.0e-5, 1.0e-6, 1.0e-5 };
+
+        final Optimum reference = optimizer.optimize(builder(problem)
+                                                     .target(problem.getCounts())
+                                                     .start(start)
+                                                     .maxIterations(20)
+                                                     .build());
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Optimum optimum = optimizer.optimize(base()
+                                                       .model(problem.getModelFunction(), steps, executor)
+                                                       .target(problem.getCounts())
+                                                       .start(start)
+                                                       .maxIterations(20)
+                                                       .lazyEvaluation(true)
+                                                       .build());
+            for (int i = 0; i < start.length; ++i) {
+                Assert.assertEquals(reference.getPoint().getEntry(i), optimum.getPoint().getEntry(i),
+                                    1.0e-5 * FastMath.abs(reference.getPoint().getEntry(i)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testFiniteDifferencesWrongStep() {
+        LeastSquaresFactory.model(createBevingtonProblem().getModelFunction(),
+                                  new double[] { 1.0e-6, 0.0, 1.0e-6, 1.0e-6, 1.0e-6 }, null);
+    }
+
+    @Test(expected=NumberIsTooSmallException.class)
+    public void testFiniteDifferencesLostStep() {
+        // the step is below half an ulp of the second parameter
+        LeastSquaresFactory.model(createBevingtonProblem().getModelFunction(),
+                                  new double[] { 1.0e-6, 1.0e-6, 1.0e-6, 1.0e-6, 1.0e-6 }, null).
+            value(new ArrayRealVector(new double[] { 10, 9.0e11, 80, 27, 225 }));
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testFiniteDifferencesWrongDimension() {
+        LeastSquaresFactory.model(createBevingtonProblem().getModelFunction(),
+                                  new double[] { 1.0e-6, 1.0e-6 }, null).
+            value(new ArrayRealVector(new double[] { 10, 900, 80, 27, 225 }));
+    }
+
+    private static BevingtonProblem createBevingtonProblem() {
+        final BevingtonProblem problem = new BevingtonProblem();
+        for (int i = 0; i < 40; ++i) {
+            final double t = 15 * (i + 1);
+            problem.addPoint(t, 10.4 + 958.3 * FastMath.exp(-t / 33.9) + 131.4 * FastMath.exp(-t / 205.0) +
+                                (i % 3 - 1));
+        }
+        return problem;
+    }
+
     private static class BevingtonProblem {
         private List<Double> time;
         private List<Double> count;
@@ -345,6 +466,14 @@ public class LevenbergMarquardtOptimizerTest
             count.add(c);
         }
 
+        public double[] getCounts() {
+            final double[] counts = new double[count.size()];
+            for (int i = 0; i < counts.length; ++i) {
+                counts[i] = count.get(i);
+            }
+            return counts;
+        }
+
         public MultivariateVectorFunction getModelFunction() {
             return new MultivariateVectorFunction() {
                 public double[] value(double[] params) {
@@ -625,6 +625,19 @@ public class BigFractionTest {
         Assert.assertEquals(correctResult, errorResult);
     }
 
+    @Test
+    public void testSum() {
+        Assert.assertEquals(BigFraction.ZERO, BigFraction.sum());
+        BigFraction chained = BigFraction.ZERO;
+        final BigFraction[] fractions = new BigFraction[200];
+        for (int i = 0; i < fractions.length; ++i) {
+            fractions[i] = new BigFraction(BigInteger.valueOf(i - 100).shiftLeft(i % 70),
+                                           BigInteger.valueOf(2 * i + 1));
+            chained = chained.add(fractions[i]);
+        }
+        Assert.assertEquals(chained, BigFraction.sum(fractions));
+    }
+
     @Test
     public void testSerial() throws FractionConversionException {
         BigFraction[] fractions = {
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.fraction;
+
+import java.math.BigInteger;
+
+import org.apache.commons.math3.exception.MathArithmeticException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FractionAccumulatorTest {
+
+    @Test
+    public void testEmpty() {
+        final FractionAccumulator accumulator = new FractionAccumulator();
+        Assert.assertEquals(Fraction.ZERO, accumulator.getFraction());
+        Assert.assertEquals(BigFraction.ZERO, accumulator.getBigFraction());
+        Assert.assertEquals(0.0, accumulator.doubleValue(), 0.0);
+    }
+
+    @Test
+    public void testSmallFractions() {
+        final FractionAccumulator accumulator = new FractionAccumulator();
+        accumulator.add(Fraction.ONE_HALF).add(Fraction.ONE_THIRD).subtract(Fraction.ONE_QUARTER);
+        Assert.assertEquals(new Fraction(7, 12), accumulator.getFraction());
+        accumulator.add(5, -12);
+        Assert.assertEquals(new Fraction(1, 6), accumulator.getFraction());
+        accumulator.subtract(new Fraction(1, 6));
+        Assert.assertEquals(Fraction.ZERO, accumulator.getFraction());
+        Assert.assertEquals(1, accumulator.getFraction().getDenominator());
+    }
+
+    @Test
+    public void testMatchesChainedAdd() {
+        final RandomGenerator random = new Well1024a(0x7c92e3a4bf5f1d02l);
+        final FractionAccumulator accumulator = new FractionAccumulator();
+        BigFraction chained = BigFraction.ZERO;
+        for (int i = 0; i < 2000; ++i) {
+            final Fraction f = new Fraction(random.nextInt() >> 8, 1 + random.nextInt(1000));
+            if (random.nextBoolean()) {
+                accumulator.add(f);
+                chained = chained.add(new BigFraction(f.getNumerator(), f.getDenominator()));
+            } else {
+                accumulator.subtract(f);
+                chained = chained.subtract(new BigFraction(f.getNumerator(), f.getDenominator()));
+            }
+            if (i % 97 == 0) {
+                Assert.assertEquals(chained, accumulator.getBigFraction());
+            }
+        }
+        Assert.assertEquals(chained, accumulator.getBigFraction());
+        Assert.assertEquals(chained.doubleValue(), accumulator.doubleValue(), 0.0);
+    }
+
+    @Test
+    public void testPromotionAndDemotion() {
+        final FractionAccumulator accumulator = new FractionAccumulator();
+
+        // denominators with many different prime factors force a promotion to BigInteger
+        final int[] primes = { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53, 59, 61, 67, 71 };
+        for (final int p : primes) {
+            accumulator.add(1, p);
+        }
+        BigFraction expected = BigFraction.ZERO;
+        for (final int p : primes) {
+            expected = expected.add(new BigFraction(1, p));
+        }
+        Assert.assertEquals(expected, accumulator.getBigFraction());
+        Assert.assertEquals(expected.doubleValue(), accumulator.doubleValue(), 0.0);
+
+        // removing the same terms brings the sum back to long range
+        for (final int p : primes) {
+            accumulator.subtract(new Fraction(1, p));
+        }
+        accumulator.add(3, 4);
+        Assert.assertEquals(new Fraction(3, 4), accumulator.getFraction());
+    }
+
+    @Test
+    public void testLongExtremes() {
+        final FractionAccumulator accumulator = new FractionAccumulator();
+        accumulator.add(Long.MAX_VALUE, 1).add(Long.MAX_VALUE, 1).add(Long.MIN_VALUE, 1);
+        Assert.assertEquals(new BigFraction(Long.MAX_VALUE - 1), accumulator.getBigFraction());
+        accumulator.clear();
+        accumulator.add(1, Long.MIN_VALUE).add(1, Long.MAX_VALUE);
+        final BigFraction expected = new BigFraction(BigInteger.ONE, BigInteger.valueOf(Long.MIN_VALUE)).
+                                     add(new BigFraction(BigInteger.ONE, BigInteger.valueOf(Long.MAX_VALUE)));
+        Assert.assertEquals(expected, accumulator.getBigFraction());
+    }
+
+    @Test
+    public void testBigFractions() {
+        final BigInteger huge = BigInteger.TEN.pow(40);
+        final FractionAccumulator accumulator = new FractionAccumulator();
+        accumulator.add(new BigFraction(huge.add(BigInteger.ONE), huge));
+        accumulator.subtract(new BigFraction(BigInteger.ONE, huge));
+        Assert.assertEquals(BigFraction.ONE, accumulator.getBigFraction());
+        Assert.assertEquals(Fraction.ONE, accumulator.getFraction());
+    }
+
+    @Test
+    public void testMerge() {
+        final FractionAccumulator a1 = new FractionAccumulator();
+        final FractionAccumulator a2 = new FractionAccumulator();
+        final FractionAccumulator all = new FractionAccumulator();
+        for (int i = 1; i < 60; ++i) {
+            final Fraction f = new Fraction(i, i + 1);
+            ((i % 2 == 0) ? a1 : a2).add(f);
+            all.add(f);
+        }
+        a1.add(a2);
+        Assert.assertEquals(all.getBigFraction(), a1.getBigFraction());
+        a1.add(a1);
+        Assert.assertEquals(all.getBigFraction().multiply(2), a1.getBigFraction());
+    }
+
+    @Test(expected=MathArithmeticException.class)
+    public void testFractionOverflow() {
+        new FractionAccumulator().add(Integer.MAX_VALUE, 1).add(1, 1).getFraction();
+    }
+
+    @Test(expected=MathArithmeticException.class)
+    public void testZeroDenominator() {
+        new FractionAccumulator().add(1, 0);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNull() {
+        new FractionAccumulator().add((Fraction) null);
+    }
+
+}
@@ -19,6 +19,7 @@ package org.apache.commons.math3.fraction;
 import org.apache.commons.math3.exception.ConvergenceException;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.exception.MathArithmeticException;
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.util.FastMath;
 import org.junit.Assert;
@@ -614,6 +615,37 @@ public class FractionTest {
         Assert.assertEquals("2 / 3", new Fraction(18, 27).toString());
     }
 
+    @Test
+    public void testSum() {
+        assertFraction(0, 1, Fraction.sum());
+        assertFraction(13, 12, Fraction.sum(Fraction.ONE_HALF, Fraction.ONE_THIRD, Fraction.ONE_QUARTER));
+        assertFraction(-1, 6, Fraction.sum(Fraction.ONE_THIRD, new Fraction(-1, 2)));
+
+        // intermediate sums exceed int range, but not the result
+        final Fraction big = new Fraction(Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+        assertFraction(1, Integer.MAX_VALUE,
+                       Fraction.sum(big, big, new Fraction(-(Integer.MAX_VALUE - 3), Integer.MAX_VALUE),
+                                    Fraction.MINUS_ONE));
+
+        Fraction chained = Fraction.ZERO;
+        final Fraction[] fractions = new Fraction[100];
+        for (int i = 0; i < fractions.length; ++i) {
+            fractions[i] = new Fraction(((i % 3) - 1) * (i + 1), 1 << (i % 13));
+            chained = chained.add(fractions[i]);
+        }
+        Assert.assertEquals(chained, Fraction.sum(fractions));
+    }
+
+    @Test(expected=MathArithmeticException.class)
+    public void testSumOverflow() {
+        Fraction.sum(new Fraction(1, Integer.MAX_VALUE), new Fraction(1, Integer.MAX_VALUE - 1));
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testSumNull() {
+        Fraction.sum(Fraction.ONE, null);
+    }
+
     @Test
     public void testSerial() throws FractionConversionException {
         Fraction[] fractions = {
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.geometry.euclidean.twod.hull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test class for ParallelMonotoneChain.
+ */
+public class ParallelMonotoneChainTest extends ConvexHullGenerator2DAbstractTest {
+
+    private static ExecutorService executor;
+
+    @BeforeClass
+    public static void createExecutor() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    @Override
+    protected ConvexHullGenerator2D createConvexHullGenerator(boolean includeCollinearPoints) {
+        return new ParallelMonotoneChain(includeCollinearPoints, 1e-10, executor);
+    }
+
+    // ------------------------------------------------------------------------------
+
+    @Test
+    public void testSameAsMonotoneChainRandom() {
+        final double[] x = new double[100000];
+        final double[] y = new double[x.length];
+        for (int i = 0; i < x.length; ++i) {
+            // points in a disk, many of them close to the hull
+            final double r     = FastMath.sqrt(random.nextDouble());
+            final double theta = 2 * FastMath.PI * random.nextDouble();
+            x[i] = 3 + r * FastMath.cos(theta);
+            y[i] = -2 + r * FastMath.sin(theta);
+        }
+        checkSameAsMonotoneChain(x, y, false);
+        checkSameAsMonotoneChain(x, y, true);
+    }
+
+    @Test
+    public void testSameAsMonotoneChainGrid() {
+        // integer grid points: many identical and collinear points
+        final double[] x = new double[100000];
+        final double[] y = new double[x.length];
+        for (int i = 0; i < x.length; ++i) {
+            x[i] = random.nextInt(50);
+            y[i] = random.nextInt(30);
+        }
+        checkSameAsMonotoneChain(x, y, false);
+        checkSameAsMonotoneChain(x, y, true);
+    }
+
+    @Test
+    public void testThreadsIndependent() {
+        final double[] x = new double[150000];
+        final double[] y = new double[x.length];
+        for (int i = 0; i < x.length; ++i) {
+            x[i] = random.nextGaussian();
+            y[i] = random.nextGaussian();
+        }
+        final Vector2D[] ref = new ParallelMonotoneChain(false, 1e-10, null).generate(x, y).getVertices();
+        for (int nbThreads = 1; nbThreads < 6; ++nbThreads) {
+            final ExecutorService pool = Executors.newFixedThreadPool(nbThreads);
+            try {
+                final ParallelMonotoneChain generator = new ParallelMonotoneChain(false, 1e-10, pool);
+                Assert.assertArrayEquals(ref, generator.generate(x, y).getVertices());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testSmallArrays() {
+        final ParallelMonotoneChain generator = new ParallelMonotoneChain();
+        Assert.assertEquals(0, generator.generate(new double[0], new double[0]).getVertices().length);
+        Assert.assertEquals(1, generator.generate(new double[] { 1 }, new double[] { 2 }).getVertices().length);
+        final Vector2D[] triangle = generator.generate(new double[] { 0, 1, 0, 0.2 },
+                                                       new double[] { 0, 0, 1, 0.2 }).getVertices();
+        Assert.assertEquals(3, triangle.length);
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testDimensionMismatch() {
+        new ParallelMonotoneChain().generate(new double[3], new double[2]);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullArray() {
+        new ParallelMonotoneChain().generate(null, new double[2]);
+    }
+
+    private void checkSameAsMonotoneChain(final double[] x, final double[] y,
+                                          final boolean includeCollinearPoints) {
+        final List<Vector2D> points = new ArrayList<Vector2D>(x.length);
+        for (int i = 0; i < x.length; ++i) {
+            points.add(new Vector2D(x[i], y[i]));
+        }
+        final ConvexHull2D expected = new MonotoneChain(includeCollinearPoints).generate(points);
+        final ConvexHull2D hull = new ParallelMonotoneChain(includeCollinearPoints, 1e-10, executor).generate(x, y);
+        Assert.assertArrayEquals(expected.getVertices(), hull.getVertices());
+        checkConvexHull(points, hull, includeCollinearPoints);
+    }
+
+}
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.geometry.partitioning;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.geometry.euclidean.oned.Euclidean1D;
+import org.apache.commons.math3.geometry.euclidean.oned.IntervalsSet;
+import org.apache.commons.math3.geometry.euclidean.oned.Vector1D;
+import org.apache.commons.math3.geometry.euclidean.threed.Euclidean3D;
+import org.apache.commons.math3.geometry.euclidean.threed.PolyhedronsSet;
+import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
+import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
+import org.apache.commons.math3.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.math3.geometry.euclidean.twod.Euclidean2D;
+import org.apache.commons.math3.geometry.euclidean.twod.PolygonsSet;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.apache.commons.math3.geometry.partitioning.Region.Location;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FlatBSPTreeTest {
+
+    @Test
+    public void testIntervals() {
+        final RegionFactory<Euclidean1D> factory = new RegionFactory<Euclidean1D>();
+        final IntervalsSet set = (IntervalsSet) factory.union(new IntervalsSet(-3.0, -1.0, 1.0e-10),
+                                                              new IntervalsSet(0.5, 2.0, 1.0e-10));
+        final FlatBSPTree<Euclidean1D> flat = set.getFlatTree();
+        Assert.assertEquals(1, flat.getDimension());
+        Assert.assertEquals(1.0e-10, flat.getTolerance(), 0.0);
+        Assert.assertEquals(flat.getNbInternalNodes() + 1, flat.getNbLeaves());
+
+        final double[] p = new double[1];
+        for (final double x : new double[] { -4, -3, -2, -1, 0, 0.5, 1, 2, 3 }) {
+            p[0] = x;
+            Assert.assertEquals(set.checkPoint(new Vector1D(x)), flat.checkPoint(p));
+        }
+        final RandomGenerator random = new Well1024a(0x2f5c1ee73d1a9b08l);
+        for (int i = 0; i < 1000; ++i) {
+            p[0] = 10 * random.nextDouble() - 5;
+            Assert.assertEquals(set.checkPoint(new Vector1D(p[0])), flat.checkPoint(p));
+        }
+    }
+
+    @Test
+    public void testPolygons() {
+        final RegionFactory<Euclidean2D> factory = new RegionFactory<Euclidean2D>();
+        final Region<Euclidean2D> square = new PolygonsSet(0, 2, 0, 2, 1.0e-10);
+        final Region<Euclidean2D> hole =
+            new PolygonsSet(1.0e-10,
+                            new Vector2D(0.5, 0.5), new Vector2D(1.5, 0.7), new Vector2D(1.0, 1.5));
+        final Region<Euclidean2D> triangle =
+            new PolygonsSet(1.0e-10,
+                            new Vector2D(1.5, 1.5), new Vector2D(3.0, 1.0), new Vector2D(2.5, 3.0));
+        final PolygonsSet set = (PolygonsSet) factory.union(factory.difference(square, hole), triangle);
+        final FlatBSPTree<Euclidean2D> flat = set.getFlatTree();
+        Assert.assertEquals(2, flat.getDimension());
+        Assert.assertEquals(flat.getNbInternalNodes() + 1, flat.getNbLeaves());
+
+        // vertices are on the boundary
+        final double[] p = new double[2];
+        for (final Vector2D[] loop : set.getVertices()) {
+            for (final Vector2D v : loop) {
+                p[0] = v.getX();
+                p[1] = v.getY();
+                Assert.assertEquals(Location.BOUNDARY, flat.checkPoint(p));
+            }
+        }
+
+        final RandomGenerator random = new Well1024a(0x9e4b6a3c07d5f218l);
+        int inside = 0;
+        for (int i = 0; i < 10000; ++i) {
+            // use a coarse grid so many points lie exactly on cut lines
+            p[0] = 0.125 * random.nextInt(33) - 0.5;
+            p[1] = 0.125 * random.nextInt(33) - 0.5;
+            final Location expected = set.checkPoint(new Vector2D(p[0], p[1]));
+            Assert.assertEquals(expected, flat.checkPoint(p));
+            if (expected == Location.INSIDE) {
+                ++inside;
+            }
+        }
+        Assert.assertTrue(inside > 1000);
+    }
+
+    @Test
+    public void testPolygonsTolerance() {
+        // axis-aligned edges have exact unit coefficients, whereas sine and cosine
+        // recomputed from the angle would leave residues about 1.0e-16 that, scaled
+        // by the large coordinates, would shift offsets at exactly the tolerance
+        final double tolerance = 1.0e-10;
+        final PolygonsSet set =
+            new PolygonsSet(tolerance,
+                            new Vector2D(0.0, 0.0), new Vector2D(1.0e6, 0.0),
+                            new Vector2D(1.0e6, 1.0e6), new Vector2D(0.0, 1.0e6));
+        final FlatBSPTree<Euclidean2D> flat = set.getFlatTree();
+        final double[] p = new double[2];
+        for (final double along : new double[] { 0.25e6, 0.5e6, 0.75e6 }) {
+            for (final double across : new double[] {
+                -FastMath.nextUp(tolerance), -tolerance, -FastMath.nextDown(tolerance), 0.0,
+                FastMath.nextDown(tolerance), tolerance, FastMath.nextUp(tolerance)
+            }) {
+                p[0] = across;
+                p[1] = along;
+                Assert.assertEquals(set.checkPoint(new Vector2D(p[0], p[1])), flat.checkPoint(p));
+                p[0] = along;
+                p[1] = across;
+                Assert.assertEquals(set.checkPoint(new Vector2D(p[0], p[1])), flat.checkPoint(p));
+            }
+        }
+        p[0] = -tolerance;
+        p[1] = 0.5e6;
+        Assert.assertEquals(Location.OUTSIDE, flat.checkPoint(p));
+        p[0] = tolerance;
+        Assert.assertEquals(Location.INSIDE, flat.checkPoint(p));
+        p[0] = FastMath.nextDown(tolerance);
+        Assert.assertEquals(Location.BOUNDARY, flat.checkPoint(p));
+    }
+
+    @Test
+    public void testRotatedPolygonNearBoundary() {
+        // rotated square with large coordinates, so the offsets of points near
+        // the edges are computed from coefficients and coordinates that are
+        // neither exact nor small
+        final double tolerance = 1.0e-10;
+        final Vector2D center = new Vector2D(1234.5, -678.25);
+        final double angle = 0.3;
+        final Vector2D[] vertices = new Vector2D[4];
+        for (int i = 0; i < vertices.length; ++i) {
+            final double a = angle + 0.5 * i * FastMath.PI;
+            vertices[i] = new Vector2D(center.getX() + 1000 * FastMath.cos(a),
+                                       center.getY() + 1000 * FastMath.sin(a));
+        }
+        final PolygonsSet set = new PolygonsSet(tolerance, vertices);
+        final FlatBSPTree<Euclidean2D> flat = set.getFlatTree();
+
+        final RandomGenerator random = new Well1024a(0x1b873593cc9e2d51l);
+        final double[] p = new double[2];
+        int boundary = 0;
+        for (int i = 0; i < vertices.length; ++i) {
+            final Vector2D a = vertices[i];
+            final Vector2D b = vertices[(i + 1) % vertices.length];
+            final Vector2D n = new Vector2D(a.getY() - b.getY(), b.getX() - a.getX()).normalize();
+            for (int j = 0; j < 200; ++j) {
+                final Vector2D base = new Vector2D(1.0, a, random.nextDouble(), b.subtract(a));
+                for (final double across : new double[] { 0.0, -tolerance, tolerance }) {
+                    final Vector2D q = new Vector2D(1.0, base, across, n);
+                    for (int k = 0; k < 20; ++k) {
+                        // move the point by a few ulps
+                        p[0] = q.getX() + (random.nextInt(9) - 4) * FastMath.ulp(q.getX());
+                        p[1] = q.getY() + (random.nextInt(9) - 4) * FastMath.ulp(q.getY());
+                        final Location expected = set.checkPoint(new Vector2D(p[0], p[1]));
+                        Assert.assertEquals(expected, flat.checkPoint(p));
+                        if (expected == Location.BOUNDARY) {
+                            ++boundary;
+                        }
+                    }
+                }
+            }
+        }
+        Assert.assertTrue(boundary > 4000);
+    }
+
+    @Test
+    public void testRotatedPolyhedronNearBoundary() {
+        final double tolerance = 1.0e-10;
+        final Vector3D center = new Vector3D(-250.5, 125.75, 380.125);
+        final Rotation rotation = new Rotation(new Vector3D(1, 2, 3), 0.7, RotationConvention.VECTOR_OPERATOR);
+        final PolyhedronsSet set =
+            new PolyhedronsSet(-100, 100, -100, 100, -100, 100, tolerance).
+            rotate(Vector3D.ZERO, rotation).
+            translate(center);
+        final FlatBSPTree<Euclidean3D> flat = set.getFlatTree();
+
+        final RandomGenerator random = new Well1024a(0x85ebca6bc2b2ae35l);
+        final double[] p = new double[3];
+        int boundary = 0;
+        for (int j = 0; j < 2000; ++j) {
+            // point on a random face of the cube before rotation
+            final double[] c = new double[] {
+                200 * random.nextDouble() - 100, 200 * random.nextDouble() - 100, 200 * random.nextDouble() - 100
+            };
+            final int face = random.nextInt(3);
+            final double side = random.nextBoolean() ? 100 : -100;
+            for (final double across : new double[] { 0.0, -tolerance, tolerance }) {
+                c[face] = side + across;
+                final Vector3D q = center.add(rotation.applyTo(new Vector3D(c[0], c[1], c[2])));
+                for (int k = 0; k < 5; ++k) {
+                    // move the point by a few ulps
+                    p[0] = q.getX() + (random.nextInt(9) - 4) * FastMath.ulp(q.getX());
+                    p[1] = q.getY() + (random.nextInt(9) - 4) * FastMath.ulp(q.getY());
+                    p[2] = q.getZ() + (random.nextInt(9) - 4) * FastMath.ulp(q.getZ());
+                    final Location expected = set.checkPoint(new Vector3D(p[0], p[1], p[2]));
+                    Assert.assertEquals(expected, flat.checkPoint(p));
+                    if (expected == Location.BOUNDARY) {
+                        ++boundary;
+                    }
+                }
+            }
+        }
+        Assert.assertTrue(boundary > 5000);
+    }
+
+    @Test
+    public void testPolyhedrons() {
+        final RegionFactory<Euclidean3D> factory = new RegionFactory<Euclidean3D>();
+        final Region<Euclidean3D> cube = new PolyhedronsSet(0, 1, 0, 1, 0, 1, 1.0e-10);
+        final Region<Euclidean3D> bar  = new PolyhedronsSet(0.25, 0.75, 0.25, 0.75, -1, 2, 1.0e-10);
+        final Region<Euclidean3D> slab = new PolyhedronsSet(0.5, 1.5, -0.5, 0.5, 0.2, 0.4, 1.0e-10);
+        final PolyhedronsSet set = (PolyhedronsSet) factory.union(factory.difference(cube, bar), slab);
+        final FlatBSPTree<Euclidean3D> flat = set.getFlatTree();
+        Assert.assertEquals(3, flat.getDimension());
+
+        final RandomGenerator random = new Well1024a(0x61c8864680b583ebl);
+        final double[] p = new double[3];
+        for (int i = 0; i < 10000; ++i) {
+            p[0] = 0.125 * random.nextInt(17) - 0.25;
+            p[1] = 0.125 * random.nextInt(17) - 0.5;
+            p[2] = 0.1   * random.nextInt(14) - 0.2;
+            Assert.assertEquals(set.checkPoint(new Vector3D(p[0], p[1], p[2])), flat.checkPoint(p));
+        }
+    }
+
+    @Test
+    public void testSingleLeaf() {
+        final FlatBSPTree<Euclidean2D> full  = new PolygonsSet(1.0e-10).getFlatTree();
+        Assert.assertEquals(0, full.getNbInternalNodes());
+        Assert.assertEquals(1, full.getNbLeaves());
+        Assert.assertEquals(Location.INSIDE, full.checkPoint(new double[] { 1.0e6, -3.0 }));
+
+        final FlatBSPTree<Euclidean2D> empty =
+            new PolygonsSet(new BSPTree<Euclidean2D>(Boolean.FALSE), 1.0e-10).getFlatTree();
+        Assert.assertEquals(Location.OUTSIDE, empty.checkPoint(new double[] { 0.0, 0.0 }));
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testWrongDimension() {
+        new PolyhedronsSet(0, 1, 0, 1, 0, 1, 1.0e-10).getFlatTree().checkPoint(new double[2]);
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.clustering.evaluation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.ml.clustering.Cluster;
+import org.apache.commons.math3.ml.clustering.DoublePoint;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.Well19937c;
+import org.junit.Test;
+
+public class CalinskiHarabaszIndexTest {
+
+    @Test
+    public void testScore() {
+        final List<Cluster<DoublePoint>> clusters = new ArrayList<Cluster<DoublePoint>>();
+        clusters.add(SilhouetteCoefficientTest.cluster(1, 2, 3));
+        final ClusterEvaluator<DoublePoint> evaluator = new CalinskiHarabaszIndex<DoublePoint>();
+        assertTrue(Double.isNaN(evaluator.score(clusters)));
+
+        clusters.add(new Cluster<DoublePoint>());
+        clusters.add(SilhouetteCoefficientTest.cluster(10, 11, 12));
+        // B = 2 * 3 * 4.5^2 = 121.5, W = 4, n - k = 4, k - 1 = 1
+        assertEquals(121.5, evaluator.score(clusters), 1e-12);
+    }
+
+    @Test
+    public void testParallel() {
+        final List<Cluster<DoublePoint>> clusters =
+                SilhouetteCoefficientTest.randomClusters(new Well19937c(0x1f83d9abfb41bd6bl), 4, 5000);
+        final double s1 = new CalinskiHarabaszIndex<DoublePoint>(new EuclideanDistance()).score(clusters);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final double s3 = new CalinskiHarabaszIndex<DoublePoint>(new EuclideanDistance(), executor).score(clusters);
+            assertEquals(s1, s3, 0.0);
+        } finally {
+            executor.shutdown();
+        }
+
+        // total dispersion is the sum of between and within dispersions
+        double total = 0;
+        double within = 0;
+        final double[] mean = new double[2];
+        int n = 0;
+        for (final Cluster<DoublePoint> cluster : clusters) {
+            for (final DoublePoint p : cluster.getPoints()) {
+                mean[0] += p.getPoint()[0];
+                mean[1] += p.getPoint()[1];
+                ++n;
+            }
+        }
+        mean[0] /= n;
+        mean[1] /= n;
+        for (final Cluster<DoublePoint> cluster : clusters) {
+            final double[] centroid = new double[2];
+            for (final DoublePoint p : cluster.getPoints()) {
+                centroid[0] += p.getPoint()[0] / cluster.getPoints().size();
+                centroid[1] += p.getPoint()[1] / cluster.getPoints().size();
+            }
+            for (final DoublePoint p : cluster.getPoints()) {
+                final double dx = p.getPoint()[0] - centroid[0];
+                final double dy = p.getPoint()[1] - centroid[1];
+                within += dx * dx + dy * dy;
+                final double tx = p.getPoint()[0] - mean[0];
+                final double ty = p.getPoint()[1] - mean[1];
+                total += tx * tx + ty * ty;
+            }
+        }
+        final double expected = ((total - within) / 3) / (within / (n - 4));
+        assertEquals(expected, s1, 1e-9 * expected);
+    }
+
+    @Test
+    public void testOrdering() {
+        final ClusterEvaluator<DoublePoint> evaluator = new CalinskiHarabaszIndex<DoublePoint>();
+        assertTrue(evaluator.isBetterScore(80, 20));
+        assertFalse(evaluator.isBetterScore(1.5, 10));
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.clustering.evaluation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.ml.clustering.CentroidCluster;
+import org.apache.commons.math3.ml.clustering.Cluster;
+import org.apache.commons.math3.ml.clustering.DoublePoint;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.Well19937c;
+import org.junit.Test;
+
+public class DaviesBouldinIndexTest {
+
+    @Test
+    public void testScore() {
+        final List<Cluster<DoublePoint>> clusters = new ArrayList<Cluster<DoublePoint>>();
+        clusters.add(SilhouetteCoefficientTest.cluster(1, 2, 3));
+        final ClusterEvaluator<DoublePoint> evaluator = new DaviesBouldinIndex<DoublePoint>();
+        assertTrue(Double.isNaN(evaluator.score(clusters)));
+
+        clusters.add(new Cluster<DoublePoint>());
+        clusters.add(SilhouetteCoefficientTest.cluster(10, 11, 12));
+        assertEquals((4.0 / 3.0) / 9.0, evaluator.score(clusters), 1e-15);
+
+        // the center of centroid clusters is used as is
+        final CentroidCluster<DoublePoint> shifted =
+                new CentroidCluster<DoublePoint>(new DoublePoint(new double[] { 13 }));
+        shifted.addPoint(new DoublePoint(new double[] { 10 }));
+        shifted.addPoint(new DoublePoint(new double[] { 11 }));
+        shifted.addPoint(new DoublePoint(new double[] { 12 }));
+        clusters.set(2, shifted);
+        assertEquals((2.0 / 3.0 + 2.0) / 11.0, evaluator.score(clusters), 1e-15);
+    }
+
+    @Test
+    public void testParallel() {
+        final List<Cluster<DoublePoint>> clusters =
+                SilhouetteCoefficientTest.randomClusters(new Well19937c(0x9b05688c2b3e6c1fl), 5, 3000);
+        final double s1 = new DaviesBouldinIndex<DoublePoint>(new EuclideanDistance()).score(clusters);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final double s4 = new DaviesBouldinIndex<DoublePoint>(new EuclideanDistance(), executor).score(clusters);
+            assertEquals(s1, s4, 0.0);
+        } finally {
+            executor.shutdown();
+        }
+
+        // merging two clusters gives a worse score
+        final Cluster<DoublePoint> merged = new Cluster<DoublePoint>();
+        for (final DoublePoint p : clusters.get(0).getPoints()) {
+            merged.addPoint(p);
+        }
+        for (final DoublePoint p : clusters.get(1).getPoints()) {
+            merged.addPoint(p);
+        }
+        final List<Cluster<DoublePoint>> fewer = new ArrayList<Cluster<DoublePoint>>(clusters.subList(2, 5));
+        fewer.add(merged);
+        final DaviesBouldinIndex<DoublePoint> evaluator = new DaviesBouldinIndex<DoublePoint>();
+        assertTrue(evaluator.isBetterScore(s1, evaluator.score(fewer)));
+    }
+
+    @Test
+    public void testOrdering() {
+        final ClusterEvaluator<DoublePoint> evaluator = new DaviesBouldinIndex<DoublePoint>();
+        assertTrue(evaluator.isBetterScore(0.2, 0.8));
+        assertFalse(evaluator.isBetterScore(1.5, 0.1));
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ml.clustering.evaluation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.ml.clustering.Cluster;
+import org.apache.commons.math3.ml.clustering.DoublePoint;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.ml.distance.ManhattanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.junit.Test;
+
+public class SilhouetteCoefficientTest {
+
+    @Test
+    public void testScore() {
+        final List<Cluster<DoublePoint>> clusters = new ArrayList<Cluster<DoublePoint>>();
+        clusters.add(cluster(1, 2, 3));
+        final ClusterEvaluator<DoublePoint> evaluator = new SilhouetteCoefficient<DoublePoint>();
+        assertTrue(Double.isNaN(evaluator.score(clusters)));
+
+        clusters.add(new Cluster<DoublePoint>());
+        clusters.add(cluster(10, 11, 12));
+        final double expected = (8.5 / 10 + 8.0 / 9 + 6.5 / 8) / 3;
+        assertEquals(expected, evaluator.score(clusters), 1e-15);
+
+        // a singleton cluster has a zero silhouette
+        clusters.add(cluster(30));
+        assertEquals(expected * 6 / 7, evaluator.score(clusters), 1e-15);
+    }
+
+    @Test
+    public void testSameAsNaive() {
+        final List<Cluster<DoublePoint>> clusters = randomClusters(new Well19937c(0x3c6ef372fe94f82bl), 4, 150);
+        final Cluster<DoublePoint> singleton = new Cluster<DoublePoint>();
+        singleton.addPoint(new DoublePoint(new double[] { 7.5, -2.0 }));
+        clusters.add(singleton);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (final DistanceMeasure measure : new DistanceMeasure[] { new EuclideanDistance(), new ManhattanDistance() }) {
+                final double expected = naiveScore(clusters, measure);
+                assertEquals(expected, new SilhouetteCoefficient<DoublePoint>(measure).score(clusters), 1e-12);
+                assertEquals(expected, new SilhouetteCoefficient<DoublePoint>(measure, executor).score(clusters), 1e-12);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelReproducible() {
+        final List<Cluster<DoublePoint>> clusters = randomClusters(new Well19937c(0xa54ff53a5f1d36f1l), 3, 500);
+        final double s1 = new SilhouetteCoefficient<DoublePoint>(new EuclideanDistance()).score(clusters);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final double s4 = new SilhouetteCoefficient<DoublePoint>(new EuclideanDistance(), executor).score(clusters);
+            assertEquals(s1, s4, 0.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSampled() {
+        final List<Cluster<DoublePoint>> clusters = randomClusters(new Well19937c(0x510e527fade682d1l), 3, 2000);
+        final double exact = new SilhouetteCoefficient<DoublePoint>().score(clusters);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // samples larger than the clusters give the exact score
+            final SilhouetteCoefficient<DoublePoint> full =
+                    new SilhouetteCoefficient<DoublePoint>(new EuclideanDistance(), executor, 5000, new Well19937c(1));
+            assertEquals(exact, full.score(clusters), 1e-12);
+
+            final SilhouetteCoefficient<DoublePoint> sampled =
+                    new SilhouetteCoefficient<DoublePoint>(new EuclideanDistance(), executor, 300, new Well19937c(2));
+            assertEquals(exact, sampled.score(clusters), 0.02);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testOrdering() {
+        final ClusterEvaluator<DoublePoint> evaluator = new SilhouetteCoefficient<DoublePoint>();
+        assertTrue(evaluator.isBetterScore(0.8, 0.2));
+        assertFalse(evaluator.isBetterScore(-0.5, 0.1));
+    }
+
+    @Test(expected=NumberIsTooSmallException.class)
+    public void testWrongSampleSize() {
+        new SilhouetteCoefficient<DoublePoint>(new EuclideanDistance(), null, 1, new Well19937c(1));
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullGenerator() {
+        new SilhouetteCoefficient<DoublePoint>(new EuclideanDistance(), null, 10, null);
+    }
+
+    private static double naiveScore(final List<Cluster<DoublePoint>> clusters, final DistanceMeasure measure) {
+        double sum = 0;
+        int n = 0;
+        for (final Cluster<DoublePoint> own : clusters) {
+            for (final DoublePoint p : own.getPoints()) {
+                ++n;
+                if (own.getPoints().size() == 1) {
+                    continue;
+                }
+                double a = 0;
+                for (final DoublePoint q : own.getPoints()) {
+                    a += measure.compute(p.getPoint(), q.getPoint());
+                }
+                a /= own.getPoints().size() - 1;
+                double b = Double.POSITIVE_INFINITY;
+                for (final Cluster<DoublePoint> other : clusters) {
+                    if (other != own) {
+                        double d = 0;
+                        for (final DoublePoint q : other.getPoints()) {
+                            d += measure.compute(p.getPoint(), q.getPoint());
+                        }
+                        b = Math.min(b, d / other.getPoints().size());
+                    }
+                }
+                sum += (b - a) / Math.max(a, b);
+            }
+        }
+        return sum / n;
+    }
+
+    static List<Cluster<DoublePoint>> randomClusters(final RandomGenerator random, final int k, final int size) {
+        final List<Cluster<DoublePoint>> clusters = new ArrayList<Cluster<DoublePoint>>();
+        for (int c = 0; c < k; ++c) {
+            final Cluster<DoublePoint> cluster = new Cluster<DoublePoint>();
+            final double cx = 4.0 * c;
+            final double cy = 3.0 * (c % 2);
+            for (int i = 0; i < size; ++i) {
+                cluster.addPoint(new DoublePoint(new double[] {
+                    cx + random.nextGaussian(), cy + random.nextGaussian()
+                }));
+            }
+            clusters.add(cluster);
+        }
+        return clusters;
+    }
+
+    static Cluster<DoublePoint> cluster(final double ... coordinates) {
+        final Cluster<DoublePoint> cluster = new Cluster<DoublePoint>();
+        for (final double x : coordinates) {
+            cluster.addPoint(new DoublePoint(new double[] { x }));
+        }
+        return cluster;
+    }
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.ode;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.ode.events.EventHandler;
+import org.apache.commons.math3.ode.nonstiff.DormandPrince853Integrator;
+import org.apache.commons.math3.ode.sampling.StepHandler;
+import org.apache.commons.math3.ode.sampling.StepInterpolator;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EnsembleIntegratorTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testMatchesSequentialIntegration() {
+        final int n = 200;
+        final double[][] y0 = new double[n][];
+        for (int i = 0; i < n; ++i) {
+            y0[i] = new double[] { 1.0, 0.0 };
+        }
+        final double[][] y = new double[n][];
+        final int[] steps = new int[n];
+
+        final EnsembleIntegrator ensemble = new EnsembleIntegrator(new Factory(), executor);
+        final double[] stopTimes = ensemble.integrate(new Provider(steps, false), 0.0, y0, 10.0, y);
+
+        for (int i = 0; i < n; ++i) {
+            final FirstOrderIntegrator integrator = new Factory().create();
+            final double[] expected = new double[2];
+            integrator.integrate(new Oscillator(omega(i)), 0.0, y0[i], 10.0, expected);
+            Assert.assertEquals(10.0, stopTimes[i], 0.0);
+            Assert.assertEquals(expected[0], y[i][0], 0.0);
+            Assert.assertEquals(expected[1], y[i][1], 0.0);
+            Assert.assertEquals(FastMath.cos(10.0 * omega(i)), y[i][0], 1.0e-8);
+            Assert.assertTrue(steps[i] > 0);
+        }
+
+        // initial states must not have been modified
+        Assert.assertEquals(1.0, y0[17][0], 0.0);
+
+    }
+
+    @Test
+    public void testEventsPerTrajectory() {
+        final int n = 50;
+        final double[][] y0 = new double[n][];
+        for (int i = 0; i < n; ++i) {
+            y0[i] = new double[] { 1.0, 0.0 };
+        }
+        final double[][] y = new double[n][2];
+        final EnsembleIntegrator ensemble = new EnsembleIntegrator(new Factory(), executor);
+        final double[] stopTimes = ensemble.integrate(new Provider(new int[n], true), 0.0, y0, 10.0, y);
+        for (int i = 0; i < n; ++i) {
+            // first zero crossing of cos(omega t)
+            Assert.assertEquals(0.5 * FastMath.PI / omega(i), stopTimes[i], 1.0e-9);
+            Assert.assertEquals(0.0, y[i][0], 1.0e-9);
+        }
+    }
+
+    @Test
+    public void testIntegratorsReused() {
+        final int[] created = new int[1];
+        final EnsembleIntegrator.IntegratorFactory factory = new EnsembleIntegrator.IntegratorFactory() {
+            public FirstOrderIntegrator create() {
+                synchronized (created) {
+                    ++created[0];
+                }
+                return new Factory().create();
+            }
+        };
+        final EnsembleIntegrator ensemble = new EnsembleIntegrator(factory, executor);
+        final double[][] y0 = new double[20][];
+        for (int i = 0; i < y0.length; ++i) {
+            y0[i] = new double[] { 1.0, 0.0 };
+        }
+        ensemble.integrate(new Provider(new int[y0.length], false), 0.0, y0, 1.0, y0);
+        ensemble.integrate(new Provider(new int[y0.length], false), 0.0, y0, 1.0, y0);
+        // at most one integrator per thread of the executor
+        Assert.assertTrue(created[0] <= 4);
+    }
+
+    @Test
+    public void testCallingThread() {
+        final int[] created = new int[1];
+        final EnsembleIntegrator ensemble = new EnsembleIntegrator(new EnsembleIntegrator.IntegratorFactory() {
+            public FirstOrderIntegrator create() {
+                ++created[0];
+                return new Factory().create();
+            }
+        });
+        final double[][] y0 = new double[20][];
+        for (int i = 0; i < y0.length; ++i) {
+            y0[i] = new double[] { 1.0, 0.0 };
+        }
+        final double[][] y = new double[y0.length][];
+        ensemble.integrate(new Provider(new int[y0.length], false), 0.0, y0, 1.0, y);
+        Assert.assertEquals(1, created[0]);
+        Assert.assertEquals(FastMath.cos(omega(7)), y[7][0], 1.0e-8);
+    }
+
+    @Test(expected = NumberIsTooSmallException.class)
+    public void testExceptionPropagated() {
+        final EnsembleIntegrator ensemble = new EnsembleIntegrator(new EnsembleIntegrator.IntegratorFactory() {
+            public FirstOrderIntegrator create() {
+                // step too small for the tolerance
+                return new DormandPrince853Integrator(1.0, 1.0, 1.0e-15, 1.0e-15);
+            }
+        }, executor);
+        final double[][] y0 = new double[10][];
+        for (int i = 0; i < y0.length; ++i) {
+            y0[i] = new double[] { 1.0, 0.0 };
+        }
+        ensemble.integrate(new Provider(new int[y0.length], false), 0.0, y0, 100.0, new double[y0.length][]);
+    }
+
+    private static double omega(final int i) {
+        return 1.0 + 0.01 * i;
+    }
+
+    private static class Factory implements EnsembleIntegrator.IntegratorFactory {
+        public FirstOrderIntegrator create() {
+            return new DormandPrince853Integrator(1.0e-6, 1.0, 1.0e-12, 1.0e-12);
+        }
+    }
+
+    private static class Provider implements EnsembleIntegrator.TrajectoryProvider {
+
+        private final int[] steps;
+        private final boolean stopAtZero;
+
+        Provider(final int[] steps, final boolean stopAtZero) {
+            this.steps      = steps;
+            this.stopAtZero = stopAtZero;
+        }
+
+        public FirstOrderDifferentialEquations getEquations(final int index) {
+            return new Oscillator(omega(index));
+        }
+
+        public void configure(final int index, final FirstOrderIntegrator integrator) {
+            integrator.addStepHandler(new StepHandler() {
+                public void init(double t0, double[] y0, double t) {
+                }
+                public void handleStep(StepInterpolator interpolator, boolean isLast) {
+                    ++steps[index];
+                }
+            });
+            if (stopAtZero) {
+                integrator.addEventHandler(new EventHandler() {
+                    public void init(double t0, double[] y0, double t) {
+                    }
+                    public double g(double t, double[] y) {
+                        return y[0];
+                    }
+                    public Action eventOccurred(double t, double[] y, boolean increasing) {
+                        return Action.STOP;
+                    }
+                    public void resetState(double t, double[] y) {
+                    }
+                }, 0.1, 1.0e-12, 100);
+            }
+        }
+
+    }
+
+    private static class Oscillator implements FirstOrderDifferentialEquations {
+
+        private final double omega;
+
+        Oscillator(final double omega) {
+            this.omega = omega;
+        }
+
+        public int getDimension() {
+            return 2;
+        }
+
+        public void computeDerivatives(double t, double[] y, double[] yDot) {
+            yDot[0] = -omega * y[1];
+            yDot[1] =  omega * y[0];
+        }
+
+    }
+
+}
@@ -366,6 +366,46 @@ public class DormandPrince853IntegratorTest {
 
   }
 
+  @Test
+  public void testLeanModeWithoutHandlers()
+      throws DimensionMismatchException, NumberIsTooSmallException,
+             MaxCountExceededException, NoBracketingException {
+
+    TestProblem3 pb = new TestProblem3(0.9);
+    double minStep = 0;
+    double maxStep = pb.getFinalTime() - pb.getInitialTime();
+    double scalAbsoluteTolerance = 1.0e-8;
+    double scalRelativeTolerance = scalAbsoluteTolerance;
+
+    // reference run with a step handler, which requires dense output
+    FirstOrderIntegrator dense = new DormandPrince853Integrator(minStep, maxStep,
+                                                                scalAbsoluteTolerance,
+                                                                scalRelativeTolerance);
+    dense.addStepHandler(new StepHandler() {
+      public void init(double t0, double[] y0, double t) {
+      }
+      public void handleStep(StepInterpolator interpolator, boolean isLast) {
+        interpolator.getInterpolatedState();
+      }
+    });
+    double[] yDense = new double[pb.getDimension()];
+    dense.integrate(pb, pb.getInitialTime(), pb.getInitialState(), pb.getFinalTime(), yDense);
+
+    // same integration without any handler, run twice to reuse the working arrays
+    FirstOrderIntegrator lean = new DormandPrince853Integrator(minStep, maxStep,
+                                                               scalAbsoluteTolerance,
+                                                               scalRelativeTolerance);
+    for (int k = 0; k < 2; ++k) {
+      double[] yLean = new double[pb.getDimension()];
+      lean.integrate(pb, pb.getInitialTime(), pb.getInitialState(), pb.getFinalTime(), yLean);
+      Assert.assertArrayEquals(yDense, yLean, 0.0);
+
+      // the three extra evaluations per step needed for dense output are saved
+      Assert.assertTrue(lean.getEvaluations() < dense.getEvaluations());
+    }
+
+  }
+
   private static class SchedulingChecker implements StepHandler, EventHandler {
 
       int index;
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.optim.linear;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.math3.linear.OpenMapRealVector;
+import org.apache.commons.math3.optim.MaxIter;
+import org.apache.commons.math3.optim.PointValuePair;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
+import org.apache.commons.math3.util.Precision;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RevisedSimplexSolverTest {
+    private static final MaxIter DEFAULT_MAX_ITER = new MaxIter(100);
+
+    @Test
+    public void testSimplexSolver() {
+        LinearObjectiveFunction f =
+            new LinearObjectiveFunction(new double[] { 15, 10 }, 7);
+        Collection<LinearConstraint> constraints = new ArrayList<LinearConstraint>();
+        constraints.add(new LinearConstraint(new double[] { 1, 0 }, Relationship.LEQ, 2));
+        constraints.add(new LinearConstraint(new double[] { 0, 1 }, Relationship.LEQ, 3));
+        constraints.add(new LinearConstraint(new double[] { 1, 1 }, Relationship.EQ, 4));
+
+        RevisedSimplexSolver solver = new RevisedSimplexSolver();
+        PointValuePair solution = solver.optimize(DEFAULT_MAX_ITER, f, new LinearConstraintSet(constraints),
+                                                  GoalType.MAXIMIZE, new NonNegativeConstraint(true));
+        Assert.assertEquals(2.0, solution.getPoint()[0], 1e-12);
+        Assert.assertEquals(2.0, solution.getPoint()[1], 1e-12);
+        Assert.assertEquals(57.0, solution.getValue(), 1e-12);
+    }
+
+    @Test
+    public void testMinimization() {
+        LinearObjectiveFunction f = new LinearObjectiveFunction(new double[] { -2, 1 }, -5);
+        Collection<LinearConstraint> constraints = new ArrayList<LinearConstraint>();
+        constraints.add(new LinearConstraint(new double[] { 1, 2 }, Relationship.LEQ, 6));
+        constraints.add(new LinearConstraint(new double[] { 3, 2 }, Relationship.LEQ, 12));
+        constraints.add(new LinearConstraint(new double[] { 0, 1 }, Relationship.GEQ, 0));
+
+        RevisedSimplexSolver solver = new RevisedSimplexSolver();
+        PointValuePair solution = solver.optimize(DEFAULT_MAX_ITER, f, new LinearConstraintSet(constraints),
+                                                  GoalType.MINIMIZE, new NonNegativeConstraint(false));
+        Assert.assertEquals(4.0, solution.getPoint()[0], 1e-12);
+        Assert.assertEquals(0.0, solution.getPoint()[1], 1e-12);
+        Assert.assertEquals(-13.0, solution.getValue(), 1e-12);
+    }
+
+    @Test
+    public void testSolutionWithNegativeDecisionVariable() {
+        LinearObjectiveFunction f = new LinearObjectiveFunction(new double[] { -2, 1 }, 0);
+        Collection<LinearConstraint> constraints = new ArrayList<LinearConstraint>();
+        constraints.add(new LinearConstraint(new double[] { 1, 1 }, Relationship.GEQ, 6));
+        constraints.add(new LinearConstraint(new double[] { 1, 2 }, Relationship.LEQ, 14));
+
+        RevisedSimplexSolver solver = new RevisedSimplexSolver();
+        PointValuePair solution = solver.optimize(DEFAULT_MAX_ITER, f, new LinearConstraintSet(constraints),
+                                                  GoalType.MAXIMIZE, new NonNegativeConstraint(false));
+        Assert.assertEquals(-2.0, solution.getPoint()[0], 1e-12);
+        Assert.assertEquals(8.0, solution.getPoint()[1], 1e-12);
+        Assert.assertEquals(12.0, solution.getValue(), 1e-12);
+    }
+
+    @Test
+    public void testMath842Cycle() {
+        LinearObjectiveFunction f = new LinearObjectiveFunction(new double[] { 10, -57, -9, -24}, 0);
+
+        List<LinearConstraint> constraints = new ArrayList<LinearConstraint>();
+        constraints.add(new LinearConstraint(new double[] {0.5, -5.5, -2.5, 9}, Relationship.LEQ, 0));
+        constraints.add(new LinearConstraint(new double[] {0.5, -1.5, -0.5, 1}, Relationship.LEQ, 0));
+        constraints.add(new LinearConstraint(new double[] {  1,    0,    0, 0}, Relationship.LEQ, 1));
+
+        double epsilon = 1e-6;
+        RevisedSimplexSolver solver = new RevisedSimplexSolver();
+        PointValuePair solution = solver.optimize(f, new LinearConstraintSet(constraints),
+                                                  GoalType.MAXIMIZE,
+                                                  new NonNegativeConstraint(true),
+                                                  PivotSelectionRule.BLAND);
+        Assert.assertEquals(1.0d, solution.getValue(), epsilon);
+        Assert.assertTrue(validSolution(solution, constraints, epsilon));
+    }
+
+    @Test
+    public void testRedundantEqualityConstraints() {
+        // the third constraint is the sum of the first two: one artificial
+        // variable must remain in the basis at level zero
+        LinearObjectiveFunction f = new LinearObjectiveFunction(new double[] { 1, 2, 3 }, 0);
+        List<LinearConstraint> constraints = new ArrayList<LinearConstraint>();
+        constraints.add(new LinearConstraint(new double[] { 1, 1, 0 }, Relationship.EQ, 2));
+        constraints.add(new LinearConstraint(new double[] { 0, 1, 1 }, Relationship.EQ, 3));
+        constraints.add(new LinearConstraint(new double[] { 1, 2, 1 }, Relationship.EQ, 5));
+
+        PointValuePair solution = new RevisedSimplexSolver().optimize(DEFAULT_MAX_ITER, f,
+                                                                      new LinearConstraintSet(constraints),
+                                                                      GoalType.MINIMIZE,
+                                                                      new NonNegativeConstraint(true));
+        PointValuePair reference = new SimplexSolver().optimize(DEFAULT_MAX_ITER, f,
+                                                                new LinearConstraintSet(constraints),
+                                                                GoalType.MINIMIZE,
+                                                                new NonNegativeConstraint(true));
+        Assert.assertEquals(reference.getValue(), solution.getValue(), 1e-10);
+        Assert.assertTrue(validSolution(solution, constraints, 1e-10));
+    }
+
+    @Test(expected = NoFeasibleSolutionException.class)
+    public void testInfeasibleSolution() {
+        LinearObjectiveFunction f = new LinearObjectiveFunction(new double[] { 15 }, 0);
+        Collection<LinearConstraint> constraints = new ArrayList<LinearConstraint>();
+        constraints.add(new LinearConstraint(new double[] { 1 }, Relationship.LEQ, 1));
+        constraints.add(new LinearConstraint(new double[] { 1 }, Relationship.GEQ, 3));
+
+        new RevisedSimplexSolver().optimize(DEFAULT_MAX_ITER, f, new LinearConstraintSet(constraints),
+                                            GoalType.MAXIMIZE, new NonNegativeConstraint(false));
+    }
+
+    @Test(expected = UnboundedSolutionException.class)
+    public void testUnboundedSolution() {
+        LinearObjectiveFunction f = new LinearObjectiveFunction(new double[] { 15, 10 }, 0);
+        Collection<LinearConstraint> constraints = new ArrayList<LinearConstraint>();
+        constraints.add(new LinearConstraint(new double[] { 1, 0 }, Relationship.EQ, 2));
+
+        new RevisedSimplexSolver().optimize(DEFAULT_MAX_ITER, f, new LinearConstraintSet(constraints),
+                                            GoalType.MAXIMIZE, new NonNegativeConstraint(false));
+    }
+
+    @Test
+    public void testRandomProblemsAgainstSimplexSolver() {
+        RandomGenerator random = new Well1024a(0x2d7c6e4f8ee2c9aeL);
+        for (int k = 0; k < 30; ++k) {
+            final int nVar = 5 + random.nextInt(10);
+            final int nCon = 5 + random.nextInt(10);
+            List<LinearConstraint> constraints = new ArrayList<LinearConstraint>();
+            for (int i = 0; i < nCon; ++i) {
+                double[] c = new double[nVar];
+                for (int j = 0; j < nVar; ++j) {
+                    c[j] = random.nextDouble() < 0.4 ? random.nextInt(10) + 1 : 0;
+                }
+                c[i % nVar] += 1;
+                Relationship r = (i % 3 == 0) ? Relationship.GEQ : Relationship.LEQ;
+                constraints.add(new LinearConstraint(c, r, r == Relationship.GEQ ? 1 + random.nextInt(5) : 20 + random.nextInt(50)));
+            }
+            double[] objective = new double[nVar];
+            double[] bound = new double[nVar];
+            for (int j = 0; j < nVar; ++j) {
+                objective[j] = random.nextInt(20) - 5;
+                bound[j] = 1;
+            }
+            constraints.add(new LinearConstraint(bound, Relationship.LEQ, 100));
+            LinearObjectiveFunction f = new LinearObjectiveFunction(objective, 0);
+
+            PointValuePair expected;
+            try {
+                expected = new SimplexSolver().optimize(new MaxIter(1000), f,
+                                                        new LinearConstraintSet(constraints),
+                                                        GoalType.MAXIMIZE,
+                                                        new NonNegativeConstraint(true));
+            } catch (NoFeasibleSolutionException nfse) {
+                expected = null;
+            }
+
+            // a very small refactorization interval exercises both the product form and the refactorization
+            RevisedSimplexSolver solver = new RevisedSimplexSolver(1e-6, 1e-10, 3);
+            try {
+                PointValuePair actual = solver.optimize(new MaxIter(1000), f,
+                                                        new LinearConstraintSet(constraints),
+                                                        GoalType.MAXIMIZE,
+                                                        new NonNegativeConstraint(true));
+                Assert.assertNotNull(expected);
+                Assert.assertEquals(expected.getValue(), actual.getValue(), 1e-8);
+                Assert.assertTrue(validSolution(actual, constraints, 1e-8));
+            } catch (NoFeasibleSolutionException nfse) {
+                Assert.assertNull(expected);
+            }
+        }
+    }
+
+    @Test
+    public void testLargeSparseTransportationProblem() {
+        // 60 sources x 80 destinations, constraints built from sparse vectors
+        final int sources = 60;
+        final int destinations = 80;
+        final int nVar = sources * destinations;
+        RandomGenerator random = new Well1024a(0x7a1e2cf57a93a40eL);
+
+        double[] cost = new double[nVar];
+        for (int i = 0; i < nVar; ++i) {
+            cost[i] = 1 + random.nextInt(100);
+        }
+
+        List<LinearConstraint> constraints = new ArrayList<LinearConstraint>();
+        for (int s = 0; s < sources; ++s) {
+            OpenMapRealVector row = new OpenMapRealVector(nVar);
+            for (int d = 0; d < destinations; ++d) {
+                row.setEntry(s * destinations + d, 1.0);
+            }
+            constraints.add(new LinearConstraint(row, Relationship.LEQ, 4.0 * destinations / sources + 1));
+        }
+        for (int d = 0; d < destinations; ++d) {
+            OpenMapRealVector row = new OpenMapRealVector(nVar);
+            for (int s = 0; s < sources; ++s) {
+                row.setEntry(s * destinations + d, 1.0);
+            }
+            constraints.add(new LinearConstraint(row, Relationship.GEQ, 4.0));
+        }
+
+        LinearObjectiveFunction f = new LinearObjectiveFunction(cost, 0);
+        PointValuePair solution = new RevisedSimplexSolver().optimize(new MaxIter(10000), f,
+                                                                      new LinearConstraintSet(constraints),
+                                                                      GoalType.MINIMIZE,
+                                                                      new NonNegativeConstraint(true));
+        Assert.assertTrue(validSolution(solution, constraints, 1e-8));
+
+        // every destination gets exactly its demand at the optimum, as all costs are positive
+        double shipped = 0;
+        for (double x : solution.getPoint()) {
+            shipped += x;
+        }
+        Assert.assertEquals(4.0 * destinations, shipped, 1e-8);
+
+        PointValuePair reference = new SimplexSolver().optimize(new MaxIter(10000), f,
+                                                                new LinearConstraintSet(constraints),
+                                                                GoalType.MINIMIZE,
+                                                                new NonNegativeConstraint(true));
+        Assert.assertEquals(reference.getValue(), solution.getValue(), 1e-6);
+    }
+
+    private static boolean validSolution(PointValuePair solution, List<LinearConstraint> constraints, double epsilon) {
+        double[] vals = solution.getPoint();
+        for (LinearConstraint c : constraints) {
+            double[] coeffs = c.getCoefficients().toArray();
+            double result = 0.0d;
+            for (int i = 0; i < vals.length; i++) {
+                result += vals[i] * coeffs[i];
+            }
+
+            switch (c.getRelationship()) {
+            case EQ:
+                if (!Precision.equals(result, c.getValue(), epsilon)) {
+                    return false;
+                }
+                break;
+
+            case GEQ:
+                if (Precision.compareTo(result, c.getValue(), epsilon) < 0) {
+                    return false;
+                }
+                break;
+
+            case LEQ:
+                if (Precision.compareTo(result, c.getValue(), epsilon) > 0) {
+                    return false;
+                }
+                break;
+            }
+        }
+
+        return true;
+    }
+
+}
@@ -17,8 +17,10 @@
 package org.apache.commons.math3.primes;
 
 
+import java.math.BigInteger;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
@@ -169,4 +171,54 @@ public class PrimesTest {
             Assert.assertEquals(1, factors.size());
         }
     }
+
+    @Test
+    public void testPrimeFactorsBatch() {
+        final int[] numbers = new int[PRIMES.length + NOT_PRIMES.length + 5000];
+        int k = 0;
+        for (final int p : PRIMES) {
+            numbers[k++] = p;
+        }
+        for (final int n : NOT_PRIMES) {
+            numbers[k++] = n;
+        }
+        final Random random = new Random(0x43f9a17b2e5c8d06L);
+        while (k < numbers.length) {
+            numbers[k++] = 2 + random.nextInt(Integer.MAX_VALUE - 1);
+        }
+        numbers[numbers.length - 1] = 46337 * 46337;
+        numbers[numbers.length - 2] = 1291 * 1297 * 1279;
+
+        final int[][] factorizations = Primes.primeFactors(numbers);
+        Assert.assertEquals(numbers.length, factorizations.length);
+        for (int i = 0; i < numbers.length; ++i) {
+            final List<Integer> expected = Primes.primeFactors(numbers[i]);
+            Assert.assertEquals(expected.size(), factorizations[i].length);
+            for (int j = 0; j < expected.size(); ++j) {
+                Assert.assertEquals(expected.get(j).intValue(), factorizations[i][j]);
+            }
+        }
+    }
+
+    @Test
+    public void testPrimeFactorsBatchException() {
+        try {
+            Primes.primeFactors(new int[] { 12, 1, 7 });
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(new MathIllegalArgumentException(LocalizedFormats.NUMBER_TOO_SMALL, 1, 2).getMessage(),
+                                miae.getMessage());
+        }
+    }
+
+    @Test
+    public void testMillerRabinSameAsBigInteger() {
+        final Random random = new Random(0x1c2b3a4958677685L);
+        for (int i = 0; i < 20000; ++i) {
+            final int n = (random.nextInt(Integer.MAX_VALUE / 2 - 2) * 2) + 3;
+            Assert.assertEquals(BigInteger.valueOf(n).isProbablePrime(100),
+                                SmallPrimes.millerRabinPrimeTest(n));
+        }
+    }
+
 }
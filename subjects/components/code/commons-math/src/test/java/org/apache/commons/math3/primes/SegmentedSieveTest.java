@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.primes;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SegmentedSieveTest {
+
+    @Test
+    public void testSameAsIsPrime() {
+        // the range spans several segments
+        final long[] primes = new SegmentedSieve(0, 1500000).toArray();
+        int k = 0;
+        for (int n = 0; n < 1500000; ++n) {
+            if (Primes.isPrime(n)) {
+                Assert.assertEquals(n, primes[k++]);
+            }
+        }
+        Assert.assertEquals(k, primes.length);
+    }
+
+    @Test
+    public void testSmallRanges() {
+        checkRange(0, 0);
+        checkRange(0, 2);
+        checkRange(0, 3);
+        checkRange(2, 3);
+        checkRange(1, 2);
+        checkRange(3, 4);
+        checkRange(4, 5);
+        checkRange(8, 12);
+        checkRange(24, 30);
+        for (int from = 0; from < 60; ++from) {
+            for (int to = from; to < 70; ++to) {
+                checkRange(from, to);
+            }
+        }
+        checkRange(Integer.MAX_VALUE - 1000L, Integer.MAX_VALUE + 1000L);
+    }
+
+    @Test
+    public void testLargeNumbers() {
+        final long from = 1000000000000L - 30000;
+        final long to   = 1000000000000L + 30000;
+        final long[] primes = new SegmentedSieve(from, to).toArray();
+        int k = 0;
+        for (long n = from | 1; n < to; n += 2) {
+            if (BigInteger.valueOf(n).isProbablePrime(50)) {
+                Assert.assertEquals(n, primes[k++]);
+            }
+        }
+        Assert.assertEquals(k, primes.length);
+        Assert.assertEquals(1000000000039L, Primes.primesInRange(1000000000000L, 1000000000040L)[0]);
+    }
+
+    @Test
+    public void testCount() {
+        // pi(10^7) = 664579
+        final SegmentedSieve sieve = new SegmentedSieve(0, 10000000);
+        Assert.assertEquals(664579, sieve.count());
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Assert.assertEquals(664579, sieve.count(executor));
+            Assert.assertArrayEquals(sieve.toArray(), sieve.toArray(executor));
+            Assert.assertEquals(664579, sieve.toArray(executor).length);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testIterator() {
+        final SegmentedSieve sieve = new SegmentedSieve(999, 2000000);
+        final long[] primes = sieve.toArray();
+        final SegmentedSieve.PrimeIterator iterator = sieve.iterator();
+        for (final long p : primes) {
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertEquals(p, iterator.nextPrime());
+        }
+        Assert.assertFalse(iterator.hasNext());
+        try {
+            iterator.nextPrime();
+            Assert.fail("an exception should have been thrown");
+        } catch (NoSuchElementException nsee) {
+            // expected
+        }
+
+        long sum = 0;
+        for (final Long p : new SegmentedSieve(0, 100)) {
+            sum += p;
+        }
+        Assert.assertEquals(1060, sum);
+    }
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void testIteratorRemove() {
+        final Iterator<Long> iterator = new SegmentedSieve(0, 10).iterator();
+        iterator.next();
+        iterator.remove();
+    }
+
+    @Test(expected=NotPositiveException.class)
+    public void testNegativeFrom() {
+        new SegmentedSieve(-1, 10);
+    }
+
+    @Test(expected=NumberIsTooSmallException.class)
+    public void testReversedRange() {
+        new SegmentedSieve(10, 9);
+    }
+
+    @Test(expected=NumberIsTooLargeException.class)
+    public void testTooLarge() {
+        new SegmentedSieve(0, SegmentedSieve.MAX_BOUND + 1);
+    }
+
+    private void checkRange(final long from, final long to) {
+        final SegmentedSieve sieve = new SegmentedSieve(from, to);
+        final long[] primes = sieve.toArray();
+        int k = 0;
+        for (long n = from; n < to; ++n) {
+            if (BigInteger.valueOf(n).isProbablePrime(50)) {
+                Assert.assertEquals(n, primes[k++]);
+            }
+        }
+        Assert.assertEquals(k, primes.length);
+        Assert.assertEquals(k, sieve.count());
+    }
+
+}
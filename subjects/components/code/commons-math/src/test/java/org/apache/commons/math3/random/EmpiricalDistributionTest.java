@@ -18,11 +18,19 @@ package org.apache.commons.math3.random;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.analysis.UnivariateFunction;
@@ -35,6 +43,7 @@ import org.apache.commons.math3.distribution.RealDistributionAbstractTest;
 import org.apache.commons.math3.distribution.UniformRealDistribution;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.apache.commons.math3.util.FastMath;
 import org.junit.Assert;
@@ -110,6 +119,132 @@ public final class EmpiricalDistributionTest extends RealDistributionAbstractTes
         checkDistribution();
     }
 
+    @Test
+    public void testParallelFileLoad() throws Exception {
+        final File file = new File(url.toURI());
+        empiricalDistribution.load(file);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final ExecutorService e : new ExecutorService[] { null, executor }) {
+                final EmpiricalDistribution parallel = new EmpiricalDistribution(100);
+                parallel.load(file, e);
+                Assert.assertTrue(parallel.isLoaded());
+                checkSame(empiricalDistribution, parallel);
+            }
+            // the executor is not shut down by load
+            Assert.assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelFileLoadFormats() throws Exception {
+        final String[] lines = {
+            "1.5", " 2e3 ", "-0.25", "+7.125", ".5", "3.", "0.1", "-0", "0.000123456789",
+            "123456.789e-3", "1E22", "1e23", "4.9e-324", "1234567890123456789",
+            "0.30000000000000004", "3.0d", "0x1.8p1", "\t-12.5E+2", "Infinity"
+        };
+        final double[] values = new double[lines.length];
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lines.length; ++i) {
+            values[i] = Double.parseDouble(lines[i]);
+            // mix line terminators, last line is not terminated
+            content.append(lines[i]);
+            if (i + 1 < lines.length) {
+                content.append((i % 3 == 0) ? "\r\n" : ((i % 3 == 1) ? "\n" : "\r"));
+            }
+        }
+        final File file = writeTemporaryFile(content.toString());
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final EmpiricalDistribution parallel = new EmpiricalDistribution(10);
+            parallel.load(file, executor);
+            final EmpiricalDistribution reference = new EmpiricalDistribution(10);
+            reference.load(values);
+            checkSame(reference, parallel);
+        } finally {
+            executor.shutdownNow();
+            file.delete();
+        }
+    }
+
+    @Test(expected=NumberFormatException.class)
+    public void testParallelFileLoadEmptyLine() throws Exception {
+        final File file = writeTemporaryFile("1.0\n\n2.0\n");
+        try {
+            new EmpiricalDistribution(10).load(file, (ExecutorService) null);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testMapChunksCarriageReturn() throws Exception {
+        for (final String terminator : new String[] { "\r", "\r\n", "\n" }) {
+            final StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 500; ++i) {
+                content.append(0.001 * i).append(terminator);
+            }
+            final File file = writeTemporaryFile(content.toString());
+            final RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                final List<ByteBuffer> chunks = EmpiricalDistribution.mapChunks(raf.getChannel(), 100);
+                Assert.assertTrue(chunks.size() > 10);
+                long total = 0;
+                for (final ByteBuffer chunk : chunks) {
+                    // chunks start at a line start and end with a complete line terminator
+                    Assert.assertTrue(Character.isDigit(chunk.get(0)));
+                    Assert.assertTrue(chunk.limit() < 100 + 32);
+                    final int n = chunk.limit();
+                    if (terminator.length() == 1) {
+                        Assert.assertEquals(terminator.charAt(0), chunk.get(n - 1));
+                    } else {
+                        Assert.assertEquals('\r', chunk.get(n - 2));
+                        Assert.assertEquals('\n', chunk.get(n - 1));
+                    }
+                    total += n;
+                }
+                Assert.assertEquals(raf.length(), total);
+            } finally {
+                raf.close();
+                file.delete();
+            }
+        }
+    }
+
+    private File writeTemporaryFile(final String content) throws IOException {
+        final File file = File.createTempFile("empirical", ".txt");
+        final Writer writer = new OutputStreamWriter(new FileOutputStream(file), "US-ASCII");
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+    private void checkSame(EmpiricalDistribution expected, EmpiricalDistribution actual) {
+        final StatisticalSummary e = expected.getSampleStats();
+        final StatisticalSummary a = actual.getSampleStats();
+        Assert.assertEquals(e.getN(), a.getN());
+        Assert.assertEquals(e.getMin(), a.getMin(), 0.0);
+        Assert.assertEquals(e.getMax(), a.getMax(), 0.0);
+        Assert.assertEquals(e.getSum(), a.getSum(), 1.0e-15 * FastMath.abs(e.getSum()));
+        Assert.assertEquals(e.getMean(), a.getMean(), 1.0e-15 * FastMath.abs(e.getMean()));
+        Assert.assertEquals(e.getVariance(), a.getVariance(), 1.0e-14 * e.getVariance());
+        Assert.assertEquals(expected.getBinCount(), actual.getBinCount());
+        for (int i = 0; i < expected.getBinCount(); ++i) {
+            final SummaryStatistics eBin = expected.getBinStats().get(i);
+            final SummaryStatistics aBin = actual.getBinStats().get(i);
+            Assert.assertEquals(eBin.getN(), aBin.getN());
+            if (eBin.getN() > 0) {
+                Assert.assertEquals(eBin.getMean(), aBin.getMean(), 1.0e-15 * FastMath.abs(eBin.getMean()));
+            }
+        }
+        Assert.assertArrayEquals(expected.getUpperBounds(), actual.getUpperBounds(), 1.0e-15);
+    }
+
     private void checkDistribution() {
         // testData File has 10000 values, with mean ~ 5.0, std dev ~ 1
         // Make sure that loaded distribution matches this
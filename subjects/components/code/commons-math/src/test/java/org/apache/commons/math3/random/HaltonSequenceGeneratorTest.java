@@ -132,4 +132,107 @@ public class HaltonSequenceGeneratorTest {
         }
     }
 
+    @Test
+    public void testFill() {
+        final HaltonSequenceGenerator reference = new HaltonSequenceGenerator(7);
+        final HaltonSequenceGenerator bulk      = new HaltonSequenceGenerator(7);
+        reference.skipTo(36);
+        bulk.skipTo(36);
+        final double[][] points = new double[1000][7];
+        bulk.fill(points);
+        for (final double[] point : points) {
+            Assert.assertArrayEquals(reference.nextVector(), point, 0.0);
+        }
+        Assert.assertEquals(reference.getNextIndex(), bulk.getNextIndex());
+
+        final double[] flat = new double[500 * 7 + 3];
+        bulk.fill(flat, 500);
+        for (int p = 0; p < 500; ++p) {
+            final double[] expected = reference.nextVector();
+            for (int i = 0; i < 7; ++i) {
+                Assert.assertEquals(expected[i], flat[p * 7 + i], 0.0);
+            }
+        }
+        Assert.assertEquals(reference.getNextIndex(), bulk.getNextIndex());
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testFillWrongDimension() {
+        generator.fill(new double[4][2]);
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testFillTooSmall() {
+        generator.fill(new double[8], 3);
+    }
+
+    @Test
+    public void testSplit() {
+        final HaltonSequenceGenerator reference = new HaltonSequenceGenerator(7);
+        reference.skipTo(16);
+        final HaltonSequenceGenerator[] parts = reference.split(1001, 4);
+        Assert.assertEquals(4, parts.length);
+        Assert.assertEquals(17, reference.getNextIndex());
+        Assert.assertEquals(17, parts[0].getNextIndex());
+        Assert.assertEquals(17 + 250, parts[1].getNextIndex());
+        Assert.assertEquals(17 + 500, parts[2].getNextIndex());
+        Assert.assertEquals(17 + 750, parts[3].getNextIndex());
+        for (int k = 0; k < parts.length; ++k) {
+            final int end = (k + 1 < parts.length) ? parts[k + 1].getNextIndex() : 17 + 1001;
+            final double[][] points = new double[end - parts[k].getNextIndex()][7];
+            parts[k].fill(points);
+            for (final double[] point : points) {
+                Assert.assertArrayEquals(reference.nextVector(), point, 0.0);
+            }
+        }
+        Assert.assertEquals(17 + 1001, reference.getNextIndex());
+    }
+
+    @Test
+    public void testDigitDependentScrambling() {
+        final HaltonSequenceGenerator reference = new DigitShiftGenerator(5);
+        final HaltonSequenceGenerator bulk      = new DigitShiftGenerator(5);
+        final int[] bases = { 2, 3, 5, 7, 11 };
+        final double[][] points = new double[300][5];
+        bulk.fill(points);
+        for (int p = 0; p < points.length; ++p) {
+            final double[] v = reference.nextVector();
+            for (int i = 0; i < bases.length; ++i) {
+                // radical inverse with digit j shifted by j + 1
+                double expected = 0;
+                double f = 1.0 / bases[i];
+                int j = 0;
+                for (int index = p; index > 0; index /= bases[i]) {
+                    expected += f * ((index % bases[i] + j + 1) % bases[i]);
+                    f /= bases[i];
+                    ++j;
+                }
+                Assert.assertEquals(expected, v[i], 0.0);
+                Assert.assertEquals(expected, points[p][i], 0.0);
+            }
+        }
+
+        final HaltonSequenceGenerator[] parts = reference.split(200, 3);
+        Assert.assertTrue(parts[1] instanceof DigitShiftGenerator);
+        for (int k = 0; k < parts.length; ++k) {
+            final int end = (k + 1 < parts.length) ? parts[k + 1].getNextIndex() : 300 + 200;
+            final double[][] split = new double[end - parts[k].getNextIndex()][5];
+            parts[k].fill(split);
+            for (final double[] point : split) {
+                Assert.assertArrayEquals(reference.nextVector(), point, 0.0);
+            }
+        }
+    }
+
+    /** Generator whose scrambling depends on the digit index. */
+    private static class DigitShiftGenerator extends HaltonSequenceGenerator {
+        public DigitShiftGenerator(final int dimension) {
+            super(dimension);
+        }
+        @Override
+        protected int scramble(final int i, final int j, final int b, final int digit) {
+            return (digit + j + 1) % b;
+        }
+    }
+
 }
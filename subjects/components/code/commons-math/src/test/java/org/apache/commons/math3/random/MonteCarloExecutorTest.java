@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MonteCarloExecutorTest {
+
+    /** Quarter disk indicator, whose mean is pi / 4. */
+    private static final MonteCarloExecutor.SampleFunction QUARTER_DISK =
+        new MonteCarloExecutor.SampleFunction() {
+            /** {@inheritDoc} */
+            public double sample(final RandomDataGenerator data) {
+                final double x = data.nextUniform(0, 1);
+                final double y = data.nextUniform(0, 1);
+                return (x * x + y * y <= 1) ? 1 : 0;
+            }
+        };
+
+    @Test
+    public void testPi() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final SummaryStatistics stats =
+                new MonteCarloExecutor(0x3a5e1f27c4d9b806l, executor).run(QUARTER_DISK, 1000000);
+            Assert.assertEquals(1000000, stats.getN());
+            Assert.assertEquals(FastMath.PI, 4 * stats.getMean(), 5 * 4 * stats.getStandardDeviation() / 1000.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testGaussianMoments() {
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final SummaryStatistics stats =
+                new MonteCarloExecutor(0x7b0d4c2e9f18a365l, 1000, executor).run(new MonteCarloExecutor.SampleFunction() {
+                    /** {@inheritDoc} */
+                    public double sample(final RandomDataGenerator data) {
+                        return data.nextGaussian(2.0, 0.5);
+                    }
+                }, 200000);
+            Assert.assertEquals(200000, stats.getN());
+            Assert.assertEquals(2.0,  stats.getMean(), 0.005);
+            Assert.assertEquals(0.25, stats.getVariance(), 0.005);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testIndependentOfThreadsNumber() {
+        // 37 blocks, the last one being partial
+        final long seed = 0x61c8864680b583ebl;
+        final SummaryStatistics reference = new MonteCarloExecutor(seed, 100, null).run(QUARTER_DISK, 3650);
+        Assert.assertEquals(3650, reference.getN());
+        for (int nbThreads = 1; nbThreads < 10; ++nbThreads) {
+            final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+            try {
+                final SummaryStatistics stats =
+                    new MonteCarloExecutor(seed, 100, executor).run(QUARTER_DISK, 3650);
+                Assert.assertEquals(reference, stats);
+                Assert.assertEquals(reference.getSecondMoment(), stats.getSecondMoment(), 0.0);
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testSharedExecutor() {
+        // more blocks than can be in flight at once, the executor remains usable afterwards
+        final long seed = 0x2545f4914f6cdd1dl;
+        final SummaryStatistics reference = new MonteCarloExecutor(seed, 10, null).run(QUARTER_DISK, 5000);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 3; ++i) {
+                Assert.assertEquals(reference,
+                                    new MonteCarloExecutor(seed, 10, executor).run(QUARTER_DISK, 5000));
+            }
+            Assert.assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSeedDependency() {
+        final SummaryStatistics stats1 = new MonteCarloExecutor(1l, null).run(QUARTER_DISK, 100000);
+        final SummaryStatistics stats2 = new MonteCarloExecutor(2l, null).run(QUARTER_DISK, 100000);
+        Assert.assertFalse(stats1.getMean() == stats2.getMean());
+    }
+
+    @Test
+    public void testBlockSeeds() {
+        final MonteCarloExecutor executor = new MonteCarloExecutor(0l, null);
+        Assert.assertEquals(0l, executor.getMasterSeed());
+        Assert.assertEquals(MonteCarloExecutor.DEFAULT_BLOCK_SIZE, executor.getBlockSize());
+        final int[] seed0 = executor.getBlockSeed(0);
+        final int[] seed1 = executor.getBlockSeed(1);
+        Assert.assertTrue(Arrays.equals(seed0, executor.getBlockSeed(0)));
+        Assert.assertFalse(Arrays.equals(seed0, seed1));
+        Assert.assertFalse(Arrays.equals(seed0, new MonteCarloExecutor(1l, null).getBlockSeed(0)));
+
+        // the seeds of the first block of a master seed do not overlap the seeds of the next master seed
+        for (final int s : new MonteCarloExecutor(1l, null).getBlockSeed(0)) {
+            for (final int t : seed1) {
+                Assert.assertTrue(s != t);
+            }
+        }
+    }
+
+    @Test
+    public void testShiftedMasterSeeds() {
+        // master seeds differing by the span of one block in the SplitMix64
+        // sequence must not produce shifted copies of the same block seeds
+        final long span = 8 * 0x9e3779b97f4a7c15l;
+        final MonteCarloExecutor executor1 = new MonteCarloExecutor(0l, null);
+        final MonteCarloExecutor executor2 = new MonteCarloExecutor(span, null);
+        for (int block = 0; block < 10; ++block) {
+            Assert.assertFalse(Arrays.equals(executor1.getBlockSeed(block + 1),
+                                             executor2.getBlockSeed(block)));
+        }
+    }
+
+    @Test
+    public void testCustomGenerator() {
+        final ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            final MonteCarloExecutor executor = new MonteCarloExecutor(42l, 50, pool) {
+                /** {@inheritDoc} */
+                @Override
+                protected RandomGenerator createGenerator(final int[] seed) {
+                    return new MersenneTwister(seed);
+                }
+            };
+            final SummaryStatistics stats = executor.run(new MonteCarloExecutor.SampleFunction() {
+                /** {@inheritDoc} */
+                public double sample(final RandomDataGenerator data) {
+                    Assert.assertTrue(data.getRandomGenerator() instanceof MersenneTwister);
+                    return data.nextUniform(0, 1);
+                }
+            }, 1000);
+            Assert.assertEquals(1000, stats.getN());
+            Assert.assertEquals(0.5, stats.getMean(), 0.05);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testNoSamples() {
+        final SummaryStatistics stats = new MonteCarloExecutor(42l, null).run(QUARTER_DISK, 0);
+        Assert.assertEquals(0, stats.getN());
+        Assert.assertTrue(Double.isNaN(stats.getMean()));
+    }
+
+    @Test
+    public void testFailingFunction() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            new MonteCarloExecutor(42l, 10, executor).run(new MonteCarloExecutor.SampleFunction() {
+                /** {@inheritDoc} */
+                public double sample(final RandomDataGenerator data) {
+                    if (data.nextUniform(0, 1) > 0.99) {
+                        throw new MathIllegalStateException(LocalizedFormats.SIMPLE_MESSAGE, "boom");
+                    }
+                    return 0;
+                }
+            }, 100000);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalStateException mise) {
+            Assert.assertEquals("boom", mise.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testHugeSamplesNumber() {
+        // the number of blocks must not overflow, so the first sample is drawn
+        try {
+            new MonteCarloExecutor(42l, 1000, null).run(new MonteCarloExecutor.SampleFunction() {
+                /** {@inheritDoc} */
+                public double sample(final RandomDataGenerator data) {
+                    throw new MathIllegalStateException(LocalizedFormats.SIMPLE_MESSAGE, "started");
+                }
+            }, Long.MAX_VALUE - 1);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalStateException mise) {
+            Assert.assertEquals("started", mise.getMessage());
+        }
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullFunction() {
+        new MonteCarloExecutor(42l, null).run(null, 10);
+    }
+
+    @Test(expected=NotPositiveException.class)
+    public void testNegativeSamples() {
+        new MonteCarloExecutor(42l, null).run(QUARTER_DISK, -1);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testWrongBlockSize() {
+        new MonteCarloExecutor(42l, 0, null);
+    }
+
+}
@@ -20,6 +20,7 @@ import org.junit.Assert;
 
 import java.io.InputStream;
 
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.junit.Before;
 import org.junit.Test;
@@ -104,4 +105,60 @@ public class SobolSequenceGeneratorTest {
         }
     }
 
+    @Test
+    public void testFill() {
+        final SobolSequenceGenerator reference = new SobolSequenceGenerator(10);
+        final SobolSequenceGenerator bulk      = new SobolSequenceGenerator(10);
+        reference.skipTo(36);
+        bulk.skipTo(36);
+        final double[][] points = new double[1000][10];
+        bulk.fill(points);
+        for (final double[] point : points) {
+            Assert.assertArrayEquals(reference.nextVector(), point, 0.0);
+        }
+        Assert.assertEquals(reference.getNextIndex(), bulk.getNextIndex());
+
+        final double[] flat = new double[500 * 10 + 3];
+        bulk.fill(flat, 500);
+        for (int p = 0; p < 500; ++p) {
+            final double[] expected = reference.nextVector();
+            for (int i = 0; i < 10; ++i) {
+                Assert.assertEquals(expected[i], flat[p * 10 + i], 0.0);
+            }
+        }
+        Assert.assertEquals(reference.getNextIndex(), bulk.getNextIndex());
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testFillWrongDimension() {
+        generator.fill(new double[4][2]);
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testFillTooSmall() {
+        generator.fill(new double[8], 3);
+    }
+
+    @Test
+    public void testSplit() {
+        final SobolSequenceGenerator reference = new SobolSequenceGenerator(10);
+        reference.skipTo(16);
+        final SobolSequenceGenerator[] parts = reference.split(1001, 4);
+        Assert.assertEquals(4, parts.length);
+        Assert.assertEquals(17, reference.getNextIndex());
+        Assert.assertEquals(17, parts[0].getNextIndex());
+        Assert.assertEquals(17 + 250, parts[1].getNextIndex());
+        Assert.assertEquals(17 + 500, parts[2].getNextIndex());
+        Assert.assertEquals(17 + 750, parts[3].getNextIndex());
+        for (int k = 0; k < parts.length; ++k) {
+            final int end = (k + 1 < parts.length) ? parts[k + 1].getNextIndex() : 17 + 1001;
+            final double[][] points = new double[end - parts[k].getNextIndex()][10];
+            parts[k].fill(points);
+            for (final double[] point : points) {
+                Assert.assertArrayEquals(reference.nextVector(), point, 0.0);
+            }
+        }
+        Assert.assertEquals(17 + 1001, reference.getNextIndex());
+    }
+
 }
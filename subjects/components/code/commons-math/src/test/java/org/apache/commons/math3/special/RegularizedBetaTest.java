@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.special;
+
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegularizedBetaTest {
+
+    @Test
+    public void testSameAsBeta() {
+        final RandomGenerator random = new Well19937a(0xbb67ae8584caa73bl);
+        final double[][] parameters = {
+            { 0.5, 0.5 }, { 1.0, 1.0 }, { 2.0, 5.0 }, { 5.0, 2.0 }, { 0.3, 40.0 }, { 150.0, 170.5 }
+        };
+        for (final double[] ab : parameters) {
+            final RegularizedBeta beta = new RegularizedBeta(ab[0], ab[1]);
+            Assert.assertEquals(ab[0], beta.getA(), 0.0);
+            Assert.assertEquals(ab[1], beta.getB(), 0.0);
+            final double[] x = new double[500];
+            for (int i = 0; i < x.length; ++i) {
+                x[i] = random.nextDouble();
+            }
+            x[0] = 0.0;
+            x[1] = 1.0;
+            final double[] y = beta.regularizedBeta(x);
+            for (int i = 0; i < x.length; ++i) {
+                final double expected = Beta.regularizedBeta(x[i], ab[0], ab[1]);
+                Assert.assertEquals(expected, y[i], 0.0);
+                Assert.assertEquals(expected, beta.regularizedBeta(x[i]), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testSpecialValues() {
+        final RegularizedBeta beta = new RegularizedBeta(2.0, 3.0);
+        Assert.assertTrue(Double.isNaN(beta.regularizedBeta(-0.1)));
+        Assert.assertTrue(Double.isNaN(beta.regularizedBeta(1.1)));
+        Assert.assertTrue(Double.isNaN(beta.regularizedBeta(Double.NaN)));
+        // I(x, 1, 1) = x
+        Assert.assertEquals(0.375, new RegularizedBeta(1.0, 1.0).regularizedBeta(0.375), 1.0e-15);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testWrongParameterA() {
+        new RegularizedBeta(-1.0, 2.0);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testWrongParameterB() {
+        new RegularizedBeta(1.0, Double.NaN);
+    }
+
+    @Test
+    public void testTable() {
+        final double[][] parameters = { { 2.0, 5.0 }, { 1.0, 1.0 }, { 0.5, 3.0 }, { 30.0, 40.0 } };
+        for (final double[] ab : parameters) {
+            final RegularizedBeta beta = new RegularizedBeta(ab[0], ab[1]);
+            final TabulatedFunction table = beta.tabulate(0.0, 1.0, 10000, 1.0e-11);
+            Assert.assertTrue(table.getNbExactIntervals() < 100);
+            for (int i = 0; i <= 10000; ++i) {
+                final double x = i * 1.0e-4;
+                Assert.assertEquals(beta.regularizedBeta(x), table.value(x), 1.0e-11);
+            }
+        }
+    }
+
+    @Test
+    public void testTableUnitParameters() {
+        // for a = 1 or b = 1 the derivative is finite at the bounds
+        // and the table needs no exact interval
+        final double[][] parameters = { { 1.0, 3.0 }, { 3.0, 1.0 }, { 1.0, 1.0 } };
+        for (final double[] ab : parameters) {
+            final RegularizedBeta beta = new RegularizedBeta(ab[0], ab[1]);
+            final TabulatedFunction table = beta.tabulate(0.0, 1.0, 1000, 1.0e-10);
+            Assert.assertEquals(0, table.getNbExactIntervals());
+            for (int i = 0; i <= 1000; ++i) {
+                final double x = i * 1.0e-3;
+                Assert.assertEquals(beta.regularizedBeta(x), table.value(x), 1.0e-10);
+            }
+        }
+    }
+
+    @Test
+    public void testPartialTable() {
+        final RegularizedBeta beta = new RegularizedBeta(4.0, 2.5);
+        final TabulatedFunction table = beta.tabulate(0.25, 0.75, 100, 1.0e-9);
+        Assert.assertEquals(0, table.getNbExactIntervals());
+        // outside of the table, the exact function is used
+        Assert.assertEquals(beta.regularizedBeta(0.1), table.value(0.1), 0.0);
+        Assert.assertEquals(beta.regularizedBeta(0.9), table.value(0.9), 0.0);
+        Assert.assertTrue(Double.isNaN(table.value(Double.NaN)));
+        Assert.assertEquals(beta.regularizedBeta(0.5), table.value(0.5), 1.0e-9);
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testTableOutOfRange() {
+        new RegularizedBeta(2.0, 2.0).tabulate(0.5, 1.5, 10, 1.0e-10);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testTableNoIntervals() {
+        new RegularizedBeta(2.0, 2.0).tabulate(0.0, 1.0, 0, 1.0e-10);
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.special;
+
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937a;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegularizedGammaTest {
+
+    @Test
+    public void testSameAsGamma() {
+        final RandomGenerator random = new Well19937a(0x6a09e667f3bcc908l);
+        for (final double a : new double[] { 0.1, 0.5, 1.0, 2.5, 10.0, 101.3, 1000.0 }) {
+            final RegularizedGamma gamma = new RegularizedGamma(a);
+            Assert.assertEquals(a, gamma.getA(), 0.0);
+            final double[] x = new double[500];
+            for (int i = 0; i < x.length; ++i) {
+                x[i] = 3 * (a + 1) * random.nextDouble();
+            }
+            x[0] = 0.0;
+            x[1] = a + 1;
+            final double[] p = gamma.regularizedGammaP(x);
+            final double[] q = gamma.regularizedGammaQ(x);
+            for (int i = 0; i < x.length; ++i) {
+                Assert.assertEquals(Gamma.regularizedGammaP(a, x[i]), p[i], 0.0);
+                Assert.assertEquals(Gamma.regularizedGammaQ(a, x[i]), q[i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testSpecialValues() {
+        final RegularizedGamma gamma = new RegularizedGamma(2.0);
+        Assert.assertTrue(Double.isNaN(gamma.regularizedGammaP(-1.0)));
+        Assert.assertTrue(Double.isNaN(gamma.regularizedGammaQ(Double.NaN)));
+        Assert.assertEquals(0.0, gamma.regularizedGammaP(0.0), 0.0);
+        Assert.assertEquals(1.0, gamma.regularizedGammaQ(0.0), 0.0);
+        // P(1, x) = 1 - exp(-x)
+        Assert.assertEquals(1 - FastMath.exp(-0.7), new RegularizedGamma(1.0).regularizedGammaP(0.7), 1.0e-15);
+    }
+
+    @Test(expected=MaxCountExceededException.class)
+    public void testMaxIterations() {
+        new RegularizedGamma(100.0, 1.0e-15, 2).regularizedGammaP(50.0);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testWrongParameter() {
+        new RegularizedGamma(0.0);
+    }
+
+    @Test
+    public void testTable() {
+        for (final double a : new double[] { 0.5, 1.0, 3.0, 20.0 }) {
+            final RegularizedGamma gamma = new RegularizedGamma(a);
+            final TabulatedFunction p = gamma.tabulateP(0.0, 4 * (a + 2), 10000, 1.0e-10);
+            final TabulatedFunction q = gamma.tabulateQ(0.0, 4 * (a + 2), 10000, 1.0e-10);
+            Assert.assertEquals(10000, p.getNbIntervals());
+            Assert.assertEquals(1.0e-10, p.getMaxError(), 0.0);
+            Assert.assertEquals(0.0, p.getLowerBound(), 0.0);
+            Assert.assertEquals(4 * (a + 2), p.getUpperBound(), 0.0);
+            Assert.assertTrue(p.getNbExactIntervals() < 100);
+            Assert.assertTrue(q.getNbExactIntervals() < 100);
+            for (int i = 0; i <= 10000; ++i) {
+                final double x = i * (5 * (a + 2)) / 10000;
+                Assert.assertEquals(gamma.regularizedGammaP(x), p.value(x), 1.0e-10);
+                Assert.assertEquals(gamma.regularizedGammaQ(x), q.value(x), 1.0e-10);
+            }
+            final double[] x = new double[] { 0.0, 0.3, a, 2 * a, 100.0 };
+            final double[] y = p.value(x);
+            for (int i = 0; i < x.length; ++i) {
+                Assert.assertEquals(gamma.regularizedGammaP(x[i]), y[i], 1.0e-10);
+            }
+        }
+    }
+
+    @Test
+    public void testTableExponential() {
+        // for a = 1 the derivative at 0 is finite and the table needs no exact interval
+        final RegularizedGamma gamma = new RegularizedGamma(1.0);
+        final TabulatedFunction p = gamma.tabulateP(0.0, 4.0, 1000, 1.0e-10);
+        final TabulatedFunction q = gamma.tabulateQ(0.0, 4.0, 1000, 1.0e-10);
+        Assert.assertEquals(0, p.getNbExactIntervals());
+        Assert.assertEquals(0, q.getNbExactIntervals());
+        for (int i = 0; i <= 1000; ++i) {
+            final double x = i * 0.004;
+            Assert.assertEquals(-FastMath.expm1(-x), p.value(x), 1.0e-10);
+            Assert.assertEquals(FastMath.exp(-x), q.value(x), 1.0e-10);
+        }
+    }
+
+    @Test
+    public void testTableSingularDerivative() {
+        // the derivative is infinite at 0, the first interval must use the exact function
+        final RegularizedGamma gamma = new RegularizedGamma(0.25);
+        final TabulatedFunction p = gamma.tabulateP(0.0, 10.0, 100, 1.0e-12);
+        Assert.assertTrue(p.getNbExactIntervals() > 0);
+        for (int i = 0; i <= 1000; ++i) {
+            final double x = i * 0.01;
+            Assert.assertEquals(gamma.regularizedGammaP(x), p.value(x), 1.0e-12);
+        }
+    }
+
+    @Test(expected=NumberIsTooSmallException.class)
+    public void testTableNegativeBound() {
+        new RegularizedGamma(2.0).tabulateP(-1.0, 1.0, 10, 1.0e-10);
+    }
+
+    @Test(expected=NumberIsTooLargeException.class)
+    public void testTableReversedBounds() {
+        new RegularizedGamma(2.0).tabulateQ(2.0, 1.0, 10, 1.0e-10);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testTableWrongError() {
+        new RegularizedGamma(2.0).tabulateQ(0.0, 1.0, 10, 0.0);
+    }
+
+}
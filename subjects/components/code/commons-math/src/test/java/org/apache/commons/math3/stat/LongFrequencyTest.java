@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat;
+
+import java.util.List;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link LongFrequency} class.
+ */
+public final class LongFrequencyTest {
+
+    private static final double TOLERANCE = 10E-15;
+
+    @Test
+    public void testCounts() {
+        final LongFrequency f = new LongFrequency(3);
+        Assert.assertEquals(4, f.getNbStripes());
+        Assert.assertEquals("total count", 0, f.getSumFreq());
+        f.addValue(1);
+        f.addValue(1l);
+        f.addValue(2);
+        f.addValue(-5);
+        f.incrementValue(Long.MAX_VALUE, 3);
+        Assert.assertEquals("one count", 2, f.getCount(1));
+        Assert.assertEquals("two count", 1, f.getCount(2));
+        Assert.assertEquals("three count", 0, f.getCount(3));
+        Assert.assertEquals("max count", 3, f.getCount(Long.MAX_VALUE));
+        Assert.assertEquals("total count", 7, f.getSumFreq());
+
+        final LongFrequency.Snapshot s = f.getSnapshot();
+        Assert.assertEquals(4, s.getUniqueCount());
+        Assert.assertEquals(-5, s.getValue(0));
+        Assert.assertEquals(Long.MAX_VALUE, s.getValue(3));
+        Assert.assertEquals("total count", 7, s.getSumFreq());
+        Assert.assertEquals("one count", 2, s.getCount(1));
+        Assert.assertEquals("three count", 0, s.getCount(3));
+        Assert.assertEquals("one pct", 2.0 / 7.0, s.getPct(1), TOLERANCE);
+        Assert.assertEquals("cum below", 0, s.getCumFreq(-6));
+        Assert.assertEquals("cum -5", 1, s.getCumFreq(-5));
+        Assert.assertEquals("cum 0", 1, s.getCumFreq(0));
+        Assert.assertEquals("cum 2", 4, s.getCumFreq(2));
+        Assert.assertEquals("cum 1000", 4, s.getCumFreq(1000));
+        Assert.assertEquals("cum max", 7, s.getCumFreq(Long.MAX_VALUE));
+        Assert.assertEquals("cum pct 1", 3.0 / 7.0, s.getCumPct(1), TOLERANCE);
+
+        f.clear();
+        Assert.assertEquals("total count", 0, f.getSumFreq());
+        Assert.assertEquals(0, f.getSnapshot().getUniqueCount());
+        Assert.assertTrue(Double.isNaN(f.getSnapshot().getPct(1)));
+        Assert.assertTrue(Double.isNaN(f.getSnapshot().getCumPct(1)));
+    }
+
+    @Test
+    public void testSameAsFrequency() {
+        final RandomGenerator random = new Well19937c(0x4d1b7e3a09c52f68l);
+        final LongFrequency lf = new LongFrequency(2);
+        final Frequency f = new Frequency();
+        for (int i = 0; i < 20000; ++i) {
+            final int v = random.nextInt(1000) - 300;
+            lf.addValue(v);
+            f.addValue(v);
+        }
+        final LongFrequency.Snapshot s = lf.getSnapshot();
+        Assert.assertEquals(f.getUniqueCount(), s.getUniqueCount());
+        Assert.assertEquals(f, s.toFrequency());
+        for (long v = -310; v < 710; ++v) {
+            Assert.assertEquals(f.getCount(v), s.getCount(v));
+            Assert.assertEquals(f.getCumFreq(v), s.getCumFreq(v));
+            Assert.assertEquals(f.getCumPct(v), s.getCumPct(v), TOLERANCE);
+            Assert.assertEquals(f.getPct(v), s.getPct(v), TOLERANCE);
+        }
+        final List<Comparable<?>> expectedModes = f.getMode();
+        final long[] modes = s.getMode();
+        Assert.assertEquals(expectedModes.size(), modes.length);
+        for (int i = 0; i < modes.length; ++i) {
+            Assert.assertEquals(((Long) expectedModes.get(i)).longValue(), modes[i]);
+        }
+    }
+
+    @Test
+    public void testModes() {
+        final LongFrequency f = new LongFrequency(1);
+        Assert.assertEquals(0, f.getSnapshot().getMode().length);
+        f.addValue(3);
+        f.addValue(7);
+        f.addValue(7);
+        f.addValue(-1);
+        f.addValue(-1);
+        f.addValue(2);
+        final long[] modes = f.getSnapshot().getMode();
+        Assert.assertEquals(2, modes.length);
+        Assert.assertEquals(-1, modes[0]);
+        Assert.assertEquals(7, modes[1]);
+    }
+
+    @Test
+    public void testModesZeroCounts() {
+        final LongFrequency f = new LongFrequency(1);
+        f.incrementValue(4, 0);
+        f.incrementValue(9, 0);
+        Assert.assertEquals(0, f.getSnapshot().getMode().length);
+        f.addValue(9);
+        f.addValue(12);
+        final long[] modes = f.getSnapshot().getMode();
+        Assert.assertEquals(2, modes.length);
+        Assert.assertEquals(9, modes[0]);
+        Assert.assertEquals(12, modes[1]);
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        final int nbThreads = 6;
+        final LongFrequency f = new LongFrequency(4);
+        final Thread[] threads = new Thread[nbThreads];
+        for (int t = 0; t < nbThreads; ++t) {
+            final int offset = t;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 50000; ++i) {
+                        f.addValue((i + offset) % 17);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        final long[] expected = new long[17];
+        for (int t = 0; t < nbThreads; ++t) {
+            for (int i = 0; i < 50000; ++i) {
+                ++expected[(i + t) % 17];
+            }
+        }
+        final LongFrequency.Snapshot s = f.getSnapshot();
+        Assert.assertEquals(nbThreads * 50000l, s.getSumFreq());
+        Assert.assertEquals(17, s.getUniqueCount());
+        for (int v = 0; v < 17; ++v) {
+            Assert.assertEquals(expected[v], s.getCount(v));
+            Assert.assertEquals(expected[v], f.getCount(v));
+        }
+    }
+
+    @Test
+    public void testMerge() {
+        final LongFrequency f1 = new LongFrequency(2);
+        final LongFrequency f2 = new LongFrequency(2);
+        f1.addValue(1);
+        f1.addValue(3);
+        f1.addValue(3);
+        f2.addValue(2);
+        f2.addValue(3);
+        f2.incrementValue(9, 4);
+
+        final LongFrequency.Snapshot merged = f1.getSnapshot().merge(f2.getSnapshot());
+        Assert.assertEquals(4, merged.getUniqueCount());
+        Assert.assertEquals(9, merged.getSumFreq());
+        Assert.assertEquals(3, merged.getCount(3));
+        Assert.assertEquals(5, merged.getCumFreq(8));
+        Assert.assertEquals(9, merged.getMode()[0]);
+
+        f1.merge(f2.getSnapshot());
+        Assert.assertEquals(merged.toFrequency(), f1.getSnapshot().toFrequency());
+
+        final LongFrequency.Snapshot copy = (LongFrequency.Snapshot) TestUtils.serializeAndRecover(merged);
+        Assert.assertEquals(merged.toFrequency(), copy.toFrequency());
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testMergeNull() {
+        new LongFrequency(1).getSnapshot().merge(null);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testWrongStripesNumber() {
+        new LongFrequency(0);
+    }
+
+}
@@ -17,8 +17,14 @@
 package org.apache.commons.math3.stat;
 
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.commons.math3.stat.descriptive.DescriptiveSummary;
 import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.Precision;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
@@ -552,4 +558,68 @@ public final class StatUtilsTest {
         }
     }
 
+    @Test
+    public void testSummary() {
+        double[] values = new double[] { ONE, TWO, TWO, THREE };
+        DescriptiveSummary summary = StatUtils.summary(values);
+        Assert.assertEquals("n", 4, summary.getN());
+        Assert.assertEquals("sum", SUM, summary.getSum(), TOLERANCE);
+        Assert.assertEquals("sumsq", SUMSQ, summary.getSumsq(), TOLERANCE);
+        Assert.assertEquals("var", VAR, summary.getVariance(), TOLERANCE);
+        Assert.assertEquals("mean", MEAN, summary.getMean(), TOLERANCE);
+        Assert.assertEquals("min", MIN, summary.getMin(), TOLERANCE);
+        Assert.assertEquals("max", MAX, summary.getMax(), TOLERANCE);
+
+        summary = StatUtils.summary(values, 1, 2);
+        Assert.assertEquals("n", 2, summary.getN());
+        Assert.assertEquals("mean", TWO, summary.getMean(), TOLERANCE);
+        Assert.assertEquals("var", 0, summary.getVariance(), TOLERANCE);
+
+        try {
+            StatUtils.summary(values, 2, 3);
+            Assert.fail("Expecting MathIllegalArgumentException");
+        } catch (MathIllegalArgumentException ex) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testParallelSummary() {
+        final RandomGenerator random = new Well19937c(0x3c7e08b5a19d264fl);
+        final double[] values = new double[3 * StatUtils.SUMMARY_PARALLEL_THRESHOLD + 123];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = 1.0e6 + random.nextGaussian();
+        }
+        final DescriptiveSummary reference = StatUtils.summary(values, 7, values.length - 7);
+        final DescriptiveSummary sequential = StatUtils.summary(values, 7, values.length - 7, null);
+        Assert.assertEquals(reference.getMean(), sequential.getMean(), 0.0);
+        Assert.assertEquals(reference.getVariance(), sequential.getVariance(), 0.0);
+        DescriptiveSummary previous = null;
+        for (int nbThreads = 1; nbThreads < 6; ++nbThreads) {
+            final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+            try {
+                final DescriptiveSummary summary = StatUtils.summary(values, 7, values.length - 7, executor);
+                Assert.assertEquals(reference.getN(), summary.getN());
+                Assert.assertEquals(reference.getMin(), summary.getMin(), 0.0);
+                Assert.assertEquals(reference.getMax(), summary.getMax(), 0.0);
+                Assert.assertEquals(reference.getMean(), summary.getMean(), 1.0e-15 * reference.getMean());
+                Assert.assertEquals(reference.getVariance(), summary.getVariance(), 1.0e-12);
+                Assert.assertEquals(reference.getSkewness(), summary.getSkewness(), 1.0e-10);
+                Assert.assertEquals(reference.getKurtosis(), summary.getKurtosis(), 1.0e-10);
+                Assert.assertEquals(reference.getSum(), summary.getSum(), 1.0e-13 * reference.getSum());
+                if (previous != null) {
+                    // the chunks do not depend on the executor
+                    Assert.assertEquals(previous.getMean(), summary.getMean(), 0.0);
+                    Assert.assertEquals(previous.getVariance(), summary.getVariance(), 0.0);
+                }
+                previous = summary;
+            } finally {
+                executor.shutdown();
+            }
+        }
+        Assert.assertEquals(StatUtils.variance(values, 7, values.length - 7), reference.getVariance(), 1.0e-12);
+        Assert.assertEquals(1.0, reference.getVariance(), 0.01);
+        Assert.assertEquals(0.0, reference.getSkewness(), 0.02);
+    }
+
 }
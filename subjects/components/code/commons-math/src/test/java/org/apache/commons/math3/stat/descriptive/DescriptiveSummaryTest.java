@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.descriptive;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.descriptive.moment.Kurtosis;
+import org.apache.commons.math3.stat.descriptive.moment.Skewness;
+import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link DescriptiveSummary} class.
+ */
+public class DescriptiveSummaryTest {
+
+    @Test
+    public void testConsistency() {
+        final RandomGenerator random = new Well19937c(0x52f8a1c73e9b0d64l);
+        final double[] values = new double[5000];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = FastMath.exp(random.nextGaussian());
+        }
+        final DescriptiveSummary summary = new DescriptiveSummary(values);
+        final SummaryStatistics stats = new SummaryStatistics();
+        for (final double v : values) {
+            stats.addValue(v);
+        }
+        Assert.assertEquals(stats.getN(), summary.getN());
+        Assert.assertEquals(stats.getMin(), summary.getMin(), 0.0);
+        Assert.assertEquals(stats.getMax(), summary.getMax(), 0.0);
+        Assert.assertEquals(stats.getSum(), summary.getSum(), 1.0e-13 * stats.getSum());
+        Assert.assertEquals(stats.getSumsq(), summary.getSumsq(), 1.0e-13 * stats.getSumsq());
+        Assert.assertEquals(stats.getSumOfLogs(), summary.getSumOfLogs(), 1.0e-12);
+        Assert.assertEquals(stats.getMean(), summary.getMean(), 1.0e-14);
+        Assert.assertEquals(stats.getVariance(), summary.getVariance(), 1.0e-14);
+        Assert.assertEquals(stats.getPopulationVariance(), summary.getPopulationVariance(), 1.0e-14);
+        Assert.assertEquals(stats.getStandardDeviation(), summary.getStandardDeviation(), 1.0e-14);
+        Assert.assertEquals(stats.getSecondMoment(), summary.getSecondMoment(), 1.0e-10);
+        Assert.assertEquals(stats.getGeometricMean(), summary.getGeometricMean(), 1.0e-14);
+        Assert.assertEquals(new Skewness().evaluate(values), summary.getSkewness(), 1.0e-13);
+        Assert.assertEquals(new Kurtosis().evaluate(values), summary.getKurtosis(), 1.0e-12);
+    }
+
+    @Test
+    public void testLargeOffset() {
+        // the naive sum of squares formula would lose all accuracy here
+        final RandomGenerator random = new Well19937c(0x0b6d93e4f2a7158cl);
+        final double[] values = new double[100000];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = 1.0e9 + random.nextGaussian();
+        }
+        final DescriptiveSummary summary = new DescriptiveSummary(values);
+        Assert.assertEquals(new Variance().evaluate(values), summary.getVariance(), 1.0e-9);
+        Assert.assertEquals(new Skewness().evaluate(values), summary.getSkewness(), 1.0e-6);
+        Assert.assertEquals(new Kurtosis().evaluate(values), summary.getKurtosis(), 1.0e-6);
+    }
+
+    @Test
+    public void testMerge() {
+        final RandomGenerator random = new Well19937c(0x7e1c4b98d5a0362fl);
+        final double[] values = new double[3000];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = 10 * random.nextDouble() - 3;
+        }
+        final DescriptiveSummary all = new DescriptiveSummary(values);
+        final DescriptiveSummary merged =
+            new DescriptiveSummary(values, 0, 17).
+            merge(new DescriptiveSummary(values, 17, 2000)).
+            merge(new DescriptiveSummary(values, 2017, 983));
+        Assert.assertEquals(all.getN(), merged.getN());
+        Assert.assertEquals(all.getMin(), merged.getMin(), 0.0);
+        Assert.assertEquals(all.getMax(), merged.getMax(), 0.0);
+        Assert.assertEquals(all.getMean(), merged.getMean(), 1.0e-14);
+        Assert.assertEquals(all.getVariance(), merged.getVariance(), 1.0e-13);
+        Assert.assertEquals(all.getSkewness(), merged.getSkewness(), 1.0e-13);
+        Assert.assertEquals(all.getKurtosis(), merged.getKurtosis(), 1.0e-13);
+
+        final DescriptiveSummary empty = new DescriptiveSummary(new double[0]);
+        Assert.assertSame(all, all.merge(empty));
+        Assert.assertSame(all, empty.merge(all));
+    }
+
+    @Test
+    public void testSmallSets() {
+        final DescriptiveSummary empty = new DescriptiveSummary(new double[0]);
+        Assert.assertEquals(0, empty.getN());
+        Assert.assertEquals(0.0, empty.getSum(), 0.0);
+        Assert.assertTrue(Double.isNaN(empty.getMean()));
+        Assert.assertTrue(Double.isNaN(empty.getVariance()));
+        Assert.assertTrue(Double.isNaN(empty.getMin()));
+        Assert.assertTrue(Double.isNaN(empty.getMax()));
+        Assert.assertTrue(Double.isNaN(empty.getGeometricMean()));
+
+        final DescriptiveSummary single = new DescriptiveSummary(new double[] { 2.5 });
+        Assert.assertEquals(1, single.getN());
+        Assert.assertEquals(2.5, single.getMean(), 0.0);
+        Assert.assertEquals(0.0, single.getVariance(), 0.0);
+        Assert.assertEquals(0.0, single.getPopulationVariance(), 0.0);
+        Assert.assertTrue(Double.isNaN(single.getSkewness()));
+        Assert.assertTrue(Double.isNaN(single.getKurtosis()));
+
+        final DescriptiveSummary constant = new DescriptiveSummary(new double[] { 3, 3, 3, 3, 3 });
+        Assert.assertEquals(0.0, constant.getSkewness(), 0.0);
+        Assert.assertEquals(0.0, constant.getKurtosis(), 0.0);
+    }
+
+    @Test
+    public void testNaN() {
+        final double[] values = { Double.NaN, 1, 4, Double.NaN, -2 };
+        final DescriptiveSummary summary = new DescriptiveSummary(values);
+        Assert.assertEquals(-2, summary.getMin(), 0.0);
+        Assert.assertEquals(4, summary.getMax(), 0.0);
+        Assert.assertTrue(Double.isNaN(summary.getMean()));
+        Assert.assertTrue(Double.isNaN(new DescriptiveSummary(new double[] { Double.NaN }).getMin()));
+    }
+
+    @Test
+    public void testSerialization() {
+        final DescriptiveSummary summary = new DescriptiveSummary(new double[] { 1, 2, 4, 8 });
+        final DescriptiveSummary copy = (DescriptiveSummary) TestUtils.serializeAndRecover(summary);
+        Assert.assertEquals(summary.getN(), copy.getN());
+        Assert.assertEquals(summary.getKurtosis(), copy.getKurtosis(), 0.0);
+        Assert.assertEquals(summary.getSumOfLogs(), copy.getSumOfLogs(), 0.0);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNull() {
+        new DescriptiveSummary(null);
+    }
+
+    @Test(expected=MathIllegalArgumentException.class)
+    public void testWrongRange() {
+        new DescriptiveSummary(new double[3], 2, 2);
+    }
+
+}
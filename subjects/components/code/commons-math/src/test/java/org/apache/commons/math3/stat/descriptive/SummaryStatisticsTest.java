@@ -18,6 +18,9 @@ package org.apache.commons.math3.stat.descriptive;
 
 
 import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
 
 import org.apache.commons.math3.stat.descriptive.moment.GeometricMean;
 import org.apache.commons.math3.stat.descriptive.moment.Mean;
@@ -256,6 +259,90 @@ public class SummaryStatisticsTest {
 
     }
 
+    @Test
+    public void testAggregate() {
+        final RandomGenerator random = new Well1024a(0x2a7f1c3b5d9e8046l);
+        final SummaryStatistics all = createSummaryStatistics();
+        final SummaryStatistics aggregated = createSummaryStatistics();
+        final SummaryStatistics empty = createSummaryStatistics();
+        for (final int size : new int[] { 0, 1, 17, 250, 3, 0 }) {
+            final SummaryStatistics part = createSummaryStatistics();
+            for (int i = 0; i < size; ++i) {
+                final double x = 1.0e6 + 10 * random.nextDouble();
+                all.addValue(x);
+                part.addValue(x);
+            }
+            aggregated.aggregate(part);
+            aggregated.aggregate(empty);
+        }
+        Assert.assertEquals(0, empty.getN());
+        Assert.assertEquals(all.getN(), aggregated.getN());
+        Assert.assertEquals(all.getSum(), aggregated.getSum(), 1.0e-15 * all.getSum());
+        Assert.assertEquals(all.getSumsq(), aggregated.getSumsq(), 1.0e-15 * all.getSumsq());
+        Assert.assertEquals(all.getSumOfLogs(), aggregated.getSumOfLogs(), 1.0e-15 * all.getSumOfLogs());
+        Assert.assertEquals(all.getMean(), aggregated.getMean(), 1.0e-15 * all.getMean());
+        Assert.assertEquals(all.getGeometricMean(), aggregated.getGeometricMean(), 1.0e-13 * all.getMean());
+        Assert.assertEquals(all.getVariance(), aggregated.getVariance(), 1.0e-10 * all.getVariance());
+        Assert.assertEquals(all.getMin(), aggregated.getMin(), 0.0);
+        Assert.assertEquals(all.getMax(), aggregated.getMax(), 0.0);
+
+        // aggregated instance can still be updated
+        all.addValue(1.0e6 - 1);
+        aggregated.addValue(1.0e6 - 1);
+        Assert.assertEquals(all.getMean(), aggregated.getMean(), 1.0e-15 * all.getMean());
+        Assert.assertEquals(all.getVariance(), aggregated.getVariance(), 1.0e-10 * all.getVariance());
+        Assert.assertEquals(1.0e6 - 1, aggregated.getMin(), 0.0);
+    }
+
+    @Test(expected=MathUnsupportedOperationException.class)
+    public void testAggregateOverriddenImplementation() {
+        SummaryStatistics u = createSummaryStatistics();
+        u.setMeanImpl(new Sum());
+        u.addValue(1);
+        SummaryStatistics v = createSummaryStatistics();
+        v.addValue(2);
+        v.aggregate(u);
+    }
+
+    @Test
+    public void testAggregateUserSetDefaultClasses() {
+        // instances of the default classes set by the user do not share the
+        // embedded moments and hence cannot be aggregated
+        final SummaryStatistics[] overridden = new SummaryStatistics[3];
+        for (int i = 0; i < overridden.length; ++i) {
+            overridden[i] = createSummaryStatistics();
+        }
+        overridden[0].setMeanImpl(new Mean());
+        overridden[1].setVarianceImpl(new Variance());
+        overridden[2].setGeoMeanImpl(new GeometricMean());
+        for (final SummaryStatistics u : overridden) {
+            u.addValue(1);
+            final SummaryStatistics v = createSummaryStatistics();
+            v.addValue(2);
+            try {
+                v.aggregate(u);
+                Assert.fail("an exception should have been thrown");
+            } catch (MathUnsupportedOperationException muoe) {
+                // expected
+            }
+            try {
+                u.aggregate(v);
+                Assert.fail("an exception should have been thrown");
+            } catch (MathUnsupportedOperationException muoe) {
+                // expected
+            }
+        }
+
+        // copies of default instances can still be aggregated
+        final SummaryStatistics u = createSummaryStatistics();
+        u.addValue(1);
+        final SummaryStatistics v = createSummaryStatistics();
+        SummaryStatistics.copy(u, v);
+        v.aggregate(u);
+        Assert.assertEquals(2, v.getN());
+        Assert.assertEquals(1.0, v.getMean(), 0.0);
+    }
+
     private void verifySummary(SummaryStatistics u, StatisticalSummary s) {
         Assert.assertEquals("N",s.getN(),u.getN());
         TestUtils.assertEquals("sum",s.getSum(),u.getSum(),tolerance);
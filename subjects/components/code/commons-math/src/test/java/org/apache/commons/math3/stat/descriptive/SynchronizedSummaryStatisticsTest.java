@@ -13,6 +13,9 @@
  */
 package org.apache.commons.math3.stat.descriptive;
 
+import org.junit.Assert;
+import org.junit.Test;
+
 /**
  * Test cases for the {@link SynchronizedSummaryStatisticsTest} class.
  *          2007) $
@@ -23,4 +26,56 @@ public final class SynchronizedSummaryStatisticsTest extends SummaryStatisticsTe
     protected SummaryStatistics createSummaryStatistics() {
         return new SynchronizedSummaryStatistics();
     }
+
+    @Test
+    public void testAggregateConcurrentlyUpdated() throws InterruptedException {
+        final SynchronizedSummaryStatistics source = new SynchronizedSummaryStatistics();
+        final Thread updater = new Thread() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 200000; ++i) {
+                    source.addValue(1.0);
+                }
+            }
+        };
+        updater.start();
+        try {
+            for (int i = 0; i < 2000; ++i) {
+                final SynchronizedSummaryStatistics target = new SynchronizedSummaryStatistics();
+                target.aggregate(source);
+                // all statistics must come from the same snapshot of source
+                Assert.assertEquals(target.getN(), target.getSum(), 0.0);
+                Assert.assertEquals(target.getN(), target.getSumsq(), 0.0);
+                if (target.getN() > 0) {
+                    Assert.assertEquals(0.0, target.getSecondMoment(), 0.0);
+                }
+            }
+        } finally {
+            updater.join();
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testAggregateBothWays() throws InterruptedException {
+        final SynchronizedSummaryStatistics a = new SynchronizedSummaryStatistics();
+        final SynchronizedSummaryStatistics b = new SynchronizedSummaryStatistics();
+        final SynchronizedSummaryStatistics empty = new SynchronizedSummaryStatistics();
+        final Thread other = new Thread() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 100000; ++i) {
+                    b.aggregate(a);
+                    b.aggregate(empty);
+                }
+            }
+        };
+        other.start();
+        // aggregating in opposite directions concurrently must not deadlock
+        for (int i = 0; i < 100000; ++i) {
+            a.aggregate(b);
+            empty.aggregate(b);
+        }
+        other.join();
+        Assert.assertEquals(0, a.getN() + b.getN() + empty.getN());
+    }
 }
@@ -16,8 +16,15 @@
  */
 package org.apache.commons.math3.stat.inference;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.ranking.NaNStrategy;
+import org.apache.commons.math3.stat.ranking.TiesStrategy;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -124,4 +131,27 @@ public class MannWhitneyUTestTest {
         double result = testStatistic.mannWhitneyUTest(d1, d2);
         Assert.assertTrue(result == 1.0);
     }
+
+    @Test
+    public void testParallelRanking() {
+        final RandomGenerator random = new Well19937c(0x2c9e5a7f13b6d480l);
+        final double[] d1 = new double[150000];
+        final double[] d2 = new double[120000];
+        for (int i = 0; i < d1.length; i++) {
+            d1[i] = random.nextInt(5000);
+        }
+        for (int i = 0; i < d2.length; i++) {
+            d2[i] = random.nextInt(5000) + 20;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final MannWhitneyUTest parallel =
+                new MannWhitneyUTest(NaNStrategy.FIXED, TiesStrategy.AVERAGE, executor);
+            Assert.assertEquals(testStatistic.mannWhitneyU(d1, d2), parallel.mannWhitneyU(d1, d2), 0.0);
+            Assert.assertEquals(testStatistic.mannWhitneyUTest(d1, d2), parallel.mannWhitneyUTest(d1, d2), 0.0);
+            Assert.assertTrue(parallel.mannWhitneyUTest(d1, d2) < 0.01);
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
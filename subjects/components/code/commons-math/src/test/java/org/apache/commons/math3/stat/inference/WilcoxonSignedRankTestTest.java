@@ -16,10 +16,17 @@
  */
 package org.apache.commons.math3.stat.inference;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.ranking.NaNStrategy;
+import org.apache.commons.math3.stat.ranking.TiesStrategy;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -180,4 +187,25 @@ public class WilcoxonSignedRankTestTest {
             // expected
         }
     }
+
+    @Test
+    public void testParallelRanking() {
+        final RandomGenerator random = new Well19937c(0x4f1a86d3b02c7e95l);
+        final double[] x = new double[100000];
+        final double[] y = new double[100000];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = random.nextInt(1000);
+            y[i] = x[i] + random.nextInt(200) - 95;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final WilcoxonSignedRankTest parallel =
+                new WilcoxonSignedRankTest(NaNStrategy.FIXED, TiesStrategy.AVERAGE, executor);
+            Assert.assertEquals(testStatistic.wilcoxonSignedRank(x, y), parallel.wilcoxonSignedRank(x, y), 0.0);
+            Assert.assertEquals(testStatistic.wilcoxonSignedRankTest(x, y, false),
+                                parallel.wilcoxonSignedRankTest(x, y, false), 0.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
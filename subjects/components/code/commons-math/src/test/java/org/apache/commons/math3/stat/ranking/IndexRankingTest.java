@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.ranking;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.NotANumberException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.random.RandomDataGenerator;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for IndexRanking class
+ */
+public class IndexRankingTest {
+
+    private final double[] exampleData = { 20, 17, 30, 42.3, 17, 50,
+            Double.NaN, Double.NEGATIVE_INFINITY, 17 };
+
+    @Test
+    public void testExamples() {
+        TestUtils.assertEquals(new double[] { 5, 3, 6, 7, 3, 8, 9, 1, 3 },
+                               new IndexRanking(NaNStrategy.MAXIMAL, TiesStrategy.AVERAGE).rank(exampleData),
+                               0d);
+        TestUtils.assertEquals(new double[] { 5, 2, 6, 7, 2, 8, 9, 1, 2 },
+                               new IndexRanking(NaNStrategy.MAXIMAL, TiesStrategy.MINIMUM).rank(exampleData),
+                               0d);
+        TestUtils.assertEquals(new double[] { 6, 4, 7, 8, 4, 9, 1.5, 1.5, 4 },
+                               new IndexRanking(NaNStrategy.MINIMAL, TiesStrategy.AVERAGE).rank(exampleData),
+                               0d);
+        TestUtils.assertEquals(new double[] { 5, 2, 6, 7, 3, 8, 1, 4 },
+                               new IndexRanking(NaNStrategy.REMOVED, TiesStrategy.SEQUENTIAL).rank(exampleData),
+                               0d);
+        TestUtils.assertEquals(new double[] { 6, 5, 7, 8, 5, 9, 2, 2, 5 },
+                               new IndexRanking(NaNStrategy.MINIMAL, TiesStrategy.MAXIMUM).rank(exampleData),
+                               0d);
+        TestUtils.assertEquals(new double[] { 5, 3, 6, 7, 3, 8, Double.NaN, 1, 3 },
+                               new IndexRanking(NaNStrategy.FIXED, TiesStrategy.AVERAGE).rank(exampleData),
+                               0d);
+    }
+
+    @Test(expected=NotANumberException.class)
+    public void testNaNsFailed() {
+        new IndexRanking().rank(exampleData);
+    }
+
+    @Test
+    public void testSignedZeros() {
+        final double[] ranks = new IndexRanking().rank(new double[] { 0.0, -0.0, 0.0, -1.0 });
+        TestUtils.assertEquals(new double[] { 3.5, 2, 3.5, 1 }, ranks, 0d);
+    }
+
+    @Test
+    public void testEmpty() {
+        Assert.assertEquals(0, new IndexRanking().rank(new double[0]).length);
+    }
+
+    @Test
+    public void testAverageRanks() {
+        final RandomGenerator random = new Well19937c(0x67d2b14e8a03f95cl);
+        final double[] data = new double[1000];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = random.nextInt(100);
+        }
+        final double[] ranks = new IndexRanking().rank(data);
+        for (int i = 0; i < data.length; ++i) {
+            int less  = 0;
+            int equal = 0;
+            for (final double d : data) {
+                if (d < data[i]) {
+                    ++less;
+                } else if (d == data[i]) {
+                    ++equal;
+                }
+            }
+            Assert.assertEquals(less + (equal + 1) / 2.0, ranks[i], 0d);
+        }
+    }
+
+    @Test
+    public void testParallel() {
+        final RandomGenerator random = new Well19937c(0x1e4c9a3275b08df6l);
+        final double[] data = new double[5 * IndexRanking.PARALLEL_THRESHOLD + 17];
+        for (int i = 0; i < data.length; ++i) {
+            final int k = random.nextInt(100);
+            data[i] = (k == 0) ? Double.NaN : ((k < 50) ? random.nextInt(10000) : random.nextGaussian());
+        }
+        for (final NaNStrategy nanStrategy : new NaNStrategy[] {
+            NaNStrategy.MAXIMAL, NaNStrategy.MINIMAL, NaNStrategy.REMOVED, NaNStrategy.FIXED
+        }) {
+            for (final TiesStrategy tiesStrategy : TiesStrategy.values()) {
+                final double[] reference = new IndexRanking(nanStrategy, tiesStrategy,
+                                                            new RandomDataGenerator(new Well19937c(3l)),
+                                                            null).rank(data);
+                for (int nbThreads = 1; nbThreads < 8; nbThreads += 3) {
+                    final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+                    try {
+                        final double[] ranks = new IndexRanking(nanStrategy, tiesStrategy,
+                                                                new RandomDataGenerator(new Well19937c(3l)),
+                                                                executor).rank(data);
+                        TestUtils.assertEquals(reference, ranks, 0d);
+                    } finally {
+                        executor.shutdown();
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSameAsNaturalRanking() {
+        final RandomGenerator random = new Well19937c(0x5b83f0c6d1e4279al);
+        final double[] data = new double[2000];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = random.nextInt(300) - 150.0;
+        }
+        for (final TiesStrategy tiesStrategy : TiesStrategy.values()) {
+            final double[] ranks = new IndexRanking(NaNStrategy.FIXED, tiesStrategy,
+                                                    new RandomDataGenerator(new Well19937c(7l)),
+                                                    null).rank(data);
+            final NaturalRanking natural = (tiesStrategy == TiesStrategy.RANDOM) ?
+                                           new NaturalRanking(NaNStrategy.FIXED, new Well19937c(7l)) :
+                                           new NaturalRanking(NaNStrategy.FIXED, tiesStrategy);
+            TestUtils.assertEquals(natural.rank(data), ranks, 0d);
+        }
+    }
+
+    @Test
+    public void testTwoArrays() {
+        final double[] x = { 3, Double.NaN, 1, 7 };
+        final double[] y = { 7, 2, Double.NaN, 3, 3 };
+        final double[] z = { 3, Double.NaN, 1, 7, 7, 2, Double.NaN, 3, 3 };
+        for (final NaNStrategy nanStrategy : new NaNStrategy[] {
+            NaNStrategy.MAXIMAL, NaNStrategy.MINIMAL, NaNStrategy.REMOVED, NaNStrategy.FIXED
+        }) {
+            final IndexRanking ranking = new IndexRanking(nanStrategy, TiesStrategy.AVERAGE);
+            TestUtils.assertEquals(ranking.rank(z), ranking.rank(x, y), 0d);
+        }
+    }
+
+    @Test
+    public void testInPlace() {
+        for (final NaNStrategy nanStrategy : new NaNStrategy[] {
+            NaNStrategy.MAXIMAL, NaNStrategy.MINIMAL, NaNStrategy.FIXED
+        }) {
+            for (final TiesStrategy tiesStrategy : new TiesStrategy[] {
+                TiesStrategy.AVERAGE, TiesStrategy.MINIMUM, TiesStrategy.SEQUENTIAL
+            }) {
+                final IndexRanking ranking = new IndexRanking(nanStrategy, tiesStrategy);
+                final double[] data = exampleData.clone();
+                ranking.rankInPlace(data);
+                TestUtils.assertEquals(ranking.rank(exampleData), data, 0d);
+            }
+        }
+    }
+
+    @Test
+    public void testInPlaceRemoved() {
+        final double[] data = exampleData.clone();
+        new IndexRanking(NaNStrategy.REMOVED, TiesStrategy.SEQUENTIAL).rankInPlace(data);
+        TestUtils.assertEquals(new double[] { 5, 2, 6, 7, 3, 8, Double.NaN, 1, 4 }, data, 0d);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullArray() {
+        new IndexRanking().rank(new double[1], null);
+    }
+
+}
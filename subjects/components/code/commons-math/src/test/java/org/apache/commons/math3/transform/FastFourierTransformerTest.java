@@ -22,6 +22,7 @@ import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.function.Sin;
 import org.apache.commons.math3.analysis.function.Sinc;
 import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.complex.ComplexArray;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
@@ -351,6 +352,56 @@ public final class FastFourierTransformerTest {
         }
     }
 
+    @Test
+    public void testTransformComplexArray() {
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            final FastFourierTransformer fft = new FastFourierTransformer(normalization);
+            for (final TransformType type : TransformType.values()) {
+                for (int n = 1; n <= 128; n *= 2) {
+                    final Complex[] x = createComplexData(n);
+                    final ComplexArray array = new ComplexArray(x);
+                    final Complex[] expected = fft.transform(x, type);
+                    final ComplexArray actual = fft.transform(array, type);
+
+                    // the input is not modified
+                    Assert.assertArrayEquals(x, array.toComplexArray());
+                    for (int i = 0; i < n; i++) {
+                        Assert.assertEquals(expected[i].getReal(), actual.getReal(i), 0.0);
+                        Assert.assertEquals(expected[i].getImaginary(), actual.getImaginary(i), 0.0);
+                    }
+
+                    // in place transform shares the storage
+                    final double[] re = array.getRealParts();
+                    FastFourierTransformer.transformInPlace(array, normalization, type);
+                    Assert.assertSame(re, array.getRealParts());
+                    Assert.assertArrayEquals(actual.getRealParts(), re, 0.0);
+                    Assert.assertArrayEquals(actual.getImaginaryParts(), array.getImaginaryParts(), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testComplexArrayConvolution() {
+        // circular convolution through the frequency domain
+        final int n = 16;
+        final double[] a = createRealData(n);
+        final double[] b = new double[n];
+        b[1] = 2.0;
+        b[3] = -1.0;
+        final FastFourierTransformer fft = new FastFourierTransformer(DftNormalization.STANDARD);
+        final ComplexArray fa = new ComplexArray(a, new double[n]);
+        final ComplexArray fb = new ComplexArray(b, new double[n]);
+        FastFourierTransformer.transformInPlace(fa, DftNormalization.STANDARD, TransformType.FORWARD);
+        FastFourierTransformer.transformInPlace(fb, DftNormalization.STANDARD, TransformType.FORWARD);
+        final ComplexArray product = fft.transform(fa.multiply(fb), TransformType.INVERSE);
+        for (int i = 0; i < n; i++) {
+            final double expected = 2.0 * a[(i + n - 1) % n] - a[(i + n - 3) % n];
+            Assert.assertEquals(expected, product.getReal(i), 1.0e-14);
+            Assert.assertEquals(0.0, product.getImaginary(i), 1.0e-14);
+        }
+    }
+
     @Test
     public void testStandardTransformReal() {
         final DftNormalization[] norm;
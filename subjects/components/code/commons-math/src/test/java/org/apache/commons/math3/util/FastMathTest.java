@@ -27,6 +27,7 @@ import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.dfp.Dfp;
 import org.apache.commons.math3.dfp.DfpField;
 import org.apache.commons.math3.dfp.DfpMath;
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathArithmeticException;
 import org.apache.commons.math3.random.MersenneTwister;
 import org.apache.commons.math3.random.RandomGenerator;
@@ -2041,4 +2042,87 @@ public class FastMathTest {
         return a - b * poorManFloorDiv(a, b);
     }
 
+    @Test
+    public void testArrayFunctions() {
+        final double[] special = {
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.0, -0.0,
+            Double.MIN_VALUE, -Double.MIN_VALUE, Precision.SAFE_MIN, Double.MAX_VALUE, -Double.MAX_VALUE,
+            -746.5, -709.5, -709.0, -708.99, -0.5, 0.5, 0.99, 0.995, 1.0, 1.005, 1.01, 2.0,
+            708.99, 709.0, 709.5, 709.9, 1.0e300, -1.0e300,
+            FastMath.PI, -FastMath.PI, 0.5 * FastMath.PI, -0.5 * FastMath.PI, 1.5707963267948966,
+            1.5707963267948968, 1.0e22, 3294198.0, -3294198.0, 3294198.5, -3294198.5
+        };
+        final RandomGenerator random = new Well1024a(0x7e9c2a5b13f48d06l);
+        final double[] in = new double[special.length + 20000];
+        System.arraycopy(special, 0, in, 0, special.length);
+        for (int i = special.length; i < in.length; ++i) {
+            switch (i % 4) {
+                case 0 :
+                    in[i] = 1500 * random.nextDouble() - 750;
+                    break;
+                case 1 :
+                    in[i] = 2 * random.nextDouble();
+                    break;
+                case 2 :
+                    in[i] = FastMath.scalb(random.nextDouble(), random.nextInt(2100) - 1100);
+                    break;
+                default :
+                    in[i] = Double.longBitsToDouble(random.nextLong());
+            }
+        }
+
+        final double[] out = new double[in.length];
+        FastMath.exp(in, out);
+        for (int i = 0; i < in.length; ++i) {
+            checkSameBits(FastMath.exp(in[i]), out[i]);
+        }
+        FastMath.log(in, out);
+        for (int i = 0; i < in.length; ++i) {
+            checkSameBits(FastMath.log(in[i]), out[i]);
+        }
+        FastMath.sin(in, out);
+        for (int i = 0; i < in.length; ++i) {
+            checkSameBits(FastMath.sin(in[i]), out[i]);
+        }
+        FastMath.cos(in, out);
+        for (int i = 0; i < in.length; ++i) {
+            checkSameBits(FastMath.cos(in[i]), out[i]);
+        }
+        for (final double y : new double[] {
+            -2.5, 0.37, 1.0e-20, 0.0, -0.0, 1.0, -3.0, 17.0, 1.0e18, 1.0e30,
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+        }) {
+            FastMath.pow(in, y, out);
+            for (int i = 0; i < in.length; ++i) {
+                checkSameBits(FastMath.pow(in[i], y), out[i]);
+            }
+        }
+
+        // in place computation
+        final double[] copy = in.clone();
+        FastMath.exp(copy, copy);
+        for (int i = 0; i < in.length; ++i) {
+            checkSameBits(FastMath.exp(in[i]), copy[i]);
+        }
+        System.arraycopy(in, 0, copy, 0, in.length);
+        FastMath.sin(copy, copy);
+        for (int i = 0; i < in.length; ++i) {
+            checkSameBits(FastMath.sin(in[i]), copy[i]);
+        }
+        System.arraycopy(in, 0, copy, 0, in.length);
+        FastMath.pow(copy, 0.37, copy);
+        for (int i = 0; i < in.length; ++i) {
+            checkSameBits(FastMath.pow(in[i], 0.37), copy[i]);
+        }
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testArrayFunctionsDimensionMismatch() {
+        FastMath.log(new double[3], new double[2]);
+    }
+
+    private void checkSameBits(final double expected, final double actual) {
+        Assert.assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+    }
+
 }
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link ParallelTasks} class.
+ */
+public class ParallelTasksTest {
+
+    @Test
+    public void testCallingThread() {
+        final List<Thread> threads = new ArrayList<Thread>();
+        final List<Integer> results = ParallelTasks.invokeAll(null, createTasks(20, -1, threads));
+        checkSquares(results, 20);
+        for (final Thread thread : threads) {
+            Assert.assertSame(Thread.currentThread(), thread);
+        }
+    }
+
+    @Test
+    public void testSharedExecutor() {
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (int k = 0; k < 2; ++k) {
+                checkSquares(ParallelTasks.invokeAll(executor, createTasks(20, -1, new ArrayList<Thread>())), 20);
+            }
+            Assert.assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRuntimeException() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final ExecutorService e : new ExecutorService[] { null, executor }) {
+                try {
+                    ParallelTasks.invokeAll(e, createTasks(10, 5, new ArrayList<Thread>()));
+                    Assert.fail("an exception should have been thrown");
+                } catch (OutOfRangeException ore) {
+                    Assert.assertEquals(5, ore.getArgument().intValue());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCheckedException() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final ExecutorService e : new ExecutorService[] { null, executor }) {
+                try {
+                    ParallelTasks.invokeAll(e, createIOTasks(6, 3));
+                    Assert.fail("an exception should have been thrown");
+                } catch (MathIllegalStateException mise) {
+                    Assert.assertTrue(mise.getCause() instanceof IOException);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void checkSquares(final List<Integer> results, final int n) {
+        Assert.assertEquals(n, results.size());
+        for (int i = 0; i < n; ++i) {
+            Assert.assertEquals(i * i, results.get(i).intValue());
+        }
+    }
+
+    private List<Callable<Integer>> createTasks(final int n, final int failing, final List<Thread> threads) {
+        final List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>(n);
+        for (int i = 0; i < n; ++i) {
+            final int index = i;
+            tasks.add(new Callable<Integer>() {
+                public Integer call() {
+                    synchronized (threads) {
+                        threads.add(Thread.currentThread());
+                    }
+                    if (index == failing) {
+                        throw new OutOfRangeException(index, 0, failing - 1);
+                    }
+                    return index * index;
+                }
+            });
+        }
+        return tasks;
+    }
+
+    private List<Callable<Integer>> createIOTasks(final int n, final int failing) {
+        final List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>(n);
+        for (int i = 0; i < n; ++i) {
+            final int index = i;
+            tasks.add(new Callable<Integer>() {
+                public Integer call() throws IOException {
+                    if (index == failing) {
+                        throw new IOException("task " + index);
+                    }
+                    return index;
+                }
+            });
+        }
+        return tasks;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.userguide;
+
+import org.apache.commons.math3.PerfTestUtils;
+import org.apache.commons.math3.ode.FirstOrderDifferentialEquations;
+import org.apache.commons.math3.ode.FirstOrderIntegrator;
+import org.apache.commons.math3.ode.nonstiff.DormandPrince853Integrator;
+import org.apache.commons.math3.ode.sampling.StepHandler;
+import org.apache.commons.math3.ode.sampling.StepInterpolator;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Performance benchmark for DormandPrince853Integrator, comparing
+ * integration with dense output (a step handler is registered) and
+ * integration without any handler (lean mode).
+ */
+public class DormandPrince853TestPerformance {
+    private static final int CHUNK = Integer.parseInt(System.getProperty("testChunk", "100"));
+    private static final int RUNS = Integer.parseInt(System.getProperty("testRuns", "100"));
+
+    public static void main(String[] args) {
+
+        final FirstOrderDifferentialEquations kepler = new Kepler();
+        final double[] y0 = { 1.0, 0.0, 0.0, 1.2 };
+        final double t = 20.0 * FastMath.PI;
+
+        final FirstOrderIntegrator dense = new DormandPrince853Integrator(1.0e-8, 100.0, 1.0e-10, 1.0e-10);
+        dense.addStepHandler(new StepHandler() {
+            public void init(double t0, double[] y0, double t) {
+            }
+            public void handleStep(StepInterpolator interpolator, boolean isLast) {
+                interpolator.getInterpolatedState();
+            }
+        });
+        final FirstOrderIntegrator lean = new DormandPrince853Integrator(1.0e-8, 100.0, 1.0e-10, 1.0e-10);
+        final double[] y = new double[y0.length];
+
+        PerfTestUtils.timeAndReport("DormandPrince853Integrator, Kepler problem",
+                                    CHUNK, RUNS, false,
+                                    new PerfTestUtils.RunTest("dense output") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            dense.integrate(kepler, 0.0, y0, t, y);
+                                            return y[0];
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("lean") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            lean.integrate(kepler, 0.0, y0, t, y);
+                                            return y[0];
+                                        }
+                                    });
+
+        System.out.println("evaluations: dense output " + dense.getEvaluations() +
+                           ", lean " + lean.getEvaluations());
+
+    }
+
+    /** Kepler problem in cartesian coordinates. */
+    private static class Kepler implements FirstOrderDifferentialEquations {
+
+        public int getDimension() {
+            return 4;
+        }
+
+        public void computeDerivatives(double t, double[] y, double[] yDot) {
+            final double r2 = y[0] * y[0] + y[1] * y[1];
+            final double r3 = r2 * FastMath.sqrt(r2);
+            yDot[0] = y[2];
+            yDot[1] = y[3];
+            yDot[2] = -y[0] / r3;
+            yDot[3] = -y[1] / r3;
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.userguide;
+
+import org.apache.commons.math3.PerfTestUtils;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Performance benchmark for the FastMath array functions, comparing
+ * them with loops calling StrictMath and FastMath scalar functions.
+ */
+public class FastMathArraysTestPerformance {
+    private static final int SIZE = Integer.parseInt(System.getProperty("testSize", "10000"));
+    private static final int CHUNK = Integer.parseInt(System.getProperty("testChunk", "100"));
+    private static final int RUNS = Integer.parseInt(System.getProperty("testRuns", "100"));
+
+    public static void main(String[] args) {
+
+        final RandomGenerator random = new Well19937c(0x1f6b3c58a2e04d97l);
+        final double[] logLikelihoods = new double[SIZE];
+        final double[] probabilities  = new double[SIZE];
+        final double[] angles         = new double[SIZE];
+        for (int i = 0; i < SIZE; ++i) {
+            logLikelihoods[i] = -50 * random.nextDouble();
+            probabilities[i]  = random.nextDouble();
+            angles[i]         = 20 * random.nextDouble() - 10;
+        }
+        final double[] out = new double[SIZE];
+
+        PerfTestUtils.timeAndReport("exp, " + SIZE + " elements", CHUNK, RUNS, false,
+                                    new PerfTestUtils.RunTest("StrictMath") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            for (int i = 0; i < SIZE; ++i) {
+                                                out[i] = StrictMath.exp(logLikelihoods[i]);
+                                            }
+                                            return out[0];
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("FastMath scalar") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            for (int i = 0; i < SIZE; ++i) {
+                                                out[i] = FastMath.exp(logLikelihoods[i]);
+                                            }
+                                            return out[0];
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("FastMath array") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            FastMath.exp(logLikelihoods, out);
+                                            return out[0];
+                                        }
+                                    });
+
+        PerfTestUtils.timeAndReport("log, " + SIZE + " elements", CHUNK, RUNS, false,
+                                    new PerfTestUtils.RunTest("StrictMath") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            for (int i = 0; i < SIZE; ++i) {
+                                                out[i] = StrictMath.log(probabilities[i]);
+                                            }
+                                            return out[0];
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("FastMath scalar") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            for (int i = 0; i < SIZE; ++i) {
+                                                out[i] = FastMath.log(probabilities[i]);
+                                            }
+                                            return out[0];
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("FastMath array") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            FastMath.log(probabilities, out);
+                                            return out[0];
+                                        }
+                                    });
+
+        PerfTestUtils.timeAndReport("sin, " + SIZE + " elements", CHUNK, RUNS, false,
+                                    new PerfTestUtils.RunTest("StrictMath") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            for (int i = 0; i < SIZE; ++i) {
+                                                out[i] = StrictMath.sin(angles[i]);
+                                            }
+                                            return out[0];
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("FastMath scalar") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            for (int i = 0; i < SIZE; ++i) {
+                                                out[i] = FastMath.sin(angles[i]);
+                                            }
+                                            return out[0];
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("FastMath array") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            FastMath.sin(angles, out);
+                                            return out[0];
+                                        }
+                                    });
+
+        PerfTestUtils.timeAndReport("cos, " + SIZE + " elements", CHUNK, RUNS, false,
+                                    new PerfTestUtils.RunTest("StrictMath") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            for (int i = 0; i < SIZE; ++i) {
+                                                out[i] = StrictMath.cos(angles[i]);
+                                            }
+                                            return out[0];
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("FastMath scalar") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            for (int i = 0; i < SIZE; ++i) {
+                                                out[i] = FastMath.cos(angles[i]);
+                                            }
+                                            return out[0];
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("FastMath array") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            FastMath.cos(angles, out);
+                                            return out[0];
+                                        }
+                                    });
+
+        PerfTestUtils.timeAndReport("pow, " + SIZE + " elements", CHUNK, RUNS, false,
+                                    new PerfTestUtils.RunTest("StrictMath") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            for (int i = 0; i < SIZE; ++i) {
+                                                out[i] = StrictMath.pow(probabilities[i], 2.5);
+                                            }
+                                            return out[0];
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("FastMath scalar") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            for (int i = 0; i < SIZE; ++i) {
+                                                out[i] = FastMath.pow(probabilities[i], 2.5);
+                                            }
+                                            return out[0];
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("FastMath array") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            FastMath.pow(probabilities, 2.5, out);
+                                            return out[0];
+                                        }
+                                    });
+
+    }
+
+}
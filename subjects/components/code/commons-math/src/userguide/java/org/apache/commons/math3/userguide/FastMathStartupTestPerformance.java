@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.userguide;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Cold-start benchmark for FastMath.
+ * <p>
+ * Each measurement is the duration of the first call to a function in a
+ * fresh JVM, which includes loading the tables the function needs.
+ * </p>
+ */
+public class FastMathStartupTestPerformance {
+    private static final int RUNS = Integer.parseInt(System.getProperty("testRuns", "20"));
+
+    public static void main(String[] args) throws Exception {
+
+        if (args.length > 0) {
+            // child JVM: time the first call to the function
+            final long start = System.nanoTime();
+            final double r;
+            if (args[0].equals("sin")) {
+                r = FastMath.sin(0.7);
+            } else if (args[0].equals("exp")) {
+                r = FastMath.exp(0.7);
+            } else {
+                r = FastMath.log(0.7);
+            }
+            final long end = System.nanoTime();
+            System.out.println((end - start) + " " + r);
+            return;
+        }
+
+        System.out.println("first call duration, mean over " + RUNS + " fresh JVMs (time unit: ms)");
+        for (final String function : new String[] { "sin", "exp", "log" }) {
+            System.out.println(String.format("%8s %10.3f", function, coldStart(function)));
+        }
+
+    }
+
+    /** Run the first call to a function in fresh JVMs.
+     * @param function name of the function
+     * @return mean duration of the first call, in milliseconds
+     */
+    private static double coldStart(final String function)
+        throws IOException, InterruptedException {
+        final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        final List<String> command = new ArrayList<String>();
+        command.add(java);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(FastMathStartupTestPerformance.class.getName());
+        command.add(function);
+
+        long total = 0;
+        for (int i = 0; i < RUNS; ++i) {
+            final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            final String line = reader.readLine();
+            reader.close();
+            process.waitFor();
+            total += Long.parseLong(line.split(" ")[0]);
+        }
+
+        return 1.0e-6 * total / RUNS;
+
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.userguide;
+
+import org.apache.commons.math3.PerfTestUtils;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.Frequency;
+import org.apache.commons.math3.stat.LongFrequency;
+
+/**
+ * Performance benchmark comparing the TreeMap based {@link Frequency}
+ * with the primitive {@link LongFrequency}, for counting small integer
+ * categories from one or several threads and for querying cumulative
+ * percentages.
+ */
+public class FrequencyTestPerformance {
+    private static final int SIZE = Integer.parseInt(System.getProperty("testSize", "100000"));
+    private static final int CATEGORIES = Integer.parseInt(System.getProperty("testCategories", "1000"));
+    private static final int THREADS = Integer.parseInt(System.getProperty("testThreads", "4"));
+    private static final int CHUNK = Integer.parseInt(System.getProperty("testChunk", "10"));
+    private static final int RUNS = Integer.parseInt(System.getProperty("testRuns", "20"));
+
+    public static void main(String[] args) {
+
+        final RandomGenerator random = new Well19937c(0x6a09e667f3bcc908l);
+        final int[] events = new int[SIZE];
+        for (int i = 0; i < SIZE; ++i) {
+            // skewed categories, the small ones being the most frequent
+            events[i] = (int) (CATEGORIES * random.nextDouble() * random.nextDouble());
+        }
+
+        PerfTestUtils.timeAndReport("addValue, " + SIZE + " events, one thread", CHUNK, RUNS, false,
+                                    new PerfTestUtils.RunTest("Frequency") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            final Frequency f = new Frequency();
+                                            for (final int e : events) {
+                                                f.addValue(e);
+                                            }
+                                            return (double) f.getSumFreq();
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("LongFrequency") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            final LongFrequency f = new LongFrequency();
+                                            for (final int e : events) {
+                                                f.addValue(e);
+                                            }
+                                            return (double) f.getSumFreq();
+                                        }
+                                    });
+
+        PerfTestUtils.timeAndReport("addValue, " + SIZE + " events, " + THREADS + " threads", CHUNK, RUNS, false,
+                                    new PerfTestUtils.RunTest("synchronized Frequency") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            final Frequency f = new Frequency();
+                                            runInThreads(events, new Counter() {
+                                                public void count(final int e) {
+                                                    synchronized (f) {
+                                                        f.addValue(e);
+                                                    }
+                                                }
+                                            });
+                                            return (double) f.getSumFreq();
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("LongFrequency") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            final LongFrequency f = new LongFrequency(THREADS);
+                                            runInThreads(events, new Counter() {
+                                                public void count(final int e) {
+                                                    f.addValue(e);
+                                                }
+                                            });
+                                            return (double) f.getSumFreq();
+                                        }
+                                    });
+
+        final Frequency frequency = new Frequency();
+        final LongFrequency longFrequency = new LongFrequency();
+        for (final int e : events) {
+            frequency.addValue(e);
+            longFrequency.addValue(e);
+        }
+        PerfTestUtils.timeAndReport("getCumPct, " + CATEGORIES + " categories", CHUNK, RUNS, false,
+                                    new PerfTestUtils.RunTest("Frequency") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            double sum = 0;
+                                            for (int c = 0; c < CATEGORIES; ++c) {
+                                                sum += frequency.getCumPct(c);
+                                            }
+                                            return sum;
+                                        }
+                                    },
+                                    new PerfTestUtils.RunTest("LongFrequency snapshot") {
+                                        @Override
+                                        public Double call() throws Exception {
+                                            final LongFrequency.Snapshot snapshot = longFrequency.getSnapshot();
+                                            double sum = 0;
+                                            for (int c = 0; c < CATEGORIES; ++c) {
+                                                sum += snapshot.getCumPct(c);
+                                            }
+                                            return sum;
+                                        }
+                                    });
+
+    }
+
+    /** Count events in several threads, each thread counting a slice of the events.
+     * @param events events to count
+     * @param counter counter for the events
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    private static void runInThreads(final int[] events, final Counter counter)
+        throws InterruptedException {
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            final int from = (int) (((long) events.length * t) / THREADS);
+            final int to   = (int) (((long) events.length * (t + 1)) / THREADS);
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = from; i < to; ++i) {
+                        counter.count(events[i]);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /** Interface for counting one event. */
+    private interface Counter {
+        /** Count one event.
+         * @param e event
+         */
+        void count(int e);
+    }
+
+}